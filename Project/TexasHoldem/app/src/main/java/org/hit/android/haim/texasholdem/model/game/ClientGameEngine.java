@@ -17,4 +17,9 @@ public class ClientGameEngine extends GameEngine {
     protected void info(String message) {
         Log.i(LOGGER, message);
     }
+
+    @Override
+    protected boolean isInfoEnabled() {
+        return Log.isLoggable(LOGGER, Log.INFO);
+    }
 }
@@ -6,6 +6,7 @@ import androidx.annotation.NonNull;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 
 import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
@@ -100,6 +101,12 @@ public class Game {
     @Getter
     private GameEngine gameEngine;
 
+    /**
+     * The json of {@link #gameEngine}, which we apply the deltas we get from the cloud to.<br/>
+     * We send its state version when we refresh the game, so we get the parts that have changed since then only.
+     */
+    private ObjectNode gameEngineJson;
+
     /**
      * Keep set of players to compare when we refresh players, to notify only in case there is a difference in players.
      */
@@ -150,6 +157,7 @@ public class Game {
     public void init(ClientGameSettings gameSettings, User user) {
         Log.i(LOGGER, "Starting game with settings: " + gameSettings);
         this.gameHash = gameSettings.getGameHash();
+        gameEngineJson = null;
 
         thisPlayer = Player.builder().id(user.getId())
                 .name(user.getName())
@@ -264,6 +272,7 @@ public class Game {
         }
 
         gameEngine = null;
+        gameEngineJson = null;
         gameHash = null;
         isJoinedGame = false;
 
@@ -454,10 +463,16 @@ public class Game {
      */
     private void refreshGame() {
         if (gameHash != null) {
-            TexasHoldemWebService.getInstance().getGameService().getGameInfo(gameHash).enqueue(new SimpleCallback<JsonNode>() {
+            Long version = gameEngineJson == null ? null : gameEngineJson.path("stateVersion").asLong();
+            TexasHoldemWebService.getInstance().getGameService().getGameInfo(gameHash, version).enqueue(new SimpleCallback<JsonNode>() {
                 @Override
                 public void onResponse(@NonNull Call<JsonNode> call, @NonNull Response<JsonNode> response) {
-                    if (!response.isSuccessful()) {
+                    if (response.code() == HttpStatus.NOT_MODIFIED.getCode()) {
+                        // Nothing has changed, but keep refreshing the UI every second, as before
+                        if ((Game.this.gameEngine != null) && (Game.this.gameEngine.getGameState() != GameEngine.GameState.READY)) {
+                            notifyGameRefresh(Game.this.gameEngine);
+                        }
+                    } else if (!response.isSuccessful()) {
                         // Before user joins a game, we get bad request cause user that not part of
                         // a game cannot receive game updates. Just ignore those failures.
                         if ((response.code() != HttpStatus.BAD_REQUEST.getCode()) && (response.code() != HttpStatus.NOT_FOUND.getCode())) {
@@ -469,7 +484,14 @@ public class Game {
                     } else {
                         JsonNode body = response.body();
                         try {
-                            GameEngine gameEngine = TexasHoldemWebService.getInstance().getObjectMapper().readValue(body.toString(), GameEngine.class);
+                            // Apply the changed parts to the game we have. The first response contains all of the game
+                            if (gameEngineJson == null) {
+                                gameEngineJson = (ObjectNode)body;
+                            } else {
+                                gameEngineJson.setAll((ObjectNode)body);
+                            }
+
+                            GameEngine gameEngine = TexasHoldemWebService.getInstance().getObjectMapper().treeToValue(gameEngineJson, GameEngine.class);
                             Log.d(LOGGER, "Received game: " + gameEngine);
 
                             if (gameEngine != null) {
@@ -6,6 +6,7 @@ package org.hit.android.haim.texasholdem.web;
  */
 public enum HttpStatus {
     OK(200),
+    NOT_MODIFIED(304),
     BAD_REQUEST(400),
     UNAUTHORIZED(401),
     NOT_FOUND(404),
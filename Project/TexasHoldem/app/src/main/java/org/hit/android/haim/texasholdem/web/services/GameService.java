@@ -12,6 +12,7 @@ import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Lists all restful web services related to GameController at Texas Holdem backend
@@ -52,9 +53,12 @@ public interface GameService {
     @GET("/game/{gameHash}/players")
     Call<JsonNode> getPlayers(@Path("gameHash") String gameHash);
 
-    /** @return ClientGameEngine or Error */
+    /**
+     * @param version The state version of the game we have, or {@code null} to get all of the game
+     * @return The parts of GameEngine that have changed since the version, void (304 Not Modified) or Error
+     */
     @GET("/game/{gameHash}/info")
-    Call<JsonNode> getGameInfo(@Path("gameHash") String gameHash);
+    Call<JsonNode> getGameInfo(@Path("gameHash") String gameHash, @Query("version") Long version);
 
     /** @return void (200 OK) or Error */
     @PUT("/game/{gameHash}/action")
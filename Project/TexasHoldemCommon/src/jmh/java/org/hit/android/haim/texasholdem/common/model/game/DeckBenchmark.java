@@ -0,0 +1,38 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@link Deck#shuffle()} of a full deck, with each {@link DeckRandomSource}.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@State(Scope.Thread)
+public class DeckBenchmark {
+    private static final long SEED = 52;
+
+    @Param({ "secure", "fast", "seeded" })
+    private String randomSource;
+
+    private Deck deck;
+
+    @Setup
+    public void setup() {
+        switch (randomSource) {
+            case "fast":
+                deck = new Deck(DeckRandomSource.fast());
+                break;
+            case "seeded":
+                deck = new Deck(DeckRandomSource.seeded(SEED));
+                break;
+            default:
+                deck = new Deck(DeckRandomSource.secure());
+        }
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle();
+        return deck;
+    }
+}
@@ -0,0 +1,98 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures a full hand of {@link GameEngine}, from taking the blinds until the showdown.<br/>
+ * Players always check or call, so every hand goes through all streets and ends with applying the winnings.
+ * The next round is launched right away, instead of waiting for clients to draw the winnings.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+    /**
+     * Enough chips so no player runs out of chips during a benchmark
+     */
+    private static final long CHIPS = 1_000_000_000_000L;
+
+    /**
+     * Protect against a hand that never ends, in case the engine gets stuck
+     */
+    private static final int MAX_ACTIONS_PER_HAND = 200;
+
+    @Param({ "2", "4", "7" })
+    private int amountOfPlayers;
+
+    private BenchmarkGameEngine gameEngine;
+
+    @Setup
+    public void setup() {
+        GameSettings gameSettings = GameSettings.builder().smallBet(1).bigBet(2).isNetwork(false).build();
+        gameEngine = new BenchmarkGameEngine(gameSettings);
+
+        for (int i = 0; i < amountOfPlayers; i++) {
+            gameEngine.addPlayer(Player.builder().id("id" + i).name("name" + i).chips(new Chips(CHIPS)).position(i).build());
+        }
+
+        gameEngine.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameEngine.stop();
+    }
+
+    @Benchmark
+    public GameEngine playHand() {
+        // Take blinds and deal cards, unless this is the first hand, which was started by the setup
+        Runnable nextRound = gameEngine.nextRound;
+        if (nextRound != null) {
+            gameEngine.nextRound = null;
+            nextRound.run();
+        }
+
+        int actions = 0;
+        while (gameEngine.getPlayerToEarnings() == null) {
+            if (++actions > MAX_ACTIONS_PER_HAND) {
+                throw new IllegalStateException("Hand did not end after " + MAX_ACTIONS_PER_HAND + " actions");
+            }
+
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+            PlayerActionKind actionKind = gameEngine.getPot().hasLastBet() ? PlayerActionKind.CALL : PlayerActionKind.CHECK;
+            gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(actionKind).build());
+        }
+
+        return gameEngine;
+    }
+
+    /**
+     * A game engine that does not log, and keeps the next round so the benchmark launches it without waiting
+     */
+    private static class BenchmarkGameEngine extends GameEngine {
+        private Runnable nextRound;
+
+        BenchmarkGameEngine(GameSettings gameSettings) {
+            super(gameSettings, (player, chips) -> {});
+        }
+
+        @Override
+        protected void info(String message) {
+            // Logging would dominate the measurement
+        }
+
+        @Override
+        protected boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        protected void scheduleNextRound(Runnable nextRound) {
+            this.nextRound = nextRound;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures replaying a recorded round of {@link GameEngine} out of its {@link GameEventLog}, from the snapshot at the
+ * start of the round until the showdown.<br/>
+ * Players always check or call, so every recorded round goes through all streets and ends with applying the winnings.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@State(Scope.Thread)
+public class GameReplayBenchmark {
+    private static final int ROUNDS = 10;
+
+    @Param({ "2", "7" })
+    private int amountOfPlayers;
+
+    private GameSettings gameSettings;
+    private GameEventLog log;
+    private int round;
+
+    @Setup
+    public void setup() {
+        gameSettings = GameSettings.builder().smallBet(1).bigBet(2).isNetwork(false).build();
+        log = new GameEventLog();
+
+        GameClock.ManualClock clock = GameClock.manual(0);
+        GameEngine gameEngine = new GameEngine(gameSettings, (player, chips) -> {}, DeckRandomSource.seeded(52), null, clock) {
+            @Override
+            protected void info(String message) {
+                // Logging would dominate the recording
+            }
+
+            @Override
+            protected boolean isInfoEnabled() {
+                return false;
+            }
+        };
+        gameEngine.setEventListener(log);
+
+        for (int i = 0; i < amountOfPlayers; i++) {
+            gameEngine.addPlayer(Player.builder().id("id" + i).name("name" + i).chips(new Chips(1_000_000)).position(i).build());
+        }
+
+        gameEngine.start();
+        while (log.getAmountOfRounds() <= ROUNDS) {
+            if (gameEngine.getPlayerToEarnings() != null) {
+                clock.advance(GameEngine.NEXT_ROUND_DELAY_MILLIS);
+                continue;
+            }
+
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+            PlayerActionKind actionKind = gameEngine.getPot().hasLastBet() ? PlayerActionKind.CALL : PlayerActionKind.CHECK;
+            gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(actionKind).build());
+        }
+
+        gameEngine.stop();
+    }
+
+    @Benchmark
+    public GameEngine replayRound() {
+        round = (round + 1) % ROUNDS;
+        return log.replayRound(gameSettings, round);
+    }
+}
@@ -0,0 +1,86 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+
+/**
+ * Measures {@link Pot#bet(Player, long)} and {@link Pot#applyWinning(Set, Board)} with 2 to 7 players.<br/>
+ * Each player has a different amount of chips and goes all-in, so there is a side pot per player.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@State(Scope.Thread)
+public class PotBenchmark {
+    private static final long SEED = 52;
+    private static final long CHIPS = 1000;
+
+    @Param({ "2", "3", "4", "5", "6", "7" })
+    private int amountOfPlayers;
+
+    private Pot pot;
+    private Player[] players;
+    private Set<Player> involvedPlayers;
+    private Board board;
+
+    @Setup
+    public void setup() {
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Collections.shuffle(allCards, new Random(SEED));
+        Iterator<Card> cards = allCards.iterator();
+
+        board = new Board();
+        for (int i = 0; i < Board.AMOUNT_OF_CARDS; i++) {
+            board.addCard(cards.next());
+        }
+
+        pot = new Pot();
+        players = new Player[amountOfPlayers];
+        involvedPlayers = new HashSet<>();
+        for (int i = 0; i < amountOfPlayers; i++) {
+            Hand hand = new Hand();
+            hand.addCard(cards.next());
+            hand.addCard(cards.next());
+
+            players[i] = Player.builder().id("" + i).name("Player" + i).chips(new Chips()).isPlaying(true).hand(hand).position(i).build();
+            involvedPlayers.add(players[i]);
+        }
+    }
+
+    @Benchmark
+    public long betAllIn() {
+        resetChips();
+        long sum = betAllInOfAllPlayers();
+        pot.clear();
+        return sum;
+    }
+
+    @Benchmark
+    public Map<String, Pot.PlayerWinning> betAndApplyWinning() {
+        resetChips();
+        betAllInOfAllPlayers();
+        Map<String, Pot.PlayerWinning> winnings = pot.applyWinning(involvedPlayers, board);
+        pot.clear();
+        return winnings;
+    }
+
+    private long betAllInOfAllPlayers() {
+        long sum = 0;
+        for (Player player : players) {
+            sum += pot.bet(player, player.getChips().get());
+        }
+
+        return sum;
+    }
+
+    private void resetChips() {
+        // Different amount of chips per player, so each all-in creates a side pot
+        for (int i = 0; i < players.length; i++) {
+            players[i].getChips().set(CHIPS * (i + 1));
+        }
+    }
+}
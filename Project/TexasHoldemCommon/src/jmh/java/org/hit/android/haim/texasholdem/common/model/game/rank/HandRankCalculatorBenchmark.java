@@ -0,0 +1,56 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures {@link HandRankCalculator#calculate(Board, Hand)} on 5, 6 and 7 cards.<br/>
+ * We prepare a fixed set of random boards and hands, and go over them in a loop, so the benchmark does not
+ * measure a single hand that the CPU has learned by heart.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@State(Scope.Thread)
+public class HandRankCalculatorBenchmark {
+    private static final int AMOUNT_OF_HANDS = 1024;
+    private static final long SEED = 52;
+
+    /**
+     * Total amount of cards: board cards plus 2 hand cards
+     */
+    @Param({ "5", "6", "7" })
+    private int amountOfCards;
+
+    private Board[] boards;
+    private Hand[] hands;
+    private int index;
+
+    @Setup
+    public void setup() {
+        boards = new Board[AMOUNT_OF_HANDS];
+        hands = new Hand[AMOUNT_OF_HANDS];
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Random random = new Random(SEED);
+        int boardSize = amountOfCards - 2;
+
+        for (int i = 0; i < AMOUNT_OF_HANDS; i++) {
+            Collections.shuffle(allCards, random);
+            boards[i] = new Board(new ArrayList<>(allCards.subList(0, boardSize)));
+            hands[i] = new Hand(new ArrayList<>(allCards.subList(boardSize, boardSize + 2)));
+        }
+    }
+
+    @Benchmark
+    public HandRankCalculatorResult calculate() {
+        int i = index++ & (AMOUNT_OF_HANDS - 1);
+        return HandRankCalculator.calculate(boards[i], hands[i]);
+    }
+}
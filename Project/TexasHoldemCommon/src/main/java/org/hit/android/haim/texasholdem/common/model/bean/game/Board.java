@@ -34,6 +34,10 @@ public class Board extends CardsHolder {
         return AMOUNT_OF_CARDS;
     }
 
+    public boolean hasFlop() {
+        return getCards().size() > 2;
+    }
+
     public boolean hasTurn() {
         return getCards().size() > 3;
     }
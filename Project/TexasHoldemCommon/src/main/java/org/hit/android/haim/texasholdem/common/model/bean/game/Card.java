@@ -1,10 +1,15 @@
 package org.hit.android.haim.texasholdem.common.model.bean.game;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
+import java.util.Collection;
+
 /**
  * A card in the game<br/>
- * A card has a rank and suit.
+ * A card has a rank and suit.<br/>
+ * In addition, each real card has an {@link #getIndex() index} in range [0, 51], so we can work with cards as
+ * bits of a 64-bit mask, or as primitive int arrays, without allocating objects.
  *
  * @author Haim Adrian
  * @see CardRank
@@ -22,6 +27,16 @@ public class Card implements Comparable<Card> {
      */
     public static final Card EMPTY = new Card(CardRank.NONE, null);
 
+    /**
+     * Amount of ranks in each suit, not including {@link CardRank#NONE}
+     */
+    public static final int RANKS_PER_SUIT = 13;
+
+    /**
+     * Amount of real cards. Card indices are in range [0, AMOUNT_OF_CARDS)
+     */
+    public static final int AMOUNT_OF_CARDS = RANKS_PER_SUIT * 4;
+
     @Setter(AccessLevel.PRIVATE)
     private CardRank cardRank;
 
@@ -53,6 +68,49 @@ public class Card implements Comparable<Card> {
         return new Card(CardRank.valueOfSymbol("" + trimmed.charAt(0)), CardSuit.valueOfSymbol("" + trimmed.charAt(1)));
     }
 
+    /**
+     * Get a card by its index.<br/>
+     * Cards are cached, so this method does not allocate anything.
+     * @param index The index of a card, in range [0, 51]
+     * @return The card at the specified index
+     * @throws ArrayIndexOutOfBoundsException In case index is out of range
+     * @see #getIndex()
+     */
+    public static Card ofIndex(int index) {
+        return AllCardsRef.ALL_CARDS[index];
+    }
+
+    /**
+     * Build a 64-bit mask out of cards, where each card sets the bit at its {@link #getIndex() index}.<br/>
+     * Cards that are not real (e.g. {@link #EMPTY}) are ignored.
+     * @param cards The cards to build a mask of
+     * @return The mask
+     */
+    public static long maskOf(Collection<Card> cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            int index = card.getIndex();
+            if (index >= 0) {
+                mask |= 1L << index;
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * The index of a card is {@code suit * 13 + (rank - 2)}, so each suit occupies 13 consecutive bits in a 64-bit mask.
+     * @return The index of this card, in range [0, 51], or {@code -1} in case this is not a real card (e.g. {@link #EMPTY})
+     */
+    @JsonIgnore
+    public int getIndex() {
+        if ((cardSuit == null) || (cardRank == null) || (cardRank == CardRank.NONE)) {
+            return -1;
+        }
+
+        return cardSuit.ordinal() * RANKS_PER_SUIT + cardRank.ordinal() - 1;
+    }
+
     @Override
     public int compareTo(Card another) {
         return cardRank.compareTo(another.cardRank);
@@ -170,5 +228,20 @@ public class Card implements Comparable<Card> {
             return getSymbol();
         }
     }
-}
 
+    private static final class AllCardsRef {
+        private static final Card[] ALL_CARDS;
+
+        static {
+            ALL_CARDS = new Card[AMOUNT_OF_CARDS];
+            for (CardSuit cardSuit : CardSuit.values()) {
+                for (CardRank cardRank : CardRank.values()) {
+                    if (cardRank != CardRank.NONE) {
+                        Card card = new Card(cardRank, cardSuit);
+                        ALL_CARDS[card.getIndex()] = card;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -6,16 +6,18 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * An abstract class representing a model that holds cards.<br/>
- * A card holder can be {@link Hand} which holds two cards, or {@link Board} which holds 5 cards.
+ * A card holder can be {@link Hand} which holds two cards, or {@link Board} which holds 5 cards.<br/>
+ * Alongside the cards, we maintain a primitive representation of them: a 64-bit {@link #getCardsMask() mask} and
+ * an int array of {@link #getCardIndices() card indices}, so hot code paths (evaluation, dealing, equity) can work
+ * on bits and primitives without allocating. See {@link Card#getIndex()}
  * @author Haim Adrian
  * @since 08-May-21
  */
 @Data
-@ToString(exclude = {"backedBy"})
+@ToString(exclude = {"backedBy", "cardsMask", "cardIndices"})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class CardsHolder {
     /**
@@ -34,12 +36,31 @@ public abstract class CardsHolder {
     @EqualsAndHashCode.Include
     private final Set<Card> backedBy;
 
+    /**
+     * A mask of the real cards in this holder, where each card sets the bit at its {@link Card#getIndex() index}.<br/>
+     * We use it to check whether a card exists in O(1), without hashing.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private long cardsMask;
+
+    /**
+     * Indices of the cards, in the same order as {@link #cards}. Only the first {@link #size()} elements are valid.<br/>
+     * Cards that are not real (e.g. {@link Card#EMPTY}) are kept as {@code -1}.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private int[] cardIndices;
+
     /**
      * Constructs a new {@link CardsHolder}
      */
     public CardsHolder() {
         cards = new ArrayList<>(getAmountOfCards());
         backedBy = new HashSet<>(getAmountOfCards());
+        cardIndices = new int[getAmountOfCards()];
     }
 
     // Define it explicitly so we will be able to construct the backedBy set according to the
@@ -48,6 +69,8 @@ public abstract class CardsHolder {
     public CardsHolder(@JsonProperty("cards") List<Card> cards) {
         this.cards = cards;
         backedBy = new HashSet<>(cards);
+        cardIndices = new int[Math.max(getAmountOfCards(), cards.size())];
+        reindex();
     }
 
     /**
@@ -61,9 +84,8 @@ public abstract class CardsHolder {
      * @return A reference to this, to support chaining
      */
     public CardsHolder addCard(Card card) {
-        if (!backedBy.contains(card)) {
-            cards.add(card);
-            backedBy.add(card);
+        if (!containsCard(card)) {
+            appendCard(card);
         }
 
         return this;
@@ -75,18 +97,51 @@ public abstract class CardsHolder {
      * @return A reference to this, to support chaining
      */
     public CardsHolder addCards(Collection<Card> cards) {
-        List<Card> nonExistingCards = cards.stream().filter(card -> !backedBy.contains(card)).collect(Collectors.toList());
-        this.cards.addAll(nonExistingCards);
-        this.backedBy.addAll(nonExistingCards);
+        for (Card card : cards) {
+            if (!containsCard(card)) {
+                appendCard(card);
+            }
+        }
+
         return this;
     }
 
+    /**
+     * Tests whether a card is in this holder. For real cards this is a bit test.
+     * @param card The card to look for
+     * @return Whether the card is in this holder or not
+     */
+    public boolean containsCard(Card card) {
+        int index = card == null ? -1 : card.getIndex();
+        if (index >= 0) {
+            return (cardsMask & (1L << index)) != 0;
+        }
+
+        return backedBy.contains(card);
+    }
+
+    private void appendCard(Card card) {
+        int index = card == null ? -1 : card.getIndex();
+        if (cards.size() == cardIndices.length) {
+            cardIndices = Arrays.copyOf(cardIndices, Math.max(1, cardIndices.length * 2));
+        }
+
+        cardIndices[cards.size()] = index;
+        if (index >= 0) {
+            cardsMask |= 1L << index;
+        }
+
+        cards.add(card);
+        backedBy.add(card);
+    }
+
     /**
      * Remove all cards
      */
     public void clear() {
         cards.clear();
         backedBy.clear();
+        cardsMask = 0;
     }
 
     /**
@@ -111,12 +166,37 @@ public abstract class CardsHolder {
      */
     protected Optional<Card> removeCardAt(int index) {
         if ((index >= 0) && (cards.size() > index)) {
+            int cardIndex = cardIndices[index];
+            if (cardIndex >= 0) {
+                cardsMask &= ~(1L << cardIndex);
+            }
+
+            System.arraycopy(cardIndices, index + 1, cardIndices, index, cards.size() - index - 1);
             return Optional.ofNullable(cards.remove(index));
         }
 
         return Optional.empty();
     }
 
+    /**
+     * Re-build the primitive representation out of {@link #cards}.<br/>
+     * Sub classes that modify the list of cards directly (e.g. re-order them) must call this method afterwards.
+     */
+    protected void reindex() {
+        if (cardIndices.length < cards.size()) {
+            cardIndices = new int[cards.size()];
+        }
+
+        cardsMask = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            cardIndices[i] = card == null ? -1 : card.getIndex();
+            if (cardIndices[i] >= 0) {
+                cardsMask |= 1L << cardIndices[i];
+            }
+        }
+    }
+
     /**
      * @return Copy of cards in this cards holder
      */
@@ -134,6 +214,37 @@ public abstract class CardsHolder {
         return new ArrayList<>(cards);
     }
 
+    /**
+     * @return A 64-bit mask of the real cards in this holder. See {@link Card#getIndex()}
+     */
+    @JsonIgnore
+    public long getCardsMask() {
+        return cardsMask;
+    }
+
+    /**
+     * A primitive view of the cards, ordered the same as the cards. Only the first {@link #size()} elements are valid.<br/>
+     * This is the internal array, returned without copying so we will not allocate on hot paths. Do not modify it.
+     * @return Indices of the cards. See {@link Card#getIndex()}
+     */
+    @JsonIgnore
+    public int[] getCardIndices() {
+        return cardIndices;
+    }
+
+    /**
+     * Get the index of a card based on its position in this holder.
+     * @param position The position of the card, in range [0, size())
+     * @return The index of the card (See {@link Card#getIndex()}), or {@code -1} in case there is no real card at the specified position
+     */
+    public int getCardIndexAt(int position) {
+        if ((position >= 0) && (cards.size() > position)) {
+            return cardIndices[position];
+        }
+
+        return -1;
+    }
+
     /**
      * @return How many cards this cards holder holds
      */
@@ -141,4 +252,3 @@ public abstract class CardsHolder {
         return cards.size();
     }
 }
-
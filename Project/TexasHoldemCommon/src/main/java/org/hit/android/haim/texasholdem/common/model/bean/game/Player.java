@@ -85,7 +85,10 @@ public class Player {
     public static class PlayerKeySerializer extends JsonSerializer<Player> {
         @Override
         public void serialize(Player value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-            gen.writeFieldName(JsonUtils.writeValueAsString(value));
+            // Keys only identify players, so never reveal a hand in them. This way the hand of a player appears in its
+            // "hand" property only, where a TableView can splice it.
+            Player withoutHand = new Player(value.getId(), value.getName(), value.getChips(), value.isPlaying(), null, value.getPosition());
+            gen.writeFieldName(JsonUtils.writeValueAsString(withoutHand));
         }
     }
 
@@ -0,0 +1,154 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+
+/**
+ * The state of a round of bets, from the blinds or a new card of the board, until every player has matched the bet
+ * or folded.<br/>
+ * We keep the bet to match, the seat that made it, the minimum raise, and a bitmask of the seats that still have to act,
+ * by {@link Player#getPosition() position}, like {@link Players#getOccupiedSeats()}. A bet or a raise puts all other
+ * active seats back to act, and any other action takes the seat of the acting player out. This way, how an action is
+ * executed is a lookup at {@link #ACTION_BY_DEBT}, and a round of bets is over once no active seat is left to act.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+public class BettingRound {
+    /**
+     * The value of {@link #lastAggressorSeat} when nobody has bet yet
+     */
+    public static final int NO_SEAT = -1;
+
+    /**
+     * How a requested action is executed, by the {@link PlayerActionKind#ordinal() kind} of the action (rows), and
+     * whether the player has chips to put in order to match the bet (columns).<br/>
+     * A player cannot CHECK a bet, so it CALLs it. A RAISE that does not raise is fixed by {@link #fixRaise(long, long, long)}.
+     */
+    private static final PlayerActionKind[][] ACTION_BY_DEBT = {
+        // Nothing to match         Chips to match
+        { PlayerActionKind.FOLD,    PlayerActionKind.FOLD },  // FOLD
+        { PlayerActionKind.CHECK,   PlayerActionKind.CALL },  // CHECK
+        { PlayerActionKind.CALL,    PlayerActionKind.CALL },  // CALL
+        { PlayerActionKind.RAISE,   PlayerActionKind.RAISE }  // RAISE
+    };
+
+    /**
+     * The total amount each player has to put in this round of bets to stay in the game. 0 when nobody has bet yet
+     */
+    @JsonProperty
+    private long betToMatch;
+
+    /**
+     * The seat of the player who made the {@link #betToMatch}, or {@link #NO_SEAT}
+     */
+    @JsonProperty
+    private int lastAggressorSeat = NO_SEAT;
+
+    /**
+     * The minimum amount to raise by. It is the big blind, or the last full raise when it was higher
+     */
+    @JsonProperty
+    private long minRaise;
+
+    /**
+     * Bitmask of the seats that still have to act in this round of bets
+     */
+    @JsonProperty
+    private int seatsToAct;
+
+    /**
+     * Start a new round of bets, where nobody has bet yet
+     * @param activeSeats The seats that have to act. See {@link Players#getActiveSeats()}
+     * @param minRaise The minimum amount to raise by
+     */
+    public void start(int activeSeats, long minRaise) {
+        betToMatch = 0;
+        lastAggressorSeat = NO_SEAT;
+        this.minRaise = minRaise;
+        seatsToAct = activeSeats;
+    }
+
+    /**
+     * Let all active seats act again, keeping the bet to match. We use it once the blinds are taken, as posting a blind
+     * is not acting, and the big blind player has the option to raise its own blind.
+     * @param activeSeats The seats that have to act. See {@link Players#getActiveSeats()}
+     * @param minRaise The minimum amount to raise by
+     */
+    public void reopen(int activeSeats, long minRaise) {
+        this.minRaise = minRaise;
+        seatsToAct = activeSeats;
+    }
+
+    /**
+     * @param actionKind The action a player asked for
+     * @param betOfPlayer How many chips the player has put in this round of bets
+     * @return How to execute the action. See {@link #ACTION_BY_DEBT}
+     */
+    public PlayerActionKind actionKindOf(PlayerActionKind actionKind, long betOfPlayer) {
+        return ACTION_BY_DEBT[actionKind.ordinal()][betOfPlayer < betToMatch ? 1 : 0];
+    }
+
+    /**
+     * Fix the amount of a RAISE, such that it raises at least by {@link #minRaise}, unless the player goes all-in.
+     * @param chips The chips a player asked to add to its bet
+     * @param betOfPlayer How many chips the player has put in this round of bets
+     * @param chipsOfPlayer How many chips the player has
+     * @return The chips to add, or {@code -1} in case the raise does not exceed the bet to match, so it is a CALL
+     */
+    public long fixRaise(long chips, long betOfPlayer, long chipsOfPlayer) {
+        if (betOfPlayer + chips <= betToMatch) {
+            return -1;
+        }
+
+        return Math.max(chips, Math.min(getMinRaiseTo() - betOfPlayer, chipsOfPlayer));
+    }
+
+    /**
+     * @return The minimum total bet of a player that raises
+     */
+    @JsonIgnore
+    public long getMinRaiseTo() {
+        return betToMatch + minRaise;
+    }
+
+    /**
+     * Apply an action that was executed.<br/>
+     * A player that puts more than the bet to match is the new aggressor, and all other active seats have to act again.
+     * Otherwise, the seat of the player has acted.
+     * @param seat The seat of the acting player
+     * @param betOfPlayer How many chips the player has put in this round of bets, including this action
+     * @param activeSeats The seats that can still act, after this action. See {@link Players#getActiveSeats()}
+     */
+    public void onAction(int seat, long betOfPlayer, int activeSeats) {
+        int seatMask = 1 << seat;
+        if (betOfPlayer > betToMatch) {
+            // Short all-in raises raise the bet, but not the minimum raise
+            long raise = betOfPlayer - betToMatch;
+            if (raise >= minRaise) {
+                minRaise = raise;
+            }
+
+            betToMatch = betOfPlayer;
+            lastAggressorSeat = seat;
+            seatsToAct = activeSeats & ~seatMask;
+        } else {
+            seatsToAct &= ~seatMask;
+        }
+    }
+
+    /**
+     * @param activeSeats The seats that can still act. See {@link Players#getActiveSeats()}
+     * @return Whether the round of bets is over, as there is no active seat left to act
+     */
+    public boolean isOver(int activeSeats) {
+        return (seatsToAct & activeSeats) == 0;
+    }
+}
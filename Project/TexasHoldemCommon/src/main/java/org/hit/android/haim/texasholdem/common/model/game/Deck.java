@@ -1,24 +1,59 @@
 package org.hit.android.haim.texasholdem.common.model.game;
 
+import lombok.NonNull;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
-import org.hit.android.haim.texasholdem.common.model.bean.game.CardsHolder;
 
-import java.security.SecureRandom;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 /**
+ * A deck of 52 cards.<br/>
+ * The deck keeps the {@link Card#getIndex() indices} of its cards in a primitive array, which is shuffled in place,
+ * and deals by advancing a position in that array. Hence shuffling and dealing do not allocate anything.
+ * The randomness comes from a {@link DeckRandomSource}, which is cryptographically strong by default.
  * @author Haim Adrian
  * @since 09-May-21
  */
-public class Deck extends CardsHolder {
+public class Deck {
     /**
-     * Constructs a new {@link Deck}
+     * Mask of all cards. See {@link Card#getIndex()}
+     */
+    private static final long ALL_CARDS_MASK = (1L << Card.AMOUNT_OF_CARDS) - 1;
+
+    /**
+     * Indices of the cards, in the order we deal them
+     */
+    private final int[] cardIndices = new int[Card.AMOUNT_OF_CARDS];
+
+    /**
+     * The position of the next card to deal, at {@link #cardIndices}
+     */
+    private int position;
+
+    /**
+     * Mask of the cards that were not dealt yet
+     */
+    private long cardsMask;
+
+    private final DeckRandomSource randomSource;
+
+    /**
+     * Constructs a new {@link Deck} that shuffles using {@link DeckRandomSource#secure()}
      */
     public Deck() {
-        super.addCards(AllCardsRef.ALL_CARDS);
+        this(DeckRandomSource.secure());
+    }
+
+    /**
+     * Constructs a new {@link Deck}
+     * @param randomSource The source of randomness to shuffle with
+     */
+    public Deck(@NonNull DeckRandomSource randomSource) {
+        this.randomSource = randomSource;
+        reset();
     }
 
     /**
@@ -28,62 +63,151 @@ public class Deck extends CardsHolder {
         return AllCardsRef.ALL_CARDS;
     }
 
-    @Override
-    protected int getAmountOfCards() {
-        return AllCardsRef.ALL_CARDS.size();
-    }
+    /**
+     * Shuffles the deck, returning all cards to it.<br/>
+     * We start from an ordered deck and use Fisher-Yates shuffle, so the order depends on the random source only.
+     */
+    public void shuffle() {
+        reset();
 
-    @Override
-    public CardsHolder addCard(Card card) {
-        // Don't call super. Adding cards to a deck is prohibited.
-        return this;
+        for (int i = cardIndices.length - 1; i > 0; i--) {
+            int j = randomSource.nextInt(i + 1);
+            int cardIndex = cardIndices[j];
+            cardIndices[j] = cardIndices[i];
+            cardIndices[i] = cardIndex;
+        }
     }
 
-    @Override
-    public CardsHolder addCards(Collection<Card> cards) {
-        // Don't call super. Adding cards to a deck is prohibited.
-        return this;
+    /**
+     * Returns all cards to the deck in a specified order, instead of shuffling it. This is how a recorded deal is
+     * dealt again when replaying a game. See {@link GameEvent.RoundStarted}
+     * @param cardIndices {@link Card#getIndex() Indices} of all cards, in the order to deal them
+     * @throws IllegalArgumentException In case the specified indices are not an order of all cards
+     */
+    public void arrange(byte[] cardIndices) throws IllegalArgumentException {
+        if (cardIndices.length != this.cardIndices.length) {
+            throw new IllegalArgumentException("Expected " + this.cardIndices.length + " cards, was: " + cardIndices.length);
+        }
+
+        long mask = 0;
+        for (byte cardIndex : cardIndices) {
+            if ((cardIndex < 0) || (cardIndex >= Card.AMOUNT_OF_CARDS)) {
+                throw new IllegalArgumentException("Illegal card index: " + cardIndex);
+            }
+
+            mask |= 1L << cardIndex;
+        }
+
+        if (mask != ALL_CARDS_MASK) {
+            throw new IllegalArgumentException("Each card must appear once: " + Arrays.toString(cardIndices));
+        }
+
+        reset();
+        for (int i = 0; i < cardIndices.length; i++) {
+            this.cardIndices[i] = cardIndices[i];
+        }
     }
 
     /**
-     * Shuffles the deck
+     * @return {@link Card#getIndex() Indices} of the cards that were not dealt yet, in the order we deal them
      */
-    public void shuffle() {
-        super.clear();
-        super.addCards(AllCardsRef.ALL_CARDS);
-        Collections.shuffle(getCards(), new SecureRandom());
+    public byte[] getCardIndices() {
+        byte[] result = new byte[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte)cardIndices[position + i];
+        }
+
+        return result;
     }
 
     /**
      * Pops a card out of the head of the deck and return it
-     * @return A card from the head of the deck
+     * @return A card from the head of the deck, or {@code null} in case there are no more cards
      */
     public Card popCard() {
-        return removeCardAt(0).orElse(null);
+        if (position >= cardIndices.length) {
+            return null;
+        }
+
+        int cardIndex = cardIndices[position++];
+        cardsMask &= ~(1L << cardIndex);
+        return Card.ofIndex(cardIndex);
     }
 
     /**
      * Drops a card out of the deck without returning it
      */
     public void dropCard() {
-        removeCardAt(0);
+        popCard();
+    }
+
+    /**
+     * @return How many cards are left in the deck
+     */
+    public int size() {
+        return cardIndices.length - position;
+    }
+
+    /**
+     * Get a card that was not dealt yet, without removing it
+     * @param index Index of the card relative to the head of the deck. 0 is the next card to deal
+     * @return The card, or empty in case index is out of range
+     */
+    public Optional<Card> getCardAt(int index) {
+        if ((index >= 0) && (index < size())) {
+            return Optional.of(Card.ofIndex(cardIndices[position + index]));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @param index Index of the card relative to the head of the deck. 0 is the next card to deal
+     * @return The {@link Card#getIndex() index} of the card, or -1 in case index is out of range
+     */
+    public int getCardIndexAt(int index) {
+        if ((index >= 0) && (index < size())) {
+            return cardIndices[position + index];
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return Mask of the cards that were not dealt yet. See {@link Card#getIndex()}
+     */
+    public long getCardsMask() {
+        return cardsMask;
+    }
+
+    /**
+     * @param card A card
+     * @return Whether the card was not dealt yet
+     */
+    public boolean containsCard(Card card) {
+        int index = card.getIndex();
+        return (index >= 0) && ((cardsMask & (1L << index)) != 0);
+    }
+
+    private void reset() {
+        for (int i = 0; i < cardIndices.length; i++) {
+            cardIndices[i] = i;
+        }
+
+        position = 0;
+        cardsMask = ALL_CARDS_MASK;
     }
 
     private static final class AllCardsRef {
         private static final Set<Card> ALL_CARDS;
 
         static {
-            Set<Card> allCards = new HashSet<>(52);
-            for (Card.CardRank cardRank : Card.CardRank.values()) {
-                if (cardRank != Card.CardRank.NONE) {
-                    for (Card.CardSuit cardSuit : Card.CardSuit.values()) {
-                        allCards.add(new Card(cardRank, cardSuit));
-                    }
-                }
+            Set<Card> allCards = new HashSet<>(Card.AMOUNT_OF_CARDS);
+            for (int i = 0; i < Card.AMOUNT_OF_CARDS; i++) {
+                allCards.add(Card.ofIndex(i));
             }
 
             ALL_CARDS = Collections.unmodifiableSet(allCards);
         }
     }
 }
-
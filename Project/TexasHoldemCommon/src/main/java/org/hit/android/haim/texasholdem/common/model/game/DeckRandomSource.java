@@ -0,0 +1,90 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+/**
+ * The source of randomness a {@link Deck} shuffles with.<br/>
+ * There are three kinds of sources:
+ * <ul>
+ *     <li>{@link #secure()} - A cryptographically strong source, for real games. Each thread creates its own
+ *     {@link SecureRandom} once and reuses it, so a shuffle never waits for a new instance to be seeded.</li>
+ *     <li>{@link #fast()} - A fast, non cryptographic source, for simulations. Each call splits a new generator.</li>
+ *     <li>{@link #seeded(long)} - A deterministic source, so the same seed deals the same cards. For replays and tests.</li>
+ * </ul>
+ * A fast or seeded source is not thread safe, so each deck must have its own source.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public interface DeckRandomSource {
+    /**
+     * @param bound The upper bound (exclusive). Must be positive
+     * @return A random int in range [0, bound)
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return A source that uses a {@link SecureRandom} per thread
+     */
+    static DeckRandomSource secure() {
+        return SecureRandomSource.INSTANCE;
+    }
+
+    /**
+     * @return A new fast source, split out of a shared root generator
+     */
+    static DeckRandomSource fast() {
+        return new SplittableRandomSource(SplittableRandomSource.split());
+    }
+
+    /**
+     * @param seed The seed to generate the deals with
+     * @return A new source that generates the same sequence for the same seed
+     */
+    static DeckRandomSource seeded(long seed) {
+        return new SplittableRandomSource(new SplittableRandom(seed));
+    }
+
+    /**
+     * Uses a {@link SecureRandom} per thread. {@link SecureRandom} is thread safe, but keeping one per thread
+     * avoids contention when several tables shuffle at the same time.
+     */
+    final class SecureRandomSource implements DeckRandomSource {
+        private static final SecureRandomSource INSTANCE = new SecureRandomSource();
+        private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+        private SecureRandomSource() {
+
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return RANDOM.get().nextInt(bound);
+        }
+    }
+
+    /**
+     * Uses a {@link SplittableRandom}, which is fast and gives a reproducible sequence out of a seed
+     */
+    final class SplittableRandomSource implements DeckRandomSource {
+        private static final SplittableRandom ROOT = new SplittableRandom();
+
+        private final SplittableRandom random;
+
+        private SplittableRandomSource(SplittableRandom random) {
+            this.random = random;
+        }
+
+        private static SplittableRandom split() {
+            // SplittableRandom is not thread safe, so guard the root while splitting it
+            synchronized (ROOT) {
+                return ROOT.split();
+            }
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.util.HashedWheelTimer;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The source of time of a {@link GameEngine}. All the timing of a game (turn timeouts, the delay before a next
+ * round and the creation time) goes through its clock. There are three kinds of clocks:
+ * <ul>
+ *     <li>{@link #real()} - Wall clock time, for real games.</li>
+ *     <li>{@link #accelerated(double)} - Time that runs faster than the wall clock by some factor, for simulations that
+ *     should still take some real time. (e.g. a turn timeout of a minute elapses after 60 milliseconds, at factor 1000)</li>
+ *     <li>{@link #manual(long)} - Time that moves only when {@link ManualClock#advance(long) advanced}, for tests and
+ *     simulations that drive the game as fast as possible, and deterministically.</li>
+ * </ul>
+ * Scheduled tasks are executed by the thread of the clock (the thread of {@link HashedWheelTimer}, or the thread that
+ * advances a manual clock), so they must be short.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public interface GameClock {
+    /**
+     * @return Current time, in milliseconds since epoch
+     */
+    long currentTimeMillis();
+
+    /**
+     * Schedule a task to run once, after the specified delay of this clock has elapsed
+     * @param task The task to run
+     * @param delayMillis How much time (of this clock) to wait before running the task
+     * @return A reference that can be used to cancel the task
+     */
+    Cancellable schedule(@NonNull Runnable task, long delayMillis);
+
+    /**
+     * @return The wall clock, with tasks scheduled at the shared {@link HashedWheelTimer}
+     */
+    static GameClock real() {
+        return RealClock.INSTANCE;
+    }
+
+    /**
+     * @param factor How many times faster than the wall clock this clock runs. Must be positive
+     * @return A new clock that starts at current time and runs faster than the wall clock
+     */
+    static GameClock accelerated(double factor) {
+        return new AcceleratedClock(factor);
+    }
+
+    /**
+     * @param startTimeMillis The time to start the clock at, in milliseconds since epoch
+     * @return A new clock that moves only when advanced
+     */
+    static ManualClock manual(long startTimeMillis) {
+        return new ManualClock(startTimeMillis);
+    }
+
+    /**
+     * A task scheduled by {@link GameClock#schedule(Runnable, long)}
+     */
+    @FunctionalInterface
+    interface Cancellable {
+        /**
+         * Cancel the task, so it will not run
+         * @return Whether the task was cancelled, or {@code false} in case it has already run or cancelled
+         */
+        boolean cancel();
+    }
+
+    /**
+     * Wall clock time
+     */
+    final class RealClock implements GameClock {
+        private static final RealClock INSTANCE = new RealClock();
+
+        private RealClock() {
+
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            return HashedWheelTimer.getInstance().newTimeout(task, delayMillis, TimeUnit.MILLISECONDS)::cancel;
+        }
+    }
+
+    /**
+     * Time that runs faster than the wall clock. Tasks are scheduled at the shared {@link HashedWheelTimer}, with their
+     * delay divided by the factor. Note that the accuracy of the timer is in wall clock time, so it is multiplied by the
+     * factor in the time of this clock.
+     */
+    final class AcceleratedClock implements GameClock {
+        private final double factor;
+        private final long startTimeMillis;
+        private final long startNanos;
+
+        private AcceleratedClock(double factor) {
+            if (!(factor > 0)) {
+                throw new IllegalArgumentException("Factor must be positive. Was: " + factor);
+            }
+
+            this.factor = factor;
+            startTimeMillis = System.currentTimeMillis();
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return startTimeMillis + (long)((System.nanoTime() - startNanos) * factor / 1_000_000);
+        }
+
+        @Override
+        public Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            long delayNanos = (long)(TimeUnit.MILLISECONDS.toNanos(delayMillis) / factor);
+            return HashedWheelTimer.getInstance().newTimeout(task, delayNanos, TimeUnit.NANOSECONDS)::cancel;
+        }
+    }
+
+    /**
+     * Time that moves only when {@link #advance(long) advanced}. Tasks whose time has come are executed by the thread
+     * that advances the clock, by their time order.
+     */
+    final class ManualClock implements GameClock {
+        /**
+         * Below this amount of cancelled tasks, we do not bother to compact the queue
+         */
+        private static final int MIN_CANCELLED_TASKS_TO_COMPACT = 64;
+
+        private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<>();
+        private long currentTimeMillis;
+
+        /**
+         * How many cancelled tasks are still in the queue. A turn timer cancels its previous timeout whenever it is reset,
+         * so when time rarely moves, cancelled tasks pile up behind the head of the queue. See {@link #onCancelled()}
+         */
+        private int cancelledTasks;
+
+        /**
+         * Keep the order of tasks scheduled to the same time
+         */
+        private long sequence;
+
+        private ManualClock(long startTimeMillis) {
+            currentTimeMillis = startTimeMillis;
+        }
+
+        @Override
+        public synchronized long currentTimeMillis() {
+            return currentTimeMillis;
+        }
+
+        @Override
+        public synchronized Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            ScheduledTask scheduledTask = new ScheduledTask(task, currentTimeMillis + Math.max(0, delayMillis), sequence++);
+            tasks.add(scheduledTask);
+            return scheduledTask::cancel;
+        }
+
+        /**
+         * Move the time forward, running all tasks whose time has come. Tasks may schedule new tasks, and those will
+         * run as well when their time is within the advanced time.
+         * @param millis How much time to move forward
+         */
+        public void advance(long millis) {
+            long targetTimeMillis;
+            synchronized (this) {
+                targetTimeMillis = currentTimeMillis + Math.max(0, millis);
+            }
+
+            ScheduledTask task;
+            while ((task = pollDueTask(targetTimeMillis)) != null) {
+                // Run outside of the lock, so the task can schedule new tasks
+                task.run();
+            }
+
+            synchronized (this) {
+                currentTimeMillis = targetTimeMillis;
+            }
+        }
+
+        /**
+         * Move the time forward to the next scheduled task and run it, and any other task scheduled to the same time
+         * @return Whether there was a task to run
+         */
+        public boolean advanceToNextTask() {
+            long nextTimeMillis;
+            synchronized (this) {
+                removeCancelledTasks();
+                if (tasks.isEmpty()) {
+                    return false;
+                }
+
+                nextTimeMillis = tasks.peek().timeMillis;
+            }
+
+            advance(nextTimeMillis - currentTimeMillis());
+            return true;
+        }
+
+        /**
+         * @return Amount of tasks that did not run yet
+         */
+        public synchronized int getPendingTasks() {
+            removeCancelledTasks();
+            return tasks.size();
+        }
+
+        /**
+         * @return Amount of tasks in the queue, including cancelled tasks that were not dropped yet
+         */
+        synchronized int getQueueSize() {
+            return tasks.size();
+        }
+
+        private synchronized ScheduledTask pollDueTask(long targetTimeMillis) {
+            removeCancelledTasks();
+            ScheduledTask task = tasks.peek();
+            if ((task == null) || (task.timeMillis > targetTimeMillis)) {
+                return null;
+            }
+
+            tasks.poll();
+            currentTimeMillis = Math.max(currentTimeMillis, task.timeMillis);
+            return task;
+        }
+
+        private void removeCancelledTasks() {
+            while (!tasks.isEmpty() && tasks.peek().isCancelled()) {
+                tasks.poll();
+                cancelledTasks = Math.max(0, cancelledTasks - 1);
+            }
+        }
+
+        /**
+         * A task was cancelled. Once most of the queue is cancelled tasks, drop them all at once, so the queue does not
+         * grow with every cancelled task, and the cost of dropping them is amortized over the cancellations.
+         */
+        private synchronized void onCancelled() {
+            cancelledTasks++;
+            if ((cancelledTasks >= MIN_CANCELLED_TASKS_TO_COMPACT) && (cancelledTasks > (tasks.size() >> 1))) {
+                tasks.removeIf(ScheduledTask::isCancelled);
+                cancelledTasks = 0;
+            }
+        }
+
+        private final class ScheduledTask implements Comparable<ScheduledTask> {
+            private static final int STATE_INIT = 0;
+            private static final int STATE_CANCELLED = 1;
+            private static final int STATE_EXPIRED = 2;
+
+            private final Runnable task;
+            private final long timeMillis;
+            private final long sequence;
+            private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+            ScheduledTask(Runnable task, long timeMillis, long sequence) {
+                this.task = task;
+                this.timeMillis = timeMillis;
+                this.sequence = sequence;
+            }
+
+            boolean cancel() {
+                if (!state.compareAndSet(STATE_INIT, STATE_CANCELLED)) {
+                    return false;
+                }
+
+                onCancelled();
+                return true;
+            }
+
+            boolean isCancelled() {
+                return state.get() == STATE_CANCELLED;
+            }
+
+            void run() {
+                if (state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+                    task.run();
+                }
+            }
+
+            @Override
+            public int compareTo(ScheduledTask o) {
+                int result = Long.compare(timeMillis, o.timeMillis);
+                return result != 0 ? result : Long.compare(sequence, o.sequence);
+            }
+        }
+    }
+}
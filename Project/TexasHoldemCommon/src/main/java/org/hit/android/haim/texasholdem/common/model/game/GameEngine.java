@@ -1,13 +1,20 @@
 package org.hit.android.haim.texasholdem.common.model.game;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.*;
 import org.hit.android.haim.texasholdem.common.model.bean.chat.Channel;
 import org.hit.android.haim.texasholdem.common.model.bean.game.*;
+import org.hit.android.haim.texasholdem.common.model.game.equity.EquityCalculator;
+import org.hit.android.haim.texasholdem.common.model.game.equity.EquityResult;
+import org.hit.android.haim.texasholdem.common.model.game.GameStateVersion.Part;
 import org.hit.android.haim.texasholdem.common.util.CustomThreadFactory;
+import org.hit.android.haim.texasholdem.common.util.JsonUtils;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -19,14 +26,29 @@ import java.util.stream.Collectors;
 /**
  * A class that represents a game between several players<br/>
  * A game has some hashcode that users can use in order to connect to the same game and play together.<br/>
- * Game class will manage the gameplay, and support chat mechanism to let the players communicate with each other.
+ * Game class will manage the gameplay, and support chat mechanism to let the players communicate with each other.<br/>
+ * A game can run in one of two execution modes:
+ * <ul>
+ *     <li>Dedicated threads - The default. Callers mutate the game from their own threads, and the game owns
+ *     a notifier thread. Turn timeouts, round launches and all-in equity results are executed by the notifier thread,
+ *     as the thread of the {@link GameClock} is shared by all games. See {@link #newClockTaskExecutor(Executor)}</li>
+ *     <li>Event loop - When constructed with {@link GameEventLoops}. All mutations (join, leave, start, stop, player
+ *     actions, turn timeouts and round launches) are executed by the {@link GameEventLoop} the game is pinned to, so
+ *     the game has a single writer and owns no threads. Public methods can still be called from any thread. They
+ *     are redirected to the loop and wait for it, so exceptions reach the caller as before.</li>
+ * </ul>
+ * A game emits each of its state transitions as a {@link GameEvent} to its {@link #eventListener}, so a game can be
+ * recorded, and {@link #replay(GameEvent) replayed} later. See {@link GameEventLog}<br/>
+ * Each mutation also moves the {@link #stateVersion} forward, so clients that poll a game can get the
+ * {@link #toJsonDelta(ObjectMapper, long) parts that have changed} since their last version only. The json that players
+ * poll is encoded once per version for all of them, by the {@link #tableView}.
  *
  * @author Haim Adrian
  * @since 08-May-21
  */
 @Data
 @NoArgsConstructor
-@ToString(exclude = {"chat", "deck", "gameLog", "listener", "playersLock"})
+@ToString(exclude = {"chat", "deck", "deckRandomSource", "gameLog", "listener", "playersLock", "eventLoop", "clock", "clockTaskExecutor", "eventListener", "tableView"})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class GameEngine {
     private static final AtomicInteger gameCounter = new AtomicInteger(100); // Assume there can be 900 games running in parallel
@@ -36,6 +58,37 @@ public class GameEngine {
      */
     public static final int MAXIMUM_AMOUNT_OF_PLAYERS = 7;
 
+    /**
+     * How much time to wait after a round is over, before launching the next round, so clients can draw winning indications
+     */
+    public static final long NEXT_ROUND_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * The parts a player action modifies: chips, the pot, the log, the last actions and the round of bets. Moving the
+     * turn forward, revealing cards and applying wins mark their own parts.
+     */
+    private static final int PLAYER_ACTION_CHANGES = Part.maskOf(Part.PLAYERS, Part.POT, Part.GAME_LOG, Part.LAST_ACTION_KIND, Part.PLAYER_LAST_ACTIONS, Part.BETTING_ROUND);
+
+    /**
+     * The parts modified when a round is over: chips, the pot, the log, winnings and the state of the game
+     */
+    private static final int ROUND_OVER_CHANGES = Part.maskOf(Part.PLAYERS, Part.POT, Part.GAME_LOG, Part.EARNINGS, Part.ALL_IN_EQUITY, Part.GAME_STATE);
+
+    /**
+     * The parts modified when a card is revealed and a new round of bets starts: the pot, the players and the round of bets
+     */
+    private static final int NEXT_STREET_CHANGES = Part.maskOf(Part.POT, Part.PLAYERS, Part.LAST_ACTION_KIND, Part.PLAYER_LAST_ACTIONS, Part.BETTING_ROUND);
+
+    /**
+     * The parts modified when the turn moves to the next player: the current player and its timer
+     */
+    private static final int TURN_CHANGES = Part.maskOf(Part.PLAYERS, Part.TURN_TIMER);
+
+    /**
+     * The parts modified when a round is skipped, as there are not enough players: winnings, the dealer and the state of the game
+     */
+    private static final int ROUND_SKIPPED_CHANGES = Part.maskOf(Part.EARNINGS, Part.DEALER, Part.GAME_STATE);
+
     /**
      * A unique identifier of this game
      */
@@ -85,6 +138,14 @@ public class GameEngine {
     @JsonIgnore
     private Player bigBlindPlayer;
 
+    /**
+     * Whether the blinds of a new round are being posted. The turn passes through the blind players while posting them,
+     * but nobody can act before the round of bets is {@link BettingRound#reopen(int, long) reopened}, so we do not
+     * {@link #onTurn(Player) announce} these turns.
+     */
+    @JsonIgnore
+    private boolean isPostingBlinds;
+
     /**
      * The chat of current game.
      * @see Channel
@@ -106,6 +167,13 @@ public class GameEngine {
     @JsonIgnore // Do not expose the deck, to avoid of revealing next cards
     private Deck deck;
 
+    /**
+     * The source of randomness of this game. The deck is shuffled with it, and the first dealer is drawn from it, so a
+     * {@link DeckRandomSource#seeded(long) seeded} game deals the same rounds again
+     */
+    @JsonIgnore
+    private DeckRandomSource deckRandomSource;
+
     /**
      * The board at which we set game cards: 3 X flop, 1 X Turn and 1 X River.
      * @see Board
@@ -126,21 +194,23 @@ public class GameEngine {
     private PlayerTurnTimer playerTurnTimer;
 
     /**
-     * Keep a reference to the last action kind, so we can make sure there are no illegal
-     * actions. For example, a CHECK is not allowed after CALL or RAISE.<br/>
-     * This reference is set to {@code null} when a bet round is started, to allow any action.<br/>
+     * The actions of the current round of bets, latest first.<br/>
      * This variable is used as a stack to hold "history" of last actions, such that we let clients
-     * to search for the last non FOLD action
+     * to search for the last non FOLD action. The legality of actions is decided by the {@link #bettingRound}.
      */
-    private ArrayDeque<PlayerActionKind> lastActionKind; // ArrayDeque and not Deque, so we will have access to clone()
+    private ArrayDeque<PlayerActionKind> lastActionKind;
 
     /**
-     * Map between every player to his last action, so we will be able to detect the case when
-     * current player calls and next player raised. In this case, next player cannot raise again.
-     * Instead, we should open next card.
+     * Map between every player to his last action in the current round of bets, so clients can show it
      */
     private Map<String, PlayerAction> playerToHisLastAction;
 
+    /**
+     * The state of the current round of bets: the bet to match, the minimum raise, and the seats that still have to act.
+     * We use it to fix illegal actions and to detect the end of a round of bets. See {@link BettingRound}
+     */
+    private BettingRound bettingRound;
+
     /**
      * A listener to get notified upon player updates, so we can persist changes in chips amount.
      */
@@ -160,6 +230,15 @@ public class GameEngine {
     //@JsonDeserialize(keyUsing = Player.PlayerKeyDeserializer.class)
     private Map<String, Pot.PlayerWinning> playerToEarnings;
 
+    /**
+     * When a round ends with an all-in, before the board is complete, we deal the remaining cards at once. At this case
+     * we keep the exact equity (in range [0, 1]) each involved player had at the moment of the all-in, so the client
+     * can show it along with the earnings.<br/>
+     * Map between player identifier to its equity. It is {@code null} when there was no all-in. It is calculated in the
+     * background, so it is set shortly after the earnings. See {@link #calculateAllInEquity(List, Board)}
+     */
+    private Map<String, Double> playerToAllInEquity;
+
     /**
      * When this engine was created, time is in milliseconds since epoch.<br/>
      * We keep it to automatically cleanup inactive games. A game is consider inactive when it
@@ -172,33 +251,134 @@ public class GameEngine {
      */
     private AtomicReference<GameState> gameState;
 
+    /**
+     * The version of the state of this game, which moves forward on every mutation. See {@link GameStateVersion}
+     */
+    private GameStateVersion stateVersion;
+
+    /**
+     * The json of this game as players see it, encoded once per {@link #stateVersion}. See {@link TableView}
+     */
+    @JsonIgnore
+    private final TableView tableView = new TableView(this, JsonUtils.getObjectMapper());
+
     /**
      * A lock to protect {@link #players}, such that we will not allow for more than 7 players to join
      */
     @JsonIgnore
     private final Lock playersLock = new ReentrantLock();
 
+    /**
+     * The loop that executes all mutations of this game, or {@code null} when running with dedicated threads.
+     * See {@link GameEventLoops}
+     */
+    @JsonIgnore
+    private GameEventLoop eventLoop;
+
+    /**
+     * The source of time of this game. Turn timeouts and the delay before a next round are scheduled at this clock.
+     * See {@link GameClock}
+     */
+    @JsonIgnore
+    private GameClock clock;
+
+    /**
+     * The executor that runs the work of the tasks scheduled at the {@link #clock} (turn timeouts and round launches), so
+     * the thread of the clock only hands them over. See {@link #newClockTaskExecutor(Executor)}
+     */
+    @JsonIgnore
+    private Executor clockTaskExecutor;
+
+    /**
+     * A listener to get the {@link GameEvent events} of this game, or {@code null} when nobody records this game.<br/>
+     * It is notified synchronously, by the thread that mutates the game, so it must be fast.
+     */
+    @JsonIgnore
+    private GameEventListener eventListener;
+
     /**
      * Constructs a new {@link GameEngine}
      * @param gameSettings Preferences of a game.
      * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
      */
     public GameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener) {
+        this(gameSettings, listener, DeckRandomSource.secure());
+    }
+
+    /**
+     * Constructs a new {@link GameEngine}
+     * @param gameSettings Preferences of a game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param deckRandomSource The source of randomness to shuffle the deck and draw the first dealer with. Simulations can use {@link DeckRandomSource#fast()},
+     * and replays or tests can use {@link DeckRandomSource#seeded(long)} in order to deal the same cards again.
+     */
+    public GameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener, @NonNull DeckRandomSource deckRandomSource) {
+        this(gameSettings, listener, deckRandomSource, null);
+    }
+
+    /**
+     * Constructs a new {@link GameEngine}
+     * @param gameSettings Preferences of a game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param deckRandomSource The source of randomness to shuffle the deck and draw the first dealer with.
+     * @param eventLoops The loops to pin this game to, so it runs in event loop mode, or {@code null} to run this game
+     * with dedicated threads. See {@link GameEngine}
+     */
+    public GameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener, @NonNull DeckRandomSource deckRandomSource, GameEventLoops eventLoops) {
+        this(gameSettings, listener, deckRandomSource, eventLoops, GameClock.real());
+    }
+
+    /**
+     * Constructs a new {@link GameEngine}
+     * @param gameSettings Preferences of a game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param deckRandomSource The source of randomness to shuffle the deck and draw the first dealer with.
+     * @param eventLoops The loops to pin this game to, so it runs in event loop mode, or {@code null} to run this game
+     * with dedicated threads. See {@link GameEngine}
+     * @param clock The source of time of this game. Tests and simulations can use a {@link GameClock#manual(long) manual}
+     * or {@link GameClock#accelerated(double) accelerated} clock, to play many rounds without waiting for real time.
+     */
+    public GameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener, @NonNull DeckRandomSource deckRandomSource, GameEventLoops eventLoops, @NonNull GameClock clock) {
+        this(gameSettings, listener, deckRandomSource, eventLoops, clock, gameCounter.getAndIncrement(), clock.currentTimeMillis(), 0);
+    }
+
+    /**
+     * Constructs a {@link GameEngine} with the identity of a game that existed before (e.g. a game that was kept aside
+     * while idle), so it is pinned to the same loop, and its players find it by the same game hash.
+     * @param gameSettings Preferences of a game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param deckRandomSource The source of randomness to shuffle the deck and draw the first dealer with.
+     * @param eventLoops The loops to pin this game to, so it runs in event loop mode, or {@code null} to run this game
+     * with dedicated threads. See {@link GameEngine}
+     * @param clock The source of time of this game.
+     * @param id The identifier of the game
+     * @param timeCreated When the game was created, in milliseconds since epoch
+     * @param stateVersion The version to continue from. See {@link GameStateVersion}
+     */
+    protected GameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener, @NonNull DeckRandomSource deckRandomSource, GameEventLoops eventLoops, @NonNull GameClock clock,
+                         int id, long timeCreated, long stateVersion) {
         this.gameSettings = gameSettings;
         this.listener = listener;
-        notifier = new PlayerUpdateNotifier();
-        timeCreated = System.currentTimeMillis();
-        id = gameCounter.getAndIncrement();
+        this.clock = clock;
+        this.timeCreated = timeCreated;
+        this.id = id;
         initGameHash();
+        eventLoop = eventLoops == null ? null : eventLoops.loopOf(id);
+        Executor notifierExecutor = eventLoops == null ? newNotifierExecutor() : eventLoops.notifierOf(id);
+        notifier = new PlayerUpdateNotifier(notifierExecutor);
+        clockTaskExecutor = eventLoop != null ? eventLoop : newClockTaskExecutor(notifierExecutor);
         players = new Players();
         chat = Channel.builder().name(getGameHash()).build();
         gameLog = new GameLog();
-        deck = new Deck();
+        this.deckRandomSource = deckRandomSource;
+        deck = new Deck(deckRandomSource);
         board = new Board();
         pot = new Pot();
-        playerTurnTimer = gameSettings.isNetwork() ? new PlayerTurnTimer(this::onPlayerTurnTimeout, gameSettings.getTurnTime()) : null;
+        playerTurnTimer = gameSettings.isNetwork() ? new PlayerTurnTimer(this::onPlayerTurnTimeout, gameSettings.getTurnTime(), clockTaskExecutor, clock) : null;
         gameState = new AtomicReference<>(GameState.READY);
+        this.stateVersion = new GameStateVersion(stateVersion, eventLoop != null);
         playerToHisLastAction = new HashMap<>();
+        bettingRound = new BettingRound();
 
         info("GameEngine created: " + this);
     }
@@ -222,6 +402,66 @@ public class GameEngine {
         System.out.println(message);
     }
 
+    /**
+     * Override this method along with {@link #info(String)}, to tell whether info messages are logged.<br/>
+     * Messages of the player action path are built only when they are logged, so playing does not allocate them.
+     * @return Whether {@link #info(String)} logs messages
+     */
+    protected boolean isInfoEnabled() {
+        return true;
+    }
+
+    /**
+     * Creates the executor to notify the {@link #listener} with, when running with dedicated threads.<br/>
+     * By default, this is a thread of the game. Override this method when the listener can be notified by the thread
+     * that mutates the game. (e.g. replays)
+     * @return An executor that keeps the order of notifications
+     */
+    protected Executor newNotifierExecutor() {
+        return Executors.newSingleThreadExecutor(new CustomThreadFactory("PlayerUpdateNotifier-" + getGameHash()));
+    }
+
+    /**
+     * Creates the executor to run the work of the tasks of the {@link #clock} with, when running with dedicated threads.<br/>
+     * The thread of the real and accelerated clocks is shared by all games, and must not run long work, such as folding,
+     * revealing cards, settling the pot and dealing. Hence we hand that work to the notifier thread of this game.
+     * A {@link GameClock.ManualClock manual clock} runs its tasks by the thread that advances it, so the work runs right
+     * away, to keep the game deterministic.
+     * @param notifierExecutor The executor of the notifier of this game. See {@link #newNotifierExecutor()}
+     * @return An executor that keeps the order of the tasks
+     */
+    private Executor newClockTaskExecutor(Executor notifierExecutor) {
+        if (clock instanceof GameClock.ManualClock) {
+            return Runnable::run;
+        }
+
+        return command -> notifierExecutor.execute(() -> {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                info(getId() + " - Failed running a scheduled task: " + e);
+            }
+        });
+    }
+
+    /**
+     * Notify the {@link #eventListener}, if there is one
+     * @param event The event to notify about
+     */
+    private void emit(GameEvent event) {
+        if (eventListener != null) {
+            eventListener.onGameEvent(event);
+        }
+    }
+
+    /**
+     * Move the {@link #stateVersion} forward
+     * @param parts Mask of the parts that have changed. See {@link Part#mask()}
+     */
+    private void markChanged(int parts) {
+        stateVersion.markChanged(parts);
+    }
+
     /**
      * @return A unique hash (~4 characters) representing this game
      */
@@ -229,11 +469,39 @@ public class GameEngine {
         return gameHash;
     }
 
+    /**
+     * Run a command in the {@link #eventLoop} of this game, and wait for it.<br/>
+     * Public mutators call this method first, and return when it returns {@code true}, as the command has already
+     * been executed by the loop. (Which called the mutator again, from the loop)
+     * @param command The command to run
+     * @return Whether the command was executed by the loop, or {@code false} in case the caller should execute it,
+     * as there is no loop or we are already in the loop
+     */
+    private boolean runInEventLoop(Runnable command) {
+        if (!isOutsideEventLoop()) {
+            return false;
+        }
+
+        eventLoop.call(command);
+        return true;
+    }
+
+    /**
+     * @return Whether this game runs in an {@link #eventLoop}, and we are not in it. See {@link #runInEventLoop(Runnable)}
+     */
+    private boolean isOutsideEventLoop() {
+        return (eventLoop != null) && !eventLoop.inEventLoop();
+    }
+
     /**
      * Add a player to this game.
      * @param player The player to add
      */
     public void addPlayer(Player player) {
+        if (runInEventLoop(() -> addPlayer(player))) {
+            return;
+        }
+
         if (isActive()) {
             throw new IllegalArgumentException("Cannot join an active game. Wait for round to end.");
         } else {
@@ -245,6 +513,8 @@ public class GameEngine {
                         info(getId() + " - Adding player: " + player);
                         players.addPlayer(player);
                         chat.getUsers().add(player);
+                        markChanged(Part.PLAYERS.mask());
+                        emit(new GameEvent.PlayerJoined(player.getId(), player.getName(), player.getChips().get(), player.getPosition()));
                     }
                 } finally {
                     playersLock.unlock();
@@ -259,7 +529,7 @@ public class GameEngine {
      * @param player The player to add
      */
     public void removePlayer(Player player) {
-        if (player == null) {
+        if ((player == null) || runInEventLoop(() -> removePlayer(player))) {
             return;
         }
 
@@ -268,9 +538,11 @@ public class GameEngine {
         // If it is the current player who leaves, execute FOLD action
         Player playerById = players.getPlayerById(player.getId());
         if (playerById != null) {
+            emit(new GameEvent.PlayerLeft(playerById.getId()));
+
             try {
                 if (players.getCurrentPlayerIndex() == players.indexOfPlayer(playerById)) {
-                    executePlayerAction(playerById, PlayerAction.builder().name(playerById.getName()).actionKind(PlayerActionKind.FOLD).build());
+                    executePlayerAction(playerById, PlayerAction.builder().name(playerById.getName()).actionKind(PlayerActionKind.FOLD).build(), null);
                 }
             } catch (Exception ignore) {
 
@@ -280,6 +552,7 @@ public class GameEngine {
             try {
                 players.removePlayer(playerById);
                 chat.getUsers().remove(playerById);
+                markChanged(Part.PLAYERS.mask());
             } finally {
                 playersLock.unlock();
             }
@@ -293,17 +566,22 @@ public class GameEngine {
      * we {@link #moveTurnForward()} to the next player.
      */
     public void start() {
+        if (runInEventLoop(this::start)) {
+            return;
+        }
+
         if (gameState.compareAndSet(GameState.READY, GameState.STARTED)) {
             info(getId() + " - Starting new game.");
 
-            // Generate random dealer
+            // Draw the first dealer from the random source of this game, so a seeded game starts the same way
             List<Integer> availablePlayers = new ArrayList<>(players.size());
             players.getPlayers().forEach(p -> availablePlayers.add(p.getPosition()));
-            int dealerIndex = new Random().nextInt(availablePlayers.size());
+            int dealerIndex = deckRandomSource.nextInt(availablePlayers.size());
             dealer = players.getPlayer(availablePlayers.get(dealerIndex));
+            markChanged(Part.DEALER.mask());
 
             // Start the round. (Set min player as the current player, and take mandatory bets)
-            startRound();
+            startRound(null);
         }
     }
 
@@ -316,19 +594,50 @@ public class GameEngine {
      * @throws IllegalArgumentException In case the specified player is not the current player, or not playing, or action is illegal
      */
     public void executePlayerAction(Player player, PlayerAction action) throws IllegalArgumentException {
-        info(getId() + " - Executing player action. [player=" + player + ", action=" + action + "]");
+        // Check before creating the command to run in the loop, as this is the hot path of a game
+        if (isOutsideEventLoop()) {
+            runInEventLoop(() -> executePlayerAction(player, action));
+            return;
+        }
+
+        // Keep the action as requested, before the validation fixes it, so a replay executes the exact same command
+        GameEvent command = eventListener == null ? null :
+            new GameEvent.PlayerActed(player.getId(), action.getActionKind(), action.getChips() == null ? 0 : action.getChips().get());
+        executePlayerAction(player, action, command);
+    }
+
+    /**
+     * Execute a player move. See {@link #executePlayerAction(Player, PlayerAction)}<br/>
+     * The game executes blinds, and the fold of a leaving player, through this method too. These are outcomes of
+     * other commands, so they are not emitted as commands of their own.
+     * @param player The player who makes the move
+     * @param action What move to make
+     * @param command The event to emit once the action is validated, or {@code null}
+     * @throws IllegalArgumentException In case the specified player is not the current player, or not playing, or action is illegal
+     */
+    private void executePlayerAction(Player player, PlayerAction action, GameEvent command) throws IllegalArgumentException {
+        if (isInfoEnabled()) {
+            info(getId() + " - Executing player action. [player=" + player + ", action=" + action + "]");
+        }
+
         validatePlayerAction(player, action);
 
+        if (command != null) {
+            emit(command);
+        }
+
         if (playerToEarnings != null) {
-            info("Player action was ignored because there is currently player earnings available. So as long as it is available," +
-                " all player actions are ignored. Clients expected to read game state and wait for next round. [player=" + player + ", action=" + action + "]");
+            if (isInfoEnabled()) {
+                info("Player action was ignored because there is currently player earnings available. So as long as it is available," +
+                    " all player actions are ignored. Clients expected to read game state and wait for next round. [player=" + player + ", action=" + action + "]");
+            }
             return;
         }
 
         Player currPlayer = players.getCurrentPlayer();
         switch (action.getActionKind()) {
             case CALL: {
-                long amount = pot.getLastBet() == null ? action.getChips().get() : pot.getLastBet();
+                long amount = pot.hasLastBet() ? pot.getLastBetAmount() : action.getChips().get();
                 long chips = pot.bet(currPlayer, amount - pot.getPotOfPlayer(currPlayer));
                 action.setChips(chips);
 
@@ -361,35 +670,22 @@ public class GameEngine {
 
         playerToHisLastAction.put(currPlayer.getId(), action);
 
-        // Everytime it is the dealer's turn we can continue to next game stage, unless the dealer is raising
-        // Another option is before the flop is shown. In this case, big blind player is the last to act.
-        Player activeDealer = players.getAvailablePlayingPlayerReversed(players.indexOfPlayer(dealer));
-        boolean isBetRoundOver = (action.getActionKind() != PlayerActionKind.RAISE) &&
-            ((board.getFlop1().isPresent() && currPlayer.equals(activeDealer)) || (!board.getFlop1().isPresent() && currPlayer.equals(bigBlindPlayer)));
+        // A bet or a raise makes all other players act again, and any other action means the current player has acted
+        int activeSeats = players.getActiveSeats();
+        bettingRound.onAction(currPlayer.getPosition(), pot.getPotOfPlayer(currPlayer), activeSeats);
+        markChanged(PLAYER_ACTION_CHANGES);
+        onPlayerAction(currPlayer, action);
 
-        // Another option for bet round to over is in case the current action is CALL, and the next player
-        // is the one with the highest raise. Of course this is irrelevant before the flop, since the bigBlind player
-        // by default is the highest raise, though he is the last to act.
-        // There might be another case when the last player to speak folds. In this case, we set true to isBetRoundOver above,
-        // but it might be that there was a raise that we need to continue to scan the board until we get to that player who raised.
-        Player playerWithHighestRaise = findPlayerWithHighestRaise();
-        if (((action.getActionKind() == PlayerActionKind.CALL) || (action.getActionKind() == PlayerActionKind.FOLD)) &&
-            (playerWithHighestRaise != null) &&
-            board.getFlop1().isPresent()) {
-            isBetRoundOver = playerWithHighestRaise.equals(players.getAvailablePlayingPlayer(currPlayer.getPosition() + 1));
-        }
-
-        // If it is last player standing, he won.
-        List<Player> playersLeft = players.getInvolvedPlayers().stream().filter(p -> p.getChips().get() > 0).collect(Collectors.toList());
-        if ((playersLeft.size() == 0) || ((playersLeft.size() == 1) && (currPlayer.getId().equals(playersLeft.get(0).getId()) || (action.getActionKind() == PlayerActionKind.FOLD)))) {
-            isBetRoundOver = true;
-        }
+        // The round of bets is over once there is no active player left to act (all have matched the bet, folded, or
+        // went all-in), or when all other players have folded, so the last player standing wins.
+        int playersLeft = Integer.bitCount(activeSeats);
+        boolean isBetRoundOver = bettingRound.isOver(activeSeats) || (Integer.bitCount(players.getPlayingSeats()) < 2);
 
         if (isBetRoundOver) {
             // If we opened a new card, clear last bet to start a new bet round.
             // When the river card is already opened we do not want to clear last bet, so we will be
             // able to recognize that the game has finished.
-            if ((playersLeft.size() > 1) && showNextCard()) {
+            if ((playersLeft > 1) && showNextCard()) {
                 pot.clearLastBet();
                 pot.clearPotsOfRound();
                 playerToHisLastAction.clear();
@@ -399,6 +695,8 @@ public class GameEngine {
 
                 // Reset last action, as we start a new round of bets
                 lastActionKind.clear();
+                bettingRound.start(activeSeats, gameSettings.getBigBet());
+                markChanged(NEXT_STREET_CHANGES);
             } else {
                 applyWinIfNeeded();
             }
@@ -418,12 +716,10 @@ public class GameEngine {
     public PlayerActionKind findLastNonFoldAction() {
         PlayerActionKind action = null;
 
-        if ((lastActionKind != null) && !lastActionKind.isEmpty()) {
-            // Work on a copy so we will not affect the original stack.
-            Deque<PlayerActionKind> copyOfLastActionKind = lastActionKind.clone();
-
-            while ((action == null) && (!copyOfLastActionKind.isEmpty())) {
-                PlayerActionKind currActionToTry = copyOfLastActionKind.pop();
+        if (lastActionKind != null) {
+            // The iterator of a stack starts at the latest action, so there is no need to copy and pop it
+            for (Iterator<PlayerActionKind> iter = lastActionKind.iterator(); (action == null) && iter.hasNext(); ) {
+                PlayerActionKind currActionToTry = iter.next();
                 if (currActionToTry != PlayerActionKind.FOLD) {
                     action = currActionToTry;
                 }
@@ -433,32 +729,6 @@ public class GameEngine {
         return action;
     }
 
-    /**
-     * Use this method to find the player that raised the highest amount of chips.<br/>
-     * This is needed so we can know at which player we should stop a round of bets. Meaning that
-     * if current player calls, and the next player is the one who started a raise, then we should open
-     * a card and not let the next player raise again.<br/>
-     * We lookup for the highest because there might be re-raise operations.
-     * @return Player with highest raise, or null in case no one raised.
-     */
-    private Player findPlayerWithHighestRaise() {
-        Set<Player> involvedPlayers = players.getInvolvedPlayers();
-        Player highestRaise = null;
-        for (Player player : involvedPlayers) {
-            PlayerAction lastAction = playerToHisLastAction.get(player.getId());
-            if ((lastAction != null) && (lastAction.getActionKind() == PlayerActionKind.RAISE)) {
-                if ((highestRaise == null) || (pot.getPotOfPlayer(highestRaise) < pot.getPotOfPlayer(player))) {
-                    // Ignore the current player. We are looking for another player
-                    if (!player.equals(players.getCurrentPlayer())) {
-                        highestRaise = player;
-                    }
-                }
-            }
-        }
-
-        return highestRaise;
-    }
-
     /**
      * Validates that a player can run the specified player action
      *
@@ -475,34 +745,27 @@ public class GameEngine {
             throw new IllegalArgumentException("Player is not playing.");
         }
 
-        if (!action.getActionKind().canComeAfter(lastActionKind.isEmpty() ? null : lastActionKind.getFirst())) {
-            // Big blind player is allowed to check in case last call was same as the big blind.
-            if (!player.equals(bigBlindPlayer) || (action.getActionKind() != PlayerActionKind.CHECK) || (pot.getLastBet() != gameSettings.getBigBet()))
-                throw new IllegalArgumentException(action.getActionKind().name() + " is not allowed after " + lastActionKind);
+        // A CHECK when there is a bet to match is a CALL. (e.g. the client saw a FOLD after a RAISE)
+        long betOfPlayer = pot.getPotOfPlayer(player);
+        PlayerActionKind actionKind = bettingRound.actionKindOf(action.getActionKind(), betOfPlayer);
+        if (actionKind != action.getActionKind()) {
+            action.setActionKind(actionKind);
+            action.setChips(bettingRound.getBetToMatch());
         }
 
-        if (pot.getLastBet() != null) {
-            // We might get here with a CHECK after FOLD, though there could be a bet before the FOLD, hence fix this.
-            if (action.getActionKind() == PlayerActionKind.CHECK) {
-                PlayerAction prevPlayerAction = playerToHisLastAction.get(player.getId());
-
-                // CHECK is ok when player raised last time we visited him. Otherwise, we need to fix it to CALL.
-                // In addition, cannot check in case there is a "future" player that raised over current player.
-                Player playerWithHighestRaise = findPlayerWithHighestRaise();
-                if ((prevPlayerAction == null) ||
-                    (prevPlayerAction.getActionKind() != PlayerActionKind.RAISE) ||
-                    (playerWithHighestRaise != null)) {
-                    action.setActionKind(PlayerActionKind.CALL);
-                    action.setChips(pot.getLastBet());
-                }
-            }
-            // In case of a RAISE with sum equals to the last bet, fix it to CALL.
-            else if ((action.getActionKind() == PlayerActionKind.RAISE) && (action.getChips().get() <= pot.getLastBet())) {
+        // In case of a RAISE that does not exceed the bet to match, fix it to CALL. When it raises by less than the
+        // minimum raise, raise by the minimum, or go all-in in case the player does not have enough chips.
+        if (actionKind == PlayerActionKind.RAISE) {
+            long chips = bettingRound.fixRaise(action.getChips().get(), betOfPlayer, player.getChips().get());
+            if (chips < 0) {
                 action.setActionKind(PlayerActionKind.CALL);
+            } else if (chips != action.getChips().get()) {
+                action.setChips(chips);
             }
         }
+
         // If CALL arrived but there is no last bet, use big blind
-        else if ((action.getActionKind() == PlayerActionKind.CALL) && (action.getChips().get() < gameSettings.getBigBet())) {
+        if ((action.getActionKind() == PlayerActionKind.CALL) && !pot.hasLastBet() && (action.getChips().get() < gameSettings.getBigBet())) {
             action.setChips(gameSettings.getBigBet());
         }
     }
@@ -517,32 +780,50 @@ public class GameEngine {
         boolean isNewCardShown = false;
 
         // If no flop, open the flop
-        if (!board.getFlop1().isPresent()) {
+        if (!board.hasFlop()) {
             info(getId() + " - Showing flop.");
             isNewCardShown = true;
-            deck.dropCard();
-            board.addCard(deck.popCard());
-            board.addCard(deck.popCard());
-            board.addCard(deck.popCard());
+            revealCards(3);
         }
         // Else, if there is no turn yet, open turn
         else if (!board.hasTurn()) {
             info(getId() + " - Showing turn.");
             isNewCardShown = true;
-            deck.dropCard();
-            board.addCard(deck.popCard());
+            revealCards(1);
         }
         // Else, if there is no river yet, open river
         else if (!board.hasRiver()) {
             info(getId() + " - Showing river.");
             isNewCardShown = true;
-            deck.dropCard();
-            board.addCard(deck.popCard());
+            revealCards(1);
         }
 
         return isNewCardShown;
     }
 
+    /**
+     * Burn a card, and move the next cards of the deck to the board
+     * @param amount How many cards to reveal
+     */
+    private void revealCards(int amount) {
+        deck.dropCard();
+
+        byte[] cards = eventListener == null ? null : new byte[amount];
+        for (int i = 0; i < amount; i++) {
+            Card card = deck.popCard();
+            board.addCard(card);
+
+            if (cards != null) {
+                cards[i] = (byte)card.getIndex();
+            }
+        }
+
+        markChanged(Part.BOARD.mask());
+        if (cards != null) {
+            emit(new GameEvent.CardsRevealed(cards));
+        }
+    }
+
     /**
      * Check if it is the very end round (after river) or if there is one active player only, to
      * end a game and apply wins.
@@ -550,12 +831,21 @@ public class GameEngine {
     private void applyWinIfNeeded() {
         // When there is a single active player, or we arrived to the dealer after River is shown, end the round.
         // Check also last bet cause if it is null, it means we have just shown a new card
-        Set<Player> involvedPlayers = players.getInvolvedPlayers();
-        int playersLeft = (int)involvedPlayers.stream().filter(player -> player.getChips().get() > 0).count();
+        int playersLeft = Integer.bitCount(players.getActiveSeats());
         if ((playersLeft <= 1) || board.hasRiver()) {
+            Set<Player> involvedPlayers = players.getInvolvedPlayers();
+
             // In case there is more than single player in, but one player at most left with chips, make sure
             // we open all of the cards in a board.
+            List<Player> allInPlayers = null;
+            Board boardAtAllIn = null;
             if ((involvedPlayers.size() > 1) && (playersLeft <= 1)) {
+                if (!board.hasRiver()) {
+                    // Keep the board as it was at the all-in. The equity is calculated once the pot is settled
+                    allInPlayers = new ArrayList<>(involvedPlayers);
+                    boardAtAllIn = new Board(board.copyCards());
+                }
+
                 while (!board.hasRiver()) {
                     if (!showNextCard()) {
                         break;
@@ -574,38 +864,118 @@ public class GameEngine {
             playerToEarnings.forEach((playerId, earning) -> {
                 Player player = players.getPlayerById(playerId);
                 notifier.notifyPlayerChipsUpdated(player, earning.getSum());
+                emit(new GameEvent.PotAwarded(playerId, earning.getSum()));
                 gameLog.logAction(PlayerAction.builder()
                     .name(player.getName())
                     .chips(new Chips(earning.getSum()))
                     .handRank(earning.getHandRank())
                     .build());
             });
+            markChanged(ROUND_OVER_CHANGES);
+
+            if (allInPlayers != null) {
+                calculateAllInEquity(allInPlayers, boardAtAllIn);
+            }
 
             // Wait for 10 seconds in background before starting a new round.
             // We wait so clients can draw winning indications
-            ExecutorService service = Executors.newSingleThreadExecutor(new CustomThreadFactory("RoundLauncher-" + getGameHash()));
-            service.submit(() -> {
-                try {
-                    Thread.sleep(TimeUnit.SECONDS.toMillis(10));
-                } catch (InterruptedException ignore) {
-                }
+            scheduleNextRound(this::launchNextRound);
+        }
+    }
 
-                // Disconnect all players that have no chips to play with
-                players.getPlayers().stream().filter(p -> p.getChips().get() <= 0).forEach(this::removePlayer);
+    /**
+     * Schedule the launch of the next round, once a round is over.<br/>
+     * By default, we wait for {@link #NEXT_ROUND_DELAY_MILLIS} of the {@link #clock}, so clients can draw winning indications.
+     * Override this method when there are no clients to wait for. (e.g. benchmarks)<br/>
+     * No thread waits for the delay. The launch is scheduled at the clock, and the clock hands it to the {@link #clockTaskExecutor},
+     * as dealing, taking the blinds and moving the turn are too long for the thread of the clock.
+     * @param nextRound The action that launches the next round
+     */
+    protected void scheduleNextRound(Runnable nextRound) {
+        clock.schedule(() -> clockTaskExecutor.execute(nextRound), NEXT_ROUND_DELAY_MILLIS);
+    }
 
-                if (players.getPlayers().size() <= 1) {
-                    playerToEarnings = null;
-                    dealer = null;
-                    gameState.set(GameState.READY);
-                } else {
-                    // Move the dealer forward
-                    dealer = players.getAvailablePlayer(players.indexOfPlayer(dealer) + 1);
-                    players.setCurrentPlayerIndex(dealer.getPosition());
-                    startRound();
+    /**
+     * Disconnect all players that have no chips to play with, and start a new round in case there are enough players left.
+     */
+    private void launchNextRound() {
+        // The game might have been stopped while we were waiting
+        if (gameState.get() == GameState.STOPPED) {
+            return;
+        }
+
+        players.getPlayers().stream().filter(p -> p.getChips().get() <= 0).forEach(this::removePlayer);
+
+        if (players.size() <= 1) {
+            skipRound();
+        } else {
+            // Move the dealer forward
+            dealer = players.getAvailablePlayer(players.indexOfPlayer(dealer) + 1);
+            players.setCurrentPlayerIndex(dealer.getPosition());
+            markChanged(Part.DEALER.mask());
+            startRound(null);
+        }
+    }
+
+    /**
+     * There are not enough players to start a new round, so get ready for new players to join and start the game again.
+     */
+    private void skipRound() {
+        playerToEarnings = null;
+        dealer = null;
+        gameState.set(GameState.READY);
+        markChanged(ROUND_SKIPPED_CHANGES);
+        emit(new GameEvent.RoundSkipped());
+    }
+
+    /**
+     * Calculate the exact equity of each involved player in an all-in, over all possible completions of the board.<br/>
+     * Preflop this goes over ~1.7M boards, so it is calculated by the common {@link java.util.concurrent.ForkJoinPool},
+     * rather than by the thread that has ended the round. (The loop of this game, a caller, or the thread of the clock)
+     * The result is handed back to the thread that runs the tasks of this game (its loop in event loop mode, or the
+     * notifier thread with dedicated threads), like the next round is, so it never races with the start of the next
+     * round. In case the next round has started meanwhile, the result is dropped.
+     * @param allInPlayers The players that take part in the all-in
+     * @param boardAtAllIn The board as it was at the moment of the all-in
+     */
+    private void calculateAllInEquity(List<Player> allInPlayers, Board boardAtAllIn) {
+        List<String> playerIds = new ArrayList<>(allInPlayers.size());
+        List<Hand> hands = new ArrayList<>(allInPlayers.size());
+        for (Player player : allInPlayers) {
+            playerIds.add(player.getId());
+            hands.add(new Hand(player.getHand().copyCards()));
+        }
+
+        Map<String, Pot.PlayerWinning> earningsOfRound = playerToEarnings;
+        CompletableFuture.supplyAsync(() -> enumerateAllInEquity(playerIds, hands, boardAtAllIn))
+            .thenAccept(equity -> clockTaskExecutor.execute(() -> {
+                if ((equity != null) && (playerToEarnings == earningsOfRound)) {
+                    playerToAllInEquity = equity;
+                    markChanged(Part.ALL_IN_EQUITY.mask());
                 }
+            }));
+    }
 
-                service.shutdown();
-            });
+    /**
+     * @param playerIds Identifiers of the players that take part in the all-in
+     * @param hands Hands of the players, ordered the same as their identifiers
+     * @param boardAtAllIn The board as it was at the moment of the all-in
+     * @return Map between player identifier to its equity, or {@code null} in case we have failed calculating it
+     */
+    private Map<String, Double> enumerateAllInEquity(List<String> playerIds, List<Hand> hands, Board boardAtAllIn) {
+        try {
+            EquityResult equity = new EquityCalculator().enumerate(hands, boardAtAllIn, null);
+
+            Map<String, Double> result = new HashMap<>(playerIds.size());
+            for (int i = 0; i < playerIds.size(); i++) {
+                result.put(playerIds.get(i), equity.getPlayer(i).getEquity());
+            }
+
+            info(getId() + " - All-in equity: " + result);
+            return result;
+        } catch (Exception e) {
+            info(getId() + " - Failed calculating all-in equity: " + e);
+            return null;
         }
     }
 
@@ -615,12 +985,14 @@ public class GameEngine {
      * player (after big) that we are waiting for.<br/>
      * Use this method when a game is first {@link #start() started} or when a round is over, and the dealer has been
      * updated.
+     * @param deckOrder The order to deal the cards at, when replaying a round, or {@code null} to shuffle the deck
      */
-    private void startRound() {
+    private void startRound(byte[] deckOrder) {
         gameState.set(GameState.STARTED);
 
         info(getId() + " - Starting new round");
         playerToEarnings = null;
+        playerToAllInEquity = null;
 
         // Make sure all players are marked as currently playing, as we are starting a new round.
         players.markAllPlayersAsPlaying();
@@ -632,26 +1004,81 @@ public class GameEngine {
         board.clear();
 
         // Shuffle cards
-        deck.shuffle();
+        if (deckOrder == null) {
+            deck.shuffle();
+        } else {
+            deck.arrange(deckOrder);
+        }
+
+        // The last actions of the previous round must not affect the bets of this round
+        playerToHisLastAction.clear();
+
+        if (eventListener != null) {
+            emit(newRoundStartedEvent());
+        }
 
         // Deal cards to players
         dealCards();
+        markChanged(GameStateVersion.ALL_PARTS);
 
         // Current must to bet player is the one after the dealer. This player has to add small bet.
         pot.clear();
         lastActionKind = new ArrayDeque<>();
+        bettingRound.start(players.getActiveSeats(), 0);
         players.setCurrentPlayerIndex(players.indexOfPlayer(dealer) + 1);
-        smallBlindPlayer = players.getCurrentPlayer();
-        executePlayerAction(smallBlindPlayer, PlayerAction.builder().name(smallBlindPlayer.getName()).actionKind(PlayerActionKind.RAISE).chips(new Chips(gameSettings.getSmallBet())).build());
+        isPostingBlinds = true;
+        try {
+            smallBlindPlayer = players.getCurrentPlayer();
+            takeBlind(smallBlindPlayer, gameSettings.getSmallBet());
+
+            // Move to next player and take big bet from it.
+            bigBlindPlayer = players.getCurrentPlayer();
+            takeBlind(bigBlindPlayer, gameSettings.getBigBet());
+        } finally {
+            isPostingBlinds = false;
+        }
+
+        // Posting a blind is not acting, so all players act, and the big blind player is the last to act.
+        // This is a version of its own, so a client that has polled while the blinds were posted gets the reopened round
+        bettingRound.reopen(players.getActiveSeats(), gameSettings.getBigBet());
+        markChanged(Part.BETTING_ROUND.mask());
 
-        // Move to next player and take big bet from it.
-        bigBlindPlayer = players.getCurrentPlayer();
-        executePlayerAction(bigBlindPlayer, PlayerAction.builder().name(bigBlindPlayer.getName()).actionKind(PlayerActionKind.RAISE).chips(new Chips(gameSettings.getBigBet())).build());
+        // The first turn of the round is announced now, when the round of bets is ready for it
+        if (playerToEarnings == null) {
+            onTurn(players.getCurrentPlayer());
+        }
 
         // Now the game is officially started and we are waiting for the next player to play.
         //moveTurnForward(); // executePlayerAction already moves turn forward
     }
 
+    /**
+     * Take a mandatory bet from a player
+     * @param player The player to take the blind from. It is the current player
+     * @param blind The amount of the blind
+     */
+    private void takeBlind(Player player, long blind) {
+        PlayerAction action = PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.RAISE).chips(new Chips(blind)).build();
+        executePlayerAction(player, action, null);
+        emit(new GameEvent.BlindPosted(player.getId(), action.getChips().get()));
+    }
+
+    /**
+     * @return A snapshot of the table at the start of a round, with the order of the shuffled deck
+     */
+    private GameEvent.RoundStarted newRoundStartedEvent() {
+        GameEvent.Seat[] seats = new GameEvent.Seat[players.size()];
+        int seatIndex = 0;
+        for (int i = 0; (i < players.getMaxAmountOfPlayers()) && (seatIndex < seats.length); i++) {
+            Player player = players.getPlayer(i);
+            if (player != null) {
+                seats[seatIndex++] = new GameEvent.Seat(player.getId(), player.getName(), player.getChips().get(), player.getPosition());
+            }
+        }
+
+        return new GameEvent.RoundStarted(dealer.getPosition(), deck.getCardIndices(), seats);
+    }
+
     /**
      * Call this method when starting a new round to deal cards to players.<br/>
      * The first player to receive a card is the one after the dealer.<br/>
@@ -659,20 +1086,23 @@ public class GameEngine {
      * in a circle, until all players own 2 cards.
      */
     private void dealCards() {
-        players.getPlayers().forEach(p -> {
-            if (p.getHand() == null) {
-                p.setHand(new Hand());
+        int seats = players.getOccupiedSeats();
+        for (int remainingSeats = seats; remainingSeats != 0; remainingSeats &= remainingSeats - 1) {
+            Player player = players.getPlayer(Integer.numberOfTrailingZeros(remainingSeats));
+            if (player.getHand() == null) {
+                player.setHand(new Hand());
             } else {
-                p.getHand().clear();
+                player.getHand().clear();
             }
-        });
+        }
 
-        int currPlayerIndex = players.indexOfPlayer(dealer) + 1;
-        for (int i = 0; i < players.getMaxAmountOfPlayers() * 2; i++) {
-            // It might be that some player exited while we are dealing cards, in this
-            // case we might deal too many cards. So protect this case and break the loop.
-            Player currPlayer = players.getPlayer(currPlayerIndex++);
+        // Deal one card at a time, going around the table twice, starting after the dealer
+        int seat = players.indexOfPlayer(dealer);
+        for (int i = 0; i < Integer.bitCount(seats) * 2; i++) {
+            seat = Players.nextSeat(seats, seat);
 
+            // It might be that some player exited while we are dealing cards, so protect this case.
+            Player currPlayer = players.getPlayer(seat);
             if ((currPlayer != null) && (currPlayer.getHand().size() < 2)) {
                 currPlayer.getHand().addCard(deck.popCard());
             }
@@ -685,11 +1115,41 @@ public class GameEngine {
      */
     private void moveTurnForward() {
         Player newPlayer = players.nextPlayer();
-        info(getId() + " - Moving turn to next player: " + newPlayer);
+        if (isInfoEnabled()) {
+            info(getId() + " - Moving turn to next player: " + newPlayer);
+        }
 
         if (gameSettings.isNetwork()) {
             playerTurnTimer.startOrReset();
         }
+
+        markChanged(TURN_CHANGES);
+        if (!isPostingBlinds) {
+            onTurn(newPlayer);
+        }
+    }
+
+    /**
+     * Called once the turn moves to a player, by the thread that mutates this game. (The loop of this game, in event loop
+     * mode) The turns of the blind players while posting the blinds are not announced, as the first turn of a round is
+     * the one after the big blind.<br/>
+     * Override this method to drive players that are not humans. (e.g. bots at the server) It must be fast, and must not
+     * act on this game synchronously. Act later instead, through {@link #executePlayerAction(Player, PlayerAction)}.
+     * @param player The player whose turn it is
+     */
+    protected void onTurn(Player player) {
+        // Humans act through their clients
+    }
+
+    /**
+     * Called once an action of a player is executed, by the thread that mutates this game. This includes the actions of
+     * bots, blinds, and folds due to a timeout or a player that has left.<br/>
+     * Override this method to follow the activity of a game. It must be fast, as it is on the path of each action.
+     * @param player The player who has acted
+     * @param action The executed action
+     */
+    protected void onPlayerAction(Player player, PlayerAction action) {
+        // Nothing to do by default
     }
 
     /**
@@ -707,6 +1167,10 @@ public class GameEngine {
      * We will stop and if there are bets, we return them back to the players.
      */
     public void stop() {
+        if (runInEventLoop(this::stop)) {
+            return;
+        }
+
         // Do this in case game is not already stopped
         if (gameState.compareAndSet(GameState.READY, GameState.STOPPED) ||
             gameState.compareAndSet(GameState.STARTED, GameState.STOPPED) ||
@@ -736,9 +1200,133 @@ public class GameEngine {
                 notifier.notifyPlayerChipsUpdated(player, chips);
             });
             pot.clear();
+            markChanged(GameStateVersion.ALL_PARTS);
+
+            emit(new GameEvent.GameStopped());
+        }
+    }
+
+    /**
+     * Apply a recorded event to this game, as part of a replay.<br/>
+     * Commands are executed the way they were executed when recorded, and they emit the same events again. Outcomes are
+     * ignored, as the commands reproduce them. See {@link GameEvent}<br/>
+     * A {@link GameEvent.RoundStarted} event seats the players as they were when the round started, so a round can be
+     * replayed from it on its own.
+     * @param event The event to apply
+     * @throws IllegalArgumentException In case the event does not fit the state of this game. (e.g. an action of a player that is not playing)
+     */
+    public void replay(@NonNull GameEvent event) throws IllegalArgumentException {
+        if (runInEventLoop(() -> replay(event))) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case PLAYER_JOINED:
+                addPlayer(((GameEvent.PlayerJoined)event).toPlayer());
+                break;
+            case PLAYER_LEFT:
+                removePlayer(players.getPlayerById(((GameEvent.PlayerLeft)event).getPlayerId()));
+                break;
+            case ROUND_STARTED: {
+                GameEvent.RoundStarted roundStarted = (GameEvent.RoundStarted)event;
+                restoreSeats(roundStarted.getSeats());
+                dealer = players.getPlayer(roundStarted.getDealerPosition());
+                if (dealer == null) {
+                    throw new IllegalArgumentException("There is no player at dealer position: " + roundStarted.getDealerPosition());
+                }
+
+                players.setCurrentPlayerIndex(dealer.getPosition());
+                startRound(roundStarted.getDeck());
+                break;
+            }
+            case ROUND_SKIPPED:
+                skipRound();
+                break;
+            case PLAYER_ACTED: {
+                GameEvent.PlayerActed playerActed = (GameEvent.PlayerActed)event;
+                Player player = players.getPlayerById(playerActed.getPlayerId());
+                if (player == null) {
+                    throw new IllegalArgumentException("Player is not part of the game: " + playerActed.getPlayerId());
+                }
+
+                executePlayerAction(player, playerActed.toPlayerAction(player.getName()));
+                break;
+            }
+            case GAME_STOPPED:
+                stop();
+                break;
+            default:
+                // Outcomes are reproduced by the commands that caused them
+        }
+    }
+
+    /**
+     * Seat the players of a {@link GameEvent.RoundStarted round}, with the chips they had when it started.<br/>
+     * Players that are seated already are kept, so references to them stay valid.
+     * @param seats The seats to restore
+     */
+    private void restoreSeats(List<GameEvent.Seat> seats) {
+        Map<String, Player> seatedPlayers = new HashMap<>();
+        players.getPlayers().forEach(player -> seatedPlayers.put(player.getId(), player));
+
+        playersLock.lock();
+        try {
+            players.clear();
+            chat.getUsers().clear();
+
+            for (GameEvent.Seat seat : seats) {
+                Player player = seatedPlayers.get(seat.getPlayerId());
+                if (player == null) {
+                    player = Player.builder().id(seat.getPlayerId()).name(seat.getName()).chips(new Chips(seat.getChips())).build();
+                } else {
+                    player.getChips().set(seat.getChips());
+                }
+
+                player.setPosition(seat.getPosition());
+                players.addPlayer(player);
+                chat.getUsers().add(player);
+            }
+
+            markChanged(Part.PLAYERS.mask());
+        } finally {
+            playersLock.unlock();
         }
     }
 
+    /**
+     * Write the parts of this game that have changed since a version a client has, so clients that poll a game do not
+     * have to get all of it when little has changed.<br/>
+     * The result always contains the {@link #stateVersion}, for the client to send with its next request. When the
+     * version is unknown, or too old, the result contains all of the game, like serializing the game itself.
+     * Clients apply a delta by replacing the properties of the game they have with the properties of the delta.<br/>
+     * Thread safe, as long as the object mapper is. Serialization runs by the calling thread, like serializing the game.
+     * @param objectMapper The mapper to convert the changed parts with
+     * @param sinceVersion The last version the client has
+     * @return The changed parts as json properties, or {@code null} in case nothing has changed
+     */
+    public ObjectNode toJsonDelta(@NonNull ObjectMapper objectMapper, long sinceVersion) {
+        // Read the version first, so changes we serialize partially are sent again with the next delta
+        long version = stateVersion.get();
+        if (version == sinceVersion) {
+            return null;
+        }
+
+        int changes = stateVersion.changesBetween(sinceVersion, version);
+        if (changes == GameStateVersion.ALL_PARTS) {
+            ObjectNode result = objectMapper.valueToTree(this);
+            result.put("stateVersion", version);
+            return result;
+        }
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("stateVersion", version);
+        for (Part part : GameStateVersion.partsOf(changes)) {
+            result.set(part.getJsonProperty(), objectMapper.valueToTree(part.getValue(this)));
+        }
+
+        return result;
+    }
+
     /**
      * Tests whether this game is currently active. A game does not accept new players when it is active.
      * @return Whether current game engine is active (during a round) or not.
@@ -801,18 +1389,53 @@ public class GameEngine {
         void onPlayerChipsUpdated(Player player, long chips);
     }
 
+    /**
+     * Use this as a listener to the {@link GameEvent events} of a game, to record it. See {@link GameEventLog}
+     */
+    @FunctionalInterface
+    public interface GameEventListener {
+        /**
+         * This event is raised whenever the state of a game changes, by the thread that changes it
+         * @param event What has changed
+         */
+        void onGameEvent(GameEvent event);
+    }
+
     /**
      * A class to notify listener asynchronously, and avoid of blocking game engine.<br/>
-     * The listener might do IO operations that are not necessarily blocking.
+     * The listener might do IO operations that are not necessarily blocking.<br/>
+     * Updates are buffered, and the notifier submits itself to the executor once for all updates that pile up until
+     * it runs, so the game does not create a task per update. The listener gets every update, in order.
      */
-    private class PlayerUpdateNotifier {
-        private final ExecutorService executor;
+    private class PlayerUpdateNotifier implements Runnable {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Executor executor;
+
+        /**
+         * Updates the game has added, waiting for the notifier to run
+         */
+        private Player[] pendingPlayers = new Player[INITIAL_CAPACITY];
+        private long[] pendingChips = new long[INITIAL_CAPACITY];
+        private int pendingCount;
+
+        /**
+         * Updates the notifier is delivering. We swap them with the pending updates, to reuse both buffers
+         */
+        private Player[] deliveredPlayers = new Player[INITIAL_CAPACITY];
+        private long[] deliveredChips = new long[INITIAL_CAPACITY];
+
+        /**
+         * Whether the notifier has been submitted to the executor, and has not taken the pending updates yet
+         */
+        private boolean isScheduled;
 
         /**
          * Constructs a new {@link PlayerUpdateNotifier}
+         * @param executor The executor to notify the listener with. Must keep the order of notifications
          */
-        public PlayerUpdateNotifier() {
-            executor = Executors.newSingleThreadExecutor(new CustomThreadFactory("PlayerUpdateNotifier-" + getGameHash()));
+        public PlayerUpdateNotifier(Executor executor) {
+            this.executor = executor;
         }
 
         /**
@@ -821,7 +1444,50 @@ public class GameEngine {
          * @param chips The chips value that was modified. Can be negative when player loses chips
          */
         void notifyPlayerChipsUpdated(Player player, long chips) {
-            executor.submit(() -> listener.onPlayerChipsUpdated(player, chips));
+            boolean shouldSchedule;
+            synchronized (this) {
+                if (pendingCount == pendingPlayers.length) {
+                    pendingPlayers = Arrays.copyOf(pendingPlayers, pendingCount * 2);
+                    pendingChips = Arrays.copyOf(pendingChips, pendingCount * 2);
+                }
+
+                pendingPlayers[pendingCount] = player;
+                pendingChips[pendingCount++] = chips;
+                shouldSchedule = !isScheduled;
+                isScheduled = true;
+            }
+
+            if (shouldSchedule) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            Player[] players;
+            long[] chips;
+            int count;
+            synchronized (this) {
+                players = pendingPlayers;
+                chips = pendingChips;
+                count = pendingCount;
+                pendingPlayers = deliveredPlayers;
+                pendingChips = deliveredChips;
+                pendingCount = 0;
+                deliveredPlayers = players;
+                deliveredChips = chips;
+                isScheduled = false;
+            }
+
+            for (int i = 0; i < count; i++) {
+                try {
+                    listener.onPlayerChipsUpdated(players[i], chips[i]);
+                } catch (RuntimeException e) {
+                    info(getId() + " - Failed notifying about chips update: " + e);
+                }
+
+                players[i] = null;
+            }
         }
     }
 }
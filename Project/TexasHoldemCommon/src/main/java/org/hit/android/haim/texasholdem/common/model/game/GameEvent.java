@@ -0,0 +1,394 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A state transition of a {@link GameEngine}, in a compact form.<br/>
+ * A game emits its events to its {@link GameEngine.GameEventListener}, in the order they occur. There are two kinds of events:
+ * <ul>
+ *     <li>Commands - The inputs of a game: players that join or leave, the start of a round (with the order of the deck),
+ *     player actions (including the folds of turn timeouts) and stopping the game. Applying the commands to a new game,
+ *     in order, rebuilds the state of the game. See {@link GameEngine#replay(GameEvent)}</li>
+ *     <li>Outcomes - What the commands have caused: blinds, revealed cards and payouts. A replay reproduces them, so they
+ *     are not applied. They exist for whoever follows a game, and to verify a replay.</li>
+ * </ul>
+ * A {@link RoundStarted} event holds the seats and chips of the players at the start of a round, so it is a snapshot
+ * a round can be replayed from, without replaying the rounds before it. See {@link GameEventLog}<br/>
+ * Events are immutable, and can be written to a binary stream with {@link #writeTo(DataOutput)}.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Getter
+@EqualsAndHashCode
+public abstract class GameEvent {
+    private final Type type;
+
+    private GameEvent(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Write this event to a binary stream
+     * @param out The stream to write to
+     * @throws IOException In case of an IO failure
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        writeFields(out);
+    }
+
+    abstract void writeFields(DataOutput out) throws IOException;
+
+    /**
+     * Read an event that was written with {@link #writeTo(DataOutput)}
+     * @param in The stream to read from
+     * @return The event
+     * @throws IOException In case of an IO failure, or an unknown event
+     */
+    public static GameEvent readFrom(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= Type.VALUES.length) {
+            throw new IOException("Unknown event type: " + ordinal);
+        }
+
+        switch (Type.VALUES[ordinal]) {
+            case PLAYER_JOINED:
+                return new PlayerJoined(in.readUTF(), in.readUTF(), in.readLong(), in.readUnsignedByte());
+            case PLAYER_LEFT:
+                return new PlayerLeft(in.readUTF());
+            case ROUND_STARTED: {
+                int dealerPosition = in.readUnsignedByte();
+                byte[] deck = new byte[in.readUnsignedByte()];
+                in.readFully(deck);
+                Seat[] seats = new Seat[in.readUnsignedByte()];
+                for (int i = 0; i < seats.length; i++) {
+                    seats[i] = new Seat(in.readUTF(), in.readUTF(), in.readLong(), in.readUnsignedByte());
+                }
+
+                return new RoundStarted(dealerPosition, deck, seats);
+            }
+            case ROUND_SKIPPED:
+                return new RoundSkipped();
+            case BLIND_POSTED:
+                return new BlindPosted(in.readUTF(), in.readLong());
+            case PLAYER_ACTED:
+                return new PlayerActed(in.readUTF(), PlayerActionKind.values()[in.readUnsignedByte()], in.readLong());
+            case CARDS_REVEALED: {
+                byte[] cards = new byte[in.readUnsignedByte()];
+                in.readFully(cards);
+                return new CardsRevealed(cards);
+            }
+            case POT_AWARDED:
+                return new PotAwarded(in.readUTF(), in.readLong());
+            case GAME_STOPPED:
+                return new GameStopped();
+            default:
+                throw new IOException("Unsupported event type: " + Type.VALUES[ordinal]);
+        }
+    }
+
+    /**
+     * Kinds of events. The ordinal is written to binary streams, so new types must be added at the end.
+     */
+    public enum Type {
+        PLAYER_JOINED(true),
+        PLAYER_LEFT(true),
+        ROUND_STARTED(true),
+        ROUND_SKIPPED(true),
+        BLIND_POSTED(false),
+        PLAYER_ACTED(true),
+        CARDS_REVEALED(false),
+        POT_AWARDED(false),
+        GAME_STOPPED(true);
+
+        private static final Type[] VALUES = values();
+
+        private final boolean isCommand;
+
+        Type(boolean isCommand) {
+            this.isCommand = isCommand;
+        }
+
+        /**
+         * @return Whether events of this type are commands, which a replay applies, or outcomes, which a replay reproduces
+         */
+        public boolean isCommand() {
+            return isCommand;
+        }
+    }
+
+    /**
+     * A player has joined the game
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class PlayerJoined extends GameEvent {
+        private final String playerId;
+        private final String name;
+        private final long chips;
+
+        /**
+         * The seat the player got, which might differ from the seat it asked for
+         */
+        private final int position;
+
+        public PlayerJoined(@NonNull String playerId, @NonNull String name, long chips, int position) {
+            super(Type.PLAYER_JOINED);
+            this.playerId = playerId;
+            this.name = name;
+            this.chips = chips;
+            this.position = position;
+        }
+
+        /**
+         * @return A new player, as it has joined the game
+         */
+        public Player toPlayer() {
+            return Player.builder().id(playerId).name(name).chips(new Chips(chips)).position(position).build();
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeUTF(playerId);
+            out.writeUTF(name);
+            out.writeLong(chips);
+            out.writeByte(position);
+        }
+    }
+
+    /**
+     * A player has left the game. When it was the player's turn, it has folded
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class PlayerLeft extends GameEvent {
+        private final String playerId;
+
+        public PlayerLeft(@NonNull String playerId) {
+            super(Type.PLAYER_LEFT);
+            this.playerId = playerId;
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeUTF(playerId);
+        }
+    }
+
+    /**
+     * A round has started: the deck was shuffled, and the blinds are about to be taken.<br/>
+     * This is a snapshot of the table, so a round can be replayed from it.
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class RoundStarted extends GameEvent {
+        private final int dealerPosition;
+
+        /**
+         * {@link org.hit.android.haim.texasholdem.common.model.bean.game.Card#getIndex() Indices} of all cards, in the
+         * order they are dealt. We keep the order rather than a seed, so real games keep shuffling with a secure source.
+         */
+        @ToString.Exclude
+        private final byte[] deck;
+
+        /**
+         * The players, by their positions, with the chips they had before the blinds
+         */
+        private final List<Seat> seats;
+
+        public RoundStarted(int dealerPosition, @NonNull byte[] deck, @NonNull Seat... seats) {
+            super(Type.ROUND_STARTED);
+            this.dealerPosition = dealerPosition;
+            this.deck = deck;
+            this.seats = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(seats)));
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeByte(dealerPosition);
+            out.writeByte(deck.length);
+            out.write(deck);
+            out.writeByte(seats.size());
+            for (Seat seat : seats) {
+                out.writeUTF(seat.getPlayerId());
+                out.writeUTF(seat.getName());
+                out.writeLong(seat.getChips());
+                out.writeByte(seat.getPosition());
+            }
+        }
+    }
+
+    /**
+     * A player seated at a {@link RoundStarted round}
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static final class Seat {
+        private final String playerId;
+        private final String name;
+        private final long chips;
+        private final int position;
+
+        public Seat(@NonNull String playerId, @NonNull String name, long chips, int position) {
+            this.playerId = playerId;
+            this.name = name;
+            this.chips = chips;
+            this.position = position;
+        }
+    }
+
+    /**
+     * A round was over, and the next round could not start as there are not enough players left. The game is ready again
+     */
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class RoundSkipped extends GameEvent {
+        public RoundSkipped() {
+            super(Type.ROUND_SKIPPED);
+        }
+
+        @Override
+        void writeFields(DataOutput out) {
+            // No fields
+        }
+    }
+
+    /**
+     * A small or big blind was taken from a player
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class BlindPosted extends GameEvent {
+        private final String playerId;
+        private final long chips;
+
+        public BlindPosted(@NonNull String playerId, long chips) {
+            super(Type.BLIND_POSTED);
+            this.playerId = playerId;
+            this.chips = chips;
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeUTF(playerId);
+            out.writeLong(chips);
+        }
+    }
+
+    /**
+     * A player has acted. The action is kept as the player requested it, before the game has validated it.
+     * (e.g. a CHECK that the game executes as a CALL)
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class PlayerActed extends GameEvent {
+        private final String playerId;
+        private final PlayerActionKind actionKind;
+        private final long chips;
+
+        public PlayerActed(@NonNull String playerId, @NonNull PlayerActionKind actionKind, long chips) {
+            super(Type.PLAYER_ACTED);
+            this.playerId = playerId;
+            this.actionKind = actionKind;
+            this.chips = chips;
+        }
+
+        /**
+         * @param name Name of the player
+         * @return A new action, as the player has requested it
+         */
+        public PlayerAction toPlayerAction(String name) {
+            return PlayerAction.builder().name(name).actionKind(actionKind).chips(new Chips(chips)).build();
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeUTF(playerId);
+            out.writeByte(actionKind.ordinal());
+            out.writeLong(chips);
+        }
+    }
+
+    /**
+     * Cards were revealed on the board: the flop, the turn or the river
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class CardsRevealed extends GameEvent {
+        /**
+         * {@link org.hit.android.haim.texasholdem.common.model.bean.game.Card#getIndex() Indices} of the revealed cards
+         */
+        private final byte[] cards;
+
+        public CardsRevealed(@NonNull byte[] cards) {
+            super(Type.CARDS_REVEALED);
+            this.cards = cards;
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeByte(cards.length);
+            out.write(cards);
+        }
+    }
+
+    /**
+     * A round was over, and a player got chips out of the pot
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class PotAwarded extends GameEvent {
+        private final String playerId;
+        private final long chips;
+
+        public PotAwarded(@NonNull String playerId, long chips) {
+            super(Type.POT_AWARDED);
+            this.playerId = playerId;
+            this.chips = chips;
+        }
+
+        @Override
+        void writeFields(DataOutput out) throws IOException {
+            out.writeUTF(playerId);
+            out.writeLong(chips);
+        }
+    }
+
+    /**
+     * The game was stopped, and the bets of a running round were returned to the players
+     */
+    @ToString
+    @EqualsAndHashCode(callSuper = true)
+    public static final class GameStopped extends GameEvent {
+        public GameStopped() {
+            super(Type.GAME_STOPPED);
+        }
+
+        @Override
+        void writeFields(DataOutput out) {
+            // No fields
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Records the {@link GameEvent events} of a game, and rebuilds games out of them.<br/>
+ * We keep the position of each {@link GameEvent.RoundStarted} event, which is a snapshot of the table, so a round
+ * can be replayed on its own, without replaying the rounds before it. Replaying a round takes microseconds, as the
+ * replayed game does not log, does not use threads, and does not wait for timeouts. (They were recorded as folds)<br/>
+ * Thread safe. A game records from the thread that mutates it, while other threads may read or replay.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameEventLog implements GameEngine.GameEventListener {
+    /**
+     * Version of the binary format of {@link #writeTo(OutputStream)}
+     */
+    private static final int VERSION = 1;
+
+    private final List<GameEvent> events = new ArrayList<>();
+
+    /**
+     * Index of each {@link GameEvent.RoundStarted} event at {@link #events}, by round
+     */
+    private final List<Integer> roundStarts = new ArrayList<>();
+
+    @Override
+    public synchronized void onGameEvent(GameEvent event) {
+        if (event.getType() == GameEvent.Type.ROUND_STARTED) {
+            roundStarts.add(events.size());
+        }
+
+        events.add(event);
+    }
+
+    /**
+     * @return A copy of the recorded events, in the order they occurred
+     */
+    public synchronized List<GameEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * @return Amount of recorded events
+     */
+    public synchronized int size() {
+        return events.size();
+    }
+
+    /**
+     * @return Amount of rounds that were started
+     */
+    public synchronized int getAmountOfRounds() {
+        return roundStarts.size();
+    }
+
+    /**
+     * @param round Index of a round, in range [0, {@link #getAmountOfRounds()})
+     * @return The events of a round, starting with its {@link GameEvent.RoundStarted} snapshot, until the next round starts
+     * @throws IndexOutOfBoundsException In case there is no such round
+     */
+    public synchronized List<GameEvent> getRoundEvents(int round) throws IndexOutOfBoundsException {
+        int from = roundStarts.get(round);
+        int to = round + 1 < roundStarts.size() ? roundStarts.get(round + 1) : events.size();
+        return new ArrayList<>(events.subList(from, to));
+    }
+
+    /**
+     * Rebuild the game out of all recorded events
+     * @param gameSettings Preferences of the recorded game
+     * @return A new game, at the state of the recorded game after its last event
+     */
+    public GameEngine replay(@NonNull GameSettings gameSettings) {
+        return replay(gameSettings, getEvents());
+    }
+
+    /**
+     * Rebuild the game out of the events of a round
+     * @param gameSettings Preferences of the recorded game
+     * @param round Index of a round, in range [0, {@link #getAmountOfRounds()})
+     * @return A new game, at the state of the recorded game before the next round started
+     * @throws IndexOutOfBoundsException In case there is no such round
+     */
+    public GameEngine replayRound(@NonNull GameSettings gameSettings, int round) throws IndexOutOfBoundsException {
+        return replay(gameSettings, getRoundEvents(round));
+    }
+
+    /**
+     * Rebuild a game out of events. See {@link GameEngine#replay(GameEvent)}
+     * @param gameSettings Preferences of the recorded game
+     * @param events The events to apply, in the order they occurred. To replay a round on its own, start with its
+     * {@link GameEvent.RoundStarted} event
+     * @return A new game, at the state of the recorded game after the last event
+     * @throws IllegalArgumentException In case the events do not fit each other
+     */
+    public static GameEngine replay(@NonNull GameSettings gameSettings, @NonNull List<GameEvent> events) throws IllegalArgumentException {
+        GameEngine game = new ReplayGameEngine(gameSettings);
+        for (GameEvent event : events) {
+            game.replay(event);
+        }
+
+        return game;
+    }
+
+    /**
+     * Write all recorded events to a binary stream
+     * @param out The stream to write to. It is not closed
+     * @throws IOException In case of an IO failure
+     */
+    public synchronized void writeTo(@NonNull OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeByte(VERSION);
+        data.writeInt(events.size());
+        for (GameEvent event : events) {
+            event.writeTo(data);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Read events that were written with {@link #writeTo(OutputStream)}
+     * @param in The stream to read from. It is not closed
+     * @return A new log with the events
+     * @throws IOException In case of an IO failure, or an unknown version
+     */
+    public static GameEventLog readFrom(@NonNull InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version: " + version + ". Expected: " + VERSION);
+        }
+
+        GameEventLog log = new GameEventLog();
+        int amountOfEvents = data.readInt();
+        for (int i = 0; i < amountOfEvents; i++) {
+            log.onGameEvent(GameEvent.readFrom(data));
+        }
+
+        return log;
+    }
+
+    /**
+     * A game that does not log, does not use threads and does not time turns, so replaying it is fast.
+     * Rounds are launched by their {@link GameEvent.RoundStarted} events, so the delay between rounds is never waited for.
+     */
+    private static class ReplayGameEngine extends GameEngine {
+        ReplayGameEngine(GameSettings gameSettings) {
+            super(new GameSettings(gameSettings.getSmallBet(), gameSettings.getBigBet(), gameSettings.getTurnTime(), gameSettings.getCreatorId(), false),
+                (player, chips) -> {}, DeckRandomSource.fast(), null, GameClock.manual(0));
+        }
+
+        @Override
+        protected void info(String message) {
+            // Logging would dominate a replay
+        }
+
+        @Override
+        protected boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        protected Executor newNotifierExecutor() {
+            return Runnable::run;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.util.CustomThreadFactory;
+import org.hit.android.haim.texasholdem.common.util.TaskFailureHandler;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A single threaded loop that runs the commands of the {@link GameEngine games} pinned to it.<br/>
+ * All mutations of a game are executed by the thread of its loop, one after the other, so a game has a single writer
+ * and does not need any locking. Delayed commands (e.g. turn timeouts and next round) are executed by the same thread,
+ * so they are serialized with player actions as well.<br/>
+ * Nobody waits for a command sent by {@link #execute(Runnable)} (e.g. a turn timeout, or the launch of a next round), so
+ * when it fails, the failure is reported to the {@link #setFailureHandler(TaskFailureHandler) failure handler} of the loop,
+ * rather than being kept in a future that nobody reads. Failures of {@link #call(Runnable)} reach the caller instead.<br/>
+ * Loops are shared by many games. See {@link GameEventLoops}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameEventLoop extends ScheduledThreadPoolExecutor {
+    /**
+     * The thread of this loop. We keep it so we can tell whether we are already running inside the loop
+     */
+    private volatile Thread thread;
+
+    /**
+     * Name of the loop, to report failures with
+     */
+    private final String name;
+
+    /**
+     * Where to report commands that have failed. See {@link #setFailureHandler(TaskFailureHandler)}
+     */
+    private volatile TaskFailureHandler failureHandler = TaskFailureHandler.IGNORE;
+
+    private final LongAdder failedTasks = new LongAdder();
+
+    /**
+     * Constructs a new {@link GameEventLoop}
+     * @param name Name of the loop, for meaningful thread name
+     */
+    public GameEventLoop(@NonNull String name) {
+        super(1);
+        this.name = name;
+        setThreadFactory(new LoopThreadFactory(name));
+    }
+
+    /**
+     * Set the handler to report commands that have failed to. It is called by the thread of this loop, so it must be short.
+     * @param failureHandler The handler to report failures to
+     */
+    public void setFailureHandler(@NonNull TaskFailureHandler failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * @return Amount of commands that have failed, and were reported to the failure handler
+     */
+    public long getFailedTasks() {
+        return failedTasks.sum();
+    }
+
+    /**
+     * @return Whether the calling thread is the thread of this loop
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Run a command in this loop and wait for it to complete.<br/>
+     * When called from the loop itself, the command is executed immediately, to avoid of waiting for ourselves.
+     * @param command The command to run
+     * @throws RuntimeException The exception thrown by the command, as is. (e.g. IllegalArgumentException of an illegal action)
+     */
+    public void call(@NonNull Runnable command) {
+        if (inEventLoop()) {
+            command.run();
+            return;
+        }
+
+        // Wrap the command with a task of our own, so its failure is kept for us, and is not reported as a failure of the loop
+        FutureTask<Void> task = new FutureTask<>(command, null);
+        execute(task);
+
+        try {
+            task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for game event loop", e);
+        }
+    }
+
+    /**
+     * The loop wraps every command with a future. The future keeps the failure of the command, so we take it from there
+     * and report it, as nobody else is going to read it.
+     */
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+
+        Throwable failure = t;
+        if ((failure == null) && (r instanceof Future) && ((Future<?>) r).isDone()) {
+            try {
+                ((Future<?>) r).get();
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (CancellationException ignore) {
+                // Cancelled commands did not fail
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (failure != null) {
+            failedTasks.increment();
+            try {
+                failureHandler.onTaskFailed(name, failure);
+            } catch (RuntimeException ignore) {
+                // A failing handler must not take the thread of the loop down
+            }
+        }
+    }
+
+    /**
+     * A thread factory that remembers the thread it has created, and makes it a daemon so loops do not keep the process alive
+     */
+    private class LoopThreadFactory implements ThreadFactory {
+        private final ThreadFactory threadFactory;
+
+        LoopThreadFactory(String name) {
+            threadFactory = new CustomThreadFactory(name);
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = threadFactory.newThread(r);
+            t.setDaemon(true);
+            thread = t;
+            return t;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.util.CustomThreadFactory;
+import org.hit.android.haim.texasholdem.common.util.TaskFailureHandler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A fixed pool of {@link GameEventLoop}s shared by all games.<br/>
+ * Each game is pinned to a loop by its identifier, so the amount of threads stays the same no matter how many games
+ * are open. Next to every loop there is a notifier thread, which notifies the {@link GameEngine.PlayerUpdateListener}
+ * of the games pinned to that loop. The listener might do IO, so we keep it out of the loop.<br/>
+ * All threads are daemons, so the loops do not keep the process alive. Use {@link #shutdown()} to stop them gracefully.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameEventLoops {
+    private final GameEventLoop[] loops;
+    private final ExecutorService[] notifiers;
+
+    /**
+     * Constructs a new {@link GameEventLoops}
+     * @param amountOfLoops How many loops (threads) to run the games with
+     */
+    public GameEventLoops(int amountOfLoops) {
+        if (amountOfLoops <= 0) {
+            throw new IllegalArgumentException("Amount of loops must be positive. Was: " + amountOfLoops);
+        }
+
+        loops = new GameEventLoop[amountOfLoops];
+        notifiers = new ExecutorService[amountOfLoops];
+        for (int i = 0; i < amountOfLoops; i++) {
+            loops[i] = new GameEventLoop("GameEventLoop-" + i);
+            ThreadFactory threadFactory = new CustomThreadFactory("PlayerUpdateNotifier-" + i);
+            notifiers[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = threadFactory.newThread(r);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * @return The default loops, with a loop per available processor
+     */
+    public static GameEventLoops getInstance() {
+        return SingletonRef.instance;
+    }
+
+    /**
+     * @param gameId Identifier of a game
+     * @return The loop that the game is pinned to
+     */
+    public GameEventLoop loopOf(int gameId) {
+        return loops[Math.floorMod(gameId, loops.length)];
+    }
+
+    /**
+     * @param gameId Identifier of a game
+     * @return The executor to notify the listener of a game with. Notifications of a game keep their order
+     */
+    public ExecutorService notifierOf(int gameId) {
+        return notifiers[Math.floorMod(gameId, notifiers.length)];
+    }
+
+    /**
+     * Set the handler to report failing commands of all loops to. See {@link GameEventLoop#setFailureHandler(TaskFailureHandler)}
+     * @param failureHandler The handler to report failures to
+     */
+    public void setFailureHandler(@NonNull TaskFailureHandler failureHandler) {
+        for (GameEventLoop loop : loops) {
+            loop.setFailureHandler(failureHandler);
+        }
+    }
+
+    /**
+     * @return How many loops there are
+     */
+    public int size() {
+        return loops.length;
+    }
+
+    /**
+     * Stop all loops. Commands that were not executed yet are discarded, though pending notifications are delivered.
+     */
+    public void shutdown() {
+        for (int i = 0; i < loops.length; i++) {
+            loops[i].shutdownNow();
+            notifiers[i].shutdown();
+        }
+    }
+
+    private static class SingletonRef {
+        static final GameEventLoops instance = new GameEventLoops(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,224 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+/**
+ * A monotonically increasing version of the state of a {@link GameEngine}, which remembers what has changed at each
+ * version.<br/>
+ * The game {@link #markChanged(int) marks} the {@link Part parts} it modifies, and every mark is a new version. We keep
+ * the changes of the last {@link #HISTORY_SIZE} versions in a ring, so a client that sends the last version it has
+ * seen gets the parts that have changed since, or nothing when it is up to date. A client that is too far behind gets
+ * all parts.<br/>
+ * In json, a version is written as its number. Clients read it back as a version without history, to send it with
+ * their next request.<br/>
+ * In event loop mode there is a single writer, the loop of the game, so marking a change takes no lock. With dedicated
+ * threads, changes are marked by the callers, the notifier thread and the thread of the clock, so marks are serialized by
+ * a monitor. Readers (e.g. polls) never lock. They read the ring and validate it against the version afterwards, like
+ * a seqlock, so a slot the writer has reused meanwhile is never taken as a change of an older version.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameStateVersion {
+    /**
+     * How many versions we remember the changes of. Must be a power of two
+     */
+    static final int HISTORY_SIZE = 256;
+
+    /**
+     * A mask of all parts
+     */
+    public static final int ALL_PARTS = (1 << Part.VALUES.length) - 1;
+
+    /**
+     * Current version. Published after the changes of the version are written to the ring
+     */
+    private volatile long version;
+
+    /**
+     * Masks of the changed parts, by version, in a ring
+     */
+    private final AtomicIntegerArray changes = new AtomicIntegerArray(HISTORY_SIZE);
+
+    /**
+     * Whether a single thread marks the changes, so marks need no lock. See {@link #markChanged(int)}
+     */
+    private final boolean isSingleWriter;
+
+    /**
+     * Constructs a new {@link GameStateVersion}, at version 0
+     */
+    public GameStateVersion() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new {@link GameStateVersion}, with no history, that several threads can mark changes of
+     * @param version The version to start at
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public GameStateVersion(long version) {
+        this(version, false);
+    }
+
+    /**
+     * Constructs a new {@link GameStateVersion}, with no history
+     * @param version The version to start at
+     * @param isSingleWriter Whether a single thread marks the changes (e.g. the loop of a game), so marks need no lock
+     */
+    public GameStateVersion(long version, boolean isSingleWriter) {
+        this.version = version;
+        this.isSingleWriter = isSingleWriter;
+    }
+
+    /**
+     * @return Current version
+     */
+    @JsonValue
+    public long get() {
+        return version;
+    }
+
+    /**
+     * Move to the next version. Without a single writer, concurrent marks are serialized, so each one gets a version of its own
+     * @param parts Mask of the parts that have changed. See {@link Part#mask()}
+     * @return The new version
+     */
+    public long markChanged(int parts) {
+        if (isSingleWriter) {
+            return publish(parts);
+        }
+
+        synchronized (this) {
+            return publish(parts);
+        }
+    }
+
+    /**
+     * Write the changes of the next version to the ring, and only then publish the version. Called by one thread at a time
+     * @param parts Mask of the parts that have changed
+     * @return The new version
+     */
+    private long publish(int parts) {
+        long nextVersion = version + 1;
+        changes.set((int)(nextVersion & (HISTORY_SIZE - 1)), parts);
+        version = nextVersion;
+        return nextVersion;
+    }
+
+    /**
+     * Find what has changed after a version, up to another version.<br/>
+     * Read the version to respond with first, using {@link #get()}, and only then the changes and the game. This way
+     * a change that happens while we respond is sent again with the next response, rather than missed.
+     * @param fromVersion The version a client has, exclusive
+     * @param toVersion The version to respond with, inclusive
+     * @return Mask of the parts that have changed. {@link #ALL_PARTS} when we do not remember the changes of these
+     * versions (e.g. a client that is too far behind, or a version of another game)
+     */
+    public int changesBetween(long fromVersion, long toVersion) {
+        if ((fromVersion < 0) || (fromVersion > toVersion) || (toVersion > version)) {
+            return ALL_PARTS;
+        }
+
+        int result = 0;
+        for (long v = fromVersion + 1; v <= toVersion; v++) {
+            result |= changes.get((int)(v & (HISTORY_SIZE - 1)));
+        }
+
+        // The writer might be writing the slot of the version after the current one. When that slot, or any slot it has
+        // written since we started, belongs to the versions we have read, what we have read cannot be trusted
+        if ((version + 1) - fromVersion > HISTORY_SIZE) {
+            return ALL_PARTS;
+        }
+
+        return result;
+    }
+
+    /**
+     * @param parts A mask of parts
+     * @return The parts in the mask
+     */
+    public static EnumSet<Part> partsOf(int parts) {
+        EnumSet<Part> result = EnumSet.noneOf(Part.class);
+        for (Part part : Part.VALUES) {
+            if ((parts & part.mask()) != 0) {
+                result.add(part);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+
+    /**
+     * The parts of a {@link GameEngine} that change during a game. Each part is a property of the game's json.<br/>
+     * The identifier, hash, settings and creation time of a game never change, so they are not versioned.
+     */
+    public enum Part {
+        PLAYERS("players", GameEngine::getPlayers),
+        DEALER("dealer", GameEngine::getDealer),
+        GAME_LOG("gameLog", GameEngine::getGameLog),
+        BOARD("board", GameEngine::getBoard),
+        POT("pot", GameEngine::getPot),
+        TURN_TIMER("playerTurnTimer", GameEngine::getPlayerTurnTimer),
+        LAST_ACTION_KIND("lastActionKind", GameEngine::getLastActionKind),
+        PLAYER_LAST_ACTIONS("playerToHisLastAction", GameEngine::getPlayerToHisLastAction),
+        BETTING_ROUND("bettingRound", GameEngine::getBettingRound),
+        EARNINGS("playerToEarnings", GameEngine::getPlayerToEarnings),
+        ALL_IN_EQUITY("playerToAllInEquity", GameEngine::getPlayerToAllInEquity),
+        GAME_STATE("gameState", GameEngine::getGameState);
+
+        private static final Part[] VALUES = values();
+
+        private final String jsonProperty;
+        private final Function<GameEngine, Object> getter;
+
+        Part(String jsonProperty, Function<GameEngine, Object> getter) {
+            this.jsonProperty = jsonProperty;
+            this.getter = getter;
+        }
+
+        /**
+         * @return Name of the json property of this part
+         */
+        public String getJsonProperty() {
+            return jsonProperty;
+        }
+
+        /**
+         * @param game A game
+         * @return The value of this part in the specified game
+         */
+        public Object getValue(GameEngine game) {
+            return getter.apply(game);
+        }
+
+        /**
+         * @return A mask with the bit of this part
+         */
+        public int mask() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * @param parts Some parts
+         * @return A mask with the bits of the specified parts
+         */
+        public static int maskOf(Part... parts) {
+            int result = 0;
+            for (Part part : parts) {
+                result |= part.mask();
+            }
+
+            return result;
+        }
+    }
+}
@@ -5,17 +5,18 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
-import org.hit.android.haim.texasholdem.common.util.CustomThreadFactory;
+import org.hit.android.haim.texasholdem.common.util.HashedWheelTimer;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A timer like implementation, which is used for network games, to start a counter for
  * each turn, such that when a player does not finish his turn within {@link GameSettings#getTurnTime()} minute,
- * we force him to fold, and move the turn forward.
+ * we force him to fold, and move the turn forward.<br/>
+ * The deadline of each turn is scheduled at the {@link GameClock} of the game. For the {@link GameClock#real() real clock},
+ * this is a {@link HashedWheelTimer} shared by all games, so a game does not need a thread of its own, and resetting
+ * the deadline on every action is O(1).
  * @author Haim Adrian
  * @since 22-Jun-21
  */
@@ -47,23 +48,61 @@ public class PlayerTurnTimer {
     private final AtomicLong turnStartedAt = new AtomicLong();
 
     /**
-     * In case of network game, we schedule a task to check if player turn took too much time, so
-     * we can perform a turn timeout, and move the turn to the next player.<br/>
-     * Each player on network got {@link GameSettings#getTurnTime()} minute to play, and when he's not
-     * finishing the turn within that time frame, we force him to fold.<br/>
-     * In case of AI game, this data member refers to null.
+     * Counts the turns, so a timeout that has fired while its turn was being reset will not be raised for the next turn
      */
     @JsonIgnore
-    private ScheduledExecutorService turnTimeCounter;
+    private final AtomicLong turn = new AtomicLong();
 
     /**
-     * Constructs a new {@link PlayerTurnTimer}
+     * The clock to read time from and schedule turn deadlines at
+     */
+    @JsonIgnore
+    private GameClock clock;
+
+    /**
+     * The executor to raise timeout events with (e.g. the {@link GameEventLoop} of a game), or {@code null} to raise
+     * them by the thread of the {@link #clock}
+     */
+    @JsonIgnore
+    private Executor listenerExecutor;
+
+    /**
+     * The deadline of current turn
+     */
+    @JsonIgnore
+    private GameClock.Cancellable timeout;
+
+    /**
+     * Constructs a new {@link PlayerTurnTimer} over the real clock, which raises timeout events by the thread of the shared timer
      * @param listener Listener to be notified about timeout
      * @param timeoutMillis How much time to wait before raising a timeout event.
      */
     public PlayerTurnTimer(PlayerTurnTimerListener listener, long timeoutMillis) {
+        this(listener, timeoutMillis, null);
+    }
+
+    /**
+     * Constructs a new {@link PlayerTurnTimer}, over the real clock
+     * @param listener Listener to be notified about timeout
+     * @param timeoutMillis How much time to wait before raising a timeout event.
+     * @param listenerExecutor The executor to raise timeout events with, or {@code null} to raise them by the thread of the timer.
+     */
+    public PlayerTurnTimer(PlayerTurnTimerListener listener, long timeoutMillis, Executor listenerExecutor) {
+        this(listener, timeoutMillis, listenerExecutor, GameClock.real());
+    }
+
+    /**
+     * Constructs a new {@link PlayerTurnTimer}
+     * @param listener Listener to be notified about timeout
+     * @param timeoutMillis How much time to wait before raising a timeout event.
+     * @param listenerExecutor The executor to raise timeout events with, or {@code null} to raise them by the thread of the clock.
+     * @param clock The clock to read time from and schedule turn deadlines at
+     */
+    public PlayerTurnTimer(PlayerTurnTimerListener listener, long timeoutMillis, Executor listenerExecutor, GameClock clock) {
         this.listener = listener;
         this.timeoutMillis = timeoutMillis;
+        this.listenerExecutor = listenerExecutor;
+        this.clock = clock;
     }
 
     /**
@@ -71,18 +110,11 @@ public class PlayerTurnTimer {
      * This will start counting from now, for the specified timeout settings.
      */
     public void startOrReset() {
-        turnStartedAt.set(System.currentTimeMillis());
-
-        if (turnTimeCounter == null) {
-            turnTimeCounter = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory(PlayerTurnTimer.class.getSimpleName()));
-            turnTimeCounter.scheduleAtFixedRate(() -> {
-                    if (System.currentTimeMillis() - turnStartedAt.get() > timeoutMillis) {
-                        listener.turnTimeoutOccurred();
-                        turnStartedAt.set(System.currentTimeMillis());
-                    }
-                },
-                3, 3, TimeUnit.SECONDS);
-        }
+        turnStartedAt.set(clock.currentTimeMillis());
+        long currentTurn = turn.incrementAndGet();
+
+        cancelTimeout();
+        timeout = clock.schedule(() -> onTimeout(currentTurn), timeoutMillis);
     }
 
     /**
@@ -90,10 +122,8 @@ public class PlayerTurnTimer {
      * Note that after calling this method you can still use this reference and call {@link #startOrReset()}.
      */
     public void stop() {
-        if (turnTimeCounter != null) {
-            turnTimeCounter.shutdownNow();
-            turnTimeCounter = null;
-        }
+        turn.incrementAndGet();
+        cancelTimeout();
     }
 
     /**
@@ -104,6 +134,28 @@ public class PlayerTurnTimer {
         return turnStartedAt.get();
     }
 
+    private void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
+    }
+
+    private void onTimeout(long timedOutTurn) {
+        if (listenerExecutor == null) {
+            raiseTimeout(timedOutTurn);
+        } else {
+            listenerExecutor.execute(() -> raiseTimeout(timedOutTurn));
+        }
+    }
+
+    private void raiseTimeout(long timedOutTurn) {
+        // The turn might be over while the timeout was on its way to the executor
+        if (turn.get() == timedOutTurn) {
+            listener.turnTimeoutOccurred();
+        }
+    }
+
     /**
      * Provides a mechanism to listen to turn timeout events.<br/>
      *
@@ -117,4 +169,3 @@ public class PlayerTurnTimer {
         void turnTimeoutOccurred();
     }
 }
-
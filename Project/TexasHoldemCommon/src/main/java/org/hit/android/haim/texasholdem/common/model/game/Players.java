@@ -9,40 +9,33 @@ import lombok.ToString;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * This class responsible for managing in-game players access.<br/>
- * Players are sorted by insertion order, and backed-by a set to make sure a player
- * is not added twice.<br/>
+ * Players are kept by their seat (position) around the table, and we maintain a bitmask of the occupied seats, where
+ * bit {@code i} is the seat at index {@code i}. Finding the next player, checking who is involved and dealing are
+ * bit operations over that mask, and over the playing / active masks we derive from it, so they allocate nothing.<br/>
  * In addition we maintain current playing player, so it is possible to get next player. (Turns)
  * @author Haim Adrian
  * @since 11-Jun-21
  */
-@ToString(exclude = {"players"})
+@ToString
 public class Players {
     /**
-     * All of the players in a game, to back-by the ordered list of players,
-     * and make sure there can't be a situation where player is added twice.<br/>
-     * Implementation that supports add/remove/random access in O(1)
-     */
-    @JsonIgnore
-    private final Map<Player, Integer> players;
-
-    /**
-     * List of players, so we can iterate on, one by another, in the order they were added,
+     * Players by their seat around the table, so we can iterate on, one by another,
      * thus saving the same order as players are sitting around a table.
      */
     @JsonProperty
     private final Player[] playersArray;
 
     /**
-     * Keep a map of the identifiers of all players in a game.<br/>
-     * We keep that in a set to win the ability to check if a user is part of a game in O(1), by user identifier
+     * Bitmask of the seats at {@link #playersArray} that are taken
      */
     @JsonIgnore
-    private final Map<String, Player> playersById;
+    private int occupiedSeats;
 
     /**
      * Index of the player we are waiting for, to finish its turn. (Current player)<br/>
@@ -72,8 +65,8 @@ public class Players {
     /**
      * Constructor for Jackson.
      */
-    // Define it explicitly so we will be able to fill in the maps according to the players in the array.
-    // Otherwise the maps will be empty. (Cause we ignore them in json, to reduce duplicities)
+    // Define it explicitly so we will be able to fill in the occupied seats according to the players in the array.
+    // Otherwise the mask will be empty. (Cause we ignore it in json, to reduce duplicities)
     @JsonCreator
     public Players(@JsonProperty("playersArray") Player[] playersArray,
                    @JsonProperty("currentPlayerIndex") int currentPlayerIndex,
@@ -83,26 +76,21 @@ public class Players {
         this.currentPlayerIndex = currentPlayerIndex;
         this.prevPlayerIndex = prevPlayerIndex;
         this.maxAmountOfPlayers = maxAmountOfPlayers;
-        players = new HashMap<>();
-        playersById = new HashMap<>();
 
         for (int i = 0; i < playersArray.length; i++) {
             if (playersArray[i] != null) {
-                players.put(playersArray[i], i);
-                playersById.put(playersArray[i].getId(), playersArray[i]);
+                occupiedSeats |= 1 << i;
             }
         }
     }
 
     /**
      * Constructs a new {@link Players}
-     * @param maxAmountOfPlayers How many players can be added
+     * @param maxAmountOfPlayers How many players can be added. At most {@link Integer#SIZE}
      */
     public Players(int maxAmountOfPlayers) {
         this.maxAmountOfPlayers = maxAmountOfPlayers;
-        players = new HashMap<>();
         playersArray = new Player[maxAmountOfPlayers];
-        playersById = new HashMap<>();
     }
 
     /**
@@ -114,21 +102,18 @@ public class Players {
      * @throws IllegalArgumentException In case player is already part of the game
      */
     public void addPlayer(Player player) throws IllegalArgumentException {
-        if (players.containsKey(player)) {
+        if (indexOfPlayer(player) >= 0) {
             throw new IllegalArgumentException("Player " + player + " is already part of the game");
-        } else if (players.size() == maxAmountOfPlayers) {
+        } else if (size() == maxAmountOfPlayers) {
             throw new IllegalArgumentException("Full. There are already " + maxAmountOfPlayers + " players");
         } else {
-            int playerIndex = player.getPosition();
-            while (playersArray[playerIndex] != null) {
-                playerIndex = (playerIndex + 1) % maxAmountOfPlayers;
-            }
+            int freeSeats = ~occupiedSeats & ((1 << maxAmountOfPlayers) - 1);
+            int playerIndex = nextSeat(freeSeats, player.getPosition() - 1);
 
-            // Put the player and map it to its index (position)
+            // Put the player at its index (position)
             player.setPosition(playerIndex);
-            players.put(player, playerIndex);
             playersArray[playerIndex] = player;
-            playersById.put(player.getId(), player);
+            occupiedSeats |= 1 << playerIndex;
         }
     }
 
@@ -140,7 +125,7 @@ public class Players {
      */
     public Player getPlayer(int playerIndex) throws IndexOutOfBoundsException {
         if (playerIndex < 0) {
-            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + players.size() + ")");
+            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + size() + ")");
         }
 
         return playersArray[playerIndex % playersArray.length];
@@ -151,20 +136,15 @@ public class Players {
      * This method, unlike {@link #getPlayer(int)}, makes sure that the player at the specified index differs from null.
      * In case it refers to null, we will go around the table until finding a player.
      * @param playerIndex The index of the player to get
-     * @return The player at the specified index
+     * @return The player at the specified index, or {@code null} in case there are no players
      * @throws IndexOutOfBoundsException in case the specified index was out of bounds. [0, size()-1]
      */
     public Player getAvailablePlayer(int playerIndex) throws IndexOutOfBoundsException {
         if (playerIndex < 0) {
-            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + players.size() + ")");
+            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + size() + ")");
         }
 
-        Player result;
-        do {
-            result = playersArray[playerIndex++ % playersArray.length];
-        } while (result == null);
-
-        return result;
+        return playerAt(nextSeat(occupiedSeats, playerIndex % playersArray.length - 1));
     }
 
     /**
@@ -172,20 +152,15 @@ public class Players {
      * This method, unlike {@link #getPlayer(int)}, makes sure that the player at the specified index differs from null.
      * In case it refers to null, we will go around the table until finding a player. In addition, we ensure the player is playing.
      * @param playerIndex The index of the player to get
-     * @return The player at the specified index
+     * @return The player at the specified index, or {@code null} in case there are no playing players
      * @throws IndexOutOfBoundsException in case the specified index was out of bounds. [0, size()-1]
      */
     public Player getAvailablePlayingPlayer(int playerIndex) throws IndexOutOfBoundsException {
         if (playerIndex < 0) {
-            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + players.size() + ")");
+            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + size() + ")");
         }
 
-        Player result = null;
-        do {
-            result = getAvailablePlayer(result == null ? playerIndex : (result.getPosition() + 1));
-        } while ((result == null) || (!result.isPlaying()));
-
-        return result;
+        return playerAt(nextSeat(getPlayingSeats(), playerIndex % playersArray.length - 1));
     }
 
     /**
@@ -194,23 +169,23 @@ public class Players {
      * In case it refers to null, we will go around the table, <b>counter clockwise</b> until finding a player.
      * In addition, we ensure the player is playing.
      * @param playerIndex The index of the player to get
-     * @return The player at the specified index
+     * @return The player at the specified index, or {@code null} in case there are no playing players
      * @throws IndexOutOfBoundsException in case the specified index was out of bounds. [0, size()-1]
      */
     public Player getAvailablePlayingPlayerReversed(int playerIndex) throws IndexOutOfBoundsException {
         if (playerIndex < 0) {
-            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + players.size() + ")");
+            throw new IndexOutOfBoundsException("There is no player at: " + playerIndex + ". Try: [0, " + size() + ")");
         }
 
-        Player result;
-        do {
-            result = playersArray[playerIndex-- % playersArray.length];
-            if (playerIndex < 0) {
-                playerIndex = playersArray.length - 1;
-            }
-        } while ((result == null) || (!result.isPlaying()));
+        int playingSeats = getPlayingSeats();
+        if (playingSeats == 0) {
+            return null;
+        }
 
-        return result;
+        // Take the highest playing seat up to the index, or the highest playing seat when there is none below it
+        int seatsUpToIndex = playingSeats & ((2 << (playerIndex % playersArray.length)) - 1);
+        int seats = seatsUpToIndex != 0 ? seatsUpToIndex : playingSeats;
+        return playersArray[Integer.SIZE - 1 - Integer.numberOfLeadingZeros(seats)];
     }
 
     /**
@@ -218,10 +193,10 @@ public class Players {
      * @param player The player to add
      */
     public void removePlayer(Player player) {
-        if (players.containsKey(player)) {
-            int index = players.remove(player);
+        int index = indexOfPlayer(player);
+        if (index >= 0) {
             playersArray[index] = null;
-            playersById.remove(player.getId());
+            occupiedSeats &= ~(1 << index);
 
             // In case we remove the current player, update the index to the next player.
             if (currentPlayerIndex == index) {
@@ -235,7 +210,24 @@ public class Players {
      * @return The index of a specified player, or {@code -1} in case player does not exist
      */
     public int indexOfPlayer(Player player) {
-        return players.getOrDefault(player, -1);
+        if (player == null) {
+            return -1;
+        }
+
+        // Usually a player sits at its position, so check it before going around the table
+        int position = player.getPosition();
+        if ((position >= 0) && (position < playersArray.length) && player.equals(playersArray[position])) {
+            return position;
+        }
+
+        for (int seats = occupiedSeats; seats != 0; seats &= seats - 1) {
+            int seat = Integer.numberOfTrailingZeros(seats);
+            if (player.equals(playersArray[seat])) {
+                return seat;
+            }
+        }
+
+        return -1;
     }
 
     /**
@@ -244,7 +236,14 @@ public class Players {
      * @return A player or {@code null} in case this user is not one of the players
      */
     public Player getPlayerById(String playerId) {
-        return playersById.get(playerId);
+        for (int seats = occupiedSeats; seats != 0; seats &= seats - 1) {
+            Player player = playersArray[Integer.numberOfTrailingZeros(seats)];
+            if (player.getId().equals(playerId)) {
+                return player;
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -254,10 +253,10 @@ public class Players {
     public void setCurrentPlayerIndex(int playerIndex) {
         prevPlayerIndex = currentPlayerIndex;
 
-        do {
-            currentPlayerIndex = playerIndex % maxAmountOfPlayers;
-            playerIndex++;
-        } while ((playersArray[currentPlayerIndex] == null) && (currentPlayerIndex != prevPlayerIndex));
+        // Take the first taken seat from the index, but do not go around the table past the previous player
+        int stopSeats = occupiedSeats | seatOf(prevPlayerIndex);
+        int seat = playerIndex % maxAmountOfPlayers;
+        currentPlayerIndex = stopSeats == 0 ? seat : nextSeat(stopSeats, seat - 1);
     }
 
     /**
@@ -284,7 +283,7 @@ public class Players {
      * @return How many players there are
      */
     public int size() {
-        return players.size();
+        return Integer.bitCount(occupiedSeats);
     }
 
     /**
@@ -292,15 +291,55 @@ public class Players {
      */
     @JsonIgnore
     public Set<Player> getPlayers() {
-        return new HashSet<>(players.keySet());
+        return playersOf(occupiedSeats);
+    }
+
+    /**
+     * @return Bitmask of the taken seats, where bit {@code i} is the player at index {@code i}
+     */
+    @JsonIgnore
+    public int getOccupiedSeats() {
+        return occupiedSeats;
+    }
+
+    /**
+     * @return Bitmask of the seats of the players that are in. ({@link Player#isPlaying()})
+     */
+    @JsonIgnore
+    public int getPlayingSeats() {
+        int result = 0;
+        for (int seats = occupiedSeats; seats != 0; seats &= seats - 1) {
+            int seat = Integer.numberOfTrailingZeros(seats);
+            if (playersArray[seat].isPlaying()) {
+                result |= 1 << seat;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Bitmask of the seats of the players that are in and can still bet, which means they did not go all-in
+     */
+    @JsonIgnore
+    public int getActiveSeats() {
+        int result = 0;
+        for (int seats = occupiedSeats; seats != 0; seats &= seats - 1) {
+            int seat = Integer.numberOfTrailingZeros(seats);
+            Player player = playersArray[seat];
+            if (player.isPlaying() && (player.getChips().get() > 0)) {
+                result |= 1 << seat;
+            }
+        }
+
+        return result;
     }
 
     /**
      * Remove all players from this reference
      */
     public void clear() {
-        players.clear();
-        playersById.clear();
+        occupiedSeats = 0;
         Arrays.fill(playersArray, null);
     }
 
@@ -323,25 +362,24 @@ public class Players {
             prevPlayerIndex = currentPlayerIndex;
         }
 
-        // Continue looking for next available player, and protect the loop such that we avoid of
-        // going in circle. In case we have reached the player we started from, we break.
-        // Note that a player might be playing but he went all-int, so we skip such player.
-        Player player;
-        do {
-            currentPlayerIndex = ((currentPlayerIndex + 1) % maxAmountOfPlayers);
-            player = playersArray[currentPlayerIndex];
-        } while (((player == null) || !player.isPlaying() || (player.getChips().get() == 0)) && (currentPlayerIndex != prevPlayerIndex));
+        // Look for next active player, and protect against going in circle. In case we reach the player we started
+        // from, we stop there. Note that a player might be playing but he went all-int, so we skip such player.
+        int stopSeats = getActiveSeats() | seatOf(prevPlayerIndex);
+        if (stopSeats != 0) {
+            currentPlayerIndex = nextSeat(stopSeats, currentPlayerIndex);
+        }
 
-        return player;
+        return playerAt(currentPlayerIndex);
     }
 
     /**
-     * Use this method at the end of a round, to collect all players that are in. ({@link Player#isPlaying()}
+     * Use this method at the end of a round, to collect all players that are in. ({@link Player#isPlaying()}<br/>
+     * Use {@link #getPlayingSeats()} when there is no need for the players themselves.
      * @return A set of involved players, to send to {@link Pot#applyWinning(Set, Board)}
      */
     @JsonIgnore
     public Set<Player> getInvolvedPlayers() {
-        return players.keySet().stream().filter(Player::isPlaying).collect(Collectors.toSet());
+        return playersOf(getPlayingSeats());
     }
 
     /**
@@ -349,7 +387,40 @@ public class Players {
      * Use this method whenever a round is started, to mark all of the players as currently playing.
      */
     public void markAllPlayersAsPlaying() {
-        players.keySet().forEach(player -> player.setPlaying(true));
+        for (int seats = occupiedSeats; seats != 0; seats &= seats - 1) {
+            playersArray[Integer.numberOfTrailingZeros(seats)].setPlaying(true);
+        }
     }
-}
 
+    /**
+     * Find the first seat in a mask after a seat, going around the table.
+     * @param seats Bitmask of seats to look in. See {@link #getOccupiedSeats()}
+     * @param afterSeat The seat to start after. Use {@code -1} to start at the first seat
+     * @return The next seat, or {@code -1} in case the mask is empty
+     */
+    public static int nextSeat(int seats, int afterSeat) {
+        if (seats == 0) {
+            return -1;
+        }
+
+        int seatsAfter = afterSeat + 1 >= Integer.SIZE ? 0 : seats & (-1 << (afterSeat + 1));
+        return Integer.numberOfTrailingZeros(seatsAfter != 0 ? seatsAfter : seats);
+    }
+
+    private static int seatOf(int playerIndex) {
+        return playerIndex < 0 ? 0 : 1 << playerIndex;
+    }
+
+    private Player playerAt(int seat) {
+        return seat < 0 ? null : playersArray[seat];
+    }
+
+    private Set<Player> playersOf(int seats) {
+        Set<Player> result = new HashSet<>();
+        for (; seats != 0; seats &= seats - 1) {
+            result.add(playersArray[Integer.numberOfTrailingZeros(seats)]);
+        }
+
+        return result;
+    }
+}
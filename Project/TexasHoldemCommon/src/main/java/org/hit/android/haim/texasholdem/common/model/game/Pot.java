@@ -9,10 +9,11 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
 import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankCalculator;
 import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankCalculatorResult;
-import org.hit.android.haim.texasholdem.common.util.Pair;
+import org.hit.android.haim.texasholdem.common.model.game.rank.ShowdownRanking;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -47,11 +48,22 @@ public class Pot {
     private final Map<Player, HandPot> potsForRound = new HashMap<>();
 
     /**
-     * A reference to the last bet, to make sure a new bet is legal and not below it.<br/>
-     * It might be null when we just start a round, in this case the bet will be set according to the small bet player.
+     * The last bet, to make sure a new bet is legal and not below it. Valid when {@link #hasLastBet}.<br/>
+     * There is no last bet when we just start a round, in this case the bet will be set according to the small bet player.<br/>
+     * We keep it primitive so betting does not box it. In json, it is {@link #getLastBet()}.
      */
-    @Getter
-    private Long lastBet;
+    @JsonIgnore
+    private long lastBetAmount;
+
+    @JsonIgnore
+    private boolean hasLastBet;
+
+    /**
+     * The settled layers of the pot, with their winners, kept once a round is over until the next bet.<br/>
+     * While a round runs, the layers are built out of the bets when asked for. See {@link #getLayers()}
+     */
+    @JsonProperty
+    private List<PotLayer> layers;
 
     /**
      * This method is exposed so we can use it from {@link GameEngine#stop()}, to make sure we do not stop
@@ -76,18 +88,20 @@ public class Pot {
         // If amount is bigger than the ALL-IN of the specified player, use the player's ALL-IN.
         long validatedAmount = Math.min(amount, player.getChips().get()) + getPotOfPlayer(player);
 
-        if (lastBet != null) {
-            if ((validatedAmount < lastBet) && (player.getChips().get() > validatedAmount)) {
-                throw new IllegalArgumentException("Cannot bet with amount smaller than last bet. [amount=" + validatedAmount + ", lastBet=" + lastBet + "]");
+        if (hasLastBet) {
+            if ((validatedAmount < lastBetAmount) && (player.getChips().get() > validatedAmount)) {
+                throw new IllegalArgumentException("Cannot bet with amount smaller than last bet. [amount=" + validatedAmount + ", lastBet=" + lastBetAmount + "]");
             }
         }
 
-        lastBet = amount + getPotOfPlayer(player);
+        lastBetAmount = amount + getPotOfPlayer(player);
+        hasLastBet = true;
         long delta = validatedAmount - getPotOfPlayer(player);
         player.getChips().remove(delta);
 
         pots.computeIfAbsent(player, p -> new HandPot()).add(delta);
         potsForRound.computeIfAbsent(player, p -> new HandPot()).add(delta);
+        layers = null;
 
         return delta;
     }
@@ -98,18 +112,47 @@ public class Pot {
      * @return How many chips the specified player put. Can be 0.
      */
     public long getPotOfPlayer(Player player) {
-        if (!potsForRound.containsKey(player)) {
-            return 0;
-        }
+        HandPot handPot = potsForRound.get(player);
+        return handPot == null ? 0 : handPot.sum;
+    }
+
+    /**
+     * @return Whether there is a last bet in the current round of bets. See {@link #getLastBetAmount()}
+     */
+    public boolean hasLastBet() {
+        return hasLastBet;
+    }
 
-        return potsForRound.get(player).sum;
+    /**
+     * @return The last bet, or 0 in case there is no last bet. See {@link #hasLastBet()}
+     */
+    @JsonIgnore
+    public long getLastBetAmount() {
+        return lastBetAmount;
+    }
+
+    /**
+     * Get the last bet, to make sure a new bet is legal and not below it.<br/>
+     * Prefer {@link #hasLastBet()} and {@link #getLastBetAmount()} in hot paths, as this method boxes the last bet.
+     * @return The last bet, or {@code null} when there is no last bet, as we have just started a round of bets
+     */
+    @JsonProperty("lastBet")
+    public Long getLastBet() {
+        return hasLastBet ? lastBetAmount : null;
+    }
+
+    @JsonProperty("lastBet")
+    private void setLastBet(Long lastBet) {
+        hasLastBet = lastBet != null;
+        lastBetAmount = hasLastBet ? lastBet : 0;
     }
 
     /**
      * Clear stored last bet to support resetting a bet round and start betting again.
      */
     public void clearLastBet() {
-        lastBet = null;
+        hasLastBet = false;
+        lastBetAmount = 0;
     }
 
     /**
@@ -126,137 +169,150 @@ public class Pot {
         pots.clear();
         clearPotsOfRound();
         clearLastBet();
+        layers = null;
     }
 
     /**
      * Use this method when a round is over, and we need to share the pot among winning players.<br/>
      * Note that not all of the money will get to the best hand, as it might be that the best hand belongs to a player
      * that went all-in, and there is some dead money in the pot, of players that bet after the winner who went all-in.
-     * In this case, the "dead" money will be split between the other involved winners.
+     * In this case, the "dead" money will be split between the other involved winners.<br/>
+     * We split the pot into {@link #getLayers() layers} once, and settle each layer in a single pass: the best hands
+     * among the players that can win a layer share it. Chips that cannot be split evenly go to the first winner by seat,
+     * and chips no involved player can win (bets of folded players, above all other bets) return to their owners.
      * @param involvedPlayers See {@link Players#getInvolvedPlayers()}
      * @param board The {@link Board}, to find winning hands.
      * @return A map between a winner and {@link PlayerWinning} reference holding the amount of chips and hand rank.
      */
     public Map<String, PlayerWinning> applyWinning(Set<Player> involvedPlayers, Board board) {
-        Map<Player, PlayerWinning> result = new HashMap<>();
-
-        // Use a tree map so we will sort the map based on keys (ranks)
-        // We use a reverse order comparator, so the best rank will be first.
-        Map<HandRankCalculatorResult, Set<Player>> rankToPlayers = new TreeMap<>(Comparator.reverseOrder());
-        for (Player player : involvedPlayers) {
-            HandRankCalculatorResult rank = HandRankCalculator.calculate(board, player.getHand());
-            rankToPlayers.computeIfAbsent(rank, r -> new HashSet<>()).add(player);
+        // Rank all hands at once, ordered by strength (best first), where players of the same strength are grouped.
+        List<Player> players = new ArrayList<>(involvedPlayers);
+        List<Hand> hands = new ArrayList<>(players.size());
+        for (Player player : players) {
+            hands.add(player.getHand());
+        }
+        ShowdownRanking ranking = HandRankCalculator.calculateShowdown(board, hands);
+
+        // The group of each involved player by seat, where lower is better, and its rank
+        int[] groupOfSeat = new int[Integer.SIZE];
+        HandRankCalculatorResult[] rankOfSeat = new HandRankCalculatorResult[Integer.SIZE];
+        int involvedSeats = 0;
+        for (int group = 0; group < ranking.getAmountOfGroups(); group++) {
+            for (int position = 0; position < ranking.getGroupSize(group); position++) {
+                int handIndex = ranking.getHandIndex(group, position);
+                int seat = players.get(handIndex).getPosition();
+                groupOfSeat[seat] = group;
+                rankOfSeat[seat] = ranking.getResult(handIndex);
+                involvedSeats |= 1 << seat;
+            }
         }
 
-        for (Map.Entry<HandRankCalculatorResult, Set<Player>> currRankToPlayers : rankToPlayers.entrySet()) {
-            Set<Player> winners = currRankToPlayers.getValue();
-
-            // Keep spreading pots until we handle all winning players.
-            while (!winners.isEmpty()) {
-                // Get the minimum sum based on winners, to take this part out from pots, and share among winners.
-                long minSum = findMinSumBasedOnWinnersBet(winners);
-                Pair<Long, Long> winShareAndRemainder = calculateWinAndRemainder(winners.size(), minSum);
-                Player firstWinner = winners.iterator().next();
+        Player[] playerOfSeat = new Player[Integer.SIZE];
+        for (Player player : pots.keySet()) {
+            playerOfSeat[player.getPosition()] = player;
+        }
 
-                // Now iterate over all winners to share the pots among them.
-                sharePotsAmongWinners(result, winners, winShareAndRemainder.getFirst(), currRankToPlayers.getKey());
+        List<PotLayer> settledLayers = buildLayers(involvedSeats);
+        Map<String, PlayerWinning> result = new HashMap<>();
+        for (PotLayer layer : settledLayers) {
+            int winnerSeats = layer.contributingSeats;
+            if (layer.eligibleSeats != 0) {
+                // Find the best group among the eligible players, and take all eligible players of that group
+                int bestGroup = Integer.MAX_VALUE;
+                for (int seats = layer.eligibleSeats; seats != 0; seats &= seats - 1) {
+                    bestGroup = Math.min(bestGroup, groupOfSeat[Integer.numberOfTrailingZeros(seats)]);
+                }
 
-                // Now add the remainder to the first player
-                if (firstWinner != null) {
-                    firstWinner.getChips().add(winShareAndRemainder.getSecond());
-                    result.get(firstWinner).sum += winShareAndRemainder.getSecond();
+                winnerSeats = 0;
+                for (int seats = layer.eligibleSeats; seats != 0; seats &= seats - 1) {
+                    int seat = Integer.numberOfTrailingZeros(seats);
+                    if (groupOfSeat[seat] == bestGroup) {
+                        winnerSeats |= 1 << seat;
+                    }
                 }
             }
 
-            // If all pots have been drained, there is no reason to continue.
-            // We continue iterating when there is "dead money".
-            if (pots.isEmpty()) {
-                break;
+            layer.winnerSeats = winnerSeats;
+            int amountOfWinners = Integer.bitCount(winnerSeats);
+            long remainder = layer.sum % amountOfWinners;
+            for (int seats = winnerSeats; seats != 0; seats &= seats - 1) {
+                int seat = Integer.numberOfTrailingZeros(seats);
+                long win = layer.sum / amountOfWinners + remainder;
+                remainder = 0;
+
+                Player winner = playerOfSeat[seat];
+                winner.getChips().add(win);
+                result.computeIfAbsent(winner.getId(), id -> new PlayerWinning(0L, rankOfSeat[seat])).sum += win;
             }
         }
 
-        // Clear the pots for next round
+        // Clear the pots for next round, and keep the settled layers, so clients can show who won each of them
         pots.clear();
+        layers = settledLayers;
 
-        return result.entrySet().stream().collect(Collectors.toMap(ent -> ent.getKey().getId(), Map.Entry::getValue));
+        return result;
     }
 
     /**
-     * A method to give for each winner the amount of chips he deserves.<br/>
-     * The amount of winning chips is calculated at {@link #calculateWinAndRemainder(int, long)}, and we
-     * just iterate over all winners and assign for each winner the amount of chips he deserves.<br/>
-     * The method will remove a winner from {@code winners}, in case it was fully handled (meaning its pot
-     * has drained and the player has already received all the chips he deserves)
-     * @param winnerToWinSum How many chips each player earned.
-     * @param winners Set of winners to go over and share the pots among them.
-     * @param winningSum To know how many chips each winner deserves
-     * @param handRank The hand rank of a winner, to save it to the value we put in {@code winnerToWinSum}
+     * Split the pot into layers, by the distinct levels of contribution of the players, from the lowest level up.<br/>
+     * Each player that contributed up to a level takes part in the layer of that level. Adjacent layers that the same
+     * players can win are merged, so there is a main pot and a side pot for each all-in that is not covered by others.
+     * @param involvedSeats Bitmask of the seats of the players that can still win
+     * @return The layers, starting with the main pot
      */
-    private void sharePotsAmongWinners(Map<Player, PlayerWinning> winnerToWinSum, Set<Player> winners, long winningSum, HandRankCalculatorResult handRank) {
-        for (Iterator<Player> winnerIter = winners.iterator(); winnerIter.hasNext();) {
-            Player winner = winnerIter.next();
-
-            // If current player's pot has been drained, it means we've finished handling this player, hence
-            // we remove him.
-            if (pots.get(winner) == null) {
-                winnerIter.remove();
-            }
-
-            // Add the chips to the winner
-            winner.getChips().add(winningSum);
-            if (!winnerToWinSum.containsKey(winner)) {
-                winnerToWinSum.put(winner, new PlayerWinning(0L, handRank));
-            }
+    private List<PotLayer> buildLayers(int involvedSeats) {
+        Player[] contributors = pots.keySet().toArray(new Player[0]);
+        Arrays.sort(contributors, Comparator.comparingLong(player -> pots.get(player).getSum()));
 
-            // Add the winning amount to the total amount of current winner.
-            // It might be that there will be several iterations, hence we aggregate.
-            winnerToWinSum.get(winner).sum += winningSum;
+        int contributingSeats = 0;
+        for (Player contributor : contributors) {
+            contributingSeats |= 1 << contributor.getPosition();
         }
-    }
 
-    /**
-     * This method will go over the pots of the winners, to find the minimum sum, such
-     * that we can make a pot out of that sum to share among the winners.<br/>
-     * This is how we handle "dead money". (The "dead money" will stay in {@link #pots})
-     * @param winners Set of players to find minimum sum of
-     * @return The minimum sum
-     */
-    private long findMinSumBasedOnWinnersBet(Set<Player> winners) {
-        long minSum = Long.MAX_VALUE;
-        for (Player currWinner : winners) {
-            long sum = pots.get(currWinner).getSum();
-            if (sum < minSum) {
-                minSum = sum;
+        List<PotLayer> result = new ArrayList<>();
+        long previousLevel = 0;
+        for (int i = 0; i < contributors.length; i++) {
+            long level = pots.get(contributors[i]).getSum();
+            if (level > previousLevel) {
+                long sum = (level - previousLevel) * (contributors.length - i);
+                int eligibleSeats = contributingSeats & involvedSeats;
+                PotLayer lastLayer = result.isEmpty() ? null : result.get(result.size() - 1);
+
+                // Layers that nobody can win are not merged, as we return them to the players that contributed them
+                if ((lastLayer != null) && (eligibleSeats != 0) && (lastLayer.eligibleSeats == eligibleSeats)) {
+                    lastLayer.sum += sum;
+                } else {
+                    result.add(new PotLayer(sum, eligibleSeats, 0, contributingSeats));
+                }
+
+                previousLevel = level;
             }
+
+            contributingSeats &= ~(1 << contributors[i].getPosition());
         }
 
-        return minSum;
+        return result;
     }
 
     /**
-     * This method calculates how many chips each winner earns, and the remainder, out of all pots.<br/>
-     * We take the amount of the specified {@code sumToTakeFromPots} out of all {@link #pots}, and then calculate
-     * the winning sum (totalSum / winners.size()), and the remainder.
-     * @param amountOfWinners Amount of winners to calculate how many chips each winner earns
-     * @param sumToTakeFromPots The amount of chips to take from each pot
-     * @return Pair(win, remainder)
+     * Get the layers of the pot, so clients can show "main pot / side pot 1 / ...".<br/>
+     * While a round runs, every player that has not folded is considered eligible, as there is no showdown yet.
+     * Once a round is over, these are the settled layers, with their winners.
+     * @return The layers, starting with the main pot
      */
-    private Pair<Long, Long> calculateWinAndRemainder(int amountOfWinners, long sumToTakeFromPots) {
-        long allPots = 0;
-        for (Iterator<Map.Entry<Player, HandPot>> potsIterator = pots.entrySet().iterator(); potsIterator.hasNext();) {
-            Map.Entry<Player, HandPot> currPot = potsIterator.next();
-            allPots += currPot.getValue().takeSum(sumToTakeFromPots);
-
-            // If current pot has drained, remove it.
-            // We remove drained pots so we will know when to stop the main applyWinnings loop.
-            if (currPot.getValue().getSum() == 0) {
-                potsIterator.remove();
+    public List<PotLayer> getLayers() {
+        if (layers != null) {
+            return layers;
+        }
+
+        int involvedSeats = 0;
+        for (Player player : pots.keySet()) {
+            if (player.isPlaying()) {
+                involvedSeats |= 1 << player.getPosition();
             }
         }
 
-        long win = allPots / amountOfWinners;
-        long remainder = allPots % amountOfWinners;
-        return Pair.of(win, remainder);
+        return buildLayers(involvedSeats);
     }
 
     @JsonIgnore
@@ -279,24 +335,36 @@ public class Pot {
         public void add(long amount) {
             sum += amount;
         }
+    }
 
+    /**
+     * A layer of the pot: the main pot or a side pot.<br/>
+     * Seats are bitmasks of {@link Player#getPosition() player positions}, where bit {@code i} is the player at position {@code i}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PotLayer {
         /**
-         * Remove an amount out of sum and return it.<br/>
-         * This method is used when we take chips for a winning player, and we allow
-         * defining an upper bound to make sure we do not give a player more than he bet.
-         * @param upperBound The bound to set
-         * @return the sum, considering upper bound.
+         * Amount of chips in this layer
          */
-        public long takeSum(long upperBound) {
-            long result = Math.min(sum, upperBound);
-            if (upperBound >= sum) {
-                sum = 0;
-            } else {
-                sum -= upperBound;
-            }
+        private long sum;
 
-            return result;
-        }
+        /**
+         * The seats of the players that can win this layer: players that contributed to it and have not folded.
+         */
+        private int eligibleSeats;
+
+        /**
+         * The seats of the players that have won this layer, or 0 while a round runs
+         */
+        private int winnerSeats;
+
+        /**
+         * The seats of the players that contributed to this layer. When none of them can win it, it is returned to them.
+         */
+        @JsonIgnore
+        private int contributingSeats;
     }
 
     /**
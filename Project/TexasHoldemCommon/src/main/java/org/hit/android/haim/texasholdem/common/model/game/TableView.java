@@ -0,0 +1,302 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.util.ThreadContextMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The json of a {@link GameEngine} as its players see it, encoded once per {@link GameStateVersion state version}
+ * and shared by all players.<br/>
+ * The only part of a game that differs between players is their own hand. So we encode the game with all hands hidden,
+ * and remember the offset of the {@code "hand":null} of each player. Each player gets the shared bytes, with its own
+ * hand spliced in at its offsets. The encoded json is cached until the game moves to another version, for the full
+ * game and for each {@link GameEngine#toJsonDelta(ObjectMapper, long) delta} that was asked for.<br/>
+ * Thread safe. Players that ask for the same version at the same time may encode it twice, though they get the same result.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class TableView {
+    /**
+     * The key we cache the full game by. Deltas are cached by the version they start at, which is never negative
+     */
+    private static final long FULL_GAME = -1;
+
+    private static final byte[] NULL_JSON = { 'n', 'u', 'l', 'l' };
+
+    private final GameEngine game;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The json we have encoded for the current version of the game
+     */
+    private volatile VersionCache versionCache;
+
+    /**
+     * Constructs a new {@link TableView}
+     * @param game The game to view
+     * @param objectMapper The mapper to encode the game with
+     */
+    public TableView(@NonNull GameEngine game, @NonNull ObjectMapper objectMapper) {
+        this.game = game;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get all of the game, as a player sees it
+     * @param viewerId Identifier of the player to get the game for. Only the hand of this player is visible
+     * @return The json of the game
+     */
+    public byte[] getJson(String viewerId) {
+        return getJsonDelta(viewerId, FULL_GAME);
+    }
+
+    /**
+     * Get the parts of the game that have changed since a version a player has, as the player sees them.<br/>
+     * See {@link GameEngine#toJsonDelta(ObjectMapper, long)}
+     * @param viewerId Identifier of the player to get the delta for. Only the hand of this player is visible
+     * @param sinceVersion The last version the player has
+     * @return The json of the changed parts, or {@code null} in case nothing has changed
+     */
+    public byte[] getJsonDelta(String viewerId, long sinceVersion) {
+        GameStateVersion stateVersion = game.getStateVersion();
+        long version = stateVersion.get();
+        if (version == sinceVersion) {
+            return null;
+        }
+
+        // All players that are too far behind get the same full game
+        long cacheKey = stateVersion.changesBetween(sinceVersion, version) == GameStateVersion.ALL_PARTS ? FULL_GAME : sinceVersion;
+
+        VersionCache cache = versionCache;
+        if ((cache == null) || (cache.version != version)) {
+            cache = new VersionCache(version);
+            versionCache = cache;
+        }
+
+        EncodedView view = cache.views.get(cacheKey);
+        if (view == null) {
+            view = encode(cacheKey);
+            if (view == null) {
+                return null;
+            }
+
+            cache.views.put(cacheKey, view);
+        }
+
+        return view.forViewer(viewerId, encodeHand(viewerId));
+    }
+
+    /**
+     * Encode the game, or a delta of it, with all hands hidden
+     * @param sinceVersion The version to encode a delta since, or {@link #FULL_GAME}
+     * @return The encoded view, or {@code null} in case nothing has changed
+     */
+    private EncodedView encode(long sinceVersion) {
+        ObjectNode json;
+        ThreadContextMap threadContext = ThreadContextMap.getInstance();
+        String userId = threadContext.getUserId();
+        threadContext.setUserId(null);
+        try {
+            json = game.toJsonDelta(objectMapper, sinceVersion);
+        } finally {
+            threadContext.setUserId(userId);
+        }
+
+        if (json == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        List<String> slotPlayerIds = new ArrayList<>();
+        List<Integer> slotOffsets = new ArrayList<>();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            reserveHandSlots(json, out, slotPlayerIds, slotOffsets);
+            objectMapper.writeTree(generator, json);
+        } catch (IOException e) {
+            // We write to memory
+            throw new UncheckedIOException(e);
+        }
+
+        int[] offsets = new int[slotOffsets.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = slotOffsets.get(i);
+        }
+
+        return new EncodedView(out.toByteArray(), slotPlayerIds.toArray(new String[0]), offsets);
+    }
+
+    /**
+     * Find the players in a json tree, and replace their hidden hands with slots that record their offsets when written
+     */
+    private static void reserveHandSlots(JsonNode node, ByteArrayOutputStream out, List<String> slotPlayerIds, List<Integer> slotOffsets) {
+        if (node instanceof ObjectNode) {
+            ObjectNode object = (ObjectNode)node;
+            JsonNode id = object.get("id");
+            JsonNode hand = object.get("hand");
+            if ((id != null) && id.isTextual() && (hand != null) && hand.isNull()) {
+                object.set("hand", new POJONode(new HandSlot(id.asText(), out, slotPlayerIds, slotOffsets)));
+            }
+
+            for (Iterator<JsonNode> iter = object.elements(); iter.hasNext(); ) {
+                reserveHandSlots(iter.next(), out, slotPlayerIds, slotOffsets);
+            }
+        } else if (node instanceof ArrayNode) {
+            for (JsonNode element : node) {
+                reserveHandSlots(element, out, slotPlayerIds, slotOffsets);
+            }
+        }
+    }
+
+    /**
+     * @param viewerId Identifier of a player
+     * @return The json of the hand of the player, or {@code null} in case it is not part of the game or has no hand
+     */
+    private byte[] encodeHand(String viewerId) {
+        if (viewerId == null) {
+            return null;
+        }
+
+        Player player = game.getPlayers().getPlayerById(viewerId);
+        Hand hand = player == null ? null : player.getHand();
+        if (hand == null) {
+            return null;
+        }
+
+        try {
+            return objectMapper.writeValueAsBytes(hand);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The views encoded for a version of the game, by the version their delta starts at
+     */
+    private static class VersionCache {
+        private final long version;
+        private final Map<Long, EncodedView> views = new ConcurrentHashMap<>();
+
+        VersionCache(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * The json of a game with all hands hidden, and the offsets of the hidden hand of each player
+     */
+    static class EncodedView {
+        private final byte[] json;
+
+        /**
+         * Identifier of the player of each slot. A player might have several slots (e.g. when it is the dealer)
+         */
+        private final String[] slotPlayerIds;
+
+        /**
+         * Offset of the {@code null} of each slot, ascending
+         */
+        private final int[] slotOffsets;
+
+        EncodedView(byte[] json, String[] slotPlayerIds, int[] slotOffsets) {
+            this.json = json;
+            this.slotPlayerIds = slotPlayerIds;
+            this.slotOffsets = slotOffsets;
+        }
+
+        /**
+         * Splice the hand of a player into its slots
+         * @param viewerId Identifier of the player
+         * @param handJson The json of the hand of the player, or {@code null} to keep it hidden
+         * @return The json as the player sees it. The shared json in case there is nothing to splice, so callers must not modify it
+         */
+        byte[] forViewer(String viewerId, byte[] handJson) {
+            if (handJson == null) {
+                return json;
+            }
+
+            int amountOfSlots = 0;
+            for (String slotPlayerId : slotPlayerIds) {
+                if (slotPlayerId.equals(viewerId)) {
+                    amountOfSlots++;
+                }
+            }
+
+            if (amountOfSlots == 0) {
+                return json;
+            }
+
+            byte[] result = new byte[json.length + amountOfSlots * (handJson.length - NULL_JSON.length)];
+            int from = 0;
+            int to = 0;
+            for (int i = 0; i < slotOffsets.length; i++) {
+                if (slotPlayerIds[i].equals(viewerId)) {
+                    int length = slotOffsets[i] - from;
+                    System.arraycopy(json, from, result, to, length);
+                    to += length;
+                    System.arraycopy(handJson, 0, result, to, handJson.length);
+                    to += handJson.length;
+                    from = slotOffsets[i] + NULL_JSON.length;
+                }
+            }
+
+            System.arraycopy(json, from, result, to, json.length - from);
+            return result;
+        }
+    }
+
+    /**
+     * A hidden hand, which records the offset it is written at
+     */
+    private static class HandSlot implements JsonSerializable {
+        private final String playerId;
+        private final ByteArrayOutputStream out;
+        private final List<String> slotPlayerIds;
+        private final List<Integer> slotOffsets;
+
+        HandSlot(String playerId, ByteArrayOutputStream out, List<String> slotPlayerIds, List<Integer> slotOffsets) {
+            this.playerId = playerId;
+            this.out = out;
+            this.slotPlayerIds = slotPlayerIds;
+            this.slotOffsets = slotOffsets;
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNull();
+
+            // Find where we are without flushing, when the generator can tell
+            int buffered = gen.getOutputBuffered();
+            if (buffered < 0) {
+                gen.flush();
+                buffered = 0;
+            }
+
+            slotPlayerIds.add(playerId);
+            slotOffsets.add(out.size() + buffered - NULL_JSON.length);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankLookupTable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the equity of several hands, by counting how many times each hand wins, ties or loses over runouts of the board.<br/>
+ * There are two modes:
+ * <ul>
+ *     <li>{@link #calculate(List, Board, Collection, EquitySettings) Sampling}, which estimates equity using random runouts, bounded by
+ *     a sample budget and a time budget.</li>
+ *     <li>{@link #enumerate(List, Board, Collection) Enumeration}, which goes over every possible runout and gives the exact equity.
+ *     Preflop heads-up this is 1,712,304 boards, and far fewer on the flop or turn.</li>
+ * </ul>
+ * The samples are split into fixed size chunks, which are executed by a {@link ForkJoinPool}. Each chunk has its own
+ * random generator, seeded out of the calculation seed and the chunk index, so a seeded calculation gives the same result
+ * no matter how the chunks are scheduled.
+ * <p>
+ *     Runouts are evaluated using {@link HandRankLookupTable} over card masks, so a sample does not allocate anything.
+ *     This is what makes it possible to evaluate hundreds of thousands of runouts, where calling
+ *     {@link org.hit.android.haim.texasholdem.common.model.game.rank.HandRankCalculator#calculate(Board, Hand)} per sample
+ *     would be too slow.
+ * </p>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class EquityCalculator {
+    /**
+     * How many samples a single task evaluates. Also the granularity of seeds, for deterministic results.
+     */
+    static final int SAMPLES_PER_CHUNK = 4096;
+
+    /**
+     * When enumerating, a task that has to choose this many cards or less enumerates them by itself rather than splitting
+     * further. Preflop this gives ~1,100 tasks of ~15,000 boards each.
+     */
+    private static final int SEQUENTIAL_ENUMERATION_CARDS = 3;
+
+    /**
+     * How many samples to evaluate between two checks of the time budget
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    /**
+     * Marks a calculation without time budget
+     */
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * The pool we split the work across
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new {@link EquityCalculator} that works on the {@link ForkJoinPool#commonPool() common pool}
+     */
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@link EquityCalculator}
+     * @param pool The pool we split the work across
+     */
+    public EquityCalculator(@NonNull ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Estimate the equity of several hands, using random runouts.
+     * @param hands Hands of the players. There must be at least two hands, with exactly two cards each
+     * @param board The known board cards, up to 5. Can be {@code null} for preflop
+     * @param deadCards Cards that cannot be dealt (e.g. folded hands). Can be {@code null}
+     * @param settings Budgets and seed of the calculation
+     * @return The equity of each hand, ordered the same as the specified hands
+     * @throws IllegalArgumentException In case there are less than two hands, a hand without two cards, or the same card appears twice
+     */
+    public EquityResult calculate(List<Hand> hands, Board board, Collection<Card> deadCards, @NonNull EquitySettings settings) {
+        EquityProblem problem = EquityProblem.of(hands, board, deadCards);
+
+        // When the board is full there is a single runout, so there is nothing to sample
+        int samples = problem.missingBoardCards == 0 ? 1 : settings.getSamples();
+        if (samples <= 0) {
+            return new EquityCounters(problem.amountOfPlayers()).toResult(problem, false);
+        }
+
+        long seed = settings.getSeed() == null ? ThreadLocalRandom.current().nextLong() : settings.getSeed();
+        long deadline = settings.getTimeBudget() > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeBudget()) : NO_DEADLINE;
+        int amountOfChunks = (int) ((samples + (long) SAMPLES_PER_CHUNK - 1) / SAMPLES_PER_CHUNK);
+
+        return pool.invoke(new MonteCarloTask(problem, samples, seed, deadline, 0, amountOfChunks)).toResult(problem, problem.missingBoardCards == 0);
+    }
+
+    /**
+     * Calculate the exact equity of several hands, by going over every possible completion of the board.<br/>
+     * The enumeration space is split by the first cards of a runout, and each task counts into its own counters,
+     * which are combined once the tasks are done, so threads never contend while counting.
+     * @param hands Hands of the players. There must be at least two hands, with exactly two cards each
+     * @param board The known board cards, up to 5. Can be {@code null} for preflop
+     * @param deadCards Cards that cannot be dealt (e.g. folded hands). Can be {@code null}
+     * @return The exact equity of each hand, ordered the same as the specified hands
+     * @throws IllegalArgumentException In case there are less than two hands, a hand without two cards, or the same card appears twice
+     */
+    public EquityResult enumerate(List<Hand> hands, Board board, Collection<Card> deadCards) {
+        EquityProblem problem = EquityProblem.of(hands, board, deadCards);
+        EquityCounters counters;
+
+        if (problem.missingBoardCards == 0) {
+            counters = new EquityCounters(problem.amountOfPlayers());
+            counters.evaluate(problem.handMasks, problem.boardMask);
+        } else {
+            int lastPosition = problem.remainingCards.length - problem.missingBoardCards;
+            counters = pool.invoke(new EnumerationTask(problem, problem.boardMask, 0, lastPosition + 1, problem.missingBoardCards));
+        }
+
+        return counters.toResult(problem, true);
+    }
+
+    /**
+     * Estimate the equity of a hand against random hands of several opponents, using random opponent hands and runouts.<br/>
+     * Unlike {@link #calculate(List, Board, Collection, EquitySettings)}, the hands of the opponents are unknown, and the
+     * samples are evaluated by the calling thread, so a caller that already runs on a bounded pool (e.g. a bot) does not
+     * spread across the pool of this calculator. Before the flop, against {@link PreflopStrengthTable#MAX_OPPONENTS}
+     * opponents at most, the equity is looked up at the {@link PreflopStrengthTable}, so there is nothing to sample.
+     * @param handMask Mask of the two cards of the hand. See {@link Card#getIndex()}
+     * @param boardMask Mask of the known board cards. 0 for preflop
+     * @param amountOfOpponents How many players are still in the hand, except the owner of the hand
+     * @param settings Budgets and seed of the estimate
+     * @return The average share of the pot the hand gets, in range [0, 1]
+     * @throws IllegalArgumentException In case the hand is not two cards, or the same card appears twice, or there are not
+     * enough cards left to deal
+     */
+    public static double estimateAgainstRandomHands(long handMask, long boardMask, int amountOfOpponents, @NonNull EquitySettings settings) {
+        if ((Long.bitCount(handMask) != 2) || ((handMask & boardMask) != 0)) {
+            throw new IllegalArgumentException("Hand must have exactly two cards, which are not on board");
+        }
+
+        if (amountOfOpponents <= 0) {
+            return 1;
+        }
+
+        if ((boardMask == 0) && (amountOfOpponents <= PreflopStrengthTable.MAX_OPPONENTS)) {
+            int firstCard = Long.numberOfTrailingZeros(handMask);
+            int secondCard = 63 - Long.numberOfLeadingZeros(handMask);
+            return PreflopStrengthTable.getInstance().lookup(PreflopStrengthTable.classOf(firstCard, secondCard), amountOfOpponents);
+        }
+
+        long usedCards = handMask | boardMask;
+        int[] deck = new int[Card.AMOUNT_OF_CARDS - Long.bitCount(usedCards)];
+        for (int cardIndex = 0, i = 0; cardIndex < Card.AMOUNT_OF_CARDS; cardIndex++) {
+            if ((usedCards & (1L << cardIndex)) == 0) {
+                deck[i++] = cardIndex;
+            }
+        }
+
+        int missingBoardCards = EquityProblem.BOARD_SIZE - Long.bitCount(boardMask);
+        int cardsToDeal = missingBoardCards + (amountOfOpponents * 2);
+        if ((missingBoardCards < 0) || (deck.length < cardsToDeal)) {
+            throw new IllegalArgumentException("Not enough cards to deal " + amountOfOpponents + " opponents. Remaining: " + deck.length);
+        }
+
+        SplittableRandom random = new SplittableRandom(settings.getSeed() == null ? ThreadLocalRandom.current().nextLong() : settings.getSeed());
+        long deadline = settings.getTimeBudget() > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeBudget()) : NO_DEADLINE;
+        double share = 0;
+        int sample = 0;
+        for (; sample < settings.getSamples(); sample++) {
+            if ((sample > 0) && ((sample % DEADLINE_CHECK_INTERVAL) == 0) && (deadline != NO_DEADLINE) && (System.nanoTime() - deadline > 0)) {
+                break;
+            }
+
+            // Partial Fisher-Yates shuffle: missing board cards first, then 2 cards per opponent
+            dealRunout(deck, cardsToDeal, random);
+            long runoutMask = boardMask;
+            for (int i = 0; i < missingBoardCards; i++) {
+                runoutMask |= 1L << deck[i];
+            }
+
+            int value = HandRankLookupTable.evaluate(runoutMask | handMask);
+            int amountOfBest = 1;
+            for (int opponent = 0, i = missingBoardCards; (opponent < amountOfOpponents) && (amountOfBest > 0); opponent++, i += 2) {
+                int opponentValue = HandRankLookupTable.evaluate(runoutMask | (1L << deck[i]) | (1L << deck[i + 1]));
+                if (opponentValue > value) {
+                    amountOfBest = 0;
+                } else if (opponentValue == value) {
+                    amountOfBest++;
+                }
+            }
+
+            if (amountOfBest > 0) {
+                share += 1.0 / amountOfBest;
+            }
+        }
+
+        return sample == 0 ? 0 : share / sample;
+    }
+
+    /**
+     * Evaluate all runouts that complete a board, choosing the missing cards out of the remaining cards, starting
+     * at some position. Positions are chosen in ascending order, so each runout is evaluated once.
+     * @param counters Where to count the results
+     * @param problem The problem to solve
+     * @param fromPosition First position at {@link EquityProblem#remainingCards} we may choose
+     * @param cardsToChoose How many cards are missing
+     * @param boardMask Mask of the board cards chosen so far
+     */
+    static void enumerateRunouts(EquityCounters counters, EquityProblem problem, int fromPosition, int cardsToChoose, long boardMask) {
+        if (cardsToChoose == 0) {
+            counters.evaluate(problem.handMasks, boardMask);
+            return;
+        }
+
+        int[] deck = problem.remainingCards;
+        for (int position = fromPosition; position <= deck.length - cardsToChoose; position++) {
+            enumerateRunouts(counters, problem, position + 1, cardsToChoose - 1, boardMask | (1L << deck[position]));
+        }
+    }
+
+    /**
+     * Deal one runout of the missing board cards, using a partial Fisher-Yates shuffle over the remaining cards.<br/>
+     * Only the first {@code missingBoardCards} positions are shuffled, and it is fine to shuffle the already shuffled
+     * array again at the next runout.
+     * @param deck Indices of the remaining cards. Modified in place
+     * @param missingBoardCards How many cards to deal
+     * @param random The random generator to use
+     * @return Mask of the dealt cards
+     */
+    static long dealRunout(int[] deck, int missingBoardCards, SplittableRandom random) {
+        long runout = 0;
+        for (int i = 0; i < missingBoardCards; i++) {
+            int j = i + random.nextInt(deck.length - i);
+            int cardIndex = deck[j];
+            deck[j] = deck[i];
+            deck[i] = cardIndex;
+            runout |= 1L << cardIndex;
+        }
+
+        return runout;
+    }
+
+    /**
+     * Mix the calculation seed with a chunk index, so each chunk gets a different, yet reproducible, sequence.
+     */
+    static long seedOfChunk(long seed, int chunk) {
+        return seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * A task that evaluates a range of chunks. It splits itself in halves until there is a single chunk to evaluate.
+     */
+    private static class MonteCarloTask extends RecursiveTask<EquityCounters> {
+        private static final long serialVersionUID = 1L;
+
+        private final EquityProblem problem;
+        private final int samples;
+        private final long seed;
+        private final long deadline;
+        private final int fromChunk;
+        private final int toChunk;
+
+        MonteCarloTask(EquityProblem problem, int samples, long seed, long deadline, int fromChunk, int toChunk) {
+            this.problem = problem;
+            this.samples = samples;
+            this.seed = seed;
+            this.deadline = deadline;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected EquityCounters compute() {
+            if (isDeadlineExceeded()) {
+                EquityCounters counters = new EquityCounters(problem.amountOfPlayers());
+                counters.isTimedOut = true;
+                return counters;
+            }
+
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                MonteCarloTask left = new MonteCarloTask(problem, samples, seed, deadline, fromChunk, middle);
+                MonteCarloTask right = new MonteCarloTask(problem, samples, seed, deadline, middle, toChunk);
+                left.fork();
+                EquityCounters counters = right.compute();
+                return counters.add(left.join());
+            }
+
+            return computeChunk();
+        }
+
+        private EquityCounters computeChunk() {
+            EquityCounters counters = new EquityCounters(problem.amountOfPlayers());
+            int chunkSamples = Math.min(SAMPLES_PER_CHUNK, samples - fromChunk * SAMPLES_PER_CHUNK);
+            int[] deck = problem.remainingCards.clone();
+            SplittableRandom random = new SplittableRandom(seedOfChunk(seed, fromChunk));
+
+            for (int i = 0; i < chunkSamples; i++) {
+                if (((i % DEADLINE_CHECK_INTERVAL) == 0) && isDeadlineExceeded()) {
+                    counters.isTimedOut = true;
+                    break;
+                }
+
+                long boardMask = problem.boardMask | dealRunout(deck, problem.missingBoardCards, random);
+                counters.evaluate(problem.handMasks, boardMask);
+            }
+
+            return counters;
+        }
+
+        private boolean isDeadlineExceeded() {
+            return (deadline != NO_DEADLINE) && (System.nanoTime() - deadline > 0);
+        }
+    }
+
+    /**
+     * A task that chooses the next card of a runout, out of a range of positions. It splits itself in halves until there is
+     * a single position, and then either splits the choice of the next card, or enumerates the rest by itself when there are
+     * {@link #SEQUENTIAL_ENUMERATION_CARDS} cards or less left to choose.
+     */
+    private static class EnumerationTask extends RecursiveTask<EquityCounters> {
+        private static final long serialVersionUID = 1L;
+
+        private final EquityProblem problem;
+        private final long boardMask;
+        private final int fromPosition;
+        private final int toPosition;
+        private final int cardsToChoose;
+
+        EnumerationTask(EquityProblem problem, long boardMask, int fromPosition, int toPosition, int cardsToChoose) {
+            this.problem = problem;
+            this.boardMask = boardMask;
+            this.fromPosition = fromPosition;
+            this.toPosition = toPosition;
+            this.cardsToChoose = cardsToChoose;
+        }
+
+        @Override
+        protected EquityCounters compute() {
+            if (toPosition - fromPosition > 1) {
+                int middle = (fromPosition + toPosition) >>> 1;
+                EnumerationTask left = new EnumerationTask(problem, boardMask, fromPosition, middle, cardsToChoose);
+                EnumerationTask right = new EnumerationTask(problem, boardMask, middle, toPosition, cardsToChoose);
+                left.fork();
+                EquityCounters counters = right.compute();
+                return counters.add(left.join());
+            }
+
+            long currBoardMask = boardMask | (1L << problem.remainingCards[fromPosition]);
+            int cardsLeft = cardsToChoose - 1;
+            if (cardsLeft > SEQUENTIAL_ENUMERATION_CARDS) {
+                int lastPosition = problem.remainingCards.length - cardsLeft;
+                return new EnumerationTask(problem, currBoardMask, fromPosition + 1, lastPosition + 1, cardsLeft).compute();
+            }
+
+            EquityCounters counters = new EquityCounters(problem.amountOfPlayers());
+            enumerateRunouts(counters, problem, fromPosition + 1, cardsLeft, currBoardMask);
+            return counters;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankLookupTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counters of a part of an equity calculation.<br/>
+ * Each task owns its counters, so threads never share them while counting. We combine the counters of all tasks
+ * once they are done, using {@link #add(EquityCounters)}.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+class EquityCounters {
+    final long[] wins;
+    final long[] ties;
+    final long[] losses;
+
+    /**
+     * Sum of pot shares. A win adds 1, and a tie between {@code n} hands adds {@code 1/n}
+     */
+    final double[] shares;
+
+    /**
+     * Packed value of each hand at the current runout. Kept here so {@link #evaluate(long[], long)} does not allocate.
+     */
+    private final int[] values;
+
+    long samples;
+    boolean isTimedOut;
+
+    EquityCounters(int amountOfPlayers) {
+        wins = new long[amountOfPlayers];
+        ties = new long[amountOfPlayers];
+        losses = new long[amountOfPlayers];
+        shares = new double[amountOfPlayers];
+        values = new int[amountOfPlayers];
+    }
+
+    /**
+     * Evaluate all hands against a full board, and count the result of each hand.
+     * @param handMasks Mask of each hand
+     * @param boardMask Mask of the full board
+     */
+    void evaluate(long[] handMasks, long boardMask) {
+        int best = -1;
+        int amountOfWinners = 0;
+        for (int i = 0; i < handMasks.length; i++) {
+            values[i] = HandRankLookupTable.evaluate(handMasks[i] | boardMask);
+            if (values[i] > best) {
+                best = values[i];
+                amountOfWinners = 1;
+            } else if (values[i] == best) {
+                amountOfWinners++;
+            }
+        }
+
+        for (int i = 0; i < handMasks.length; i++) {
+            if (values[i] != best) {
+                losses[i]++;
+            } else if (amountOfWinners == 1) {
+                wins[i]++;
+                shares[i] += 1;
+            } else {
+                ties[i]++;
+                shares[i] += 1.0 / amountOfWinners;
+            }
+        }
+
+        samples++;
+    }
+
+    /**
+     * Add the counters of another task to this one
+     * @param other The counters to add
+     * @return A reference to this, to support chaining
+     */
+    EquityCounters add(EquityCounters other) {
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += other.wins[i];
+            ties[i] += other.ties[i];
+            losses[i] += other.losses[i];
+            shares[i] += other.shares[i];
+        }
+
+        samples += other.samples;
+        isTimedOut |= other.isTimedOut;
+        return this;
+    }
+
+    /**
+     * Build the result out of the counters
+     * @param problem The problem these counters belong to, to refer to its hands
+     * @param isExact Whether the counters cover all possible runouts
+     * @return The result
+     */
+    EquityResult toResult(EquityProblem problem, boolean isExact) {
+        List<PlayerEquity> players = new ArrayList<>(wins.length);
+        for (int i = 0; i < wins.length; i++) {
+            double equity = samples == 0 ? 0 : shares[i] / samples;
+            players.add(new PlayerEquity(problem.hands.get(i), wins[i], ties[i], losses[i], equity));
+        }
+
+        return new EquityResult(players, samples, isTimedOut, isExact);
+    }
+}
@@ -0,0 +1,124 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The primitive representation of an equity calculation: the mask of each hand, the mask of the known board cards,
+ * and the indices of the cards that can still be dealt.<br/>
+ * We build it once per calculation, so the evaluation loops work on primitives only. See {@link Card#getIndex()}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+class EquityProblem {
+    /**
+     * Amount of cards in a full board
+     */
+    static final int BOARD_SIZE = Board.AMOUNT_OF_CARDS;
+
+    /**
+     * The hands, as specified by the caller
+     */
+    final List<Hand> hands;
+
+    /**
+     * Mask of the two cards of each hand
+     */
+    final long[] handMasks;
+
+    /**
+     * Mask of the known board cards
+     */
+    final long boardMask;
+
+    /**
+     * How many board cards are missing, and should be dealt by a runout
+     */
+    final int missingBoardCards;
+
+    /**
+     * Indices of all cards that are not in any hand, not on board and are not dead. A runout deals its cards out of them.
+     */
+    final int[] remainingCards;
+
+    private EquityProblem(List<Hand> hands, long[] handMasks, long boardMask, int missingBoardCards, int[] remainingCards) {
+        this.hands = hands;
+        this.handMasks = handMasks;
+        this.boardMask = boardMask;
+        this.missingBoardCards = missingBoardCards;
+        this.remainingCards = remainingCards;
+    }
+
+    /**
+     * Validate the input of an equity calculation and convert it to primitives
+     * @param hands Hands of the players. There must be at least two hands, with exactly two real cards each
+     * @param board The known board cards, up to 5. Can be {@code null} for preflop
+     * @param deadCards Cards that cannot be dealt (e.g. folded or burnt cards). Can be {@code null}
+     * @return The problem to solve
+     * @throws IllegalArgumentException In case there are less than two hands, a hand without two cards, or the same card appears twice
+     */
+    static EquityProblem of(List<Hand> hands, Board board, Collection<Card> deadCards) {
+        if ((hands == null) || (hands.size() < 2)) {
+            throw new IllegalArgumentException("Equity requires at least two hands. Was: " + hands);
+        }
+
+        long usedCards = 0;
+        long[] handMasks = new long[hands.size()];
+        for (int i = 0; i < handMasks.length; i++) {
+            Hand hand = hands.get(i);
+            if ((hand == null) || (hand.size() != 2) || (Long.bitCount(hand.getCardsMask()) != 2)) {
+                throw new IllegalArgumentException("Each hand must have exactly two cards. Was: " + hand);
+            }
+
+            handMasks[i] = hand.getCardsMask();
+            usedCards = addCards(usedCards, handMasks[i]);
+        }
+
+        long boardMask = 0;
+        if (board != null) {
+            boardMask = board.getCardsMask();
+            if (Long.bitCount(boardMask) > BOARD_SIZE) {
+                throw new IllegalArgumentException("Board cannot have more than " + BOARD_SIZE + " cards. Was: " + board);
+            }
+
+            usedCards = addCards(usedCards, boardMask);
+        }
+
+        if (deadCards != null) {
+            usedCards = addCards(usedCards, Card.maskOf(deadCards));
+        }
+
+        int[] remainingCards = new int[Card.AMOUNT_OF_CARDS - Long.bitCount(usedCards)];
+        for (int cardIndex = 0, i = 0; cardIndex < Card.AMOUNT_OF_CARDS; cardIndex++) {
+            if ((usedCards & (1L << cardIndex)) == 0) {
+                remainingCards[i++] = cardIndex;
+            }
+        }
+
+        int missingBoardCards = BOARD_SIZE - Long.bitCount(boardMask);
+        if (remainingCards.length < missingBoardCards) {
+            throw new IllegalArgumentException("Not enough cards to complete the board. Remaining: " + remainingCards.length);
+        }
+
+        return new EquityProblem(hands, handMasks, boardMask, missingBoardCards, remainingCards);
+    }
+
+    private static long addCards(long usedCards, long cards) {
+        if ((usedCards & cards) != 0) {
+            throw new IllegalArgumentException("Card appears more than once: " + Card.ofIndex(Long.numberOfTrailingZeros(usedCards & cards)));
+        }
+
+        return usedCards | cards;
+    }
+
+    /**
+     * @return Amount of hands
+     */
+    int amountOfPlayers() {
+        return handMasks.length;
+    }
+}
@@ -0,0 +1,47 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A result model when calling {@link EquityCalculator#calculate(java.util.List, org.hit.android.haim.texasholdem.common.model.bean.game.Board, java.util.Collection, EquitySettings)}
+ * or {@link EquityCalculator#enumerate(java.util.List, org.hit.android.haim.texasholdem.common.model.bean.game.Board, java.util.Collection)}<br/>
+ * The result contains the equity of each hand, ordered the same as the hands of the request.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor // for Jackson
+public class EquityResult {
+    /**
+     * Equity of each hand, ordered the same as the hands we were asked to calculate
+     */
+    private List<PlayerEquity> players;
+
+    /**
+     * Amount of runouts that were evaluated
+     */
+    private long samples;
+
+    /**
+     * Whether the calculation stopped because its time budget was over, before evaluating all samples
+     */
+    private boolean isTimedOut;
+
+    /**
+     * Whether this is an exact result, where all possible runouts were evaluated, or an estimation based on random runouts
+     */
+    private boolean isExact;
+
+    /**
+     * @param playerIndex Index of a hand, as specified at the request
+     * @return The equity of that hand
+     */
+    public PlayerEquity getPlayer(int playerIndex) {
+        return players.get(playerIndex);
+    }
+}
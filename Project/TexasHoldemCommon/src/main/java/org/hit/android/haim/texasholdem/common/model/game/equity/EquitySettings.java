@@ -0,0 +1,42 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of an equity calculation, used by {@link EquityCalculator}.<br/>
+ * The budgets let a caller bound the latency of a calculation. A calculation stops when it runs out of
+ * samples, or when its time budget is over, whichever comes first.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquitySettings {
+    /**
+     * Default amount of random runouts to evaluate
+     */
+    public static final int DEFAULT_SAMPLES = 100_000;
+
+    /**
+     * How many random runouts (board completions) to evaluate. Defaults to {@link #DEFAULT_SAMPLES}
+     */
+    @Builder.Default
+    private int samples = DEFAULT_SAMPLES;
+
+    /**
+     * Maximum time a calculation may take, in millis. Zero or negative means there is no time limit.
+     */
+    private long timeBudget;
+
+    /**
+     * A seed for the random runouts. When it is set, the same seed gives the exact same result, no matter how many threads
+     * took part in the calculation, as long as the time budget was not exceeded.<br/>
+     * When it is {@code null}, we use a random seed.
+     */
+    private Long seed;
+}
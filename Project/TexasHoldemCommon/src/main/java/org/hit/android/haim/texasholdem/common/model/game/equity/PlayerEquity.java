@@ -0,0 +1,81 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+
+/**
+ * Equity of a single hand, as calculated by {@link EquityCalculator}.<br/>
+ * We keep the counters, so a caller can tell how accurate the probabilities are.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor // for Jackson
+public class PlayerEquity {
+    /**
+     * The hand this equity refers to
+     */
+    private Hand hand;
+
+    /**
+     * Amount of runouts this hand won alone
+     */
+    private long wins;
+
+    /**
+     * Amount of runouts this hand shared the pot with other hands
+     */
+    private long ties;
+
+    /**
+     * Amount of runouts this hand lost
+     */
+    private long losses;
+
+    /**
+     * The share of the pot this hand gets on average, in range [0, 1]. A win counts as 1, and a tie between
+     * {@code n} hands counts as {@code 1/n}.
+     */
+    private double equity;
+
+    /**
+     * @return Amount of runouts this equity is based on
+     */
+    @JsonIgnore
+    public long getSamples() {
+        return wins + ties + losses;
+    }
+
+    /**
+     * @return Probability of this hand to win alone, in range [0, 1]
+     */
+    @JsonIgnore
+    public double getWinProbability() {
+        return probabilityOf(wins);
+    }
+
+    /**
+     * @return Probability of this hand to share the pot, in range [0, 1]
+     */
+    @JsonIgnore
+    public double getTieProbability() {
+        return probabilityOf(ties);
+    }
+
+    /**
+     * @return Probability of this hand to lose, in range [0, 1]
+     */
+    @JsonIgnore
+    public double getLoseProbability() {
+        return probabilityOf(losses);
+    }
+
+    private double probabilityOf(long count) {
+        long samples = getSamples();
+        return samples == 0 ? 0 : (double) count / samples;
+    }
+}
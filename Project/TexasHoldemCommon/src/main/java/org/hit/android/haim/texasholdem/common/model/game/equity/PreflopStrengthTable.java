@@ -0,0 +1,228 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A precomputed table of the preflop all-in equity of every starting hand, against 1 to 6 random opponents.<br/>
+ * There are 169 strategically distinct starting hands (classes): 13 pairs, 78 suited hands and 78 offsuit hands,
+ * so preflop decisions of bots and hints can read the strength of a hand rather than running a simulation.
+ * <p>
+ *     A class is a cell in a 13x13 matrix of ranks (2 is 0, Ace is 12): pairs are on the diagonal, suited hands are at
+ *     {@code [high][low]} and offsuit hands are at {@code [low][high]}. The equity of each class and amount of opponents
+ *     is kept as a 16-bit fraction, which is accurate enough considering the table is sampled.
+ * </p>
+ * The table is generated by {@link PreflopStrengthTableGenerator} and loaded from {@link #RESOURCE_NAME}.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class PreflopStrengthTable {
+    /**
+     * Name of the resource holding the table, relative to this class
+     */
+    static final String RESOURCE_NAME = "preflop-strength.bin";
+
+    /**
+     * A magic number we write at the head of the resource, to make sure we read the correct file
+     */
+    static final int MAGIC = 0x54485053; // THPS
+
+    /**
+     * Version of the resource format. Bump it when the format changes.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Amount of distinct starting hands
+     */
+    public static final int AMOUNT_OF_CLASSES = Card.RANKS_PER_SUIT * Card.RANKS_PER_SUIT;
+
+    /**
+     * Minimum amount of opponents we keep equity for
+     */
+    public static final int MIN_OPPONENTS = 1;
+
+    /**
+     * Maximum amount of opponents we keep equity for
+     */
+    public static final int MAX_OPPONENTS = 6;
+
+    /**
+     * The value that represents equity of 1, for a 16-bit fraction
+     */
+    static final int EQUITY_SCALE = Character.MAX_VALUE;
+
+    /**
+     * Amount of samples we use when the resource is missing, so we can still work without it
+     */
+    private static final int FALLBACK_SAMPLES = 2_000;
+
+    /**
+     * Why the table was generated in memory rather than read from {@link #RESOURCE_NAME}, or {@code null} when it was read.
+     * See {@link #getFallbackReason()}
+     */
+    private static String fallbackReason;
+
+    private static final PreflopStrengthTable INSTANCE = load();
+
+    /**
+     * The seed the table was generated with
+     */
+    private final long seed;
+
+    /**
+     * Amount of samples per class and amount of opponents
+     */
+    private final int samples;
+
+    /**
+     * Equity as a 16-bit fraction, indexed by {@code handClass * MAX_OPPONENTS + (amountOfOpponents - 1)}
+     */
+    private final char[] equities;
+
+    /**
+     * Constructs a new {@link PreflopStrengthTable}
+     */
+    PreflopStrengthTable(long seed, int samples, char[] equities) {
+        this.seed = seed;
+        this.samples = samples;
+        this.equities = equities;
+    }
+
+    /**
+     * @return The unique instance of {@link PreflopStrengthTable}
+     */
+    public static PreflopStrengthTable getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The table generated in memory is rough, and takes a while to generate, so an application should know about it.
+     * We have no logger here, hence it is up to the application to report it.
+     * @return Why the table was generated in memory, rather than read from {@link #RESOURCE_NAME}, or {@code null} when it was read
+     */
+    public static String getFallbackReason() {
+        return fallbackReason;
+    }
+
+    /**
+     * Get the all-in equity of a starting hand against random hands, when all cards are dealt.
+     * @param hand The starting hand. Must have 2 different real cards
+     * @param amountOfOpponents Amount of opponents, in range [{@link #MIN_OPPONENTS}, {@link #MAX_OPPONENTS}]
+     * @return The equity of the hand, in range [0, 1]
+     */
+    public static double equityOf(Hand hand, int amountOfOpponents) {
+        return INSTANCE.lookup(classOf(hand), amountOfOpponents);
+    }
+
+    /**
+     * Get the all-in equity of a starting hand class against random hands, when all cards are dealt.
+     * @param handClass The class of a starting hand. See {@link #classOf(Hand)}
+     * @param amountOfOpponents Amount of opponents, in range [{@link #MIN_OPPONENTS}, {@link #MAX_OPPONENTS}]
+     * @return The equity of the class, in range [0, 1]
+     */
+    public double lookup(int handClass, int amountOfOpponents) {
+        if ((amountOfOpponents < MIN_OPPONENTS) || (amountOfOpponents > MAX_OPPONENTS)) {
+            throw new IllegalArgumentException("Amount of opponents must be in range [" + MIN_OPPONENTS + ", " + MAX_OPPONENTS + "]. Was: " + amountOfOpponents);
+        }
+
+        return equities[indexOf(handClass, amountOfOpponents)] / (double) EQUITY_SCALE;
+    }
+
+    /**
+     * Get the class of a starting hand, which is the same for all hands having the same ranks and suitedness.
+     * @param hand The starting hand. Must have 2 different real cards
+     * @return The class of the hand, in range [0, {@link #AMOUNT_OF_CLASSES})
+     */
+    public static int classOf(Hand hand) {
+        if ((hand.size() != 2) || (Long.bitCount(hand.getCardsMask()) != 2)) {
+            throw new IllegalArgumentException("Hand must have 2 different real cards. Was: " + hand);
+        }
+
+        return classOf(hand.getCardIndexAt(0), hand.getCardIndexAt(1));
+    }
+
+    /**
+     * Get the class of a starting hand, specified by card indices. See {@link Card#getIndex()}
+     * @param firstCard Index of the first card
+     * @param secondCard Index of the second card
+     * @return The class of the hand, in range [0, {@link #AMOUNT_OF_CLASSES})
+     */
+    public static int classOf(int firstCard, int secondCard) {
+        int firstRank = firstCard % Card.RANKS_PER_SUIT;
+        int secondRank = secondCard % Card.RANKS_PER_SUIT;
+        int high = Math.max(firstRank, secondRank);
+        int low = Math.min(firstRank, secondRank);
+        boolean isSuited = (firstCard / Card.RANKS_PER_SUIT) == (secondCard / Card.RANKS_PER_SUIT);
+
+        return isSuited ? (high * Card.RANKS_PER_SUIT + low) : (low * Card.RANKS_PER_SUIT + high);
+    }
+
+    private static int indexOf(int handClass, int amountOfOpponents) {
+        return handClass * MAX_OPPONENTS + (amountOfOpponents - MIN_OPPONENTS);
+    }
+
+    /**
+     * Load the table from {@link #RESOURCE_NAME}. In case the resource is missing, or it was written by an older version,
+     * we generate a rough table in memory, using {@link #FALLBACK_SAMPLES} samples.
+     */
+    private static PreflopStrengthTable load() {
+        String reason;
+        try (InputStream resource = PreflopStrengthTable.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (resource == null) {
+                reason = RESOURCE_NAME + " is missing";
+            } else {
+                PreflopStrengthTable table = read(resource);
+                if (table != null) {
+                    return table;
+                }
+
+                reason = RESOURCE_NAME + " was written by another version";
+            }
+        } catch (IOException e) {
+            reason = "Failed reading " + RESOURCE_NAME + ": " + e;
+        }
+
+        fallbackReason = reason;
+        return new PreflopStrengthTableGenerator(PreflopStrengthTableGenerator.DEFAULT_SEED, FALLBACK_SAMPLES).generate();
+    }
+
+    /**
+     * Read the table out of a stream written by {@link PreflopStrengthTableGenerator#write(PreflopStrengthTable, java.io.OutputStream)}
+     * @param in The stream to read from. It is not closed by this method
+     * @return The table, or {@code null} in case of wrong magic number or version
+     * @throws IOException In case we have failed reading the stream
+     */
+    static PreflopStrengthTable read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if ((data.readInt() != MAGIC) || (data.readInt() != VERSION)) {
+            return null;
+        }
+
+        long seed = data.readLong();
+        int samples = data.readInt();
+
+        char[] equities = new char[AMOUNT_OF_CLASSES * MAX_OPPONENTS];
+        for (int i = 0; i < equities.length; i++) {
+            equities[i] = data.readChar();
+        }
+
+        return new PreflopStrengthTable(seed, samples, equities);
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int getSamples() {
+        return samples;
+    }
+
+    char[] getEquities() {
+        return equities;
+    }
+}
@@ -0,0 +1,161 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankLookupTable;
+
+import java.io.*;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the table of {@link PreflopStrengthTable}.<br/>
+ * For every class and amount of opponents, we sample random hands for the opponents and a random board, and count the
+ * share of the pot the starting hand gets. A tie splits the share among the best hands.
+ * <p>
+ *     Each cell of the table has its own random generator, seeded out of the generation seed and the cell index, so
+ *     generating with the same seed and amount of samples gives the same table, no matter how the work is scheduled.
+ *     Run {@link #main(String[])} in order to re-generate the resource:<br/>
+ *     {@code java PreflopStrengthTableGenerator src/main/resources/org/hit/android/haim/texasholdem/common/model/game/equity/preflop-strength.bin [seed] [samples]}
+ * </p>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class PreflopStrengthTableGenerator {
+    /**
+     * The seed we generate the resource with
+     */
+    public static final long DEFAULT_SEED = 52;
+
+    /**
+     * Amount of samples per class and amount of opponents. Standard error is below 0.2%
+     */
+    public static final int DEFAULT_SAMPLES = EquitySettings.DEFAULT_SAMPLES;
+
+    private final long seed;
+    private final int samples;
+
+    /**
+     * Constructs a new {@link PreflopStrengthTableGenerator}
+     * @param seed The seed to generate the table with
+     * @param samples Amount of samples per class and amount of opponents
+     */
+    public PreflopStrengthTableGenerator(long seed, int samples) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Amount of samples must be positive. Was: " + samples);
+        }
+
+        this.seed = seed;
+        this.samples = samples;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if ((args.length < 1) || (args.length > 3)) {
+            System.out.println("Usage: PreflopStrengthTableGenerator <output file> [seed] [samples]");
+            return;
+        }
+
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        int samples = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SAMPLES;
+
+        PreflopStrengthTable table = new PreflopStrengthTableGenerator(seed, samples).generate();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[0]))) {
+            write(table, out);
+        }
+
+        System.out.println("Preflop strength table was written to " + new File(args[0]).getAbsolutePath());
+    }
+
+    /**
+     * Generate the table in memory. Cells are calculated in parallel.
+     * @return A new {@link PreflopStrengthTable}
+     */
+    public PreflopStrengthTable generate() {
+        char[] equities = new char[PreflopStrengthTable.AMOUNT_OF_CLASSES * PreflopStrengthTable.MAX_OPPONENTS];
+
+        // Worker threads must not call PreflopStrengthTable methods: when the resource is missing, we generate the table
+        // while PreflopStrengthTable is being initialized, and a worker would wait for that initialization forever.
+        IntStream.range(0, PreflopStrengthTable.AMOUNT_OF_CLASSES).parallel().forEach(handClass -> {
+            for (int opponents = PreflopStrengthTable.MIN_OPPONENTS; opponents <= PreflopStrengthTable.MAX_OPPONENTS; opponents++) {
+                int index = handClass * PreflopStrengthTable.MAX_OPPONENTS + (opponents - PreflopStrengthTable.MIN_OPPONENTS);
+                double equity = sampleEquity(handClass, opponents, new SplittableRandom(EquityCalculator.seedOfChunk(seed, index)));
+                equities[index] = (char) Math.round(equity * PreflopStrengthTable.EQUITY_SCALE);
+            }
+        });
+
+        return new PreflopStrengthTable(seed, samples, equities);
+    }
+
+    /**
+     * Write a table to a stream, such that {@link PreflopStrengthTable#read(InputStream)} can read it.
+     * @param table The table to write
+     * @param out Where to write the table to. It is not closed by this method
+     * @throws IOException In case we have failed writing
+     */
+    static void write(PreflopStrengthTable table, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(PreflopStrengthTable.MAGIC);
+        data.writeInt(PreflopStrengthTable.VERSION);
+        data.writeLong(table.getSeed());
+        data.writeInt(table.getSamples());
+
+        for (char equity : table.getEquities()) {
+            data.writeChar(equity);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Sample the equity of a class against random opponents
+     * @param handClass The class of the starting hand
+     * @param amountOfOpponents Amount of opponents
+     * @param random The random generator to use
+     * @return The average share of the pot the starting hand gets
+     */
+    private double sampleEquity(int handClass, int amountOfOpponents, SplittableRandom random) {
+        int high = Math.max(handClass / Card.RANKS_PER_SUIT, handClass % Card.RANKS_PER_SUIT);
+        int low = Math.min(handClass / Card.RANKS_PER_SUIT, handClass % Card.RANKS_PER_SUIT);
+        boolean isSuited = (handClass / Card.RANKS_PER_SUIT) > (handClass % Card.RANKS_PER_SUIT);
+
+        // A representative hand of the class: high card of the first suit, and low card of the first or second suit
+        int firstCard = high;
+        int secondCard = (isSuited ? 0 : Card.RANKS_PER_SUIT) + low;
+        long handMask = (1L << firstCard) | (1L << secondCard);
+
+        int[] deck = new int[Card.AMOUNT_OF_CARDS - 2];
+        for (int cardIndex = 0, i = 0; cardIndex < Card.AMOUNT_OF_CARDS; cardIndex++) {
+            if ((handMask & (1L << cardIndex)) == 0) {
+                deck[i++] = cardIndex;
+            }
+        }
+
+        int cardsToDeal = Board.AMOUNT_OF_CARDS + (amountOfOpponents * 2);
+        double share = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            // Partial Fisher-Yates shuffle: board cards first, then 2 cards per opponent
+            EquityCalculator.dealRunout(deck, cardsToDeal, random);
+            long boardMask = 0;
+            for (int i = 0; i < Board.AMOUNT_OF_CARDS; i++) {
+                boardMask |= 1L << deck[i];
+            }
+
+            int value = HandRankLookupTable.evaluate(boardMask | handMask);
+            int amountOfBest = 1;
+            for (int opponent = 0, i = Board.AMOUNT_OF_CARDS; (opponent < amountOfOpponents) && (amountOfBest > 0); opponent++, i += 2) {
+                int opponentValue = HandRankLookupTable.evaluate(boardMask | (1L << deck[i]) | (1L << deck[i + 1]));
+                if (opponentValue > value) {
+                    amountOfBest = 0;
+                } else if (opponentValue == value) {
+                    amountOfBest++;
+                }
+            }
+
+            if (amountOfBest > 0) {
+                share += 1.0 / amountOfBest;
+            }
+        }
+
+        return share / samples;
+    }
+}
@@ -12,6 +12,13 @@ import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
  *     if there is a pair of J, J's ordinal value is 10, so the score will be J+J which is 20. Assuming
  *     that there was another pair, of K's, then pair of kings is better, and K+K is 24. See {@link Card.CardRank}
  * </p>
+ * <p>
+ *     Hands are compared by their {@link #getStrength() strength}, which is a single int holding the hand rank and
+ *     the ordinals of the 5 cards, ordered by significance: {@code handRank | c1 | c2 | c3 | c4 | c5}, 4 bits each.
+ *     Cards are ordered by the size of their group first (e.g. the trips of a full house come before the pair), and
+ *     then by rank, so comparing two strengths compares the kickers as well. Unlike the score, a pair of 3's is
+ *     stronger than a pair of 2's with higher kickers, even though the sum of the latter is bigger.
+ * </p>
  * @author Haim Adrian
  * @since 27-Jun-21
  */
@@ -19,6 +26,26 @@ import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
 @AllArgsConstructor
 @NoArgsConstructor // for Jackson
 public class HandNumericRank implements Comparable<HandNumericRank> {
+    /**
+     * How many bits we use for the ordinal of a card in a strength. See {@link Card.CardRank}
+     */
+    public static final int CARD_RANK_BITS = 4;
+
+    /**
+     * Mask to extract the ordinal of a card out of a strength
+     */
+    public static final int CARD_RANK_MASK = (1 << CARD_RANK_BITS) - 1;
+
+    /**
+     * Amount of cards we keep in a strength
+     */
+    public static final int AMOUNT_OF_CARDS = 5;
+
+    /**
+     * Where the hand rank starts in a strength. Strength is lower than {@code 1 << 24}
+     */
+    public static final int HAND_RANK_SHIFT = CARD_RANK_BITS * AMOUNT_OF_CARDS;
+
     /**
      * The rank as enum
      */
@@ -30,23 +57,84 @@ public class HandNumericRank implements Comparable<HandNumericRank> {
      */
     private int score;
 
+    /**
+     * The rank and the kickers packed into an int, such that a stronger hand has a higher strength.<br/>
+     * This is the same value {@link HandRankLookupTable} keeps for each hand.
+     */
+    private int strength;
+
+    /**
+     * Constructs a rank without strength, to be used while evaluating cards. {@link HandRankCalculator} sets the
+     * strength once the rank is final.
+     */
+    HandNumericRank(HandRank handRank, int score) {
+        this(handRank, score, 0);
+    }
+
+    /**
+     * Create a {@link HandNumericRank} out of a strength, e.g. as we read it from {@link HandRankLookupTable}
+     * @param strength The strength
+     * @return A new {@link HandNumericRank} out of the specified strength
+     */
+    public static HandNumericRank ofStrength(int strength) {
+        return new HandNumericRank(handRankOf(strength), scoreOf(strength), strength);
+    }
+
+    /**
+     * Pack a hand rank and the ordinals of its cards into a strength
+     * @param handRank The hand rank
+     * @param cardRanks Ordinals of the cards, ordered by significance. At most {@link #AMOUNT_OF_CARDS}, where missing cards count as 0
+     * @return The strength
+     */
+    public static int strengthOf(HandRank handRank, int... cardRanks) {
+        int strength = handRank.ordinal();
+        for (int i = 0; i < AMOUNT_OF_CARDS; i++) {
+            strength = (strength << CARD_RANK_BITS) | (i < cardRanks.length ? cardRanks[i] : 0);
+        }
+
+        return strength;
+    }
+
+    /**
+     * @param strength A strength
+     * @return The {@link HandRank} of the strength
+     */
+    public static HandRank handRankOf(int strength) {
+        return HandRankRef.VALUES[strength >>> HAND_RANK_SHIFT];
+    }
+
+    /**
+     * @param strength A strength
+     * @return The score of the strength, which is the sum of its card ordinals
+     */
+    public static int scoreOf(int strength) {
+        int score = 0;
+        for (int i = 0; i < AMOUNT_OF_CARDS; i++) {
+            score += (strength >>> (i * CARD_RANK_BITS)) & CARD_RANK_MASK;
+        }
+
+        return score;
+    }
+
     @Override
     public int compareTo(HandNumericRank another) {
         if (another == null) {
             return 1;
         }
 
-        // When rank is the same, compare the score
-        if (handRank.compareTo(another.handRank) == 0) {
-            return Integer.compare(score, another.score);
-        }
-
-        return handRank.compareTo(another.handRank);
+        return Integer.compare(strength, another.strength);
     }
 
     @Override
     public String toString() {
         return handRank == null ? "null" : handRank.name().replaceAll("_", " ");
     }
+
+    /**
+     * Keep {@link HandRank#values()} once, as calling values() allocates a new array every time
+     */
+    private static final class HandRankRef {
+        private static final HandRank[] VALUES = HandRank.values();
+    }
 }
 
@@ -0,0 +1,313 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache in front of {@link HandRankCalculator}, for flows that evaluate the same cards over and over again,
+ * e.g. describing the hand of a player every time a client asks for the game info.
+ * <p>
+ *     Entries are keyed by the 52-bit mask of the cards (See {@link Card#getIndex()}), after canonicalizing the suits:
+ *     the rank of cards does not depend on which suit is which, so we sort the 13-bit masks of the 4 suits and use the
+ *     sorted masks as key. This way, e.g. A♣ K♦ 9♥ 7♠ 2♣ and A♥ K♠ 9♣ 7♦ 2♥ share one entry.
+ *     The selected cards are kept in canonical suits as well, and mapped back to the real suits on each read.
+ * </p>
+ * <p>
+ *     The cache is split into stripes, each having its own lock and evicting its least recently used entries,
+ *     so concurrent tables do not contend on a single lock.
+ * </p>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HandRankCache {
+    /**
+     * Default maximum amount of entries
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Default amount of stripes. Must be a power of 2
+     */
+    public static final int DEFAULT_STRIPES = 16;
+
+    /**
+     * Mask of the 52 bits of cards in a canonical key. The bits above it keep the order of the suits.
+     */
+    private static final long CARDS_MASK = (1L << Card.AMOUNT_OF_CARDS) - 1;
+
+    /**
+     * Amount of suits. See {@link Card.CardSuit}
+     */
+    private static final int AMOUNT_OF_SUITS = Card.AMOUNT_OF_CARDS / Card.RANKS_PER_SUIT;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@link HandRankCache} with {@link #DEFAULT_CAPACITY} and {@link #DEFAULT_STRIPES}
+     */
+    public HandRankCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a new {@link HandRankCache}
+     * @param capacity Maximum amount of entries. It is split evenly among the stripes
+     * @param amountOfStripes Amount of stripes (locks). Must be a power of 2
+     */
+    public HandRankCache(int capacity, int amountOfStripes) {
+        if ((amountOfStripes <= 0) || (Integer.bitCount(amountOfStripes) != 1)) {
+            throw new IllegalArgumentException("Amount of stripes must be a power of 2. Was: " + amountOfStripes);
+        }
+
+        if (capacity < amountOfStripes) {
+            throw new IllegalArgumentException("Capacity must be at least the amount of stripes. Was: " + capacity);
+        }
+
+        stripes = new Stripe[amountOfStripes];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(capacity / amountOfStripes);
+        }
+
+        stripeMask = amountOfStripes - 1;
+    }
+
+    /**
+     * Get the strength of 5, 6 or 7 cards. See {@link HandNumericRank#getStrength()}
+     * @param cardsMask Mask of the cards to evaluate. See {@link Card#getIndex()}
+     * @return Strength of the best 5 cards
+     */
+    public int evaluate(long cardsMask) {
+        long canonicalKey = canonicalize(cardsMask) & CARDS_MASK;
+        Stripe stripe = stripeOf(canonicalKey);
+
+        CachedRank cached = stripe.get(canonicalKey);
+        if (cached != null) {
+            hits.increment();
+            return cached.strength;
+        }
+
+        misses.increment();
+        int strength = HandRankLookupTable.evaluate(canonicalKey);
+        stripe.put(canonicalKey, new CachedRank(strength, 0));
+        return strength;
+    }
+
+    /**
+     * Calculate the rank of a player's hand, same as {@link HandRankCalculator#calculate(Board, Hand)}, using cached results.<br/>
+     * When there are several selections of cards having the same strength, the selected cards might differ from the ones
+     * {@link HandRankCalculator} selects, but the rank is always the same.
+     * @param board The board of a game
+     * @param hand Player's hand
+     * @return Highest possible rank of the hand and board
+     */
+    public HandRankCalculatorResult calculate(Board board, Hand hand) {
+        int amountOfCards = board.size() + hand.size();
+        long cardsMask = board.getCardsMask() | hand.getCardsMask();
+
+        // Cards we cannot look up are not cached. See HandRankCalculator.calculate
+        if ((amountOfCards < HandRankLookupTable.MIN_CARDS) || (amountOfCards > HandRankLookupTable.MAX_CARDS) || (Long.bitCount(cardsMask) != amountOfCards)) {
+            return HandRankCalculator.calculate(board, hand);
+        }
+
+        long canonical = canonicalize(cardsMask);
+        long canonicalKey = canonical & CARDS_MASK;
+        int suitOrder = (int) (canonical >>> Card.AMOUNT_OF_CARDS);
+        Stripe stripe = stripeOf(canonicalKey);
+
+        // Entries added by evaluate do not have the selected cards, so we treat them as a miss
+        CachedRank cached = stripe.get(canonicalKey);
+        if ((cached != null) && (cached.selectedCardsMask != 0)) {
+            hits.increment();
+            return new HandRankCalculatorResult(HandNumericRank.ofStrength(cached.strength), cardsOf(fromCanonical(cached.selectedCardsMask, suitOrder)), hand);
+        }
+
+        misses.increment();
+        HandRankCalculatorResult result = HandRankCalculator.calculate(board, hand);
+        long selectedCardsMask = 0;
+        for (Card card : result.getSelectedCards()) {
+            selectedCardsMask |= 1L << card.getIndex();
+        }
+
+        stripe.put(canonicalKey, new CachedRank(result.getRank().getStrength(), toCanonical(selectedCardsMask, suitOrder)));
+        return result;
+    }
+
+    /**
+     * @return How many lookups were answered by the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return How many lookups had to be calculated
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return How many entries were removed in order to keep the cache bounded
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Amount of entries in the cache
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Remove all entries. Counters are not reset.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe stripeOf(long canonicalKey) {
+        long hash = canonicalKey * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 40) & stripeMask];
+    }
+
+    /**
+     * Sort the 13-bit masks of the suits, highest first, so all suit permutations of the same cards get the same key.
+     * @param cardsMask Mask of the cards
+     * @return The canonical mask at the lower 52 bits, and the order of the suits above it: 2 bits per canonical suit,
+     * holding the real suit that was moved there
+     */
+    static long canonicalize(long cardsMask) {
+        // Keep the suit next to its mask, so we know where each suit went after sorting
+        long s0 = (((cardsMask) & HandRankLookupTable.SUIT_MASK) << 2);
+        long s1 = (((cardsMask >>> Card.RANKS_PER_SUIT) & HandRankLookupTable.SUIT_MASK) << 2) | 1;
+        long s2 = (((cardsMask >>> (2 * Card.RANKS_PER_SUIT)) & HandRankLookupTable.SUIT_MASK) << 2) | 2;
+        long s3 = (((cardsMask >>> (3 * Card.RANKS_PER_SUIT)) & HandRankLookupTable.SUIT_MASK) << 2) | 3;
+        long temp;
+
+        // Sorting network of 4 elements, descending
+        if (s0 < s1) { temp = s0; s0 = s1; s1 = temp; }
+        if (s2 < s3) { temp = s2; s2 = s3; s3 = temp; }
+        if (s0 < s2) { temp = s0; s0 = s2; s2 = temp; }
+        if (s1 < s3) { temp = s1; s1 = s3; s3 = temp; }
+        if (s1 < s2) { temp = s1; s1 = s2; s2 = temp; }
+
+        long canonicalMask = (s0 >>> 2) | ((s1 >>> 2) << Card.RANKS_PER_SUIT) | ((s2 >>> 2) << (2 * Card.RANKS_PER_SUIT)) | ((s3 >>> 2) << (3 * Card.RANKS_PER_SUIT));
+        long suitOrder = (s0 & 3) | ((s1 & 3) << 2) | ((s2 & 3) << 4) | ((s3 & 3) << 6);
+        return (suitOrder << Card.AMOUNT_OF_CARDS) | canonicalMask;
+    }
+
+    /**
+     * Move cards from their real suits to the canonical suits
+     * @param cardsMask Mask of cards in real suits
+     * @param suitOrder The order of suits, as returned by {@link #canonicalize(long)}
+     * @return Mask of the cards in canonical suits
+     */
+    static long toCanonical(long cardsMask, int suitOrder) {
+        long result = 0;
+        for (int canonicalSuit = 0; canonicalSuit < AMOUNT_OF_SUITS; canonicalSuit++) {
+            int suit = (suitOrder >>> (canonicalSuit * 2)) & 3;
+            result |= ((cardsMask >>> (suit * Card.RANKS_PER_SUIT)) & HandRankLookupTable.SUIT_MASK) << (canonicalSuit * Card.RANKS_PER_SUIT);
+        }
+
+        return result;
+    }
+
+    /**
+     * Move cards from the canonical suits back to their real suits
+     * @param canonicalMask Mask of cards in canonical suits
+     * @param suitOrder The order of suits, as returned by {@link #canonicalize(long)}
+     * @return Mask of the cards in real suits
+     */
+    static long fromCanonical(long canonicalMask, int suitOrder) {
+        long result = 0;
+        for (int canonicalSuit = 0; canonicalSuit < AMOUNT_OF_SUITS; canonicalSuit++) {
+            int suit = (suitOrder >>> (canonicalSuit * 2)) & 3;
+            result |= ((canonicalMask >>> (canonicalSuit * Card.RANKS_PER_SUIT)) & HandRankLookupTable.SUIT_MASK) << (suit * Card.RANKS_PER_SUIT);
+        }
+
+        return result;
+    }
+
+    private static Card[] cardsOf(long cardsMask) {
+        Card[] cards = new Card[Long.bitCount(cardsMask)];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = Card.ofIndex(Long.numberOfTrailingZeros(cardsMask));
+            cardsMask &= cardsMask - 1;
+        }
+
+        return cards;
+    }
+
+    /**
+     * What we keep per canonical key
+     */
+    private static final class CachedRank {
+        private final int strength;
+
+        /**
+         * The 5 selected cards, in canonical suits. 0 when we have not calculated them yet
+         */
+        private final long selectedCardsMask;
+
+        CachedRank(int strength, long selectedCardsMask) {
+            this.strength = strength;
+            this.selectedCardsMask = selectedCardsMask;
+        }
+    }
+
+    /**
+     * A part of the cache guarded by its own lock, evicting its least recently used entry when it is full
+     */
+    private final class Stripe {
+        private final Map<Long, CachedRank> entries;
+
+        Stripe(int capacity) {
+            entries = new LinkedHashMap<Long, CachedRank>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, CachedRank> eldest) {
+                    boolean isFull = size() > capacity;
+                    if (isFull) {
+                        evictions.increment();
+                    }
+
+                    return isFull;
+                }
+            };
+        }
+
+        synchronized CachedRank get(long key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(long key, CachedRank value) {
+            entries.put(key, value);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+}
@@ -34,18 +34,93 @@ public class HandRankCalculator {
 
     /**
      * Calculate the rank of a player's hand, based on 5 cards from board, and 2 cards from hand.<br/>
-     * The calculator will select the 5 cards having the highest rank
+     * The calculator will select the 5 cards having the highest rank.<br/>
+     * The rank itself is read from {@link HandRankLookupTable}, and then we go over the permutations only to find the
+     * first one that built that rank, using 5 cards lookups. This is the same selection we would get by calculating
+     * the rank of all permutations.
      * @param board The board of a game
      * @param hand Player's hand
      * @return Highest possible rank of the hand and board
      */
     public static HandRankCalculatorResult calculate(Board board, Hand hand) {
-        HandNumericRank highestRank = null;
+        int amountOfCards = board.size() + hand.size();
+        long cardsMask = board.getCardsMask() | hand.getCardsMask();
+
+        // In case there is a card which is not real, or there are duplicate cards, the mask has less bits than the amount
+        // of cards. Use the permutations for such cases, as they do not depend on indices.
+        if ((amountOfCards < HandRankLookupTable.MIN_CARDS) || (amountOfCards > HandRankLookupTable.MAX_CARDS) || (Long.bitCount(cardsMask) != amountOfCards)) {
+            List<Card> allCards = new ArrayList<>(amountOfCards);
+            allCards.addAll(board.copyCards());
+            allCards.addAll(hand.copyCards());
+            return calculateUsingPermutations(allCards, hand);
+        }
+
+        // Board cards and then hand cards, same as the order of permutations
+        int[] cardIndices = new int[amountOfCards];
+        System.arraycopy(board.getCardIndices(), 0, cardIndices, 0, board.size());
+        System.arraycopy(hand.getCardIndices(), 0, cardIndices, board.size(), hand.size());
+
+        int highestRank = HandRankLookupTable.evaluate(cardsMask);
+
+        // Find the first permutation with the highest rank
         int[] bestPermutation = null;
+        for (int i = 0; (i < allCardPermutations.size()) && (bestPermutation == null); i++) {
+            int[] currPermutation = allCardPermutations.get(i);
+            if (currPermutation[4] >= cardIndices.length) {
+                continue; // Skip this one. Indices are sorted, so it is enough to check the last one.
+            }
 
-        List<Card> allCards = new ArrayList<>(board.size() + hand.size());
-        allCards.addAll(board.copyCards());
-        allCards.addAll(hand.copyCards());
+            long currMask = (1L << cardIndices[currPermutation[0]]) | (1L << cardIndices[currPermutation[1]]) | (1L << cardIndices[currPermutation[2]]) |
+                (1L << cardIndices[currPermutation[3]]) | (1L << cardIndices[currPermutation[4]]);
+            if (HandRankLookupTable.evaluate(currMask) == highestRank) {
+                bestPermutation = currPermutation;
+            }
+        }
+
+        Objects.requireNonNull(bestPermutation);
+        return new HandRankCalculatorResult(HandNumericRank.ofStrength(highestRank), new Card[] { Card.ofIndex(cardIndices[bestPermutation[0]]), Card.ofIndex(cardIndices[bestPermutation[1]]), Card.ofIndex(cardIndices[bestPermutation[2]]), Card.ofIndex(cardIndices[bestPermutation[3]]), Card.ofIndex(cardIndices[bestPermutation[4]]) }, hand);
+    }
+
+    /**
+     * Rank several hands against the same board, in one go. This is what we use at a showdown.<br/>
+     * The board is processed once, and reused for all hands. (See {@link HandRankLookupTable#evaluateAll(long, long[], int[])})
+     * The result orders the hands by strength, and groups hands of the same strength.
+     * @param board The board of a game
+     * @param hands Hands of the players
+     * @return The ranking of the hands
+     */
+    public static ShowdownRanking calculateShowdown(Board board, List<Hand> hands) {
+        int[] values = new int[hands.size()];
+        long[] handMasks = new long[hands.size()];
+        boolean canLookup = Long.bitCount(board.getCardsMask()) == board.size();
+        for (int i = 0; (i < handMasks.length) && canLookup; i++) {
+            Hand hand = hands.get(i);
+            handMasks[i] = hand.getCardsMask();
+            canLookup = (hand.size() == 2) && (Long.bitCount(handMasks[i]) == 2) && ((handMasks[i] & board.getCardsMask()) == 0);
+        }
+
+        if (canLookup && (board.size() + 2 >= HandRankLookupTable.MIN_CARDS) && (board.size() + 2 <= HandRankLookupTable.MAX_CARDS)) {
+            HandRankLookupTable.evaluateAll(board.getCardsMask(), handMasks, values);
+        } else {
+            // Not real cards. Rank each hand the same way calculate does
+            for (int i = 0; i < values.length; i++) {
+                values[i] = calculate(board, hands.get(i)).getRank().getStrength();
+            }
+        }
+
+        return new ShowdownRanking(board, hands, values);
+    }
+
+    /**
+     * Calculate the rank of a player's hand by going over all permutations of 5 cards.<br/>
+     * We use this when there are less than 5 cards, or cards that cannot be looked up (e.g. {@link Card#EMPTY}).
+     * @param allCards All cards. Board cards and then hand cards
+     * @param hand Player's hand
+     * @return Highest possible rank of the hand and board
+     */
+    static HandRankCalculatorResult calculateUsingPermutations(List<Card> allCards, Hand hand) {
+        HandNumericRank highestRank = null;
+        int[] bestPermutation = null;
 
         // In case no rank could be found, it means there are less than 5 cards,
         // as we could not use any permutation. So just use all cards.
@@ -82,11 +157,12 @@ public class HandRankCalculator {
 
     /**
      * A helper method used to calculate the rank out of 5 cards.<br/>
-     * The method assumes the array of cards is sorted based on cards rank
+     * The method assumes the array of cards is sorted based on cards rank.<br/>
+     * This is also the logic that {@link HandRankLookupTableGenerator} uses in order to generate the lookup table.
      * @param cards The cards to calculate rank for
      * @return A {@link HandNumericRank} representing the rank of the specified 5 cards
      */
-    private static HandNumericRank calculate(Card[] cards) {
+    static HandNumericRank calculate(Card[] cards) {
         HandNumericRank rank = evaluatePairings(cards);
 
         // Score must be zero for having a straight: If there is any pair, it is impossible to find straight, cause we must have 5 different cards for a straight.
@@ -119,9 +195,46 @@ public class HandRankCalculator {
             rank = new HandNumericRank(HandRank.HIGH_CARD, sumCardsRank(cards));
         }
 
+        rank.setStrength(strengthOf(rank.getHandRank(), cards));
         return rank;
     }
 
+    /**
+     * Calculate the strength of 5 cards, having the specified hand rank. See {@link HandNumericRank#getStrength()}<br/>
+     * Cards are ordered by the size of their group (quads, trips, pairs and then single cards), and cards of same group
+     * size are ordered by rank, highest first. Ace of a straight starting from Ace counts as 0, so it is the lowest straight.
+     * @param handRank The hand rank of the cards
+     * @param cards The cards to calculate strength for
+     * @return The strength of the specified cards
+     */
+    static int strengthOf(HandRank handRank, Card[] cards) {
+        int[] rankCounts = new int[Card.CardRank.ACE.ordinal() + 1];
+        for (Card card : cards) {
+            rankCounts[card.getCardRank().ordinal()]++;
+        }
+
+        boolean isStraight = (handRank == HandRank.STRAIGHT) || (handRank == HandRank.STRAIGHT_FLUSH) || (handRank == HandRank.ROYAL_FLUSH);
+        boolean isStraightFromAce = isStraight && (rankCounts[Card.CardRank.ACE.ordinal()] > 0) && (rankCounts[Card.CardRank.TWO.ordinal()] > 0);
+        if (isStraightFromAce) {
+            rankCounts[Card.CardRank.ACE.ordinal()] = 0;
+        }
+
+        int[] cardRanks = new int[HandNumericRank.AMOUNT_OF_CARDS];
+        int amountOfCardRanks = 0;
+        for (int groupSize = 4; groupSize > 0; groupSize--) {
+            for (int cardRank = rankCounts.length - 1; cardRank > Card.CardRank.NONE.ordinal(); cardRank--) {
+                if (rankCounts[cardRank] == groupSize) {
+                    for (int i = 0; i < groupSize; i++) {
+                        cardRanks[amountOfCardRanks++] = cardRank;
+                    }
+                }
+            }
+        }
+
+        // Missing cards, and the Ace of a straight starting from Ace, remain 0
+        return HandNumericRank.strengthOf(handRank, cardRanks);
+    }
+
     /**
      * A helper method we use in order to check set of 5 cards and see if there is any pairing.<br/>
      * A pairing rank can be one of:
@@ -0,0 +1,372 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A precomputed lookup table that ranks 5, 6 or 7 cards in a handful of array reads, without allocating anything.<br/>
+ * The table is generated once by {@link HandRankLookupTableGenerator}, using the same logic that {@link HandRankCalculator}
+ * uses for 5 cards, so the values we read from the table are identical to the ones we would get by going over all of the
+ * permutations of 5 cards.
+ * <p>
+ *     Cards are referred to by {@link Card#getIndex() index}, in range [0, 51]. The index of a card is {@code suit * 13 + (rank - 2)},
+ *     so each suit occupies 13 consecutive bits in a 64-bit mask, as {@link org.hit.android.haim.texasholdem.common.model.bean.game.CardsHolder#getCardsMask()} keeps them. This lets us extract a 13-bit rank mask per suit with a shift.
+ * </p>
+ * <p>
+ *     A value is the {@link HandNumericRank#getStrength() strength} of a hand, which packs the hand rank and its kickers.
+ *     Hence comparing two values is the same as comparing two {@link HandNumericRank}s.
+ * </p>
+ * Evaluation goes as follows:
+ * <ol>
+ *     <li>If there is a suit with at least 5 cards, we read the flush table at the 13-bit rank mask of that suit. With
+ *     7 cards at most, when there is a flush, there cannot be a full house or quads, so the flush is the best we can get.</li>
+ *     <li>Otherwise, the rank depends on the ranks only. We sum up a base-5 key per suit mask (4 reads), which gives us a
+ *     unique key per multiset of ranks, and then read the value using a perfect hash (2 reads).</li>
+ * </ol>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HandRankLookupTable {
+    /**
+     * Name of the resource holding the tables, relative to this class
+     */
+    static final String RESOURCE_NAME = "hand-rank.lut";
+
+    /**
+     * A magic number we write at the head of the resource, to make sure we read the correct file
+     */
+    static final int MAGIC = 0x54484C54; // THLT
+
+    /**
+     * Version of the resource format. Bump it when the format changes.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Amount of ranks in each suit
+     */
+    public static final int RANKS_PER_SUIT = Card.RANKS_PER_SUIT;
+
+    /**
+     * Mask to extract 13 bits of a suit out of a 64-bit cards mask
+     */
+    public static final int SUIT_MASK = (1 << RANKS_PER_SUIT) - 1;
+
+    /**
+     * Minimum amount of cards we can evaluate
+     */
+    public static final int MIN_CARDS = 5;
+
+    /**
+     * Maximum amount of cards we can evaluate
+     */
+    public static final int MAX_CARDS = 7;
+
+    /**
+     * Sum of 5^rank over the bits of a 13-bit rank mask. Summing it up for all 4 suits gives us a unique base-5 key
+     * of the rank multiset, as there can be 4 cards of the same rank at most.
+     */
+    private static final int[] RANK_KEYS = createRankKeys();
+
+    /**
+     * Why the tables were generated in memory rather than read from {@link #RESOURCE_NAME}, or {@code null} when they were read.
+     * See {@link #getFallbackReason()}
+     */
+    private static String fallbackReason;
+
+    private static final HandRankLookupTable INSTANCE = load();
+
+    /**
+     * Multiplier used to get the bucket of a key, at the perfect hash
+     */
+    private final int bucketMultiplier;
+
+    /**
+     * Multiplier used to get the base slot of a key, at the perfect hash
+     */
+    private final int slotMultiplier;
+
+    /**
+     * How many bits to shift in order to get a bucket out of a hashed key
+     */
+    private final int bucketShift;
+
+    /**
+     * How many bits to shift in order to get a slot out of a hashed key
+     */
+    private final int slotShift;
+
+    /**
+     * Mask to keep a displaced slot in bounds
+     */
+    private final int slotMask;
+
+    /**
+     * Displacement per bucket, of the perfect hash
+     */
+    private final int[] displacements;
+
+    /**
+     * Packed values of non flush hands, indexed by the perfect hash of their rank key
+     */
+    private final int[] values;
+
+    /**
+     * Packed values of flush hands, indexed by the 13-bit rank mask of the flush suit
+     */
+    private final int[] flushValues;
+
+    /**
+     * Constructs a new {@link HandRankLookupTable}
+     */
+    HandRankLookupTable(int bucketMultiplier, int slotMultiplier, int bucketBits, int slotBits, int[] displacements, int[] values, int[] flushValues) {
+        this.bucketMultiplier = bucketMultiplier;
+        this.slotMultiplier = slotMultiplier;
+        this.bucketShift = Integer.SIZE - bucketBits;
+        this.slotShift = Integer.SIZE - slotBits;
+        this.slotMask = (1 << slotBits) - 1;
+        this.displacements = displacements;
+        this.values = values;
+        this.flushValues = flushValues;
+    }
+
+    /**
+     * @return The unique instance of {@link HandRankLookupTable}
+     */
+    public static HandRankLookupTable getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Generating the tables in memory takes seconds, so an application should know about it. We have no logger here,
+     * hence it is up to the application to report it.
+     * @return Why the tables were generated in memory, rather than read from {@link #RESOURCE_NAME}, or {@code null} when they were read
+     */
+    public static String getFallbackReason() {
+        return fallbackReason;
+    }
+
+    /**
+     * Evaluate 5, 6 or 7 cards, specified as a 64-bit mask of card indices.
+     * @param cardsMask Mask of the cards to evaluate. See {@link Card#getIndex()}
+     * @return Packed value of the best 5 cards rank
+     */
+    public static int evaluate(long cardsMask) {
+        return INSTANCE.lookup(cardsMask);
+    }
+
+    /**
+     * Evaluate 5, 6 or 7 cards, specified as a 64-bit mask of card indices.
+     * @param cardsMask Mask of the cards to evaluate. See {@link Card#getIndex()}
+     * @return Packed value of the best 5 cards rank
+     */
+    int lookup(long cardsMask) {
+        int clubs = (int) cardsMask & SUIT_MASK;
+        int diamonds = (int) (cardsMask >>> RANKS_PER_SUIT) & SUIT_MASK;
+        int hearts = (int) (cardsMask >>> (2 * RANKS_PER_SUIT)) & SUIT_MASK;
+        int spades = (int) (cardsMask >>> (3 * RANKS_PER_SUIT)) & SUIT_MASK;
+
+        // No need to compare with the non flush value. See class documentation.
+        if (Integer.bitCount(clubs) >= MIN_CARDS) {
+            return flushValues[clubs];
+        } else if (Integer.bitCount(diamonds) >= MIN_CARDS) {
+            return flushValues[diamonds];
+        } else if (Integer.bitCount(hearts) >= MIN_CARDS) {
+            return flushValues[hearts];
+        } else if (Integer.bitCount(spades) >= MIN_CARDS) {
+            return flushValues[spades];
+        }
+
+        return values[slotOf(RANK_KEYS[clubs] + RANK_KEYS[diamonds] + RANK_KEYS[hearts] + RANK_KEYS[spades])];
+    }
+
+    /**
+     * Evaluate several hands against the same board. This is the same as calling {@link #evaluate(long)} per hand, with
+     * {@code boardMask | handMask}, but the board work is done once: the base-5 rank key of the board, and the single suit
+     * that can make a flush (a suit having 3 board cards or more). Each 2 cards hand then costs a couple of reads.
+     * @param boardMask Mask of the board cards
+     * @param handMasks Mask of each hand. Hands that are not 2 cards are evaluated as is
+     * @param results Where to write the packed value of each hand. Must be as long as {@code handMasks}
+     */
+    public static void evaluateAll(long boardMask, long[] handMasks, int[] results) {
+        INSTANCE.lookupAll(boardMask, handMasks, results);
+    }
+
+    /**
+     * See {@link #evaluateAll(long, long[], int[])}
+     */
+    void lookupAll(long boardMask, long[] handMasks, int[] results) {
+        int boardRankKey = 0;
+        int flushSuit = -1;
+        int flushSuitMask = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            int suitMask = (int) (boardMask >>> (suit * RANKS_PER_SUIT)) & SUIT_MASK;
+            boardRankKey += RANK_KEYS[suitMask];
+
+            // There are 5 board cards at most, so there can be one suit with 3 cards or more
+            if (Integer.bitCount(suitMask) >= MIN_CARDS - 2) {
+                flushSuit = suit;
+                flushSuitMask = suitMask;
+            }
+        }
+
+        int amountOfCards = Long.bitCount(boardMask) + 2;
+        boolean isBoardValid = (amountOfCards >= MIN_CARDS) && (amountOfCards <= MAX_CARDS);
+        for (int i = 0; i < handMasks.length; i++) {
+            long handMask = handMasks[i];
+            if (!isBoardValid || (Long.bitCount(handMask) != 2) || ((boardMask & handMask) != 0)) {
+                results[i] = lookup(boardMask | handMask);
+                continue;
+            }
+
+            if (flushSuit >= 0) {
+                int suitMask = flushSuitMask | ((int) (handMask >>> (flushSuit * RANKS_PER_SUIT)) & SUIT_MASK);
+                if (Integer.bitCount(suitMask) >= MIN_CARDS) {
+                    results[i] = flushValues[suitMask];
+                    continue;
+                }
+            }
+
+            // Rank keys are additive, as each card adds 5^rank
+            int firstCard = Long.numberOfTrailingZeros(handMask);
+            int secondCard = Long.SIZE - 1 - Long.numberOfLeadingZeros(handMask);
+            int rankKey = boardRankKey + RANK_KEYS[1 << (firstCard % RANKS_PER_SUIT)] + RANK_KEYS[1 << (secondCard % RANKS_PER_SUIT)];
+            results[i] = values[slotOf(rankKey)];
+        }
+    }
+
+    /**
+     * Find the slot of a rank key at {@link #values}
+     * @param rankKey The key to find its slot
+     * @return The slot
+     */
+    int slotOf(int rankKey) {
+        int bucket = (rankKey * bucketMultiplier) >>> bucketShift;
+        return (((rankKey * slotMultiplier) >>> slotShift) + displacements[bucket]) & slotMask;
+    }
+
+    /**
+     * Get the rank key of a 13-bit rank mask. See {@link #RANK_KEYS}
+     * @param rankMask The mask to get its key
+     * @return Sum of 5^rank over the bits of the mask
+     */
+    static int rankKeyOf(int rankMask) {
+        return RANK_KEYS[rankMask];
+    }
+
+    /**
+     * @param value A packed value
+     * @return The {@link HandRank} of the packed value
+     */
+    public static HandRank handRankOf(int value) {
+        return HandNumericRank.handRankOf(value);
+    }
+
+    private static int[] createRankKeys() {
+        int[] powersOfFive = new int[RANKS_PER_SUIT];
+        powersOfFive[0] = 1;
+        for (int i = 1; i < RANKS_PER_SUIT; i++) {
+            powersOfFive[i] = powersOfFive[i - 1] * 5;
+        }
+
+        int[] rankKeys = new int[1 << RANKS_PER_SUIT];
+        for (int mask = 1; mask < rankKeys.length; mask++) {
+            int lowestBit = Integer.numberOfTrailingZeros(mask);
+            rankKeys[mask] = rankKeys[mask & (mask - 1)] + powersOfFive[lowestBit];
+        }
+
+        return rankKeys;
+    }
+
+    /**
+     * Load the tables from {@link #RESOURCE_NAME}. In case the resource is missing, or it was written by an older version,
+     * we generate the tables in memory. This is slower, but keeps us working.
+     */
+    private static HandRankLookupTable load() {
+        String reason;
+        try (InputStream resource = HandRankLookupTable.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (resource == null) {
+                reason = RESOURCE_NAME + " is missing";
+            } else {
+                HandRankLookupTable table = read(resource);
+                if (table != null) {
+                    return table;
+                }
+
+                reason = RESOURCE_NAME + " was written by another version";
+            }
+        } catch (IOException e) {
+            reason = "Failed reading " + RESOURCE_NAME + ": " + e;
+        }
+
+        fallbackReason = reason;
+        return new HandRankLookupTableGenerator().generate();
+    }
+
+    /**
+     * Read the tables out of a stream written by {@link HandRankLookupTableGenerator#write(HandRankLookupTable, java.io.OutputStream)}
+     * @param in The stream to read from. It is not closed by this method
+     * @return The tables, or {@code null} in case of wrong magic number or version
+     * @throws IOException In case we have failed reading the stream
+     */
+    static HandRankLookupTable read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new GZIPInputStream(in));
+        if ((data.readInt() != MAGIC) || (data.readInt() != VERSION)) {
+            return null;
+        }
+
+        int bucketMultiplier = data.readInt();
+        int slotMultiplier = data.readInt();
+        int bucketBits = data.readInt();
+        int slotBits = data.readInt();
+
+        int[] displacements = new int[1 << bucketBits];
+        for (int i = 0; i < displacements.length; i++) {
+            displacements[i] = data.readInt();
+        }
+
+        int[] values = new int[1 << slotBits];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data.readInt();
+        }
+
+        int[] flushValues = new int[1 << RANKS_PER_SUIT];
+        for (int i = 0; i < flushValues.length; i++) {
+            flushValues[i] = data.readInt();
+        }
+
+        return new HandRankLookupTable(bucketMultiplier, slotMultiplier, bucketBits, slotBits, displacements, values, flushValues);
+    }
+
+    int getBucketMultiplier() {
+        return bucketMultiplier;
+    }
+
+    int getSlotMultiplier() {
+        return slotMultiplier;
+    }
+
+    int getBucketBits() {
+        return Integer.SIZE - bucketShift;
+    }
+
+    int getSlotBits() {
+        return Integer.SIZE - slotShift;
+    }
+
+    int[] getDisplacements() {
+        return displacements;
+    }
+
+    int[] getValues() {
+        return values;
+    }
+
+    int[] getFlushValues() {
+        return flushValues;
+    }
+}
@@ -0,0 +1,301 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates the tables of {@link HandRankLookupTable}.<br/>
+ * The values are calculated using {@link HandRankCalculator#calculate(Card[])}, which is the same logic we use when
+ * going over all permutations of 5 cards, so the lookup table returns the exact same ranks and scores.
+ * <p>
+ *     Run {@link #main(String[])} in order to re-generate the resource, in case the rank logic has changed:<br/>
+ *     {@code java HandRankLookupTableGenerator src/main/resources/org/hit/android/haim/texasholdem/common/model/game/rank/hand-rank.lut}
+ * </p>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HandRankLookupTableGenerator {
+    /**
+     * Amount of buckets (as bits) at the perfect hash. Average of ~2.3 keys per bucket
+     */
+    private static final int BUCKET_BITS = 15;
+
+    /**
+     * Amount of slots (as bits) at the perfect hash. Load factor of ~0.56
+     */
+    private static final int SLOT_BITS = 17;
+
+    /**
+     * Seed for selecting hash multipliers, so generation is reproducible
+     */
+    private static final long SEED = 52;
+
+    /**
+     * Map between base-5 rank key and the packed value of the best 5 cards of that rank multiset
+     */
+    private final Map<Integer, Integer> rankKeyToValue = new HashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: HandRankLookupTableGenerator <output file>");
+            return;
+        }
+
+        HandRankLookupTable table = new HandRankLookupTableGenerator().generate();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[0]))) {
+            write(table, out);
+        }
+
+        System.out.println("Hand rank tables were written to " + new File(args[0]).getAbsolutePath());
+    }
+
+    /**
+     * Generate all of the tables in memory
+     * @return A new {@link HandRankLookupTable}
+     */
+    public HandRankLookupTable generate() {
+        rankKeyToValue.clear();
+        collectRankMultisets(0, new int[HandRankLookupTable.RANKS_PER_SUIT], 0);
+        int[] flushValues = generateFlushValues();
+
+        Random random = new Random(SEED);
+        while (true) {
+            // Multipliers must be odd, to spread keys over all bits
+            int bucketMultiplier = random.nextInt() | 1;
+            int slotMultiplier = random.nextInt() | 1;
+            HandRankLookupTable table = tryBuildPerfectHash(bucketMultiplier, slotMultiplier, flushValues);
+            if (table != null) {
+                return table;
+            }
+        }
+    }
+
+    /**
+     * Write tables to a stream, such that {@link HandRankLookupTable#read(InputStream)} can read them.
+     * @param table The tables to write
+     * @param out Where to write the tables to. It is not closed by this method
+     * @throws IOException In case we have failed writing
+     */
+    static void write(HandRankLookupTable table, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        DataOutputStream data = new DataOutputStream(gzip);
+        data.writeInt(HandRankLookupTable.MAGIC);
+        data.writeInt(HandRankLookupTable.VERSION);
+        data.writeInt(table.getBucketMultiplier());
+        data.writeInt(table.getSlotMultiplier());
+        data.writeInt(table.getBucketBits());
+        data.writeInt(table.getSlotBits());
+
+        for (int displacement : table.getDisplacements()) {
+            data.writeInt(displacement);
+        }
+
+        for (int value : table.getValues()) {
+            data.writeInt(value);
+        }
+
+        for (int value : table.getFlushValues()) {
+            data.writeInt(value);
+        }
+
+        data.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Recursively go over all rank multisets of 5, 6 and 7 cards (up to 4 cards of the same rank), and
+     * calculate the best value of each one.
+     * @param rank Current rank to decide how many cards of it we take
+     * @param counts How many cards of each rank we have taken so far
+     * @param amountOfCards Total amount of cards we have taken so far
+     */
+    private void collectRankMultisets(int rank, int[] counts, int amountOfCards) {
+        if (rank == HandRankLookupTable.RANKS_PER_SUIT) {
+            if (amountOfCards >= HandRankLookupTable.MIN_CARDS) {
+                valueOfRankMultiset(counts, amountOfCards);
+            }
+            return;
+        }
+
+        for (int count = 0; (count <= 4) && (amountOfCards + count <= HandRankLookupTable.MAX_CARDS); count++) {
+            counts[rank] = count;
+            collectRankMultisets(rank + 1, counts, amountOfCards + count);
+        }
+
+        counts[rank] = 0;
+    }
+
+    /**
+     * Calculate the best value of a rank multiset. For 5 cards we use the calculator, and for 6 or 7 cards
+     * we take the maximum out of all multisets with one card less.
+     * @param counts How many cards of each rank there are
+     * @param amountOfCards Total amount of cards
+     * @return Packed value of the best 5 cards
+     */
+    private int valueOfRankMultiset(int[] counts, int amountOfCards) {
+        int rankKey = rankKeyOf(counts);
+        Integer value = rankKeyToValue.get(rankKey);
+        if (value != null) {
+            return value;
+        }
+
+        int result = 0;
+        if (amountOfCards == HandRankLookupTable.MIN_CARDS) {
+            // Spread the cards over the suits such that there is no flush. We go over the cards ordered by rank,
+            // so cards of the same rank are adjacent and get different suits.
+            Card[] cards = new Card[amountOfCards];
+            int cardIndex = 0;
+            for (int rank = 0; rank < counts.length; rank++) {
+                for (int i = 0; i < counts[rank]; i++) {
+                    cards[cardIndex] = new Card(Card.CardRank.values()[rank + 1], Card.CardSuit.values()[cardIndex % 4]);
+                    cardIndex++;
+                }
+            }
+
+            result = HandRankCalculator.calculate(cards).getStrength();
+        } else {
+            for (int rank = 0; rank < counts.length; rank++) {
+                if (counts[rank] > 0) {
+                    counts[rank]--;
+                    result = Math.max(result, valueOfRankMultiset(counts, amountOfCards - 1));
+                    counts[rank]++;
+                }
+            }
+        }
+
+        rankKeyToValue.put(rankKey, result);
+        return result;
+    }
+
+    /**
+     * Calculate the best value of every 13-bit rank mask of a single suit, having 5 to 7 cards.
+     * @return The flush values table
+     */
+    private int[] generateFlushValues() {
+        int[] flushValues = new int[1 << HandRankLookupTable.RANKS_PER_SUIT];
+
+        // First calculate all masks of exactly 5 cards, as masks of 6 and 7 cards depend on them
+        for (int amountOfCards = HandRankLookupTable.MIN_CARDS; amountOfCards <= HandRankLookupTable.MAX_CARDS; amountOfCards++) {
+            for (int mask = 0; mask < flushValues.length; mask++) {
+                if (Integer.bitCount(mask) != amountOfCards) {
+                    continue;
+                }
+
+                if (amountOfCards == HandRankLookupTable.MIN_CARDS) {
+                    Card[] cards = new Card[amountOfCards];
+                    int cardIndex = 0;
+                    for (int rank = 0; rank < HandRankLookupTable.RANKS_PER_SUIT; rank++) {
+                        if ((mask & (1 << rank)) != 0) {
+                            cards[cardIndex++] = new Card(Card.CardRank.values()[rank + 1], Card.CardSuit.CLUB);
+                        }
+                    }
+
+                    flushValues[mask] = HandRankCalculator.calculate(cards).getStrength();
+                } else {
+                    // Remove each card to find the best 5 cards
+                    int best = 0;
+                    for (int bits = mask; bits != 0; bits &= bits - 1) {
+                        best = Math.max(best, flushValues[mask & ~Integer.lowestOneBit(bits)]);
+                    }
+
+                    flushValues[mask] = best;
+                }
+            }
+        }
+
+        return flushValues;
+    }
+
+    /**
+     * Build a perfect hash using "hash and displace". Keys are grouped into buckets, and each bucket gets
+     * a displacement, such that all of its keys land at free slots. We handle the big buckets first.
+     * @return The tables, or {@code null} in case the multipliers do not fit. (Two keys of the same bucket got the same base slot)
+     */
+    private HandRankLookupTable tryBuildPerfectHash(int bucketMultiplier, int slotMultiplier, int[] flushValues) {
+        int bucketShift = Integer.SIZE - BUCKET_BITS;
+        int slotShift = Integer.SIZE - SLOT_BITS;
+        int slotMask = (1 << SLOT_BITS) - 1;
+
+        List<List<Integer>> buckets = new ArrayList<>(1 << BUCKET_BITS);
+        for (int i = 0; i < (1 << BUCKET_BITS); i++) {
+            buckets.add(new ArrayList<>());
+        }
+
+        for (Integer rankKey : rankKeyToValue.keySet()) {
+            buckets.get((rankKey * bucketMultiplier) >>> bucketShift).add(rankKey);
+        }
+
+        List<Integer> bucketsOrder = new ArrayList<>(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            bucketsOrder.add(i);
+        }
+        bucketsOrder.sort((b1, b2) -> Integer.compare(buckets.get(b2).size(), buckets.get(b1).size()));
+
+        int[] displacements = new int[1 << BUCKET_BITS];
+        int[] values = new int[1 << SLOT_BITS];
+        boolean[] occupied = new boolean[1 << SLOT_BITS];
+
+        for (Integer bucket : bucketsOrder) {
+            List<Integer> keys = buckets.get(bucket);
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            // Keys of the same bucket that share a base slot can never be separated by a displacement
+            int[] baseSlots = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                baseSlots[i] = (keys.get(i) * slotMultiplier) >>> slotShift;
+                for (int j = 0; j < i; j++) {
+                    if (baseSlots[i] == baseSlots[j]) {
+                        return null;
+                    }
+                }
+            }
+
+            int displacement = findDisplacement(baseSlots, occupied, slotMask);
+            if (displacement < 0) {
+                return null;
+            }
+
+            displacements[bucket] = displacement;
+            for (int i = 0; i < keys.size(); i++) {
+                int slot = (baseSlots[i] + displacement) & slotMask;
+                occupied[slot] = true;
+                values[slot] = (int) rankKeyToValue.get(keys.get(i));
+            }
+        }
+
+        return new HandRankLookupTable(bucketMultiplier, slotMultiplier, BUCKET_BITS, SLOT_BITS, displacements, values, flushValues);
+    }
+
+    /**
+     * Find a displacement such that all base slots land on free slots.
+     * @return The displacement, or -1 if there is no such displacement
+     */
+    private static int findDisplacement(int[] baseSlots, boolean[] occupied, int slotMask) {
+        for (int displacement = 0; displacement <= slotMask; displacement++) {
+            boolean isValid = true;
+            for (int i = 0; (i < baseSlots.length) && isValid; i++) {
+                isValid = !occupied[(baseSlots[i] + displacement) & slotMask];
+            }
+
+            if (isValid) {
+                return displacement;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int rankKeyOf(int[] counts) {
+        int rankKey = 0;
+        for (int rank = counts.length - 1; rank >= 0; rank--) {
+            rankKey = rankKey * 5 + counts[rank];
+        }
+
+        return rankKey;
+    }
+}
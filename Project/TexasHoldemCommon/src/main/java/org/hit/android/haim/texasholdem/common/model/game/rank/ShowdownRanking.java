@@ -0,0 +1,123 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+
+import java.util.List;
+
+/**
+ * The ranking of several hands against the same board, as calculated by {@link HandRankCalculator#calculateShowdown(Board, List)}.<br/>
+ * Hands are referred to by their index at the list of hands we ranked. They are ordered by strength, best first, and hands
+ * of the same strength are grouped together, so a group represents a tie.
+ * <p>
+ *     The {@link HandRankCalculatorResult} of a hand (which holds the selected cards) is calculated on demand and kept, as
+ *     usually we need it for the winners only.
+ * </p>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class ShowdownRanking {
+    private final Board board;
+    private final List<Hand> hands;
+
+    /**
+     * Packed value of each hand. See {@link HandRankLookupTable}
+     */
+    private final int[] values;
+
+    /**
+     * Indices of the hands, ordered by strength, best first
+     */
+    private final int[] order;
+
+    /**
+     * Where each group starts at {@link #order}. The last element is the amount of hands, so a group ends where the next one starts.
+     */
+    private final int[] groupStarts;
+
+    private final int amountOfGroups;
+
+    /**
+     * Results we have calculated so far, by hand index
+     */
+    private final HandRankCalculatorResult[] results;
+
+    /**
+     * Constructs a new {@link ShowdownRanking}
+     * @param board The board all hands share
+     * @param hands The hands we have ranked
+     * @param values Packed value of each hand
+     */
+    ShowdownRanking(Board board, List<Hand> hands, int[] values) {
+        this.board = board;
+        this.hands = hands;
+        this.values = values;
+        results = new HandRankCalculatorResult[values.length];
+        order = new int[values.length];
+        groupStarts = new int[values.length + 1];
+
+        // Insertion sort, best first. There are 7 hands at most at a table.
+        for (int i = 0; i < order.length; i++) {
+            int j = i;
+            while ((j > 0) && (values[order[j - 1]] < values[i])) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+
+        int groups = 0;
+        for (int i = 0; i < order.length; i++) {
+            if ((i == 0) || (values[order[i]] != values[order[i - 1]])) {
+                groupStarts[groups++] = i;
+            }
+        }
+        groupStarts[groups] = order.length;
+        amountOfGroups = groups;
+    }
+
+    /**
+     * @return Amount of groups of hands having the same strength
+     */
+    public int getAmountOfGroups() {
+        return amountOfGroups;
+    }
+
+    /**
+     * @param group A group, in range [0, {@link #getAmountOfGroups()}). Group 0 holds the best hands
+     * @return How many hands there are in the specified group. More than one means a tie
+     */
+    public int getGroupSize(int group) {
+        return groupStarts[group + 1] - groupStarts[group];
+    }
+
+    /**
+     * @param group A group, in range [0, {@link #getAmountOfGroups()})
+     * @param position Position of a hand in the group, in range [0, {@link #getGroupSize(int)})
+     * @return The index of the hand, at the list of hands we ranked
+     */
+    public int getHandIndex(int group, int position) {
+        return order[groupStarts[group] + position];
+    }
+
+    /**
+     * @param handIndex Index of a hand, at the list of hands we ranked
+     * @return The packed value of that hand. See {@link HandRankLookupTable}
+     */
+    public int getValue(int handIndex) {
+        return values[handIndex];
+    }
+
+    /**
+     * Get the result of a hand, with the cards that built its rank.
+     * @param handIndex Index of a hand, at the list of hands we ranked
+     * @return The result of that hand
+     */
+    public HandRankCalculatorResult getResult(int handIndex) {
+        if (results[handIndex] == null) {
+            results[handIndex] = HandRankCalculator.calculate(board, hands.get(handIndex));
+        }
+
+        return results[handIndex];
+    }
+}
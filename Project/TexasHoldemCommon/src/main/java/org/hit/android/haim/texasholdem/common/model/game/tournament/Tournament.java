@@ -0,0 +1,482 @@
+package org.hit.android.haim.texasholdem.common.model.game.tournament;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.GameClock;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+import org.hit.android.haim.texasholdem.common.model.game.Players;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A multi-table tournament.<br/>
+ * Players register before the tournament starts, and are dealt to as few tables as possible. Each table is a
+ * {@link TournamentTable}, pinned to one of the {@link GameEventLoops}, so tables play in parallel and no table waits
+ * for another. Between two rounds of a table, the tournament takes a break by the loop of that table, where it:
+ * <ol>
+ *     <li>Seats the players that were moved to the table</li>
+ *     <li>Eliminates the players that have no chips left, and gives them their place</li>
+ *     <li>Updates the blinds, by the current {@link TournamentSettings#getBlindLevels() level}</li>
+ *     <li>Closes the table, when there are more tables than the players left need, moving all of its players away</li>
+ *     <li>Otherwise, balances the table, by moving a player to the table with the fewest players</li>
+ * </ol>
+ * Tables share no lock. The amount of players of each table, including players that are on their way to it, is kept
+ * at {@link #seats}, and a table reserves a seat at another table by compare-and-set before it moves a player there.
+ * The player is then handed over through the queue of the target table, which seats it at its own break, or right away
+ * when it waits for players. A table closes by setting its amount to {@link #CLOSED}, which fails while players are on
+ * their way to it, so no player is moved to a closed table.<br/>
+ * The tables that stay open are the first ones, as a table closes only when its index is not below the amount of tables
+ * needed for the players left, and players are moved to these first tables only.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class Tournament {
+    /**
+     * The value of {@link #seats} of a closed table
+     */
+    private static final int CLOSED = -1;
+
+    /**
+     * Preferences of this tournament
+     */
+    private final TournamentSettings settings;
+
+    /**
+     * The loops to run the tables with
+     */
+    private final GameEventLoops eventLoops;
+
+    /**
+     * The source of time of this tournament. Blind levels are scheduled at this clock
+     */
+    private final GameClock clock;
+
+    /**
+     * Players that have registered, until the tournament starts
+     */
+    private final Set<Player> registered = new LinkedHashSet<>();
+
+    /**
+     * The table of each player, by player identifier. Eliminated players keep the table they have busted out at
+     */
+    private final Map<String, TournamentTable> tableOfPlayer = new ConcurrentHashMap<>();
+
+    /**
+     * The place of each eliminated player, and of the winner, by player identifier
+     */
+    private final Map<String, Integer> places = new ConcurrentHashMap<>();
+
+    /**
+     * Current blind level. See {@link TournamentSettings#getBlindLevels()}
+     */
+    private final AtomicInteger level = new AtomicInteger();
+
+    /**
+     * How many players are still in the tournament
+     */
+    private final AtomicInteger playersLeft = new AtomicInteger();
+
+    /**
+     * The place to give the next eliminated player
+     */
+    private final AtomicInteger nextPlace = new AtomicInteger();
+
+    /**
+     * The tables, by their index. Set when the tournament starts
+     */
+    private volatile List<TournamentTable> tables = Collections.emptyList();
+
+    /**
+     * The amount of players of each table, by table index. Players on their way to a table are counted by it, and no longer
+     * counted by the table they leave. {@link #CLOSED} for a closed table
+     */
+    private volatile AtomicIntegerArray seats;
+
+    /**
+     * The task that moves the blinds to the next level
+     */
+    private volatile GameClock.Cancellable levelUpTask;
+
+    private volatile boolean isStarted;
+    private volatile boolean isOver;
+
+    /**
+     * Constructs a new {@link Tournament}
+     * @param settings Preferences of the tournament
+     * @param eventLoops The loops to run the tables with
+     * @param clock The source of time of the tournament and its tables
+     */
+    public Tournament(@NonNull TournamentSettings settings, @NonNull GameEventLoops eventLoops, @NonNull GameClock clock) {
+        if ((settings.getSeatsPerTable() < 2) || (settings.getSeatsPerTable() > GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS)) {
+            throw new IllegalArgumentException("Seats per table must be at [2, " + GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS + "]. Was: " + settings.getSeatsPerTable());
+        }
+
+        if (settings.getBlindLevels().isEmpty()) {
+            throw new IllegalArgumentException("There must be one blind level at least");
+        }
+
+        this.settings = settings;
+        this.eventLoops = eventLoops;
+        this.clock = clock;
+    }
+
+    /**
+     * Create a table of this tournament. Override to customize the tables. (e.g. silence their logs in simulations)
+     * @param index The index of the table
+     * @param gameSettings Preferences of the table
+     * @return A new table
+     */
+    protected TournamentTable newTable(int index, GameSettings gameSettings) {
+        return new TournamentTable(this, index, gameSettings, eventLoops, clock);
+    }
+
+    /**
+     * Register a player to this tournament. The player gets the {@link TournamentSettings#getStartingChips() starting chips}
+     * @param player The player to register
+     * @throws IllegalArgumentException In case the tournament has already started, or the player is already registered
+     */
+    public synchronized void register(@NonNull Player player) throws IllegalArgumentException {
+        if (isStarted) {
+            throw new IllegalArgumentException("Cannot register to a tournament that has already started.");
+        }
+
+        if (!registered.add(player)) {
+            throw new IllegalArgumentException("Player " + player + " is already registered");
+        }
+    }
+
+    /**
+     * Start this tournament.<br/>
+     * Players are dealt to as few tables as possible, round robin, so tables differ by one player at most.
+     * @throws IllegalArgumentException In case the tournament has already started, or there are less than 2 players
+     */
+    public synchronized void start() throws IllegalArgumentException {
+        if (isStarted) {
+            throw new IllegalArgumentException("Tournament has already started.");
+        }
+
+        if (registered.size() < 2) {
+            throw new IllegalArgumentException("Cannot start a tournament with less than 2 players. Was: " + registered.size());
+        }
+
+        int amountOfTables = ceilDiv(registered.size(), settings.getSeatsPerTable());
+        TournamentSettings.BlindLevel blindLevel = getBlindLevel();
+        List<TournamentTable> tables = new ArrayList<>(amountOfTables);
+        for (int i = 0; i < amountOfTables; i++) {
+            tables.add(newTable(i, GameSettings.builder()
+                .smallBet(blindLevel.getSmallBet())
+                .bigBet(blindLevel.getBigBet())
+                .turnTime(settings.getTurnTime())
+                .isNetwork(settings.isNetwork())
+                .build()));
+        }
+
+        int[] seatsOfTable = new int[amountOfTables];
+        int i = 0;
+        for (Player player : registered) {
+            int index = i % amountOfTables;
+            player.getChips().set(settings.getStartingChips());
+            player.setPosition(i / amountOfTables);
+            tables.get(index).addPlayer(player);
+            tableOfPlayer.put(player.getId(), tables.get(index));
+            seatsOfTable[index]++;
+            i++;
+        }
+
+        playersLeft.set(registered.size());
+        nextPlace.set(registered.size());
+        seats = new AtomicIntegerArray(seatsOfTable);
+        this.tables = Collections.unmodifiableList(tables);
+        registered.clear();
+        isStarted = true;
+
+        levelUpTask = clock.schedule(this::levelUp, settings.getLevelDuration());
+        tables.forEach(GameEngine::start);
+    }
+
+    /**
+     * Stop this tournament, and all of its tables
+     */
+    public void stop() {
+        isOver = true;
+        if (levelUpTask != null) {
+            levelUpTask.cancel();
+        }
+
+        tables.forEach(GameEngine::stop);
+    }
+
+    /**
+     * Move the blinds to the next level. Tables update their blinds at their next break
+     */
+    private void levelUp() {
+        if (isOver) {
+            return;
+        }
+
+        if (level.get() < settings.getBlindLevels().size() - 1) {
+            level.incrementAndGet();
+            levelUpTask = clock.schedule(this::levelUp, settings.getLevelDuration());
+        }
+    }
+
+    /**
+     * The break of a table, between two rounds. Executed by the loop of the table. See {@link Tournament}
+     * @param table The table that takes a break
+     * @param nextRound The action that launches the next round of the table
+     */
+    void onBreak(TournamentTable table, Runnable nextRound) {
+        if (isOver || (table.getGameState() == GameEngine.GameState.STOPPED)) {
+            return;
+        }
+
+        table.seatArrivals();
+        eliminateBustedPlayers(table);
+
+        if (playersLeft.get() == 1) {
+            finish(table);
+            return;
+        }
+
+        TournamentSettings.BlindLevel blindLevel = getBlindLevel();
+        table.getGameSettings().setSmallBet(blindLevel.getSmallBet());
+        table.getGameSettings().setBigBet(blindLevel.getBigBet());
+
+        if (closeIfNeeded(table)) {
+            return;
+        }
+
+        balance(table);
+        wakeUpWaitingTables(table);
+        nextRound.run();
+    }
+
+    /**
+     * Continue a table that waits for players, once players are moved to it. Executed by the loop of the table
+     * @param table The table to resume
+     */
+    private void resume(TournamentTable table) {
+        if (isOver || (table.getGameState() != GameEngine.GameState.READY) || (seats.get(table.getIndex()) == CLOSED)) {
+            return;
+        }
+
+        table.seatArrivals();
+        if (!closeIfNeeded(table) && (table.getPlayers().size() > 1)) {
+            table.start();
+        }
+    }
+
+    /**
+     * Remove the players of a table that have no chips left. Players that bust out at the same break share no order, so
+     * they get the next places one by one.
+     * @param table The table to remove busted players from
+     */
+    private void eliminateBustedPlayers(TournamentTable table) {
+        List<Player> busted = new ArrayList<>();
+        table.getPlayers().getPlayers().forEach(player -> {
+            if (player.getChips().get() <= 0) {
+                busted.add(player);
+            }
+        });
+
+        for (Player player : busted) {
+            places.put(player.getId(), nextPlace.getAndDecrement());
+            table.removePlayer(player);
+            seats.decrementAndGet(table.getIndex());
+            playersLeft.decrementAndGet();
+        }
+    }
+
+    /**
+     * The last player left wins the tournament. The last player was playing with the last player eliminated, so it is
+     * at the table that eliminated it.<br/>
+     * Other tables are stopped by their own loops, as a loop must not wait for another loop.
+     * @param table The table of the winner
+     */
+    private void finish(TournamentTable table) {
+        table.getPlayers().getPlayers().forEach(player -> places.put(player.getId(), nextPlace.getAndDecrement()));
+        isOver = true;
+        if (levelUpTask != null) {
+            levelUpTask.cancel();
+        }
+
+        table.stop();
+        for (TournamentTable other : tables) {
+            if (other != table) {
+                other.getEventLoop().execute(other::stop);
+            }
+        }
+    }
+
+    /**
+     * Close a table in case there are more tables than the players left need, and this table is one of the extra tables.
+     * All players of the table are moved to the tables that stay open.<br/>
+     * Closing fails while players are on their way to the table. We try again at its next break, or once they arrive.
+     * @param table The table to close
+     * @return Whether the table was closed
+     */
+    private boolean closeIfNeeded(TournamentTable table) {
+        int index = table.getIndex();
+        int neededTables = ceilDiv(playersLeft.get(), settings.getSeatsPerTable());
+        if (index < neededTables) {
+            return false;
+        }
+
+        Players players = table.getPlayers();
+        if (!seats.compareAndSet(index, players.size(), CLOSED)) {
+            return false;
+        }
+
+        List<Player> leaving = new ArrayList<>(players.getPlayers());
+        int remaining = leaving.size();
+        for (Player player : leaving) {
+            TournamentTable target = reserveSeat(neededTables, CLOSED);
+            if (target == null) {
+                // Not supposed to happen, as the first tables have room for all players left. Keep playing with the rest
+                seats.set(index, remaining);
+                return false;
+            }
+
+            moveTo(table, player, target);
+            remaining--;
+        }
+
+        table.stop();
+        return true;
+    }
+
+    /**
+     * Move a player to the table with the fewest players, as long as this table has two players more than it
+     * @param table The table to balance
+     */
+    private void balance(TournamentTable table) {
+        int index = table.getIndex();
+        int neededTables = ceilDiv(playersLeft.get(), settings.getSeatsPerTable());
+        Players players = table.getPlayers();
+        while (players.size() > 1) {
+            // Only a seat at a table that has two players less than this table is worth moving to
+            TournamentTable target = reserveSeat(neededTables, seats.get(index) - 2);
+            if (target == null) {
+                break;
+            }
+
+            seats.decrementAndGet(index);
+            int lastSeat = 31 - Integer.numberOfLeadingZeros(players.getOccupiedSeats());
+            moveTo(table, players.getPlayer(lastSeat), target);
+        }
+    }
+
+    /**
+     * Reserve a seat at the open table with the fewest players
+     * @param neededTables The amount of tables the players left need. Players are moved to the tables below it
+     * @param maxPlayers The maximum amount of players a table can have in order to reserve a seat at it, or {@link #CLOSED}
+     *                   when any table that has a free seat will do
+     * @return The table a seat was reserved at, or {@code null} in case there is no such table
+     */
+    private TournamentTable reserveSeat(int neededTables, int maxPlayers) {
+        int limit = maxPlayers == CLOSED ? settings.getSeatsPerTable() - 1 : Math.min(maxPlayers, settings.getSeatsPerTable() - 1);
+        while (true) {
+            int target = -1;
+            int fewest = Integer.MAX_VALUE;
+            for (int i = 0; i < neededTables; i++) {
+                int playersOfTable = seats.get(i);
+                if ((playersOfTable != CLOSED) && (playersOfTable <= limit) && (playersOfTable < fewest)) {
+                    target = i;
+                    fewest = playersOfTable;
+                }
+            }
+
+            if (target < 0) {
+                return null;
+            }
+
+            if (seats.compareAndSet(target, fewest, fewest + 1)) {
+                return tables.get(target);
+            }
+        }
+    }
+
+    /**
+     * Hand a player over to another table, and wake that table up in case it waits for players
+     * @param from The table the player leaves
+     * @param player The player to move
+     * @param to The table to move the player to. A seat must be reserved at it
+     */
+    private void moveTo(TournamentTable from, Player player, TournamentTable to) {
+        from.removePlayer(player);
+        tableOfPlayer.put(player.getId(), to);
+        to.arrive(player);
+        to.getEventLoop().execute(() -> resume(to));
+    }
+
+    /**
+     * Resume the tables that wait for players, as they take no break, and might have to close
+     * @param table The table that takes a break
+     */
+    private void wakeUpWaitingTables(TournamentTable table) {
+        for (TournamentTable other : tables) {
+            if ((other != table) && (other.getGameState() == GameEngine.GameState.READY) && (seats.get(other.getIndex()) != CLOSED)) {
+                other.getEventLoop().execute(() -> resume(other));
+            }
+        }
+    }
+
+    private static int ceilDiv(int x, int y) {
+        return (x + y - 1) / y;
+    }
+
+    /**
+     * @return The tables of this tournament, including closed tables. Empty until the tournament starts
+     */
+    public List<TournamentTable> getTables() {
+        return tables;
+    }
+
+    /**
+     * @param playerId Identifier of a player
+     * @return The table the player sits at, or is on its way to, or {@code null} in case the player is not in this tournament
+     */
+    public TournamentTable getTableOf(String playerId) {
+        return tableOfPlayer.get(playerId);
+    }
+
+    /**
+     * @return How many players are still in the tournament
+     */
+    public int getPlayersLeft() {
+        return playersLeft.get();
+    }
+
+    /**
+     * @return The place of each eliminated player, and of the winner once the tournament is over, by player identifier
+     */
+    public Map<String, Integer> getPlaces() {
+        return Collections.unmodifiableMap(places);
+    }
+
+    /**
+     * @return The current blind level
+     */
+    public TournamentSettings.BlindLevel getBlindLevel() {
+        return settings.getBlindLevels().get(level.get());
+    }
+
+    /**
+     * @return Whether the tournament has started
+     */
+    public boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * @return Whether the tournament is over, as there is a winner or it was stopped
+     */
+    public boolean isOver() {
+        return isOver;
+    }
+}
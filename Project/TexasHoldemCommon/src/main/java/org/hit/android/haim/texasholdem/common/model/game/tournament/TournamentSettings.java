@@ -0,0 +1,80 @@
+package org.hit.android.haim.texasholdem.common.model.game.tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preferences of a {@link Tournament}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentSettings {
+    /**
+     * Chips of each player when the tournament starts
+     */
+    @Builder.Default
+    private long startingChips = 10_000;
+
+    /**
+     * How many players sit at a full table
+     */
+    @Builder.Default
+    private int seatsPerTable = GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS;
+
+    /**
+     * The blinds of each level, from the first level up. The last level stays until the tournament is over
+     */
+    @Builder.Default
+    private List<BlindLevel> blindLevels = defaultBlindLevels();
+
+    /**
+     * How long each blind level lasts. In millis
+     */
+    @Builder.Default
+    private long levelDuration = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * How much time each player has for its turn. In millis
+     */
+    @Builder.Default
+    private long turnTime = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * True when the tables run at the server, where players have a limited time for their turn. See {@link #turnTime}
+     */
+    private boolean isNetwork;
+
+    /**
+     * @return Blinds that double about every two levels, starting at 25/50
+     */
+    public static List<BlindLevel> defaultBlindLevels() {
+        return Collections.unmodifiableList(Arrays.asList(
+            new BlindLevel(25, 50), new BlindLevel(50, 100), new BlindLevel(75, 150), new BlindLevel(100, 200),
+            new BlindLevel(150, 300), new BlindLevel(200, 400), new BlindLevel(300, 600), new BlindLevel(400, 800),
+            new BlindLevel(600, 1200), new BlindLevel(800, 1600), new BlindLevel(1000, 2000), new BlindLevel(1500, 3000),
+            new BlindLevel(2000, 4000), new BlindLevel(3000, 6000), new BlindLevel(5000, 10000)));
+    }
+
+    /**
+     * The mandatory bets of a blind level
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BlindLevel {
+        private long smallBet;
+        private long bigBet;
+    }
+}
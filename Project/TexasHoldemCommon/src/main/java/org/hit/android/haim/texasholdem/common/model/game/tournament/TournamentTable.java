@@ -0,0 +1,88 @@
+package org.hit.android.haim.texasholdem.common.model.game.tournament;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.DeckRandomSource;
+import org.hit.android.haim.texasholdem.common.model.game.GameClock;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A table of a {@link Tournament}.<br/>
+ * A tournament table plays like any other game, though instead of launching the next round on its own, it lets its
+ * tournament take a break first. At the break, by the loop of the table, the tournament eliminates the players that have
+ * busted out, updates the blinds, and moves players between tables. See {@link Tournament}<br/>
+ * Players that other tables move to this table are handed over through a lock-free queue, and seated at the next break,
+ * or right away when this table waits for players.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class TournamentTable extends GameEngine {
+    @JsonIgnore
+    private final Tournament tournament;
+
+    /**
+     * The index of this table in its tournament
+     */
+    @JsonIgnore
+    private final int index;
+
+    /**
+     * Players moved to this table, that are not seated yet. Written by the loops of other tables, read by the loop of this table
+     */
+    @JsonIgnore
+    private final Queue<Player> arrivals = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructs a new {@link TournamentTable}
+     * @param tournament The tournament this table belongs to
+     * @param index The index of this table in its tournament
+     * @param gameSettings Preferences of this table. The tournament updates the blinds of it when a level is over
+     * @param eventLoops The loops to run this table with
+     * @param clock The clock of the tournament
+     */
+    public TournamentTable(@NonNull Tournament tournament, int index, @NonNull GameSettings gameSettings, @NonNull GameEventLoops eventLoops, @NonNull GameClock clock) {
+        super(gameSettings, (player, chips) -> {}, DeckRandomSource.secure(), eventLoops, clock);
+        this.tournament = tournament;
+        this.index = index;
+    }
+
+    /**
+     * @return The index of this table in its tournament
+     */
+    @JsonIgnore
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Let the tournament take its break before the next round is launched
+     */
+    @Override
+    protected void scheduleNextRound(Runnable nextRound) {
+        super.scheduleNextRound(() -> tournament.onBreak(this, nextRound));
+    }
+
+    /**
+     * Hand a player over to this table. Called by the loop of the table the player leaves
+     * @param player The player to seat at this table
+     */
+    void arrive(Player player) {
+        arrivals.add(player);
+    }
+
+    /**
+     * Seat the players that have arrived. Called by the loop of this table, when a round is not running
+     */
+    void seatArrivals() {
+        Player player;
+        while ((player = arrivals.poll()) != null) {
+            addPlayer(player);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package org.hit.android.haim.texasholdem.common.util;
+
+import lombok.NonNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A timer that schedules many short lived timeouts (e.g. turn timeouts of all games) using a single thread.<br/>
+ * Timeouts are hashed into a wheel of buckets by their deadline, and the thread of the timer advances one bucket
+ * every tick, expiring the timeouts of that bucket. Hence scheduling and cancelling a timeout is O(1), no matter
+ * how many timeouts are pending, and a timeout fires at most about one tick after its deadline.<br/>
+ * Timeouts are executed by the thread of the timer, so they must be short. Long work should be handed to another
+ * executor. A timeout that throws an exception is reported to the {@link #setFailureHandler(TaskFailureHandler) failure handler}
+ * of the timer, and the timer keeps running.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HashedWheelTimer {
+    /**
+     * Default duration of a tick. This is the accuracy of the timer
+     */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * Default amount of buckets. With the default tick, a round of the wheel is ~5 seconds
+     */
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    /**
+     * Limit the amount of new timeouts we move into the wheel at a single tick, so a burst does not delay expiration
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    /**
+     * Timeouts that were scheduled, and were not moved into the wheel yet. Only the thread of the timer accesses the
+     * wheel, so other threads pass their timeouts through this queue
+     */
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Timeouts that were cancelled, and were not removed from the wheel yet
+     */
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Time (nano) that the timer has started at. Deadlines are relative to this time
+     */
+    private final long startTime;
+
+    private final String name;
+    private final Thread worker;
+    private volatile boolean stopped;
+
+    /**
+     * Where to report timeouts that have failed. See {@link #setFailureHandler(TaskFailureHandler)}
+     */
+    private volatile TaskFailureHandler failureHandler = TaskFailureHandler.IGNORE;
+
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final LongAdder expiredTimeouts = new LongAdder();
+    private final LongAdder cancelledTimeoutsCount = new LongAdder();
+    private final LongAdder failedTimeouts = new LongAdder();
+    private final LongAdder totalLatenessNanos = new LongAdder();
+    private final LongAccumulator maxLatenessNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs a new {@link HashedWheelTimer} with {@link #DEFAULT_TICK_MILLIS} and {@link #DEFAULT_TICKS_PER_WHEEL}
+     * @param name Name of the timer, for meaningful thread name
+     */
+    public HashedWheelTimer(@NonNull String name) {
+        this(name, DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Constructs a new {@link HashedWheelTimer}
+     * @param name Name of the timer, for meaningful thread name
+     * @param tickMillis Duration of a tick. This is the accuracy of the timer
+     * @param ticksPerWheel Amount of buckets in the wheel. Rounded up to a power of 2
+     */
+    public HashedWheelTimer(@NonNull String name, long tickMillis, int ticksPerWheel) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive. Was: " + tickMillis);
+        }
+
+        if ((ticksPerWheel <= 0) || (ticksPerWheel > (1 << 30))) {
+            throw new IllegalArgumentException("Ticks per wheel must be in range [1, 2^30]. Was: " + ticksPerWheel);
+        }
+
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int amountOfBuckets = 1;
+        while (amountOfBuckets < ticksPerWheel) {
+            amountOfBuckets <<= 1;
+        }
+
+        wheel = new Bucket[amountOfBuckets];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = wheel.length - 1;
+
+        this.name = name;
+        startTime = System.nanoTime();
+        worker = new CustomThreadFactory(name).newThread(this::work);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * @return The timer shared by all games
+     */
+    public static HashedWheelTimer getInstance() {
+        return SingletonRef.instance;
+    }
+
+    /**
+     * Schedule a task to run once, after the specified delay
+     * @param task The task to run. It is executed by the thread of the timer, so it must be short
+     * @param delay How much time to wait before running the task
+     * @param unit Unit of the delay
+     * @return A {@link Timeout} that can be used to cancel the task
+     */
+    public Timeout newTimeout(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("Timer was stopped");
+        }
+
+        Timeout timeout = new Timeout(task, now() + Math.max(0, unit.toNanos(delay)));
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Set the handler to report timeouts that have failed to. It is called by the thread of the timer, so it must be short.
+     * @param failureHandler The handler to report failures to
+     */
+    public void setFailureHandler(@NonNull TaskFailureHandler failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Stop the timer. Pending timeouts will never fire
+     */
+    public void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    /**
+     * @return Amount of timeouts that were scheduled, and did not fire or cancelled yet
+     */
+    public int getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * @return Amount of timeouts that have fired
+     */
+    public long getExpiredTimeouts() {
+        return expiredTimeouts.sum();
+    }
+
+    /**
+     * @return Amount of timeouts that were cancelled before they fired
+     */
+    public long getCancelledTimeouts() {
+        return cancelledTimeoutsCount.sum();
+    }
+
+    /**
+     * @return Amount of timeouts whose task has thrown an exception
+     */
+    public long getFailedTimeouts() {
+        return failedTimeouts.sum();
+    }
+
+    /**
+     * @return The longest time (milliseconds) that a timeout has fired after its deadline
+     */
+    public double getMaxLatenessMillis() {
+        return maxLatenessNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return The average time (milliseconds) that timeouts fire after their deadline
+     */
+    public double getAverageLatenessMillis() {
+        long expired = expiredTimeouts.sum();
+        return expired == 0 ? 0 : totalLatenessNanos.sum() / 1_000_000.0 / expired;
+    }
+
+    private void onTimeoutFailed(Exception failure) {
+        failedTimeouts.increment();
+        try {
+            failureHandler.onTaskFailed(name, failure);
+        } catch (RuntimeException ignore) {
+            // A failing handler must not stop the timer either
+        }
+    }
+
+    private long now() {
+        return System.nanoTime() - startTime;
+    }
+
+    private void work() {
+        long tick = 0;
+        while (!stopped) {
+            long tickDeadline = waitForNextTick(tick);
+            if (tickDeadline < 0) {
+                break;
+            }
+
+            transferNewTimeouts(tick);
+            removeCancelledTimeouts();
+            wheel[(int)(tick & mask)].expireTimeouts(tickDeadline);
+            tick++;
+        }
+    }
+
+    /**
+     * @param tick The tick we wait for its end
+     * @return Current time, once the tick is over, or -1 in case the timer was stopped
+     */
+    private long waitForNextTick(long tick) {
+        long tickDeadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = now();
+            long sleepMillis = (tickDeadline - currentTime + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return currentTime;
+            }
+
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferNewTimeouts(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+
+            if (timeout.state.get() != Timeout.STATE_INIT) {
+                continue;
+            }
+
+            long deadlineTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+
+            // A deadline that has already passed goes to the current bucket, to fire now
+            wheel[(int)(Math.max(deadlineTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        for (Timeout timeout = cancelledTimeouts.poll(); timeout != null; timeout = cancelledTimeouts.poll()) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A task scheduled by {@link HashedWheelTimer#newTimeout(Runnable, long, TimeUnit)}
+     */
+    public final class Timeout {
+        private static final int STATE_INIT = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+        // The following are accessed by the thread of the timer only
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel this timeout, so its task will not run
+         * @return Whether the timeout was cancelled, or {@code false} in case it has already fired or cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_INIT, STATE_CANCELLED)) {
+                return false;
+            }
+
+            pendingTimeouts.decrementAndGet();
+            cancelledTimeoutsCount.increment();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * @return Whether this timeout was cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        /**
+         * @return Whether this timeout has fired
+         */
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+                return;
+            }
+
+            long lateness = Math.max(0, now() - deadline);
+            pendingTimeouts.decrementAndGet();
+            expiredTimeouts.increment();
+            totalLatenessNanos.add(lateness);
+            maxLatenessNanos.accumulate(lateness);
+
+            try {
+                task.run();
+            } catch (Exception e) {
+                // Do not let a failing task stop the timer
+                onTimeoutFailed(e);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timeouts hashed into one slot of the wheel, so we can remove a timeout in O(1)
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Fire the timeouts of this bucket whose deadline has passed, and count down the rounds of the others
+         * @param tickDeadline Current time
+         */
+        void expireTimeouts(long tickDeadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if ((timeout.remainingRounds <= 0) && (timeout.deadline <= tickDeadline)) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+    }
+
+    private static class SingletonRef {
+        static final HashedWheelTimer instance = new HashedWheelTimer("TurnTimeoutTimer");
+    }
+}
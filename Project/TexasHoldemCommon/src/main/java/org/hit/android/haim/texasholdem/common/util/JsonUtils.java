@@ -23,6 +23,13 @@ public class JsonUtils {
         return objectMapper;
     }
 
+    /**
+     * @return A mapper shared by everyone that does not need a mapper of its own. Thread safe
+     */
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     public static <V> String writeValueAsString(V value) throws JsonProcessingException {
         return objectMapper.writeValueAsString(value);
     }
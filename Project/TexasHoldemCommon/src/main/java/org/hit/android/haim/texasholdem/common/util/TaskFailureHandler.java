@@ -0,0 +1,24 @@
+package org.hit.android.haim.texasholdem.common.util;
+
+/**
+ * A handler of failures of tasks that nobody waits for, so a failing task does not go unnoticed. (e.g. commands that
+ * were {@link java.util.concurrent.Executor#execute(Runnable) executed} by the event loop of a game, or timeouts of a
+ * {@link HashedWheelTimer})<br/>
+ * We have no logger here, hence it is up to the application to report failures. By default, executors only count them.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@FunctionalInterface
+public interface TaskFailureHandler {
+    /**
+     * A handler that does nothing, for executors that nobody has set a handler to
+     */
+    TaskFailureHandler IGNORE = (executorName, failure) -> {};
+
+    /**
+     * Called by the thread that has executed a failing task, once the task is over
+     * @param executorName Name of the executor that has executed the task, for meaningful reports
+     * @param failure What the task has thrown
+     */
+    void onTaskFailed(String executorName, Throwable failure);
+}
@@ -0,0 +1,99 @@
+package org.hit.android.haim.texasholdem.common.simulation;
+
+/**
+ * A histogram of latencies (nanoseconds), to find percentiles without keeping every sample.<br/>
+ * Values are counted in buckets: 16 buckets for each power of 2, so a percentile is accurate to ~6%.
+ * Recording does not allocate, so it does not affect the allocation measurement of a simulation.<br/>
+ * Not thread safe. Each table records into its own histogram, and they are {@link #add(LatencyHistogram) merged} at the end.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[Long.SIZE * SUB_BUCKETS];
+    private long count;
+    private long max;
+
+    /**
+     * @param nanos A latency to count
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add the counts of another histogram to this one
+     * @param other The histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return Amount of recorded latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The highest recorded latency
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile The percentile to get, in range (0, 100]
+     * @return The latency (nanoseconds) that the specified percentile of the latencies are at or below, or 0 when empty
+     */
+    public long getPercentile(double percentile) {
+        long target = (long)Math.ceil(count * percentile / 100);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if ((cumulative >= target) && (cumulative > 0)) {
+                return Math.min(max, valueOf(i));
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Values smaller than {@link #SUB_BUCKETS} get a bucket each. Bigger values are bucketed by their highest bit, and
+     * the {@link #SUB_BUCKET_BITS} bits after it.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int)value;
+        }
+
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int)(value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((highestBit - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * @return The highest value of a bucket
+     */
+    private static long valueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = SUB_BUCKETS + (index & (SUB_BUCKETS - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
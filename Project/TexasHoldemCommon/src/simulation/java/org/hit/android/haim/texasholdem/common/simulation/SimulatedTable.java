@@ -0,0 +1,144 @@
+package org.hit.android.haim.texasholdem.common.simulation;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.GameClock;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A table of a {@link TableSimulation}.<br/>
+ * The table plays a single hand every time it runs, by the {@link org.hit.android.haim.texasholdem.common.model.game.GameEventLoop loop}
+ * of its game. Then it advances its clock, which queues the launch of the next round at the loop, and queues itself
+ * after it. This way tables that share a loop take turns, like real tables do.<br/>
+ * All fields are accessed by the thread of the loop only, and read by the simulation once the table is {@link #done}.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+class SimulatedTable implements Runnable {
+    /**
+     * Protect against a hand that never ends, in case the engine gets stuck
+     */
+    private static final int MAX_ACTIONS_PER_HAND = 1000;
+
+    private final GameEngine game;
+    private final GameClock.ManualClock clock;
+    private final List<Player> players;
+    private final Map<String, SimulationBot> bots;
+    private final long totalChips;
+    private final int handsToPlay;
+    private final CountDownLatch done;
+    private boolean isStarted;
+
+    final LatencyHistogram latency = new LatencyHistogram();
+    long hands;
+    long actions;
+    long rejectedActions;
+    long chipConservationViolations;
+    Exception failure;
+
+    /**
+     * Constructs a new {@link SimulatedTable}, seating the players at the game
+     * @param game The game of this table. Must run in event loop mode
+     * @param clock The clock of the game
+     * @param players The players to seat, with their bots
+     * @param handsToPlay How many hands to play
+     * @param done A latch to count down when the table is over
+     */
+    SimulatedTable(GameEngine game, GameClock.ManualClock clock, Map<Player, SimulationBot> players, int handsToPlay, CountDownLatch done) {
+        this.game = game;
+        this.clock = clock;
+        this.handsToPlay = handsToPlay;
+        this.done = done;
+        this.players = new ArrayList<>(players.keySet());
+
+        bots = new HashMap<>(players.size());
+        long chips = 0;
+        for (Map.Entry<Player, SimulationBot> entry : players.entrySet()) {
+            bots.put(entry.getKey().getId(), entry.getValue());
+            chips += entry.getKey().getChips().get();
+            game.addPlayer(entry.getKey());
+        }
+
+        totalChips = chips;
+    }
+
+    /**
+     * Queue the first hand of this table at its loop
+     */
+    void start() {
+        game.getEventLoop().execute(this);
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!isStarted) {
+                isStarted = true;
+                game.start();
+            }
+
+            // The round is not launched when there is one player left with chips
+            if (game.getGameState() != GameEngine.GameState.STARTED) {
+                finish();
+                return;
+            }
+
+            playHand();
+            if (hands >= handsToPlay) {
+                finish();
+                return;
+            }
+
+            clock.advance(GameEngine.NEXT_ROUND_DELAY_MILLIS);
+            game.getEventLoop().execute(this);
+        } catch (Exception e) {
+            failure = e;
+            finish();
+        }
+    }
+
+    private void playHand() {
+        int handActions = 0;
+        while (game.getPlayerToEarnings() == null) {
+            if (++handActions > MAX_ACTIONS_PER_HAND) {
+                throw new IllegalStateException("Hand did not end after " + MAX_ACTIONS_PER_HAND + " actions");
+            }
+
+            Player player = game.getPlayers().getCurrentPlayer();
+            PlayerAction action = bots.get(player.getId()).nextAction(game, player);
+
+            long start = System.nanoTime();
+            try {
+                game.executePlayerAction(player, action);
+            } catch (IllegalArgumentException e) {
+                rejectedActions++;
+                game.executePlayerAction(player, PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.FOLD).build());
+            }
+            latency.record(System.nanoTime() - start);
+        }
+
+        actions += handActions;
+        hands++;
+
+        long chips = 0;
+        for (Player player : players) {
+            chips += player.getChips().get();
+        }
+
+        if (chips != totalChips) {
+            chipConservationViolations++;
+        }
+    }
+
+    private void finish() {
+        game.stop();
+        done.countDown();
+    }
+}
@@ -0,0 +1,84 @@
+package org.hit.android.haim.texasholdem.common.simulation;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+import org.hit.android.haim.texasholdem.common.model.game.DeckRandomSource;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+
+/**
+ * A bot that decides the action of a simulated player, when it is its turn.<br/>
+ * There are two kinds of bots:
+ * <ul>
+ *     <li>{@link Kind#CALLING} - Always checks or calls, so every hand goes through all streets until the showdown.</li>
+ *     <li>{@link Kind#RANDOM} - Folds, raises or checks / calls at random, so hands end at every street, with all-ins
+ *     and side pots.</li>
+ * </ul>
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@FunctionalInterface
+public interface SimulationBot {
+    /**
+     * @param game The game the bot plays at
+     * @param player The player of the bot. It is the current player of the game
+     * @return The action to execute
+     */
+    PlayerAction nextAction(GameEngine game, Player player);
+
+    /**
+     * @param kind Kind of the bot
+     * @param seed Seed of the random decisions. Ignored by {@link Kind#CALLING}
+     * @return A new bot
+     */
+    static SimulationBot of(@NonNull Kind kind, long seed) {
+        return kind == Kind.CALLING ? SimulationBot::checkOrCall : new RandomBot(DeckRandomSource.seeded(seed));
+    }
+
+    /**
+     * @param game The game the bot plays at
+     * @param player The player of the bot
+     * @return CHECK when there is no bet to call, or CALL otherwise
+     */
+    static PlayerAction checkOrCall(GameEngine game, Player player) {
+        PlayerActionKind actionKind = game.getPot().hasLastBet() ? PlayerActionKind.CALL : PlayerActionKind.CHECK;
+        return PlayerAction.builder().name(player.getName()).actionKind(actionKind).build();
+    }
+
+    /**
+     * Kinds of bots. See {@link SimulationBot}
+     */
+    enum Kind {
+        CALLING, RANDOM
+    }
+
+    /**
+     * Folds at 10% of its turns when there is a bet to call, raises at 10% of its turns, and checks / calls otherwise
+     */
+    final class RandomBot implements SimulationBot {
+        private final DeckRandomSource random;
+
+        private RandomBot(DeckRandomSource random) {
+            this.random = random;
+        }
+
+        @Override
+        public PlayerAction nextAction(GameEngine game, Player player) {
+            Long lastBet = game.getPot().getLastBet();
+            int decision = random.nextInt(10);
+
+            if ((decision == 0) && (lastBet != null)) {
+                return PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.FOLD).build();
+            }
+
+            if (decision == 1) {
+                long raise = Math.max(lastBet == null ? 0 : lastBet * 2, game.getGameSettings().getBigBet() * 2);
+                return PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.RAISE).chips(new Chips(raise)).build();
+            }
+
+            return checkOrCall(game, player);
+        }
+    }
+}
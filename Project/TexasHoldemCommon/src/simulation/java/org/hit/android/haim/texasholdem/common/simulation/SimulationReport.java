@@ -0,0 +1,76 @@
+package org.hit.android.haim.texasholdem.common.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The results of a {@link TableSimulation}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationReport {
+    private int tables;
+    private long hands;
+    private long actions;
+    private long elapsedMillis;
+
+    /**
+     * Latency percentiles of {@link org.hit.android.haim.texasholdem.common.model.game.GameEngine#executePlayerAction}, in microseconds
+     */
+    private double p50LatencyMicros;
+    private double p99LatencyMicros;
+    private double maxLatencyMicros;
+
+    /**
+     * Bytes allocated by the threads that run the tables, per hand. -1 when the JVM does not support measuring it
+     */
+    private long allocatedBytesPerHand;
+
+    /**
+     * Amount of hands after which the chips at a table differed from the chips the bots sat with
+     */
+    private long chipConservationViolations;
+
+    /**
+     * Amount of bot actions the engine rejected. A rejected action is replaced with FOLD
+     */
+    private long rejectedActions;
+
+    /**
+     * Amount of tables that failed with an unexpected exception, or a hand that did not end
+     */
+    private int failedTables;
+
+    /**
+     * @return Hands per second, over all tables
+     */
+    public double getHandsPerSecond() {
+        return elapsedMillis == 0 ? 0 : hands * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @return Whether chips were conserved and no table has failed
+     */
+    public boolean isSuccessful() {
+        return (chipConservationViolations == 0) && (failedTables == 0);
+    }
+
+    /**
+     * @return A readable summary of this report
+     */
+    public String toSummary() {
+        return String.format("Tables: %d, Hands: %d, Actions: %d, Elapsed: %d ms%n" +
+                "Hands/second: %.1f%n" +
+                "executePlayerAction latency: p50=%.1f us, p99=%.1f us, max=%.1f us%n" +
+                "Allocated bytes per hand: %d%n" +
+                "Chip conservation violations: %d, Rejected actions: %d, Failed tables: %d",
+            tables, hands, actions, elapsedMillis, getHandsPerSecond(), p50LatencyMicros, p99LatencyMicros, maxLatencyMicros,
+            allocatedBytesPerHand, chipConservationViolations, rejectedActions, failedTables);
+    }
+}
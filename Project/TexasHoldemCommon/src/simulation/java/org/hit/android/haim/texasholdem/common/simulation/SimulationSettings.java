@@ -0,0 +1,66 @@
+package org.hit.android.haim.texasholdem.common.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+
+/**
+ * Preferences of a {@link TableSimulation}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationSettings {
+    /**
+     * How many tables to play at the same time
+     */
+    @Builder.Default
+    private int tables = 100;
+
+    /**
+     * How many bots sit at each table
+     */
+    @Builder.Default
+    private int seatsPerTable = GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS;
+
+    /**
+     * How many hands to play at each table. A table ends earlier when there is one player left with chips
+     */
+    @Builder.Default
+    private int handsPerTable = 1000;
+
+    /**
+     * Chips of each bot, when it sits at a table
+     */
+    @Builder.Default
+    private long chips = 10_000;
+
+    @Builder.Default
+    private long smallBet = 1;
+
+    @Builder.Default
+    private long bigBet = 2;
+
+    /**
+     * What kind of bots to play with
+     */
+    @Builder.Default
+    private SimulationBot.Kind botKind = SimulationBot.Kind.RANDOM;
+
+    /**
+     * Seed of the decks and bots, so a simulation can be repeated
+     */
+    @Builder.Default
+    private long seed = 52;
+
+    /**
+     * How many event loops (threads) to run the tables on
+     */
+    @Builder.Default
+    private int threads = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,231 @@
+package org.hit.android.haim.texasholdem.common.simulation;
+
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless simulation of many tables of bot players, playing in-process on the real {@link GameEngine}.<br/>
+ * Tables run in event loop mode over {@link GameEventLoops}, like the server runs them, with a
+ * {@link GameClock#manual(long) manual clock} each, so the delay between rounds does not take real time.
+ * The simulation reports the throughput (hands per second), the latency of
+ * {@link GameEngine#executePlayerAction executePlayerAction}, the allocations per hand, and verifies that no chips
+ * were created or lost.<br/>
+ * Run it before a deploy to get a capacity number: {@code gradle simulate --args='<tables> <hands per table> [bot kind] [seed]'}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class TableSimulation {
+    private final SimulationSettings settings;
+    private final GameEngineFactory gameEngineFactory;
+
+    /**
+     * Constructs a new {@link TableSimulation} of {@link GameEngine}s that do not log
+     * @param settings Preferences of the simulation
+     */
+    public TableSimulation(@NonNull SimulationSettings settings) {
+        this(settings, SimulationGameEngine::new);
+    }
+
+    /**
+     * Constructs a new {@link TableSimulation}
+     * @param settings Preferences of the simulation
+     * @param gameEngineFactory Creates the game of each table, so other engines (e.g. of the server) can be simulated
+     */
+    public TableSimulation(@NonNull SimulationSettings settings, @NonNull GameEngineFactory gameEngineFactory) {
+        this.settings = settings;
+        this.gameEngineFactory = gameEngineFactory;
+    }
+
+    /**
+     * Play all tables, and wait for them to finish
+     * @return The results
+     * @throws InterruptedException In case we were interrupted while waiting for the tables
+     */
+    public SimulationReport run() throws InterruptedException {
+        GameEventLoops eventLoops = new GameEventLoops(settings.getThreads());
+        try {
+            CountDownLatch done = new CountDownLatch(settings.getTables());
+            List<SimulatedTable> tables = new ArrayList<>(settings.getTables());
+            for (int i = 0; i < settings.getTables(); i++) {
+                tables.add(createTable(i, eventLoops, done));
+            }
+
+            long[] loopThreadIds = loopThreadIds(eventLoops);
+            long allocatedBefore = allocatedBytes(loopThreadIds);
+            long startTime = System.nanoTime();
+
+            tables.forEach(SimulatedTable::start);
+            done.await();
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            long allocatedAfter = allocatedBytes(loopThreadIds);
+
+            return createReport(tables, elapsedMillis, (allocatedBefore < 0) || (allocatedAfter < 0) ? -1 : allocatedAfter - allocatedBefore);
+        } finally {
+            eventLoops.shutdown();
+        }
+    }
+
+    private SimulatedTable createTable(int tableIndex, GameEventLoops eventLoops, CountDownLatch done) {
+        GameSettings gameSettings = GameSettings.builder().smallBet(settings.getSmallBet()).bigBet(settings.getBigBet()).isNetwork(false).build();
+        long tableSeed = settings.getSeed() * 31 + tableIndex;
+        GameClock.ManualClock clock = GameClock.manual(0);
+        GameEngine game = gameEngineFactory.create(gameSettings, (player, chips) -> {}, DeckRandomSource.seeded(tableSeed), eventLoops, clock);
+
+        Map<Player, SimulationBot> players = new LinkedHashMap<>();
+        for (int seat = 0; seat < settings.getSeatsPerTable(); seat++) {
+            Player player = Player.builder().id("bot-" + tableIndex + "-" + seat).name("Bot " + seat).chips(new Chips(settings.getChips())).position(seat).build();
+            players.put(player, SimulationBot.of(settings.getBotKind(), tableSeed * GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS + seat));
+        }
+
+        return new SimulatedTable(game, clock, players, settings.getHandsPerTable(), done);
+    }
+
+    private SimulationReport createReport(List<SimulatedTable> tables, long elapsedMillis, long allocatedBytes) {
+        LatencyHistogram latency = new LatencyHistogram();
+        long hands = 0, actions = 0, rejectedActions = 0, chipConservationViolations = 0;
+        int failedTables = 0;
+        for (SimulatedTable table : tables) {
+            latency.add(table.latency);
+            hands += table.hands;
+            actions += table.actions;
+            rejectedActions += table.rejectedActions;
+            chipConservationViolations += table.chipConservationViolations;
+            if (table.failure != null) {
+                failedTables++;
+                System.err.println("Table failed: " + table.failure);
+            }
+        }
+
+        return SimulationReport.builder()
+            .tables(tables.size())
+            .hands(hands)
+            .actions(actions)
+            .elapsedMillis(elapsedMillis)
+            .p50LatencyMicros(latency.getPercentile(50) / 1000.0)
+            .p99LatencyMicros(latency.getPercentile(99) / 1000.0)
+            .maxLatencyMicros(latency.getMax() / 1000.0)
+            .allocatedBytesPerHand((allocatedBytes < 0) || (hands == 0) ? -1 : allocatedBytes / hands)
+            .chipConservationViolations(chipConservationViolations)
+            .rejectedActions(rejectedActions)
+            .failedTables(failedTables)
+            .build();
+    }
+
+    /**
+     * @return Identifiers of the threads of all loops, so we can measure their allocations
+     */
+    private static long[] loopThreadIds(GameEventLoops eventLoops) throws InterruptedException {
+        long[] threadIds = new long[eventLoops.size()];
+        for (int i = 0; i < threadIds.length; i++) {
+            try {
+                threadIds[i] = eventLoops.loopOf(i).submit(() -> Thread.currentThread().getId()).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        return threadIds;
+    }
+
+    /**
+     * @return Total bytes allocated by the specified threads, or -1 when the JVM does not support measuring it
+     */
+    private static long allocatedBytes(long[] threadIds) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+        if (!allocationMXBean.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+
+        allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        long total = 0;
+        for (long allocated : allocationMXBean.getThreadAllocatedBytes(threadIds)) {
+            if (allocated < 0) {
+                return -1;
+            }
+
+            total += allocated;
+        }
+
+        return total;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 4) {
+            System.out.println("Usage: TableSimulation [tables] [hands per table] [calling|random] [seed]");
+            return;
+        }
+
+        SimulationSettings.SimulationSettingsBuilder builder = SimulationSettings.builder();
+        if (args.length > 0) {
+            builder.tables(Integer.parseInt(args[0]));
+        }
+
+        if (args.length > 1) {
+            builder.handsPerTable(Integer.parseInt(args[1]));
+        }
+
+        if (args.length > 2) {
+            builder.botKind(SimulationBot.Kind.valueOf(args[2].toUpperCase()));
+        }
+
+        if (args.length > 3) {
+            builder.seed(Long.parseLong(args[3]));
+        }
+
+        SimulationReport report = new TableSimulation(builder.build()).run();
+        System.out.println(report.toSummary());
+
+        // Fail the build task in case the engine has lost chips or failed
+        if (!report.isSuccessful()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates the game of a simulated table
+     */
+    @FunctionalInterface
+    public interface GameEngineFactory {
+        /**
+         * See {@link GameEngine#GameEngine(GameSettings, GameEngine.PlayerUpdateListener, DeckRandomSource, GameEventLoops, GameClock)}
+         */
+        GameEngine create(GameSettings gameSettings, GameEngine.PlayerUpdateListener listener, DeckRandomSource deckRandomSource, GameEventLoops eventLoops, GameClock clock);
+    }
+
+    /**
+     * A game engine that does not log, as logging would dominate the measurement
+     */
+    private static class SimulationGameEngine extends GameEngine {
+        SimulationGameEngine(GameSettings gameSettings, PlayerUpdateListener listener, DeckRandomSource deckRandomSource, GameEventLoops eventLoops, GameClock clock) {
+            super(gameSettings, listener, deckRandomSource, eventLoops, clock);
+        }
+
+        @Override
+        protected void info(String message) {
+            // Logging would dominate the measurement
+        }
+
+        @Override
+        protected boolean isInfoEnabled() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.hit.android.haim.texasholdem.common.model.bean.game;
+
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.hit.android.haim.texasholdem.common.util.JsonUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * Make sure the primitive representation of cards (mask and indices) is kept in sync with the cards.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class CardsHolderTest {
+    @Test
+    public void testIndex_allCards_uniqueIndicesInRange() {
+        // Arrange
+        long mask = 0;
+
+        // Act
+        for (Card card : Deck.getAllCards()) {
+            int index = card.getIndex();
+            Assertions.assertTrue((index >= 0) && (index < Card.AMOUNT_OF_CARDS), "Index out of range: " + card);
+            Assertions.assertEquals(card, Card.ofIndex(index), "Card of index supposed to be the same card");
+            mask |= 1L << index;
+        }
+
+        // Assert
+        Assertions.assertEquals(Card.AMOUNT_OF_CARDS, Long.bitCount(mask), "Indices supposed to be unique");
+        Assertions.assertEquals(-1, Card.EMPTY.getIndex(), "Empty card is not a real card");
+    }
+
+    @Test
+    public void testAddCard_duplicateAndEmptyCards_maskHasRealCardsOnly() {
+        // Arrange
+        Board board = new Board();
+
+        // Act
+        board.addCard(Card.valueOf("A♠")).addCard(Card.valueOf("A♠")).addCard(Card.EMPTY).addCard(Card.valueOf("2♣"));
+
+        // Assert
+        Assertions.assertEquals(3, board.size(), "Duplicate card supposed to be ignored");
+        Assertions.assertEquals(Card.maskOf(Arrays.asList(Card.valueOf("A♠"), Card.valueOf("2♣"))), board.getCardsMask(), "Wrong mask");
+        Assertions.assertEquals(Card.valueOf("A♠").getIndex(), board.getCardIndexAt(0), "Wrong index of first card");
+        Assertions.assertEquals(-1, board.getCardIndexAt(1), "Empty card has no index");
+        Assertions.assertTrue(board.containsCard(Card.valueOf("2♣")), "Board supposed to contain 2♣");
+    }
+
+    @Test
+    public void testDeck_shuffleAndPop_maskFollowsCards() {
+        // Arrange
+        Deck deck = new Deck();
+        deck.shuffle();
+        Card first = deck.getCardAt(0).orElseThrow(IllegalStateException::new);
+        Card second = deck.getCardAt(1).orElseThrow(IllegalStateException::new);
+
+        // Act
+        Card popped = deck.popCard();
+
+        // Assert
+        Assertions.assertEquals(first, popped, "Pop supposed to take the top card");
+        Assertions.assertEquals(second.getIndex(), deck.getCardIndexAt(0), "Indices supposed to follow the cards after pop");
+        Assertions.assertEquals(Card.AMOUNT_OF_CARDS - 1, Long.bitCount(deck.getCardsMask()), "Wrong amount of cards in mask");
+        Assertions.assertFalse(deck.containsCard(popped), "Popped card supposed to be removed from mask");
+    }
+
+    @Test
+    public void testJson_handWithCards_sameJsonAndMaskAfterRead() throws Exception {
+        // Arrange
+        Hand hand = new Hand();
+        hand.addCard(Card.valueOf("K♥")).addCard(Card.valueOf("T♦"));
+
+        // Act
+        String json = JsonUtils.writeValueAsString(hand);
+        Hand read = JsonUtils.readValueFromString(json, Hand.class);
+
+        // Assert
+        Assertions.assertFalse(json.contains("cardsMask") || json.contains("cardIndices"), "Json contract supposed to stay the same. Was: " + json);
+        Assertions.assertEquals(hand, read, "Hand supposed to be deserialized");
+        Assertions.assertEquals(hand.getCardsMask(), read.getCardsMask(), "Mask supposed to be rebuilt when reading json");
+    }
+}
@@ -0,0 +1,107 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link BettingRound}, the state machine of a round of bets
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class BettingRoundTest {
+    private static final int ACTIVE_SEATS = 0b1011;
+    private static final long BIG_BET = 2;
+
+    private BettingRound bettingRound;
+
+    @BeforeEach
+    public void setup() {
+        bettingRound = new BettingRound();
+        bettingRound.start(ACTIVE_SEATS, BIG_BET);
+    }
+
+    @Test
+    public void testOnAction_allCheck_roundOverAfterLastSeat() {
+        // Act
+        bettingRound.onAction(0, 0, ACTIVE_SEATS);
+        bettingRound.onAction(1, 0, ACTIVE_SEATS);
+        boolean isOverBeforeLastSeat = bettingRound.isOver(ACTIVE_SEATS);
+        bettingRound.onAction(3, 0, ACTIVE_SEATS);
+
+        // Assert
+        Assertions.assertFalse(isOverBeforeLastSeat, "Last seat has not acted yet");
+        Assertions.assertTrue(bettingRound.isOver(ACTIVE_SEATS), "All seats have checked");
+        Assertions.assertEquals(BettingRound.NO_SEAT, bettingRound.getLastAggressorSeat(), "Nobody has bet");
+    }
+
+    @Test
+    public void testOnAction_raise_otherSeatsActAgain() {
+        // Arrange
+        bettingRound.onAction(0, 0, ACTIVE_SEATS);
+
+        // Act
+        bettingRound.onAction(1, 10, ACTIVE_SEATS);
+
+        // Assert
+        Assertions.assertEquals(0b1001, bettingRound.getSeatsToAct(), "All seats but the raiser supposed to act again");
+        Assertions.assertEquals(10, bettingRound.getBetToMatch(), "Raise supposed to be the bet to match");
+        Assertions.assertEquals(1, bettingRound.getLastAggressorSeat(), "Raiser supposed to be the aggressor");
+        Assertions.assertEquals(10, bettingRound.getMinRaise(), "A raise bigger than the big bet is the new minimum");
+        Assertions.assertEquals(20, bettingRound.getMinRaiseTo(), "Minimum raise supposed to be on top of the bet");
+    }
+
+    @Test
+    public void testOnAction_foldAndAllIn_roundOverWithoutThem() {
+        // Arrange
+        bettingRound.onAction(0, 10, ACTIVE_SEATS);
+
+        // Act - Seat 1 folds and seat 3 calls all-in, so both are no longer active
+        bettingRound.onAction(1, 0, 0b1001);
+        bettingRound.onAction(3, 6, 0b0001);
+
+        // Assert
+        Assertions.assertTrue(bettingRound.isOver(0b0001), "Raiser is the only active seat and it has acted");
+        Assertions.assertEquals(10, bettingRound.getBetToMatch(), "Short all-in call does not change the bet to match");
+    }
+
+    @Test
+    public void testOnAction_shortAllInRaise_minRaiseKept() {
+        // Arrange
+        bettingRound.onAction(0, 10, ACTIVE_SEATS);
+
+        // Act
+        bettingRound.onAction(1, 14, 0b1001);
+
+        // Assert
+        Assertions.assertEquals(14, bettingRound.getBetToMatch(), "All-in raise supposed to raise the bet to match");
+        Assertions.assertEquals(10, bettingRound.getMinRaise(), "Short raise is not allowed to lower the minimum raise");
+        Assertions.assertEquals(0b1001, bettingRound.getSeatsToAct(), "Seats that have to match the raise supposed to act again");
+    }
+
+    @Test
+    public void testActionKindOf_checkFacingBet_call() {
+        // Arrange
+        bettingRound.onAction(0, 10, ACTIVE_SEATS);
+
+        // Act + Assert
+        Assertions.assertEquals(PlayerActionKind.CALL, bettingRound.actionKindOf(PlayerActionKind.CHECK, 0), "Cannot CHECK a bet");
+        Assertions.assertEquals(PlayerActionKind.CHECK, bettingRound.actionKindOf(PlayerActionKind.CHECK, 10), "CHECK is allowed when the bet is matched");
+        Assertions.assertEquals(PlayerActionKind.FOLD, bettingRound.actionKindOf(PlayerActionKind.FOLD, 0), "FOLD is always allowed");
+        Assertions.assertEquals(PlayerActionKind.RAISE, bettingRound.actionKindOf(PlayerActionKind.RAISE, 0), "RAISE is allowed facing a bet");
+    }
+
+    @Test
+    public void testFixRaise_belowMinimum_raisedToMinimumOrAllIn() {
+        // Arrange
+        bettingRound.onAction(0, 10, ACTIVE_SEATS);
+
+        // Act + Assert
+        Assertions.assertEquals(-1, bettingRound.fixRaise(10, 0, 100), "Raise that only matches the bet is a CALL");
+        Assertions.assertEquals(20, bettingRound.fixRaise(12, 0, 100), "Raise supposed to be fixed to the minimum raise");
+        Assertions.assertEquals(15, bettingRound.fixRaise(12, 0, 15), "Player without enough chips for the minimum goes all-in");
+        Assertions.assertEquals(30, bettingRound.fixRaise(30, 0, 100), "Raise above the minimum is kept");
+    }
+}
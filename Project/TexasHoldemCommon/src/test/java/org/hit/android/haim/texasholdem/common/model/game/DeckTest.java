@@ -0,0 +1,103 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test shuffling and dealing of {@link Deck} with the different {@link DeckRandomSource}s.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class DeckTest {
+    @Test
+    public void testShuffle_sameSeed_sameDeal() {
+        // Arrange
+        Deck deck = new Deck(DeckRandomSource.seeded(7));
+        Deck deck2 = new Deck(DeckRandomSource.seeded(7));
+
+        // Act
+        deck.shuffle();
+        deck2.shuffle();
+
+        // Assert
+        Assertions.assertEquals(dealAll(deck), dealAll(deck2), "Same seed supposed to deal the same cards");
+    }
+
+    @Test
+    public void testShuffle_eachSource_allCardsOnce() {
+        for (DeckRandomSource randomSource : new DeckRandomSource[] { DeckRandomSource.secure(), DeckRandomSource.fast(), DeckRandomSource.seeded(7) }) {
+            // Arrange
+            Deck deck = new Deck(randomSource);
+            deck.popCard();
+
+            // Act
+            deck.shuffle();
+            List<Card> cards = dealAll(deck);
+
+            // Assert
+            Assertions.assertEquals(Card.AMOUNT_OF_CARDS, cards.size(), "Shuffle supposed to return all cards to the deck");
+            Assertions.assertEquals(Deck.getAllCards(), new HashSet<>(cards), "Every card supposed to be dealt once");
+            Assertions.assertEquals(0, deck.getCardsMask(), "Mask supposed to be empty after dealing all cards");
+            Assertions.assertNull(deck.popCard(), "Empty deck supposed to return null");
+        }
+    }
+
+    @Test
+    public void testShuffle_manyShuffles_everyCardReachesTop() {
+        // Arrange
+        Deck deck = new Deck(DeckRandomSource.seeded(7));
+        Set<Card> topCards = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            deck.shuffle();
+            topCards.add(deck.popCard());
+        }
+
+        // Assert
+        Assertions.assertEquals(Card.AMOUNT_OF_CARDS, topCards.size(), "Every card supposed to get to the top of the deck");
+    }
+
+    @Test
+    public void testArrange_cardIndicesOfShuffledDeck_dealsSameCards() {
+        // Arrange
+        Deck deck = new Deck(DeckRandomSource.seeded(7));
+        deck.shuffle();
+        byte[] cardIndices = deck.getCardIndices();
+        List<Card> expected = dealAll(deck);
+        Deck another = new Deck(DeckRandomSource.seeded(8));
+
+        // Act
+        another.arrange(cardIndices);
+
+        // Assert
+        Assertions.assertEquals(expected, dealAll(another), "Arranged deck supposed to deal the cards in the same order");
+    }
+
+    @Test
+    public void testArrange_duplicateCard_throwsIllegalArgumentException() {
+        // Arrange
+        Deck deck = new Deck();
+        byte[] cardIndices = deck.getCardIndices();
+        cardIndices[0] = cardIndices[1];
+
+        // Act + Assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> deck.arrange(cardIndices), "Each card must appear once");
+    }
+
+    private static List<Card> dealAll(Deck deck) {
+        List<Card> cards = new ArrayList<>();
+        for (Card card = deck.popCard(); card != null; card = deck.popCard()) {
+            cards.add(card);
+        }
+
+        return cards;
+    }
+}
@@ -0,0 +1,179 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test {@link GameClock} implementations, and a {@link GameEngine} driven by a manual clock
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameClockTest {
+    @Test
+    public void testManualClock_advance_runsDueTasksByTimeOrder() {
+        // Arrange
+        GameClock.ManualClock clock = GameClock.manual(1000);
+        List<Integer> ran = new ArrayList<>();
+        clock.schedule(() -> ran.add(30), 30);
+        clock.schedule(() -> ran.add(10), 10);
+        GameClock.Cancellable cancelled = clock.schedule(() -> ran.add(20), 20);
+
+        // Act
+        clock.advance(15);
+        boolean isCancelled = cancelled.cancel();
+        clock.advance(100);
+
+        // Assert
+        Assertions.assertTrue(isCancelled, "Task supposed to be cancelled");
+        Assertions.assertEquals(Arrays.asList(10, 30), ran, "Due tasks supposed to run by time order, and cancelled task is not allowed to run");
+        Assertions.assertEquals(1115, clock.currentTimeMillis(), "Time supposed to move forward by the advanced amount");
+        Assertions.assertEquals(0, clock.getPendingTasks(), "No task supposed to be pending");
+    }
+
+    @Test
+    public void testManualClock_taskSchedulesTask_nestedTaskRunsAtItsTime() {
+        // Arrange
+        GameClock.ManualClock clock = GameClock.manual(0);
+        List<Long> ranAt = new ArrayList<>();
+        clock.schedule(() -> {
+            ranAt.add(clock.currentTimeMillis());
+            clock.schedule(() -> ranAt.add(clock.currentTimeMillis()), 10);
+        }, 10);
+
+        // Act
+        clock.advance(50);
+
+        // Assert
+        Assertions.assertEquals(Arrays.asList(10L, 20L), ranAt, "Tasks supposed to see the time they were scheduled to");
+    }
+
+    @Test
+    public void testManualClock_resetTimeoutManyTimes_cancelledTasksDoNotPileUp() {
+        // Arrange
+        GameClock.ManualClock clock = GameClock.manual(0);
+        List<Integer> ran = new ArrayList<>();
+        GameClock.Cancellable previous = null;
+
+        // Act - Like a turn timer that is reset on every action, while time does not move
+        for (int i = 0; i < 10_000; i++) {
+            if (previous != null) {
+                previous.cancel();
+            }
+
+            int index = i;
+            previous = clock.schedule(() -> ran.add(index), 1000);
+        }
+
+        int queueSize = clock.getQueueSize();
+        clock.advance(1000);
+
+        // Assert
+        Assertions.assertTrue(queueSize < 200, "Cancelled tasks supposed to be dropped from the queue. Was: " + queueSize);
+        Assertions.assertEquals(Arrays.asList(9_999), ran, "Only the last task supposed to run");
+    }
+
+    @Test
+    public void testManualClock_cancelWhileRunning_notCancelled() {
+        // Arrange
+        GameClock.ManualClock clock = GameClock.manual(0);
+        GameClock.Cancellable[] self = new GameClock.Cancellable[1];
+        boolean[] isCancelled = new boolean[1];
+        self[0] = clock.schedule(() -> isCancelled[0] = self[0].cancel(), 10);
+
+        // Act
+        clock.advance(10);
+
+        // Assert
+        Assertions.assertFalse(isCancelled[0], "A task that already runs cannot be cancelled");
+    }
+
+    @Test
+    public void testAcceleratedClock_factor_timeRunsFaster() throws InterruptedException {
+        // Arrange
+        GameClock clock = GameClock.accelerated(1000);
+        long start = clock.currentTimeMillis();
+
+        // Act
+        Thread.sleep(20);
+
+        // Assert
+        Assertions.assertTrue(clock.currentTimeMillis() - start >= 20000, "20 milliseconds supposed to be at least 20 seconds of the clock");
+    }
+
+    @Test
+    public void testGameEngine_manualClock_turnTimeoutsAndNextRoundWithoutWaiting() {
+        // Arrange
+        long turnTimeMillis = 60000;
+        GameClock.ManualClock clock = GameClock.manual(0);
+        GameEngine gameEngine = new GameEngine(new GameSettings(1, 2, turnTimeMillis, "id", true), (player, chips) -> {}, DeckRandomSource.seeded(7), null, clock);
+        gameEngine.addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1));
+        gameEngine.addPlayer(new Player("id2", "name2", new Chips(300), false, null, 2));
+        gameEngine.addPlayer(new Player("id3", "name3", new Chips(1000), false, null, 6));
+
+        try {
+            gameEngine.start();
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+
+            // Act + Assert
+            clock.advance(turnTimeMillis - 1);
+            Assertions.assertTrue(currPlayer.isPlaying(), "Turn time has not elapsed yet");
+
+            clock.advance(1);
+            Assertions.assertFalse(currPlayer.isPlaying(), "Player supposed to fold due to time out");
+
+            // Next player times out as well, so there is one player left and the round is over
+            clock.advance(turnTimeMillis);
+            Assertions.assertEquals(GameEngine.GameState.RESTART, gameEngine.getGameState(), "Round supposed to be over");
+
+            clock.advance(GameEngine.NEXT_ROUND_DELAY_MILLIS);
+            Assertions.assertEquals(GameEngine.GameState.STARTED, gameEngine.getGameState(), "Next round supposed to be started");
+            Assertions.assertTrue(currPlayer.isPlaying(), "All players supposed to play in the next round");
+        } finally {
+            gameEngine.stop();
+        }
+    }
+
+    @Test
+    public void testGameEngine_acceleratedClockDedicatedThreads_nextRoundIsNotLaunchedByTimerThread() throws InterruptedException {
+        // Arrange
+        List<String> roundThreadNames = new CopyOnWriteArrayList<>();
+        GameEngine gameEngine = new GameEngine(new GameSettings(1, 2, 60000, "id", false), (player, chips) -> {}, DeckRandomSource.seeded(7), null, GameClock.accelerated(1000)) {
+            @Override
+            protected void info(String message) {
+                if (message.contains("Starting new round")) {
+                    roundThreadNames.add(Thread.currentThread().getName());
+                }
+            }
+        };
+        gameEngine.addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1));
+        gameEngine.addPlayer(new Player("id2", "name2", new Chips(300), false, null, 2));
+
+        try {
+            gameEngine.start();
+
+            // Act - Heads up, so a fold ends the round, and the next round is launched once the delay of the clock has elapsed
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+            gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(PlayerActionKind.FOLD).build());
+            for (int i = 0; (i < 100) && (roundThreadNames.size() < 2); i++) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            Assertions.assertEquals(2, roundThreadNames.size(), "Next round supposed to be launched");
+            Assertions.assertTrue(roundThreadNames.get(1).startsWith("PlayerUpdateNotifier-"),
+                "Next round supposed to be handed to the thread of the game, rather than launched by the shared timer. Was: " + roundThreadNames.get(1));
+        } finally {
+            gameEngine.stop();
+        }
+    }
+}
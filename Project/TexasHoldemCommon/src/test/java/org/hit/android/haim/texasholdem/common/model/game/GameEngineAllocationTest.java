@@ -0,0 +1,162 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executor;
+
+/**
+ * Test that the player action path of {@link GameEngine} does not allocate, so it does not regress unnoticed.<br/>
+ * We measure the bytes the thread allocates while executing actions that neither reveal cards nor end the round,
+ * using the allocation counters of {@link com.sun.management.ThreadMXBean}.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameEngineAllocationTest {
+    private static final long CHIPS = 1_000_000_000_000L;
+    private static final int AMOUNT_OF_PLAYERS = 5;
+    private static final int WARMUP_HANDS = 200;
+    private static final int MEASURED_HANDS = 200;
+
+    /**
+     * Protect against a hand that never ends, in case the engine gets stuck
+     */
+    private static final int MAX_ACTIONS_PER_HAND = 200;
+
+    /**
+     * How many bytes an action may allocate on average, not including the action itself, which the game logs.<br/>
+     * The first action of a player in a round of bets adds entries to the maps of that round (last action, pot of round),
+     * which is a few dozens of bytes. Building log messages, collecting players or boxing bets would exceed it.
+     */
+    private static final long BYTES_PER_ACTION_BUDGET = 128;
+
+    @Test
+    public void testExecutePlayerAction_steadyState_allocatesWithinBudget() {
+        // Arrange
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean, "Allocation counters are not available");
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Allocation counters are not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        AllocationGameEngine gameEngine = new AllocationGameEngine();
+        for (int i = 0; i < AMOUNT_OF_PLAYERS; i++) {
+            gameEngine.addPlayer(Player.builder().id("id" + i).name("name" + i).chips(new Chips(CHIPS)).position(i).build());
+        }
+
+        gameEngine.start();
+        playHands(gameEngine, WARMUP_HANDS, threadMXBean, new long[2]);
+
+        // Act
+        long[] bytesAndActions = new long[2];
+        playHands(gameEngine, MEASURED_HANDS, threadMXBean, bytesAndActions);
+        gameEngine.stop();
+
+        // Assert
+        Assertions.assertTrue(bytesAndActions[1] > MEASURED_HANDS, "Expected several actions per hand to be measured. Was: " + bytesAndActions[1]);
+        long bytesPerAction = bytesAndActions[0] / bytesAndActions[1];
+        Assertions.assertTrue(bytesPerAction <= BYTES_PER_ACTION_BUDGET,
+            "Player action allocated " + bytesPerAction + " bytes on average, over the budget of " + BYTES_PER_ACTION_BUDGET + " bytes");
+    }
+
+    /**
+     * Play hands, where players mostly check or call, and sometimes raise or fold.<br/>
+     * Measure the actions that neither reveal cards nor end the round, as these allocate by design.
+     * @param bytesAndActions Where to add the measured bytes (at 0) and the amount of measured actions (at 1)
+     */
+    private static void playHands(AllocationGameEngine gameEngine, int hands, com.sun.management.ThreadMXBean threadMXBean, long[] bytesAndActions) {
+        long threadId = Thread.currentThread().getId();
+        long measurementOverhead = measureOverhead(threadMXBean, threadId);
+        int actionCounter = 0;
+
+        for (int hand = 0; hand < hands; hand++) {
+            Runnable nextRound = gameEngine.nextRound;
+            if (nextRound != null) {
+                gameEngine.nextRound = null;
+                nextRound.run();
+            }
+
+            int actions = 0;
+            while (gameEngine.getPlayerToEarnings() == null) {
+                Assertions.assertTrue(++actions <= MAX_ACTIONS_PER_HAND, "Hand did not end after " + MAX_ACTIONS_PER_HAND + " actions");
+
+                // Build the action before measuring, as the game keeps it in its log
+                Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+                PlayerAction action = nextAction(gameEngine, currPlayer, actionCounter++);
+                long boardBefore = gameEngine.getBoard().getCardsMask();
+
+                long bytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+                gameEngine.executePlayerAction(currPlayer, action);
+                long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytesBefore - measurementOverhead;
+
+                if ((gameEngine.getBoard().getCardsMask() == boardBefore) && (gameEngine.getPlayerToEarnings() == null)) {
+                    bytesAndActions[0] += Math.max(0, bytes);
+                    bytesAndActions[1]++;
+                }
+            }
+        }
+    }
+
+    private static PlayerAction nextAction(GameEngine gameEngine, Player player, int actionCounter) {
+        Pot pot = gameEngine.getPot();
+        PlayerAction.PlayerActionBuilder action = PlayerAction.builder().name(player.getName());
+        if (actionCounter % 11 == 3) {
+            return action.actionKind(PlayerActionKind.RAISE).chips(new Chips(pot.getLastBetAmount() + 4)).build();
+        } else if (actionCounter % 13 == 7) {
+            return action.actionKind(PlayerActionKind.FOLD).build();
+        }
+
+        return action.actionKind(pot.hasLastBet() ? PlayerActionKind.CALL : PlayerActionKind.CHECK).build();
+    }
+
+    /**
+     * @return How many bytes reading the allocation counter allocates by itself
+     */
+    private static long measureOverhead(com.sun.management.ThreadMXBean threadMXBean, long threadId) {
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            result = Math.min(result, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        return result;
+    }
+
+    /**
+     * A game engine that does not log, notifies its listener by the thread that plays, and keeps the next round so
+     * the test launches it without waiting
+     */
+    private static class AllocationGameEngine extends GameEngine {
+        private Runnable nextRound;
+
+        AllocationGameEngine() {
+            super(GameSettings.builder().smallBet(1).bigBet(2).isNetwork(false).build(), (player, chips) -> {});
+        }
+
+        @Override
+        protected void info(String message) {
+            // Logging would dominate the measurement
+        }
+
+        @Override
+        protected boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        protected Executor newNotifierExecutor() {
+            return Runnable::run;
+        }
+
+        @Override
+        protected void scheduleNextRound(Runnable nextRound) {
+            this.nextRound = nextRound;
+        }
+    }
+}
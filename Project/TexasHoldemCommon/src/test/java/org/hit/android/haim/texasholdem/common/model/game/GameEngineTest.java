@@ -8,8 +8,16 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Haim Adrian
@@ -169,6 +177,99 @@ public class GameEngineTest {
         }
     }
 
+    @Test
+    public void testTurnTimeout_dedicatedThreads_foldIsNotExecutedByTimerThread() throws InterruptedException {
+        // Arrange
+        long turnTimeMillis = 300;
+        AtomicReference<String> timeoutThreadName = new AtomicReference<>();
+        GameEngine gameEngine = new GameEngine(new GameSettings(1, 2, turnTimeMillis, "id", true), (player, chips) -> {}) {
+            @Override
+            protected void info(String message) {
+                if (message.contains("Player turn timeout occurred")) {
+                    timeoutThreadName.set(Thread.currentThread().getName());
+                }
+            }
+        };
+
+        try {
+            gameEngine.getPlayers().addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1));
+            gameEngine.getPlayers().addPlayer(new Player("id2", "name2", new Chips(300), false, null, 2));
+            gameEngine.getPlayers().addPlayer(new Player("id3", "name3", new Chips(1000), false, null, 6));
+            gameEngine.start();
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+
+            // Act
+            Thread.sleep((long)(turnTimeMillis * 1.5));
+
+            // Assert
+            Assertions.assertFalse(currPlayer.isPlaying(), "Player supposed to fold due to time out");
+            Assertions.assertNotNull(timeoutThreadName.get(), "Turn timeout supposed to occur");
+            Assertions.assertTrue(timeoutThreadName.get().startsWith("PlayerUpdateNotifier-"),
+                "The fold supposed to be handed to the thread of the game, rather than run by the shared timer. Was: " + timeoutThreadName.get());
+        } finally {
+            gameEngine.stop();
+        }
+    }
+
+    @Test
+    public void testStart_blindsArePosted_onlyTheFirstTurnAfterTheBlindsIsAnnounced() {
+        // Arrange
+        List<Player> announcedPlayers = new ArrayList<>();
+        List<Long> minRaiseToWhenAnnounced = new ArrayList<>();
+        GameEngine gameEngine = new GameEngine(new GameSettings(1, 2, 60000, "id", false), (player, chips) -> {}) {
+            @Override
+            protected void onTurn(Player player) {
+                announcedPlayers.add(player);
+                minRaiseToWhenAnnounced.add(getBettingRound().getMinRaiseTo());
+            }
+        };
+
+        try {
+            gameEngine.getPlayers().addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1));
+            gameEngine.getPlayers().addPlayer(new Player("id2", "name2", new Chips(300), false, null, 2));
+            gameEngine.getPlayers().addPlayer(new Player("id3", "name3", new Chips(1000), false, null, 6));
+
+            // Act
+            gameEngine.start();
+
+            // Assert
+            Assertions.assertEquals(Collections.singletonList(gameEngine.getPlayers().getCurrentPlayer()), announcedPlayers,
+                "Only the player after the big blind supposed to be told that it is his turn");
+            Assertions.assertEquals(Collections.singletonList(gameEngine.getBettingRound().getMinRaiseTo()), minRaiseToWhenAnnounced,
+                "The turn supposed to be announced once the round of bets is reopened");
+        } finally {
+            gameEngine.stop();
+        }
+    }
+
+    @Test
+    public void testStart_sameSeed_sameRoundsAreDealt() {
+        // Arrange
+        GameEngine gameEngine1 = newSeededGame(42);
+        GameEngine gameEngine2 = newSeededGame(42);
+
+        try {
+            // Act
+            gameEngine1.start();
+            gameEngine2.start();
+            playRoundByCallsAndChecks(gameEngine1);
+            playRoundByCallsAndChecks(gameEngine2);
+
+            // Assert
+            Assertions.assertEquals(gameEngine1.getDealer().getPosition(), gameEngine2.getDealer().getPosition(), "Same seed supposed to draw the same dealer");
+            for (Player player1 : gameEngine1.getPlayers().getPlayers()) {
+                Player player2 = gameEngine2.getPlayers().getPlayerById(player1.getId());
+                Assertions.assertEquals(player1.getHand().getCardsMask(), player2.getHand().getCardsMask(), "Same seed supposed to deal the same hands");
+                Assertions.assertEquals(player1.getChips().get(), player2.getChips().get(), "Same seed supposed to end the round the same way");
+            }
+
+            Assertions.assertEquals(gameEngine1.getBoard().getCardsMask(), gameEngine2.getBoard().getCardsMask(), "Same seed supposed to deal the same board");
+        } finally {
+            gameEngine1.stop();
+            gameEngine2.stop();
+        }
+    }
+
     @Test
     public void simulateFullGameFlowUntilLastRound_lastPlayerFolds_prevPlayerWins() {
         GameEngine gameEngine = null;
@@ -464,6 +565,12 @@ public class GameEngineTest {
             Assertions.assertNotEquals(500, player1.getChips().get(), "Chips must be modified");
             Assertions.assertNotEquals(300, player2.getChips().get(), "Chips must be modified");
             Assertions.assertNotEquals(1000, player3.getChips().get(), "Chips must be modified");
+
+            // The equity is calculated in the background, so the action that has ended the round does not wait for it
+            Map<String, Double> playerToAllInEquity = awaitAllInEquity(gameEngine, 5000);
+            Assertions.assertNotNull(playerToAllInEquity, "All-in equity supposed to be calculated when dealing remaining cards");
+            Assertions.assertEquals(2, playerToAllInEquity.size(), "Two players were involved in the all-in");
+            Assertions.assertEquals(1, playerToAllInEquity.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9, "Equities supposed to sum up to 1");
         } finally {
             if (gameEngine != null) {
                 gameEngine.stop();
@@ -626,5 +733,47 @@ public class GameEngineTest {
 
         return gameEngine;
     }
+
+    private static GameEngine newSeededGame(long seed) {
+        GameEngine gameEngine = new GameEngine(new GameSettings(1, 2, 60000, "id", false), (player, chips) -> {}, DeckRandomSource.seeded(seed), null, GameClock.manual(0));
+        gameEngine.getPlayers().addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1));
+        gameEngine.getPlayers().addPlayer(new Player("id2", "name2", new Chips(300), false, null, 2));
+        gameEngine.getPlayers().addPlayer(new Player("id3", "name3", new Chips(1000), false, null, 4));
+        gameEngine.getPlayers().addPlayer(new Player("id4", "name4", new Chips(700), false, null, 6));
+        return gameEngine;
+    }
+
+    /**
+     * Call or check with each player until the round is over
+     */
+    private static void playRoundByCallsAndChecks(GameEngine gameEngine) {
+        while (gameEngine.getPlayerToEarnings() == null) {
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+            boolean hasToCall = gameEngine.getBettingRound().getBetToMatch() > gameEngine.getPot().getPotOfPlayer(currPlayer);
+            gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(hasToCall ? PlayerActionKind.CALL : PlayerActionKind.CHECK).build());
+        }
+    }
+
+    /**
+     * Wait for the all-in equity of a game. The equity is read by the thread that sets it, so we see what it has set
+     */
+    private static Map<String, Double> awaitAllInEquity(GameEngine gameEngine, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        Map<String, Double> equity = null;
+        try {
+            while ((equity == null) && (System.currentTimeMillis() < deadline)) {
+                CompletableFuture<Map<String, Double>> readEquity = new CompletableFuture<>();
+                gameEngine.getClockTaskExecutor().execute(() -> readEquity.complete(gameEngine.getPlayerToAllInEquity()));
+                equity = readEquity.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                if (equity == null) {
+                    Thread.sleep(10);
+                }
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            Assertions.fail("Failed reading the all-in equity", e);
+        }
+
+        return equity;
+    }
 }
 
@@ -0,0 +1,156 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Test recording a {@link GameEngine} with a {@link GameEventLog}, and replaying it
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameEventLogTest {
+    private static final GameSettings GAME_SETTINGS = new GameSettings(1, 2, 60000, "id", false);
+    private static final int ROUNDS = 12;
+
+    @Test
+    public void testReplay_recordedGame_sameEventsAndState() {
+        // Arrange
+        GameEventLog log = new GameEventLog();
+        GameEngine recordedGame = playRecordedGame(log);
+        GameEventLog replayLog = new GameEventLog();
+        GameEngine replayedGame = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(1), null, GameClock.manual(0));
+        replayedGame.setEventListener(replayLog);
+
+        // Act
+        log.getEvents().forEach(replayedGame::replay);
+
+        // Assert
+        Assertions.assertEquals(log.getEvents(), replayLog.getEvents(), "Replay supposed to emit the recorded events, including the outcomes");
+        assertSameTable(recordedGame, replayedGame);
+    }
+
+    @Test
+    public void testReplayRound_eachRound_reproducesRoundOnItsOwn() {
+        // Arrange
+        GameEventLog log = new GameEventLog();
+        playRecordedGame(log);
+
+        for (int round = 0; round < log.getAmountOfRounds(); round++) {
+            GameEventLog replayLog = new GameEventLog();
+            GameEngine replayedGame = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(1), null, GameClock.manual(0));
+            replayedGame.setEventListener(replayLog);
+
+            // Act
+            log.getRoundEvents(round).forEach(replayedGame::replay);
+
+            // Assert
+            Assertions.assertEquals(log.getRoundEvents(round), replayLog.getEvents(), "Round " + round + " supposed to be replayed from its snapshot, with the same outcomes");
+        }
+    }
+
+    @Test
+    public void testReplayRound_lastRound_chipsAsRecorded() {
+        // Arrange
+        GameEventLog log = new GameEventLog();
+        GameEngine recordedGame = playRecordedGame(log);
+
+        // Act
+        GameEngine replayedGame = log.replayRound(GAME_SETTINGS, log.getAmountOfRounds() - 1);
+
+        // Assert
+        assertSameTable(recordedGame, replayedGame);
+    }
+
+    @Test
+    public void testWriteToReadFrom_recordedGame_sameEvents() throws IOException {
+        // Arrange
+        GameEventLog log = new GameEventLog();
+        playRecordedGame(log);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        log.writeTo(out);
+        GameEventLog readLog = GameEventLog.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert
+        Assertions.assertEquals(log.getEvents(), readLog.getEvents(), "Events supposed to be read as written");
+        Assertions.assertEquals(log.getAmountOfRounds(), readLog.getAmountOfRounds(), "Rounds supposed to be indexed when reading");
+        Assertions.assertTrue(out.size() < log.size() * 40, "Events supposed to be compact, but took " + out.size() + " bytes for " + log.size() + " events");
+    }
+
+    /**
+     * Play a game of bots that check, call, raise and fold, with players that leave and join, until {@link #ROUNDS} rounds
+     * were played, or one player is left
+     */
+    private static GameEngine playRecordedGame(GameEventLog log) {
+        GameClock.ManualClock clock = GameClock.manual(0);
+        GameEngine game = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(52), null, clock);
+        game.setEventListener(log);
+        game.addPlayer(new Player("id1", "name1", new Chips(60), false, null, 1));
+        game.addPlayer(new Player("id2", "name2", new Chips(100), false, null, 2));
+        game.addPlayer(new Player("id3", "name3", new Chips(40), false, null, 4));
+        game.addPlayer(new Player("id4", "name4", new Chips(200), false, null, 6));
+        game.start();
+
+        int actions = 0;
+        while ((log.getAmountOfRounds() <= ROUNDS) && (game.getGameState() != GameEngine.GameState.READY)) {
+            if (game.getPlayerToEarnings() != null) {
+                if (log.getAmountOfRounds() == 5) {
+                    game.addPlayer(new Player("id5", "name5", new Chips(80), false, null, 0));
+                }
+
+                clock.advance(GameEngine.NEXT_ROUND_DELAY_MILLIS);
+                continue;
+            }
+
+            Player player = game.getPlayers().getCurrentPlayer();
+            actions++;
+            if ((log.getAmountOfRounds() == 3) && player.getId().equals("id4")) {
+                game.removePlayer(player);
+                continue;
+            }
+
+            Long lastBet = game.getPot().getLastBet();
+            PlayerAction action;
+            if (actions % 9 == 4) {
+                action = PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.RAISE).chips(new Chips(lastBet == null ? 6 : lastBet * 2)).build();
+            } else if ((actions % 7 == 3) && (lastBet != null)) {
+                action = PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.FOLD).build();
+            } else {
+                action = PlayerAction.builder().name(player.getName()).actionKind(lastBet == null ? PlayerActionKind.CHECK : PlayerActionKind.CALL).build();
+            }
+
+            try {
+                game.executePlayerAction(player, action);
+            } catch (IllegalArgumentException e) {
+                game.executePlayerAction(player, PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.FOLD).build());
+            }
+        }
+
+        Assertions.assertTrue(log.getAmountOfRounds() > 5, "Game supposed to play several rounds, was: " + log.getAmountOfRounds());
+        return game;
+    }
+
+    private static void assertSameTable(GameEngine expected, GameEngine actual) {
+        Assertions.assertEquals(expected.getGameState(), actual.getGameState(), "Game state supposed to be the same");
+        Assertions.assertEquals(expected.getBoard(), actual.getBoard(), "Board supposed to be the same");
+        Assertions.assertEquals(expected.getPot().sum(), actual.getPot().sum(), "Pot supposed to be the same");
+        Assertions.assertEquals(expected.getPlayers().size(), actual.getPlayers().size(), "Amount of players supposed to be the same");
+        for (Player player : expected.getPlayers().getPlayers()) {
+            Player actualPlayer = actual.getPlayers().getPlayerById(player.getId());
+            Assertions.assertNotNull(actualPlayer, "Player supposed to be seated: " + player);
+            Assertions.assertEquals(player.getChips().get(), actualPlayer.getChips().get(), "Chips supposed to be the same: " + player);
+            Assertions.assertEquals(player.getPosition(), actualPlayer.getPosition(), "Position supposed to be the same: " + player);
+            Assertions.assertEquals(player.getHand(), actualPlayer.getHand(), "Hand supposed to be the same: " + player);
+        }
+    }
+}
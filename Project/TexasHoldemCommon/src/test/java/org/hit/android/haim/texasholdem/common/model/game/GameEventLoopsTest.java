@@ -0,0 +1,141 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test {@link GameEngine} running in event loop mode, over {@link GameEventLoops}
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameEventLoopsTest {
+    private GameEventLoops eventLoops;
+
+    @BeforeEach
+    public void setup() {
+        eventLoops = new GameEventLoops(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        eventLoops.shutdown();
+        eventLoops = null;
+    }
+
+    @Test
+    public void testAddPlayer_manyGames_executedByFixedAmountOfLoopThreads() {
+        // Arrange
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<GameEngine> games = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            games.add(new GameEngine(new GameSettings(1, 2, 60000, "id", true), (player, chips) -> {}, DeckRandomSource.seeded(i), eventLoops) {
+                @Override
+                protected void info(String message) {
+                    if (message.contains("Adding player")) {
+                        threadNames.add(Thread.currentThread().getName());
+                    }
+                }
+            });
+        }
+
+        try {
+            // Act
+            games.forEach(game -> game.addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1)));
+
+            // Assert
+            Assertions.assertEquals(eventLoops.size(), threadNames.size(), "All games supposed to run on the loops only");
+            threadNames.forEach(name -> Assertions.assertTrue(name.startsWith("GameEventLoop-"), "Player supposed to be added by a loop. Was: " + name));
+            games.forEach(game -> Assertions.assertEquals(1, game.getPlayers().size(), "Player supposed to join"));
+            Assertions.assertSame(eventLoops.loopOf(games.get(0).getId()), eventLoops.loopOf(games.get(2).getId()), "Games supposed to be pinned by identifier");
+        } finally {
+            games.forEach(GameEngine::stop);
+        }
+    }
+
+    @Test
+    public void testExecutePlayerAction_notPlayersTurn_exceptionReachesCaller() {
+        // Arrange
+        GameEngine gameEngine = newStartedGame(60000);
+
+        try {
+            Player notCurrentPlayer = gameEngine.getPlayers().getPreviousPlayer();
+
+            // Act + Assert
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> gameEngine.executePlayerAction(notCurrentPlayer, PlayerAction.builder().name(notCurrentPlayer.getName()).actionKind(PlayerActionKind.FOLD).build()),
+                "Exception of the loop supposed to be thrown to the caller");
+            Assertions.assertEquals(0, eventLoops.loopOf(gameEngine.getId()).getFailedTasks(), "A failure that reaches the caller is not a failure of the loop");
+        } finally {
+            gameEngine.stop();
+        }
+    }
+
+    @Test
+    public void testTurnTimeout_eventLoop_currentPlayerFolds() throws InterruptedException {
+        // Arrange
+        long turnTimeMillis = 300;
+        GameEngine gameEngine = newStartedGame(turnTimeMillis);
+
+        try {
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+
+            // Act
+            Thread.sleep((long)(turnTimeMillis * 1.5));
+
+            // Assert
+            Assertions.assertFalse(currPlayer.isPlaying(), "Player supposed to fold due to time out");
+            Assertions.assertNotEquals(currPlayer, gameEngine.getPlayers().getCurrentPlayer(), "Turn supposed to move forward");
+        } finally {
+            gameEngine.stop();
+        }
+    }
+
+    @Test
+    public void testExecute_failingCommand_failureReportedAndLoopKeepsRunning() throws InterruptedException {
+        // Arrange
+        AtomicReference<String> reportedBy = new AtomicReference<>();
+        AtomicReference<Throwable> reportedFailure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        eventLoops.setFailureHandler((executorName, failure) -> {
+            reportedBy.set(executorName);
+            reportedFailure.set(failure);
+            latch.countDown();
+        });
+        GameEventLoop loop = eventLoops.loopOf(0);
+        IllegalStateException expectedFailure = new IllegalStateException("Expected failure");
+
+        // Act
+        loop.execute(() -> { throw expectedFailure; });
+
+        // Assert
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS), "Failure of an executed command supposed to be reported");
+        Assertions.assertSame(expectedFailure, reportedFailure.get(), "The failure of the command supposed to be reported as is");
+        Assertions.assertEquals("GameEventLoop-0", reportedBy.get(), "The failure supposed to be reported by the loop that executed the command");
+        Assertions.assertEquals(1, loop.getFailedTasks(), "Expected one failed command");
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        loop.call(() -> threadName.set(Thread.currentThread().getName()));
+        Assertions.assertTrue(threadName.get().startsWith("GameEventLoop-0"), "Loop supposed to keep running after a failing command");
+    }
+
+    private GameEngine newStartedGame(long turnTimeMillis) {
+        GameEngine gameEngine = new GameEngine(new GameSettings(1, 2, turnTimeMillis, "id", true), (player, chips) -> {}, DeckRandomSource.seeded(7), eventLoops);
+        gameEngine.addPlayer(new Player("id1", "name1", new Chips(500), false, null, 1));
+        gameEngine.addPlayer(new Player("id2", "name2", new Chips(300), false, null, 2));
+        gameEngine.addPlayer(new Player("id3", "name3", new Chips(1000), false, null, 6));
+        gameEngine.start();
+        return gameEngine;
+    }
+}
@@ -0,0 +1,160 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.GameStateVersion.Part;
+import org.hit.android.haim.texasholdem.common.util.JsonUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test {@link GameStateVersion}, and the deltas of a {@link GameEngine}
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameStateVersionTest {
+    private static final GameSettings GAME_SETTINGS = new GameSettings(1, 2, 60000, "id", false);
+
+    @Test
+    public void testChangesBetween_severalVersions_unionOfChanges() {
+        // Arrange
+        GameStateVersion stateVersion = new GameStateVersion();
+        long from = stateVersion.markChanged(Part.PLAYERS.mask());
+        stateVersion.markChanged(Part.BOARD.mask());
+        stateVersion.markChanged(Part.maskOf(Part.POT, Part.PLAYERS));
+
+        // Act
+        EnumSet<Part> changes = GameStateVersion.partsOf(stateVersion.changesBetween(from, stateVersion.get()));
+
+        // Assert
+        Assertions.assertEquals(3, stateVersion.get(), "Every mark supposed to be a new version");
+        Assertions.assertEquals(EnumSet.of(Part.BOARD, Part.POT, Part.PLAYERS), changes, "Changes after the version supposed to be found");
+        Assertions.assertEquals(0, stateVersion.changesBetween(3, 3), "Nothing supposed to change at the current version");
+    }
+
+    @Test
+    public void testChangesBetween_unknownVersions_allParts() {
+        // Arrange
+        GameStateVersion stateVersion = new GameStateVersion();
+        for (int i = 0; i < GameStateVersion.HISTORY_SIZE + 10; i++) {
+            stateVersion.markChanged(Part.BOARD.mask());
+        }
+
+        // Act + Assert
+        Assertions.assertEquals(GameStateVersion.ALL_PARTS, stateVersion.changesBetween(5, stateVersion.get()), "Too old version supposed to get all parts");
+        Assertions.assertEquals(GameStateVersion.ALL_PARTS, stateVersion.changesBetween(stateVersion.get() + 1, stateVersion.get()), "Future version supposed to get all parts");
+        Assertions.assertEquals(GameStateVersion.ALL_PARTS, stateVersion.changesBetween(-1, stateVersion.get()), "Negative version supposed to get all parts");
+        Assertions.assertEquals(Part.BOARD.mask(), stateVersion.changesBetween(stateVersion.get() - 10, stateVersion.get()), "Recent version supposed to be remembered");
+    }
+
+    @Test
+    public void testMarkChanged_concurrentWriters_noVersionIsLost() throws InterruptedException {
+        // Arrange
+        GameStateVersion stateVersion = new GameStateVersion();
+        Part[] parts = { Part.PLAYERS, Part.BOARD, Part.POT, Part.ALL_IN_EQUITY };
+        int marksPerWriter = (GameStateVersion.HISTORY_SIZE - 1) / parts.length;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] writers = new Thread[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Part part = parts[i];
+            writers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int j = 0; j < marksPerWriter; j++) {
+                    stateVersion.markChanged(part.mask());
+                }
+            });
+            writers[i].start();
+        }
+
+        // Act
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        // Assert
+        Assertions.assertEquals(marksPerWriter * parts.length, stateVersion.get(), "Every mark supposed to be a version of its own");
+        Assertions.assertEquals(Part.maskOf(parts), stateVersion.changesBetween(0, stateVersion.get()), "Changes of all writers supposed to be kept");
+    }
+
+    @Test
+    public void testToJsonDelta_playerAction_changedPartsOnlyAndNotModifiedAfterwards() {
+        // Arrange
+        ObjectMapper objectMapper = JsonUtils.createObjectMapper();
+        GameEngine gameEngine = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(1), null, GameClock.manual(0));
+        gameEngine.addPlayer(Player.builder().id("id1").name("name1").chips(new Chips(100)).position(0).build());
+        gameEngine.addPlayer(Player.builder().id("id2").name("name2").chips(new Chips(100)).position(1).build());
+        gameEngine.addPlayer(Player.builder().id("id3").name("name3").chips(new Chips(100)).position(2).build());
+        gameEngine.start();
+        long version = gameEngine.getStateVersion().get();
+        Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+
+        // Act
+        gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(PlayerActionKind.CALL).build());
+        ObjectNode delta = gameEngine.toJsonDelta(objectMapper, version);
+        ObjectNode noDelta = gameEngine.toJsonDelta(objectMapper, gameEngine.getStateVersion().get());
+
+        // Assert
+        Assertions.assertNotNull(delta, "Player action supposed to change the game");
+        Assertions.assertEquals(gameEngine.getStateVersion().get(), delta.get("stateVersion").asLong(), "Delta supposed to contain the current version");
+        Assertions.assertTrue(delta.has("players") && delta.has("pot") && delta.has("gameLog"), "Delta supposed to contain the changed parts: " + delta);
+        Assertions.assertFalse(delta.has("gameSettings") || delta.has("board") || delta.has("dealer"), "Delta is not allowed to contain unchanged parts: " + delta);
+        Assertions.assertNull(noDelta, "Nothing supposed to change since the current version");
+    }
+
+    @Test
+    public void testToJsonDelta_roundStarted_lastVersionHasReopenedBettingRound() {
+        // Arrange
+        ObjectMapper objectMapper = JsonUtils.createObjectMapper();
+        GameEngine gameEngine = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(1), null, GameClock.manual(0));
+        gameEngine.addPlayer(Player.builder().id("id1").name("name1").chips(new Chips(100)).position(0).build());
+        gameEngine.addPlayer(Player.builder().id("id2").name("name2").chips(new Chips(100)).position(1).build());
+        gameEngine.addPlayer(Player.builder().id("id3").name("name3").chips(new Chips(100)).position(2).build());
+
+        // Act
+        gameEngine.start();
+        long version = gameEngine.getStateVersion().get();
+        ObjectNode delta = gameEngine.toJsonDelta(objectMapper, version - 1);
+
+        // Assert
+        Assertions.assertNotNull(delta, "The last version of a started round supposed to change the game");
+        Assertions.assertEquals(objectMapper.valueToTree(gameEngine.getBettingRound()), delta.get("bettingRound"),
+            "A client that has seen the game while the blinds were posted supposed to get the reopened round of bets: " + delta);
+    }
+
+    @Test
+    public void testToJsonDelta_applyToFullJson_sameAsFullJson() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = JsonUtils.createObjectMapper();
+        GameEngine gameEngine = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(1), null, GameClock.manual(0));
+        gameEngine.addPlayer(Player.builder().id("id1").name("name1").chips(new Chips(100)).position(0).build());
+        gameEngine.addPlayer(Player.builder().id("id2").name("name2").chips(new Chips(100)).position(1).build());
+        ObjectNode clientJson = gameEngine.toJsonDelta(objectMapper, -1);
+        gameEngine.start();
+        for (int i = 0; i < 3; i++) {
+            Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+            gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(PlayerActionKind.CALL).build());
+        }
+
+        // Act
+        clientJson.setAll(gameEngine.toJsonDelta(objectMapper, clientJson.get("stateVersion").asLong()));
+
+        // Assert
+        Assertions.assertEquals(objectMapper.valueToTree(gameEngine), clientJson, "Applying a delta supposed to bring the client up to date");
+        GameEngine clientGame = objectMapper.treeToValue(clientJson, GameEngine.class);
+        Assertions.assertEquals(gameEngine.getStateVersion().get(), clientGame.getStateVersion().get(), "Client supposed to read the version");
+    }
+}
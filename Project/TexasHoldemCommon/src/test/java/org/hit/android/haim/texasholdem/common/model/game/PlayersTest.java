@@ -0,0 +1,104 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.util.JsonUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link Players}, which keeps players by seat, with bitmasks of the seats
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class PlayersTest {
+    private Players players;
+
+    @BeforeEach
+    public void setup() {
+        players = new Players();
+        for (int seat : new int[] { 0, 2, 3, 5 }) {
+            players.addPlayer(Player.builder().id("id" + seat).name("name" + seat).chips(new Chips(100)).isPlaying(true).position(seat).build());
+        }
+    }
+
+    @Test
+    public void testAddPlayer_seatTaken_nextFreeSeat() {
+        // Arrange
+        Player player = Player.builder().id("new").name("new").chips(new Chips(100)).position(2).build();
+
+        // Act
+        players.addPlayer(player);
+
+        // Assert
+        Assertions.assertEquals(4, player.getPosition(), "Player supposed to take the next free seat");
+        Assertions.assertEquals(0b111101, players.getOccupiedSeats(), "Seat supposed to be taken");
+        Assertions.assertEquals(5, players.size(), "Player supposed to be added");
+        Assertions.assertSame(player, players.getPlayerById("new"), "Player supposed to be found by its identifier");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> players.addPlayer(player), "Player is already part of the game");
+    }
+
+    @Test
+    public void testNextPlayer_foldedAndAllIn_skipped() {
+        // Arrange
+        players.setCurrentPlayerIndex(0);
+        players.getPlayerById("id2").setPlaying(false);
+        players.getPlayerById("id3").getChips().set(0);
+
+        // Act
+        Player next = players.nextPlayer();
+        Player afterNext = players.nextPlayer();
+
+        // Assert
+        Assertions.assertEquals("id5", next.getId(), "Folded and all-in players supposed to be skipped");
+        Assertions.assertEquals("id0", afterNext.getId(), "Turn supposed to go around the table");
+        Assertions.assertEquals(0b101001, players.getPlayingSeats(), "Folded player is not playing");
+        Assertions.assertEquals(0b100001, players.getActiveSeats(), "All-in player cannot bet");
+        Assertions.assertEquals(3, players.getInvolvedPlayers().size(), "All-in player is still involved");
+    }
+
+    @Test
+    public void testGetAvailablePlayingPlayerReversed_foldedPlayer_previousPlayingPlayer() {
+        // Arrange
+        players.getPlayerById("id2").setPlaying(false);
+
+        // Act + Assert
+        Assertions.assertEquals("id0", players.getAvailablePlayingPlayerReversed(2).getId(), "Folded player supposed to be skipped counter clockwise");
+        Assertions.assertEquals("id5", players.getAvailablePlayingPlayerReversed(6).getId(), "Empty seat supposed to be skipped counter clockwise");
+        Assertions.assertEquals("id3", players.getAvailablePlayingPlayer(1).getId(), "Folded player supposed to be skipped");
+        Assertions.assertEquals("id0", players.getAvailablePlayer(6).getId(), "Empty seat supposed to be skipped around the table");
+    }
+
+    @Test
+    public void testRemovePlayer_currentPlayer_turnMovesForward() {
+        // Arrange
+        players.setCurrentPlayerIndex(2);
+
+        // Act
+        players.removePlayer(players.getPlayerById("id2"));
+
+        // Assert
+        Assertions.assertEquals(3, players.getCurrentPlayerIndex(), "Turn supposed to move to the next player");
+        Assertions.assertNull(players.getPlayerById("id2"), "Player supposed to be removed");
+        Assertions.assertEquals(0b101001, players.getOccupiedSeats(), "Seat supposed to be free");
+    }
+
+    @Test
+    public void testJson_readBack_sameSeats() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = JsonUtils.createObjectMapper();
+        players.setCurrentPlayerIndex(3);
+
+        // Act
+        String json = objectMapper.writeValueAsString(players);
+        Players readPlayers = objectMapper.readValue(json, Players.class);
+
+        // Assert
+        Assertions.assertFalse(json.contains("occupiedSeats") || json.contains("playingSeats"), "Seat masks are not part of the json: " + json);
+        Assertions.assertEquals(players.getOccupiedSeats(), readPlayers.getOccupiedSeats(), "Seats supposed to be read from the players");
+        Assertions.assertEquals(3, readPlayers.getCurrentPlayerIndex(), "Current player supposed to be read");
+        Assertions.assertEquals("id5", readPlayers.getPlayerById("id5").getId(), "Players supposed to be found by identifier");
+    }
+}
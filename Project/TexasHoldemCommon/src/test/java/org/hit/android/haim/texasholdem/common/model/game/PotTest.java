@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -184,5 +185,92 @@ public class PotTest {
         Assertions.assertNotNull(playerToEarnings.get(players[4].getId()).getHandRank().getRank(), "Hand rank is expected to be available for winner");
         Assertions.assertEquals(HandRank.TRIPS, playerToEarnings.get(players[4].getId()).getHandRank().getRank().getHandRank(), "Expected hand rank is three of a kind");
     }
-}
 
+    @Test
+    public void testPot_secondBestHandDrainedByWinner_remainderReturnedToThirdBest() {
+        // Arrange
+        // Ranks: players[0] (trip queens) > players[2] (trip sevens) > players[1] (pair of jacks)
+        players[0].getChips().set(2000);
+        players[2].getChips().set(1000);
+        players[1].getChips().set(3000);
+        pot.bet(players[0], 2000);
+        pot.bet(players[2], 1000);
+        pot.bet(players[1], 3000);
+
+        // Act
+        Map<String, Pot.PlayerWinning> playerToEarnings = pot.applyWinning(new HashSet<>(Arrays.asList(players[0], players[1], players[2])), board);
+
+        // Assert
+        Assertions.assertEquals(5000, playerToEarnings.get(players[0].getId()).getSum(), "Winner supposed to take his part out of all pots");
+        Assertions.assertFalse(playerToEarnings.containsKey(players[2].getId()), "Second best hand was fully drained by the winner");
+        Assertions.assertEquals(1000, playerToEarnings.get(players[1].getId()).getSum(), "Chips no one could win supposed to return to their owner");
+        Assertions.assertEquals(0, pot.sum(), "Pot supposed to be empty");
+    }
+
+    @Test
+    public void testGetLayers_allInBelowOthers_mainPotAndSidePot() {
+        // Arrange
+        players[0].getChips().set(1000);
+        pot.bet(players[0], 1000);
+        pot.bet(players[1], 3000);
+        pot.bet(players[2], 3000);
+
+        // Act
+        List<Pot.PotLayer> layers = pot.getLayers();
+
+        // Assert
+        Assertions.assertEquals(2, layers.size(), "Main pot and one side pot are expected");
+        Assertions.assertEquals(3000, layers.get(0).getSum(), "Main pot supposed to hold the all-in of each player");
+        Assertions.assertEquals(0b111, layers.get(0).getEligibleSeats(), "All players supposed to be eligible to the main pot");
+        Assertions.assertEquals(4000, layers.get(1).getSum(), "Side pot supposed to hold the bets above the all-in");
+        Assertions.assertEquals(0b110, layers.get(1).getEligibleSeats(), "Player who went all-in is not eligible to the side pot");
+        Assertions.assertEquals(0, layers.get(0).getWinnerSeats(), "There are no winners while a round runs");
+        Assertions.assertEquals(pot.sum(), layers.stream().mapToLong(Pot.PotLayer::getSum).sum(), "Layers supposed to hold all of the pot");
+    }
+
+    @Test
+    public void testApplyWinning_allInBelowOthers_settledLayersHoldWinners() {
+        // Arrange
+        players[0].getChips().set(1000);
+        pot.bet(players[0], 1000);
+        pot.bet(players[1], 3000);
+        pot.bet(players[2], 3000);
+
+        // Act
+        pot.applyWinning(new HashSet<>(Arrays.asList(players[0], players[1], players[2])), board);
+        List<Pot.PotLayer> layers = pot.getLayers();
+
+        // Assert
+        Assertions.assertEquals(2, layers.size(), "Settled layers supposed to be kept after the pot is shared");
+        Assertions.assertEquals(0b001, layers.get(0).getWinnerSeats(), "First player supposed to win the main pot");
+        Assertions.assertEquals(0b100, layers.get(1).getWinnerSeats(), "Third player supposed to win the side pot");
+        Assertions.assertEquals(3000, players[0].getChips().get(), "First player supposed to earn the main pot");
+        Assertions.assertEquals(CHIPS - 3000 + 4000, players[2].getChips().get(), "Third player supposed to earn the side pot");
+
+        // Act
+        pot.clear();
+        pot.bet(players[3], 100);
+
+        // Assert
+        Assertions.assertEquals(1, pot.getLayers().size(), "Bets of the next round supposed to replace the settled layers");
+        Assertions.assertEquals(0, pot.getLayers().get(0).getWinnerSeats(), "There are no winners while a round runs");
+    }
+
+    @Test
+    public void testApplyWinning_foldedPlayerBetAboveAll_returnedToFoldedPlayer() {
+        // Arrange
+        players[0].getChips().set(1000);
+        pot.bet(players[1], 2000);
+        pot.bet(players[0], 1000);
+        players[1].setPlaying(false);
+
+        // Act
+        Map<String, Pot.PlayerWinning> playerToEarnings = pot.applyWinning(new HashSet<>(Arrays.asList(players[0], players[2])), board);
+
+        // Assert
+        Assertions.assertEquals(2000, playerToEarnings.get(players[0].getId()).getSum(), "Winner supposed to take the bets it has covered");
+        Assertions.assertEquals(1000, playerToEarnings.get(players[1].getId()).getSum(), "Chips no one could win supposed to return to their owner");
+        Assertions.assertNull(playerToEarnings.get(players[1].getId()).getHandRank(), "Folded player has no hand rank");
+        Assertions.assertEquals(0, pot.sum(), "Pot supposed to be empty");
+    }
+}
@@ -0,0 +1,118 @@
+package org.hit.android.haim.texasholdem.common.model.game;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.util.JsonUtils;
+import org.hit.android.haim.texasholdem.common.util.ThreadContextMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link TableView}, which encodes a game once and splices the hand of each viewer
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class TableViewTest {
+    private static final GameSettings GAME_SETTINGS = new GameSettings(1, 2, 60000, "id", false);
+
+    private final ObjectMapper objectMapper = JsonUtils.createObjectMapper();
+    private GameEngine gameEngine;
+
+    @BeforeEach
+    public void setup() {
+        gameEngine = new GameEngine(GAME_SETTINGS, (player, chips) -> {}, DeckRandomSource.seeded(1), null, GameClock.manual(0));
+        gameEngine.addPlayer(Player.builder().id("id1").name("name1").chips(new Chips(100)).position(0).build());
+        gameEngine.addPlayer(Player.builder().id("id2").name("name2").chips(new Chips(100)).position(1).build());
+        gameEngine.addPlayer(Player.builder().id("id3").name("name3").chips(new Chips(100)).position(2).build());
+        gameEngine.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadContextMap.getInstance().setUserId(null);
+        gameEngine.stop();
+        gameEngine = null;
+    }
+
+    @Test
+    public void testGetJson_eachViewer_sameAsSerializingForViewer() throws Exception {
+        for (String viewerId : new String[] { "id1", "id2", "id3", "someone" }) {
+            // Arrange
+            ThreadContextMap.getInstance().setUserId(viewerId);
+            JsonNode expected = readTree(gameEngine.toJsonDelta(objectMapper, -1));
+            ThreadContextMap.getInstance().setUserId(null);
+
+            // Act
+            JsonNode actual = objectMapper.readTree(gameEngine.getTableView().getJson(viewerId));
+
+            // Assert
+            Assertions.assertEquals(expected, actual, "Viewer " + viewerId + " supposed to see the game as if it was serialized for it");
+        }
+    }
+
+    @Test
+    public void testGetJson_dealer_handSplicedOnlyForViewer() throws Exception {
+        // Arrange
+        Player dealer = gameEngine.getDealer();
+        String otherId = dealer.getId().equals("id1") ? "id2" : "id1";
+
+        // Act
+        JsonNode dealerView = objectMapper.readTree(gameEngine.getTableView().getJson(dealer.getId()));
+        JsonNode otherView = objectMapper.readTree(gameEngine.getTableView().getJson(otherId));
+
+        // Assert
+        JsonNode dealerHand = readTree(dealer.getHand());
+        Assertions.assertEquals(dealerHand, dealerView.get("dealer").get("hand"), "Dealer supposed to see its hand at every slot");
+        Assertions.assertEquals(dealerHand, dealerView.get("players").get("playersArray").get(dealer.getPosition()).get("hand"), "Dealer supposed to see its hand");
+        Assertions.assertTrue(otherView.get("dealer").get("hand").isNull(), "Other player is not allowed to see the hand of the dealer");
+        Assertions.assertTrue(otherView.get("players").get("playersArray").get(dealer.getPosition()).get("hand").isNull(), "Other player is not allowed to see the hand of the dealer");
+    }
+
+    @Test
+    public void testGetJson_sameVersion_encodedOnce() {
+        // Act
+        byte[] first = gameEngine.getTableView().getJson("someone");
+        byte[] second = gameEngine.getTableView().getJson("another");
+
+        Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+        gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(PlayerActionKind.CALL).build());
+        byte[] afterAction = gameEngine.getTableView().getJson("someone");
+
+        // Assert
+        Assertions.assertSame(first, second, "Viewers without a hand supposed to share the encoded json of a version");
+        Assertions.assertNotSame(first, afterAction, "A mutation supposed to invalidate the encoded json");
+    }
+
+    @Test
+    public void testGetJsonDelta_currentVersion_nullAndOlderVersionGetsChanges() throws Exception {
+        // Arrange
+        long version = gameEngine.getStateVersion().get();
+        Player currPlayer = gameEngine.getPlayers().getCurrentPlayer();
+        gameEngine.executePlayerAction(currPlayer, PlayerAction.builder().name(currPlayer.getName()).actionKind(PlayerActionKind.CALL).build());
+
+        // Act
+        byte[] notModified = gameEngine.getTableView().getJsonDelta("id1", gameEngine.getStateVersion().get());
+        JsonNode delta = objectMapper.readTree(gameEngine.getTableView().getJsonDelta("id1", version));
+
+        // Assert
+        Assertions.assertNull(notModified, "Nothing supposed to change since the current version");
+        Assertions.assertEquals(gameEngine.getStateVersion().get(), delta.get("stateVersion").asLong(), "Delta supposed to contain the current version");
+        Assertions.assertFalse(delta.has("gameSettings"), "Delta is not allowed to contain unchanged parts: " + delta);
+        Assertions.assertEquals(readTree(gameEngine.getPlayers().getPlayerById("id1").getHand()),
+            delta.get("players").get("playersArray").get(0).get("hand"), "Viewer supposed to see its hand in a delta");
+    }
+
+    /**
+     * Write a value and read it back, so numbers are read like they are read from the encoded json
+     */
+    private JsonNode readTree(Object value) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(value));
+    }
+}
@@ -0,0 +1,199 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankCalculator;
+import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankCalculatorResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class EquityCalculatorTest {
+    private static final long SEED = 52;
+
+    @Test
+    public void testCalculate_acesVsKingsPreflop_acesAreFavorite() {
+        // Arrange
+        List<Hand> hands = Arrays.asList(handOf("A♠", "A♥"), handOf("K♠", "K♥"));
+        EquitySettings settings = EquitySettings.builder().samples(200_000).seed(SEED).build();
+
+        // Act
+        EquityResult result = new EquityCalculator().calculate(hands, null, null, settings);
+
+        // Assert
+        Assertions.assertEquals(200_000, result.getSamples(), "All samples supposed to be evaluated");
+        Assertions.assertFalse(result.isTimedOut(), "There is no time budget");
+        Assertions.assertEquals(0.82, result.getPlayer(0).getEquity(), 0.01, "Aces supposed to have ~82% equity against kings");
+        Assertions.assertEquals(1, result.getPlayer(0).getEquity() + result.getPlayer(1).getEquity(), 1e-9, "Equities supposed to sum up to 1");
+        Assertions.assertEquals(result.getPlayer(0).getWins(), result.getPlayer(1).getLosses(), "Heads-up wins of one are losses of the other");
+    }
+
+    @Test
+    public void testCalculate_sameSeedDifferentPools_sameResult() {
+        // Arrange
+        List<Hand> hands = Arrays.asList(handOf("A♠", "K♠"), handOf("Q♥", "Q♦"), handOf("7♣", "8♣"));
+        Board board = boardOf("2♠", "9♣", "Q♠");
+        EquitySettings settings = EquitySettings.builder().samples(50_000).seed(SEED).build();
+
+        // Act
+        EquityResult result1 = new EquityCalculator(new ForkJoinPool(1)).calculate(hands, board, null, settings);
+        EquityResult result2 = new EquityCalculator(new ForkJoinPool(4)).calculate(hands, board, null, settings);
+
+        // Assert
+        Assertions.assertEquals(result1, result2, "Same seed supposed to give the same result, regardless of parallelism");
+    }
+
+    @Test
+    public void testCalculate_fullBoard_singleRunout() {
+        // Arrange
+        List<Hand> hands = Arrays.asList(handOf("A♠", "K♠"), handOf("A♥", "K♥"));
+        Board board = boardOf("2♣", "7♦", "9♣", "J♦", "3♠");
+
+        // Act
+        EquityResult result = new EquityCalculator().calculate(hands, board, null, EquitySettings.builder().build());
+
+        // Assert
+        Assertions.assertEquals(1, result.getSamples(), "Full board has a single runout");
+        Assertions.assertEquals(1, result.getPlayer(0).getTies(), "Same hand ranks supposed to tie");
+        Assertions.assertEquals(0.5, result.getPlayer(1).getEquity(), 1e-9, "Tie between two supposed to share the pot");
+    }
+
+    @Test
+    public void testCalculate_tinyTimeBudget_stopsBeforeAllSamples() {
+        // Arrange
+        List<Hand> hands = Arrays.asList(handOf("A♠", "K♠"), handOf("2♥", "2♦"));
+        EquitySettings settings = EquitySettings.builder().samples(Integer.MAX_VALUE).timeBudget(20).build();
+
+        // Act
+        EquityResult result = new EquityCalculator().calculate(hands, null, null, settings);
+
+        // Assert
+        Assertions.assertTrue(result.isTimedOut(), "Calculation supposed to run out of time");
+        Assertions.assertTrue(result.getSamples() < Integer.MAX_VALUE, "Calculation supposed to stop before evaluating all samples");
+    }
+
+    @Test
+    public void testCalculate_duplicateCard_illegalArgument() {
+        // Arrange
+        List<Hand> hands = Arrays.asList(handOf("A♠", "K♠"), handOf("Q♥", "Q♦"));
+        List<Card> deadCards = Collections.singletonList(Card.valueOf("Q♦"));
+
+        // Act + Assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EquityCalculator().calculate(hands, null, deadCards, EquitySettings.builder().build()), "Dead card that is in a hand is illegal");
+    }
+
+    @Test
+    public void testEnumerate_acesVsKingsPreflop_allBoardsAndCloseToSampling() {
+        // Arrange
+        List<Hand> hands = Arrays.asList(handOf("A♠", "A♥"), handOf("K♠", "K♥"));
+        EquitySettings settings = EquitySettings.builder().samples(200_000).seed(SEED).build();
+
+        // Act
+        EquityResult exact = new EquityCalculator().enumerate(hands, null, null);
+        EquityResult estimated = new EquityCalculator().calculate(hands, null, null, settings);
+
+        // Assert
+        Assertions.assertTrue(exact.isExact(), "Enumeration supposed to be exact");
+        Assertions.assertEquals(1_712_304, exact.getSamples(), "Heads-up preflop supposed to have (48 choose 5) boards");
+        Assertions.assertEquals(exact.getSamples(), exact.getPlayer(1).getSamples(), "Each hand supposed to be counted at every board");
+        Assertions.assertEquals(exact.getPlayer(0).getEquity(), estimated.getPlayer(0).getEquity(), 0.01, "Sampling supposed to be close to the exact equity");
+    }
+
+    @Test
+    public void testEnumerate_turn_sameAsCalculatorOverAllRivers() {
+        // Arrange
+        Hand hand1 = handOf("A♠", "K♠");
+        Hand hand2 = handOf("Q♥", "Q♦");
+        Hand hand3 = handOf("7♣", "8♣");
+        Board turn = boardOf("2♠", "9♣", "Q♠", "T♦");
+        List<Card> deadCards = Collections.singletonList(Card.valueOf("3♥"));
+        long[] expectedWins = new long[3];
+        long[] expectedTies = new long[3];
+        for (Card river : Deck.getAllCards()) {
+            if (turn.containsCard(river) || hand1.containsCard(river) || hand2.containsCard(river) || hand3.containsCard(river) || deadCards.contains(river)) {
+                continue;
+            }
+
+            Board board = boardOf("2♠", "9♣", "Q♠", "T♦");
+            board.addCard(river);
+            HandRankCalculatorResult[] ranks = { HandRankCalculator.calculate(board, hand1), HandRankCalculator.calculate(board, hand2), HandRankCalculator.calculate(board, hand3) };
+            HandRankCalculatorResult best = Collections.max(Arrays.asList(ranks));
+            long amountOfWinners = Arrays.stream(ranks).filter(rank -> rank.compareTo(best) == 0).count();
+            for (int i = 0; i < ranks.length; i++) {
+                if (ranks[i].compareTo(best) == 0) {
+                    if (amountOfWinners == 1) {
+                        expectedWins[i]++;
+                    } else {
+                        expectedTies[i]++;
+                    }
+                }
+            }
+        }
+
+        // Act
+        EquityResult result = new EquityCalculator().enumerate(Arrays.asList(hand1, hand2, hand3), turn, deadCards);
+
+        // Assert
+        Assertions.assertEquals(41, result.getSamples(), "Wrong amount of rivers");
+        for (int i = 0; i < expectedWins.length; i++) {
+            Assertions.assertEquals(expectedWins[i], result.getPlayer(i).getWins(), "Wrong wins of hand " + i);
+            Assertions.assertEquals(expectedTies[i], result.getPlayer(i).getTies(), "Wrong ties of hand " + i);
+        }
+    }
+
+    @Test
+    public void testEstimateAgainstRandomHands_preflop_lookedUpAtStrengthTable() {
+        // Arrange
+        Hand hand = handOf("A♠", "A♥");
+
+        // Act
+        double equity = EquityCalculator.estimateAgainstRandomHands(hand.getCardsMask(), 0, 3, EquitySettings.builder().build());
+
+        // Assert
+        Assertions.assertEquals(PreflopStrengthTable.equityOf(hand, 3), equity, 1e-9, "Preflop equity supposed to be taken from the table");
+    }
+
+    @Test
+    public void testEstimateAgainstRandomHands_setOnFlop_favoriteAndReproducible() {
+        // Arrange
+        Hand hand = handOf("9♠", "9♥");
+        Board board = boardOf("2♠", "9♣", "K♦");
+        EquitySettings settings = EquitySettings.builder().samples(20_000).seed(SEED).build();
+
+        // Act
+        double equity = EquityCalculator.estimateAgainstRandomHands(hand.getCardsMask(), board.getCardsMask(), 2, settings);
+        double sameSeedEquity = EquityCalculator.estimateAgainstRandomHands(hand.getCardsMask(), board.getCardsMask(), 2, settings);
+
+        // Assert
+        Assertions.assertTrue(equity > 0.85, "Set on a dry flop supposed to be a big favorite against 2 random hands. Was: " + equity);
+        Assertions.assertEquals(equity, sameSeedEquity, "Same seed supposed to give the same estimate");
+    }
+
+    static Hand handOf(String... cards) {
+        return new Hand(cardsOf(cards));
+    }
+
+    static Board boardOf(String... cards) {
+        return new Board(cardsOf(cards));
+    }
+
+    private static List<Card> cardsOf(String... cards) {
+        List<Card> result = new ArrayList<>(cards.length);
+        for (String card : cards) {
+            result.add(Card.valueOf(card));
+        }
+
+        return result;
+    }
+}
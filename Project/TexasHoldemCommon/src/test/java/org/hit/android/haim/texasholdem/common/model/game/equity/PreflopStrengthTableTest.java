@@ -0,0 +1,113 @@
+package org.hit.android.haim.texasholdem.common.model.game.equity;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test the classes and equities of {@link PreflopStrengthTable}.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class PreflopStrengthTableTest {
+    @Test
+    public void testGetInstance_shippedResource_readRatherThanGenerated() {
+        // Act
+        PreflopStrengthTable table = PreflopStrengthTable.getInstance();
+
+        // Assert
+        Assertions.assertNotNull(table, "PreflopStrengthTable supposed to be available");
+        Assertions.assertNull(PreflopStrengthTable.getFallbackReason(), "The shipped table supposed to be read from the resource");
+    }
+
+    @Test
+    public void testClassOf_allStartingHands_169Classes() {
+        // Arrange
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Set<Integer> classes = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < allCards.size(); i++) {
+            for (int j = i + 1; j < allCards.size(); j++) {
+                int handClass = PreflopStrengthTable.classOf(new Hand(new ArrayList<>(Arrays.asList(allCards.get(i), allCards.get(j)))));
+                Assertions.assertEquals(handClass, PreflopStrengthTable.classOf(new Hand(new ArrayList<>(Arrays.asList(allCards.get(j), allCards.get(i))))), "Class supposed to be the same no matter the order of cards");
+                classes.add(handClass);
+            }
+        }
+
+        // Assert
+        Assertions.assertEquals(PreflopStrengthTable.AMOUNT_OF_CLASSES, classes.size(), "Wrong amount of classes");
+        Assertions.assertEquals(PreflopStrengthTable.classOf(new Hand(cardsOf("A♣", "K♣"))), PreflopStrengthTable.classOf(new Hand(cardsOf("K♥", "A♥"))), "Suited hands supposed to share a class");
+        Assertions.assertNotEquals(PreflopStrengthTable.classOf(new Hand(cardsOf("A♣", "K♣"))), PreflopStrengthTable.classOf(new Hand(cardsOf("A♣", "K♥"))), "Suited and offsuit hands supposed to differ");
+    }
+
+    @Test
+    public void testEquityOf_knownHands_equityAsExpected() {
+        // Arrange
+        Hand aces = new Hand(cardsOf("A♣", "A♦"));
+        Hand aceKingSuited = new Hand(cardsOf("A♠", "K♠"));
+        Hand sevenTwoOffsuit = new Hand(cardsOf("7♥", "2♣"));
+
+        // Act
+        double acesHeadsUp = PreflopStrengthTable.equityOf(aces, 1);
+        double aceKingHeadsUp = PreflopStrengthTable.equityOf(aceKingSuited, 1);
+        double sevenTwoHeadsUp = PreflopStrengthTable.equityOf(sevenTwoOffsuit, 1);
+
+        // Assert
+        Assertions.assertEquals(0.852, acesHeadsUp, 0.01, "Wrong equity of aces heads up");
+        Assertions.assertEquals(0.670, aceKingHeadsUp, 0.01, "Wrong equity of ace king suited heads up");
+        Assertions.assertEquals(0.346, sevenTwoHeadsUp, 0.01, "Wrong equity of seven two offsuit heads up");
+        for (int opponents = PreflopStrengthTable.MIN_OPPONENTS; opponents < PreflopStrengthTable.MAX_OPPONENTS; opponents++) {
+            Assertions.assertTrue(PreflopStrengthTable.equityOf(aces, opponents) > PreflopStrengthTable.equityOf(aces, opponents + 1), "Equity supposed to drop with more opponents");
+        }
+    }
+
+    @Test
+    public void testEquityOf_tooManyOpponents_throws() {
+        // Arrange
+        Hand hand = new Hand(cardsOf("A♣", "A♦"));
+
+        // Act + Assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PreflopStrengthTable.equityOf(hand, PreflopStrengthTable.MAX_OPPONENTS + 1), "Supposed to throw when there are too many opponents");
+    }
+
+    @Test
+    public void testGenerate_sameSeed_sameTable() throws Exception {
+        // Arrange
+        PreflopStrengthTableGenerator generator = new PreflopStrengthTableGenerator(7, 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        PreflopStrengthTable generated = generator.generate();
+        PreflopStrengthTable generatedAgain = generator.generate();
+        PreflopStrengthTableGenerator.write(generated, out);
+        PreflopStrengthTable read = PreflopStrengthTable.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert
+        Assertions.assertArrayEquals(generated.getEquities(), generatedAgain.getEquities(), "Same seed supposed to generate the same table");
+        Assertions.assertNotNull(read, "Failed reading written table");
+        Assertions.assertEquals(7, read.getSeed(), "Wrong seed");
+        Assertions.assertEquals(100, read.getSamples(), "Wrong amount of samples");
+        Assertions.assertArrayEquals(generated.getEquities(), read.getEquities(), "Wrong equities");
+    }
+
+    private static List<Card> cardsOf(String... cards) {
+        List<Card> result = new ArrayList<>();
+        for (String card : cards) {
+            result.add(Card.valueOf(card));
+        }
+
+        return result;
+    }
+}
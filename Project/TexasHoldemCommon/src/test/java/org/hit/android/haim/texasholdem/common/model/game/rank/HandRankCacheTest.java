@@ -0,0 +1,105 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Make sure {@link HandRankCache} returns the same ranks as {@link HandRankCalculator}, and counts hits, misses and evictions.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HandRankCacheTest {
+    @Test
+    public void testCalculate_randomHandsOf5To7Cards_sameRankAsCalculator() {
+        // Arrange
+        HandRankCache cache = new HandRankCache();
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20000; i++) {
+            Collections.shuffle(allCards, random);
+            int boardSize = 3 + (i % 3);
+            Board board = new Board(new ArrayList<>(allCards.subList(0, boardSize)));
+            Hand hand = new Hand(new ArrayList<>(allCards.subList(boardSize, boardSize + 2)));
+            Set<Card> cards = new HashSet<>(board.copyCards());
+            cards.addAll(hand.copyCards());
+
+            // Act
+            HandRankCalculatorResult expected = HandRankCalculator.calculate(board, hand);
+            HandRankCalculatorResult actual = cache.calculate(board, hand);
+            HandRankCalculatorResult cached = cache.calculate(board, hand);
+
+            // Assert
+            Assertions.assertEquals(expected.getRank(), actual.getRank(), "Wrong rank. Cards: " + cards);
+            Assertions.assertEquals(expected.getRank(), cached.getRank(), "Wrong cached rank. Cards: " + cards);
+            Assertions.assertTrue(cards.containsAll(Arrays.asList(cached.getSelectedCards())), "Cached selection supposed to be out of the cards. Cards: " + cards + ", selection: " + Arrays.toString(cached.getSelectedCards()));
+            Assertions.assertEquals(expected.getRank().getStrength(), HandRankLookupTable.evaluate(Card.maskOf(Arrays.asList(cached.getSelectedCards()))), "Cached selection supposed to build the rank. Cards: " + cards);
+            Assertions.assertEquals(expected.getRank().getStrength(), cache.evaluate(board.getCardsMask() | hand.getCardsMask()), "Wrong cached strength. Cards: " + cards);
+        }
+
+        Assertions.assertTrue(cache.getHits() >= 40000, "Second calculation and evaluation supposed to hit the cache");
+    }
+
+    @Test
+    public void testCalculate_sameCardsInOtherSuits_hitsCache() {
+        // Arrange
+        HandRankCache cache = new HandRankCache();
+        Board board = new Board(cardsOf("2♣", "2♥", "9♦", "J♠", "Q♦"));
+        Hand hand = new Hand(cardsOf("A♣", "K♣"));
+        Hand handOfOtherSuits = new Hand(cardsOf("A♥", "K♥"));
+
+        // Act
+        HandRankCalculatorResult result = cache.calculate(board, hand);
+        HandRankCalculatorResult result2 = cache.calculate(board, handOfOtherSuits);
+
+        // Assert
+        Assertions.assertEquals(1, cache.getMisses(), "First hand supposed to miss");
+        Assertions.assertEquals(1, cache.getHits(), "Second hand supposed to hit, as it has the same ranks and suit structure");
+        Assertions.assertEquals(1, cache.size(), "Both hands supposed to share one entry");
+        Assertions.assertEquals(result.getRank(), result2.getRank(), "Both hands supposed to have the same rank");
+        Assertions.assertTrue(Arrays.asList(result2.getSelectedCards()).contains(Card.valueOf("A♥")), "Selection supposed to be in the real suits of the hand");
+    }
+
+    @Test
+    public void testEvaluate_moreEntriesThanCapacity_evicts() {
+        // Arrange
+        HandRankCache cache = new HandRankCache(4, 1);
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Random random = new Random(7);
+        Set<Long> keys = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            Collections.shuffle(allCards, random);
+            long cardsMask = Card.maskOf(allCards.subList(0, 7));
+            keys.add(HandRankCache.canonicalize(cardsMask) & ((1L << Card.AMOUNT_OF_CARDS) - 1));
+            cache.evaluate(cardsMask);
+        }
+
+        // Assert
+        Assertions.assertEquals(4, cache.size(), "Cache supposed to be bounded");
+        Assertions.assertEquals(keys.size() - 4, cache.getEvictions(), "Every distinct key above capacity supposed to evict another one");
+    }
+
+    private static List<Card> cardsOf(String... cards) {
+        List<Card> result = new ArrayList<>();
+        for (String card : cards) {
+            result.add(Card.valueOf(card));
+        }
+
+        return result;
+    }
+}
@@ -423,5 +423,76 @@ public class HandRankCalculatorTest {
         Assertions.assertEquals(HandRankCalculator.sumCardsRank(expectedSelection.toArray(new Card[] { })), calculate.getRank().getScore(), "Wrong hand rank");
         Assertions.assertEquals(expectedSelection, new HashSet<>(Arrays.asList(calculate.getSelectedCards())), "Wrong winning hand selection");
     }
-}
 
+    @Test
+    public void testPair_sameSumDifferentKickers_higherKickerWins() {
+        // Arrange
+        Board board = new Board();
+        board.addCard(Card.valueOf(JACK_CLUB));
+        board.addCard(Card.valueOf(JACK_DIAMOND));
+        board.addCard(Card.valueOf(TWO_SPADE));
+
+        Hand hand = new Hand();
+        hand.addCard(Card.valueOf(KING_DIAMOND));
+        hand.addCard(Card.valueOf(SEVEN_CLUB));
+
+        Hand hand2 = new Hand();
+        hand2.addCard(Card.valueOf(QUEEN_DIAMOND));
+        hand2.addCard(Card.valueOf("8♠"));
+
+        // Act
+        HandRankCalculatorResult calculate = HandRankCalculator.calculate(board, hand);
+        HandRankCalculatorResult calculate2 = HandRankCalculator.calculate(board, hand2);
+
+        // Assert
+        Assertions.assertEquals(calculate.getRank().getScore(), calculate2.getRank().getScore(), "Both hands supposed to have the same score");
+        Assertions.assertTrue(calculate.compareTo(calculate2) > 0, "First hand (king kicker) supposed to win");
+        Assertions.assertTrue(calculate.getRank().getStrength() > calculate2.getRank().getStrength(), "First hand (king kicker) supposed to be stronger");
+    }
+
+    @Test
+    public void testPair_pairOfThreesAgainstPairOfTwosWithHigherKickers_pairOfThreesWins() {
+        // Arrange
+        Board board = new Board();
+        board.addCard(Card.valueOf(FOUR_DIAMOND));
+        board.addCard(Card.valueOf(SIX_SPADE));
+        board.addCard(Card.valueOf(SEVEN_CLUB));
+
+        Hand hand = new Hand();
+        hand.addCard(Card.valueOf(THREE_HEART));
+        hand.addCard(Card.valueOf(THREE_DIAMOND));
+
+        Board board2 = new Board();
+        board2.addCard(Card.valueOf(KING_CLUB));
+        board2.addCard(Card.valueOf(QUEEN_DIAMOND));
+        board2.addCard(Card.valueOf(JACK_SPADE));
+
+        Hand hand2 = new Hand();
+        hand2.addCard(Card.valueOf(TWO_DIAMOND));
+        hand2.addCard(Card.valueOf(TWO_CLUB));
+
+        // Act
+        HandRankCalculatorResult calculate = HandRankCalculator.calculate(board, hand);
+        HandRankCalculatorResult calculate2 = HandRankCalculator.calculate(board2, hand2);
+
+        // Assert
+        Assertions.assertTrue(calculate.getRank().getScore() < calculate2.getRank().getScore(), "Pair of twos supposed to have higher score");
+        Assertions.assertTrue(calculate.compareTo(calculate2) > 0, "First hand (pair of threes) supposed to win");
+    }
+
+    @Test
+    public void testStrength_straightFromAce_lowestStraight() {
+        // Arrange
+        Card[] straightFromAce = new Card[] { Card.valueOf(TWO_CLUB), Card.valueOf(THREE_DIAMOND), Card.valueOf(FOUR_DIAMOND), Card.valueOf(FIVE_DIAMOND), Card.valueOf(ACE_DIAMOND) };
+        Card[] straightFromTwo = new Card[] { Card.valueOf(TWO_CLUB), Card.valueOf(THREE_DIAMOND), Card.valueOf(FOUR_DIAMOND), Card.valueOf(FIVE_DIAMOND), Card.valueOf(SIX_SPADE) };
+
+        // Act
+        HandNumericRank rank = HandRankCalculator.calculate(straightFromAce);
+        HandNumericRank rank2 = HandRankCalculator.calculate(straightFromTwo);
+
+        // Assert
+        Assertions.assertEquals(HandRank.STRAIGHT, rank.getHandRank(), "Hand rank supposed to be straight");
+        Assertions.assertTrue(rank2.compareTo(rank) > 0, "Straight from two supposed to win");
+        Assertions.assertEquals(rank, HandNumericRank.ofStrength(rank.getStrength()), "Rank supposed to be restored out of its strength");
+    }
+}
@@ -0,0 +1,100 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Make sure {@link HandRankLookupTable} gives the exact same results as going over all permutations.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HandRankLookupTableTest {
+    @Test
+    public void testGetInstance_shippedResource_readRatherThanGenerated() {
+        // Act
+        HandRankLookupTable table = HandRankLookupTable.getInstance();
+
+        // Assert
+        Assertions.assertNotNull(table, "HandRankLookupTable supposed to be available");
+        Assertions.assertNull(HandRankLookupTable.getFallbackReason(), "The shipped tables supposed to be read from the resource");
+    }
+
+    @Test
+    public void testCalculate_randomHandsOf5To7Cards_sameResultAsPermutations() {
+        // Arrange
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Collections.sort(allCards, Comparator.comparingInt(Card::getIndex));
+        Random random = new Random(7);
+
+        for (int i = 0; i < 30000; i++) {
+            Collections.shuffle(allCards, random);
+            int boardSize = 3 + (i % 3);
+            Board board = new Board(new ArrayList<>(allCards.subList(0, boardSize)));
+            Hand hand = new Hand(new ArrayList<>(allCards.subList(boardSize, boardSize + 2)));
+            List<Card> cards = new ArrayList<>(board.copyCards());
+            cards.addAll(hand.copyCards());
+
+            // Act
+            HandRankCalculatorResult expected = HandRankCalculator.calculateUsingPermutations(cards, hand);
+            HandRankCalculatorResult actual = HandRankCalculator.calculate(board, hand);
+
+            // Assert
+            Assertions.assertEquals(expected, actual, "Lookup table result differs from permutations. Cards: " + cards);
+        }
+    }
+
+    @Test
+    public void testEvaluate_handsOfSameRankAndScore_equalValues() {
+        // Arrange
+        long straightFromClubs = maskOf("A♣", "2♣", "3♦", "4♣", "5♣", "9♥", "9♠");
+        long straightFromHearts = maskOf("A♥", "2♥", "3♦", "4♥", "5♠", "K♣", "Q♣");
+
+        // Act
+        int value1 = HandRankLookupTable.evaluate(straightFromClubs);
+        int value2 = HandRankLookupTable.evaluate(straightFromHearts);
+
+        // Assert
+        Assertions.assertEquals(HandRank.STRAIGHT, HandRankLookupTable.handRankOf(value1), "Hand rank supposed to be straight");
+        Assertions.assertEquals(value1, value2, "Same straight supposed to have same value");
+    }
+
+    @Test
+    public void testRead_writeGeneratedTables_tablesAreEqual() throws Exception {
+        // Arrange
+        HandRankLookupTable generated = new HandRankLookupTableGenerator().generate();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        HandRankLookupTableGenerator.write(generated, out);
+        HandRankLookupTable read = HandRankLookupTable.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert
+        Assertions.assertNotNull(read, "Failed reading written tables");
+        Assertions.assertArrayEquals(generated.getDisplacements(), read.getDisplacements(), "Wrong displacements");
+        Assertions.assertArrayEquals(generated.getValues(), read.getValues(), "Wrong values");
+        Assertions.assertArrayEquals(generated.getFlushValues(), read.getFlushValues(), "Wrong flush values");
+        Assertions.assertArrayEquals(generated.getValues(), HandRankLookupTable.getInstance().getValues(), "Resource is out of date. Run HandRankLookupTableGenerator");
+    }
+
+    private static long maskOf(String... cards) {
+        long mask = 0;
+        for (String card : cards) {
+            mask |= 1L << Card.valueOf(card).getIndex();
+        }
+
+        return mask;
+    }
+}
@@ -0,0 +1,93 @@
+package org.hit.android.haim.texasholdem.common.model.game.rank;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Board;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Card;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.game.Deck;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Make sure {@link HandRankCalculator#calculateShowdown(Board, List)} orders hands the same as ranking each hand by itself.
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class ShowdownRankingTest {
+    @Test
+    public void testCalculateShowdown_randomTablesOf2To7Hands_sameOrderAsCalculate() {
+        // Arrange
+        List<Card> allCards = new ArrayList<>(Deck.getAllCards());
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            Collections.shuffle(allCards, random);
+            int boardSize = 3 + (i % 3);
+            int amountOfHands = 2 + (i % 6);
+            Board board = new Board(new ArrayList<>(allCards.subList(0, boardSize)));
+            List<Hand> hands = new ArrayList<>();
+            for (int j = 0; j < amountOfHands; j++) {
+                int from = boardSize + (j * 2);
+                hands.add(new Hand(new ArrayList<>(allCards.subList(from, from + 2))));
+            }
+
+            // Act
+            ShowdownRanking ranking = HandRankCalculator.calculateShowdown(board, hands);
+
+            // Assert
+            int amountOfRankedHands = 0;
+            HandRankCalculatorResult previousGroupResult = null;
+            for (int group = 0; group < ranking.getAmountOfGroups(); group++) {
+                HandRankCalculatorResult groupResult = HandRankCalculator.calculate(board, hands.get(ranking.getHandIndex(group, 0)));
+                if (previousGroupResult != null) {
+                    Assertions.assertTrue(previousGroupResult.compareTo(groupResult) > 0, "Groups supposed to be ordered best first. Board: " + board + ", hands: " + hands);
+                }
+
+                for (int position = 0; position < ranking.getGroupSize(group); position++) {
+                    int handIndex = ranking.getHandIndex(group, position);
+                    HandRankCalculatorResult expected = HandRankCalculator.calculate(board, hands.get(handIndex));
+                    Assertions.assertEquals(0, groupResult.compareTo(expected), "Hands of a group supposed to tie. Board: " + board + ", hands: " + hands);
+                    Assertions.assertEquals(expected, ranking.getResult(handIndex), "Wrong result of hand. Board: " + board + ", hand: " + hands.get(handIndex));
+                    amountOfRankedHands++;
+                }
+
+                previousGroupResult = groupResult;
+            }
+
+            Assertions.assertEquals(amountOfHands, amountOfRankedHands, "All hands supposed to be ranked");
+        }
+    }
+
+    @Test
+    public void testCalculateShowdown_sameStraight_singleGroup() {
+        // Arrange
+        Board board = new Board(cardsOf("3♦", "4♣", "5♠", "9♥", "K♣"));
+        List<Hand> hands = new ArrayList<>();
+        hands.add(new Hand(cardsOf("A♣", "2♣")));
+        hands.add(new Hand(cardsOf("A♥", "2♥")));
+        hands.add(new Hand(cardsOf("9♠", "9♦")));
+
+        // Act
+        ShowdownRanking ranking = HandRankCalculator.calculateShowdown(board, hands);
+
+        // Assert
+        Assertions.assertEquals(2, ranking.getAmountOfGroups(), "Straights supposed to tie, and beat the set");
+        Assertions.assertEquals(2, ranking.getGroupSize(0), "Both straights supposed to win");
+        Assertions.assertEquals(HandRank.STRAIGHT, ranking.getResult(ranking.getHandIndex(0, 0)).getRank().getHandRank(), "Winning hand supposed to be straight");
+        Assertions.assertEquals(2, ranking.getHandIndex(1, 0), "Set supposed to lose");
+    }
+
+    private static List<Card> cardsOf(String... cards) {
+        List<Card> result = new ArrayList<>();
+        for (String card : cards) {
+            result.add(Card.valueOf(card));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package org.hit.android.haim.texasholdem.common.model.game.tournament;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test {@link Tournament}, seating, balancing and closing its tables while they play in parallel
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class TournamentTest {
+    private static final int MAX_TICKS = 20_000;
+
+    private GameEventLoops eventLoops;
+    private GameClock.ManualClock clock;
+
+    @BeforeEach
+    public void setup() {
+        eventLoops = new GameEventLoops(Runtime.getRuntime().availableProcessors());
+        clock = GameClock.manual(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        eventLoops.shutdown();
+        eventLoops = null;
+    }
+
+    @Test
+    public void testStart_twentyPlayers_dealtToFewestTablesEvenly() {
+        // Arrange
+        Tournament tournament = newTournament(20);
+
+        try {
+            // Act
+            tournament.start();
+
+            // Assert
+            List<Integer> playersOfTables = tournament.getTables().stream().map(table -> table.getPlayers().size()).collect(Collectors.toList());
+            Assertions.assertEquals(Arrays.asList(7, 7, 6), playersOfTables, "Players supposed to be dealt to 3 tables, differing by one player at most");
+            tournament.getTables().forEach(table -> Assertions.assertEquals(GameEngine.GameState.STARTED, table.getGameState(), "All tables supposed to start"));
+            Assertions.assertSame(tournament.getTables().get(1), tournament.getTableOf("id1"), "Second player supposed to sit at the second table");
+            Assertions.assertThrows(IllegalArgumentException.class, () -> tournament.register(newPlayer(20)), "Cannot register once started");
+        } finally {
+            tournament.stop();
+        }
+    }
+
+    @Test
+    public void testSimulation_thousandPlayers_singleWinnerWithAllChips() throws ExecutionException, InterruptedException {
+        // Arrange
+        int amountOfPlayers = 1000;
+        Tournament tournament = newTournament(amountOfPlayers);
+        long startingChips = TournamentSettings.builder().build().getStartingChips();
+        List<Player> players = new ArrayList<>();
+
+        // Act
+        tournament.start();
+        tournament.getTables().forEach(table -> players.addAll(table.getPlayers().getPlayers()));
+        int ticks = 0;
+        while (!tournament.isOver() && (ticks++ < MAX_TICKS)) {
+            List<Future<?>> hands = new ArrayList<>();
+            for (TournamentTable table : tournament.getTables()) {
+                hands.add(table.getEventLoop().submit(() -> playHand(table)));
+            }
+
+            for (Future<?> hand : hands) {
+                hand.get();
+            }
+
+            // Launch the next round of tables that are over, after the break of the tournament
+            clock.advance(GameEngine.NEXT_ROUND_DELAY_MILLIS);
+            awaitLoops();
+        }
+        awaitLoops();
+
+        // Assert
+        Assertions.assertTrue(tournament.isOver(), "Tournament supposed to be over after " + MAX_TICKS + " ticks");
+        Assertions.assertEquals(1, tournament.getPlayersLeft(), "Single player supposed to be left");
+        List<Player> winners = players.stream().filter(player -> Integer.valueOf(1).equals(tournament.getPlaces().get(player.getId()))).collect(Collectors.toList());
+        Assertions.assertEquals(1, winners.size(), "Single winner expected");
+        Assertions.assertEquals(amountOfPlayers * startingChips, winners.get(0).getChips().get(), "Winner supposed to hold all chips");
+        Assertions.assertEquals(IntStream.rangeClosed(1, amountOfPlayers).boxed().collect(Collectors.toSet()), new HashSet<>(tournament.getPlaces().values()),
+            "Each player supposed to get a place of its own");
+        tournament.getTables().forEach(table -> Assertions.assertEquals(GameEngine.GameState.STOPPED, table.getGameState(), "All tables supposed to stop"));
+    }
+
+    /**
+     * Play the current round of a table to its end, by aggressive bots that push all-in often, so the tournament is short
+     * @param table The table to play at. Executed by its loop
+     */
+    private static void playHand(TournamentTable table) {
+        while ((table.getGameState() == GameEngine.GameState.STARTED) && (table.getPlayerToEarnings() == null)) {
+            Player player = table.getPlayers().getCurrentPlayer();
+            Pot pot = table.getPot();
+            boolean isFacingBet = pot.hasLastBet() && (pot.getLastBetAmount() > pot.getPotOfPlayer(player));
+            double random = ThreadLocalRandom.current().nextDouble();
+
+            PlayerAction.PlayerActionBuilder action = PlayerAction.builder().name(player.getName());
+            if (random < 0.15) {
+                action.actionKind(PlayerActionKind.RAISE).chips(new Chips(player.getChips().get()));
+            } else if (isFacingBet && (random < 0.35)) {
+                action.actionKind(PlayerActionKind.FOLD);
+            } else {
+                action.actionKind(isFacingBet ? PlayerActionKind.CALL : PlayerActionKind.CHECK);
+            }
+
+            try {
+                table.executePlayerAction(player, action.build());
+            } catch (IllegalArgumentException e) {
+                // A bet the pot does not accept. Give up the hand
+                table.executePlayerAction(player, PlayerAction.builder().name(player.getName()).actionKind(PlayerActionKind.FOLD).build());
+            }
+        }
+    }
+
+    /**
+     * Wait for the loops to execute the breaks of the tables, and the resumes they post to other loops
+     */
+    private void awaitLoops() throws ExecutionException, InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            for (int loop = 0; loop < eventLoops.size(); loop++) {
+                eventLoops.loopOf(loop).submit(() -> {}).get();
+            }
+        }
+    }
+
+    private Tournament newTournament(int amountOfPlayers) {
+        Tournament tournament = new Tournament(TournamentSettings.builder().build(), eventLoops, clock) {
+            @Override
+            protected TournamentTable newTable(int index, GameSettings gameSettings) {
+                return new TournamentTable(this, index, gameSettings, eventLoops, clock) {
+                    @Override
+                    protected void info(String message) {
+                        // Keep the output of the simulation short
+                    }
+
+                    @Override
+                    protected boolean isInfoEnabled() {
+                        return false;
+                    }
+                };
+            }
+        };
+
+        for (int i = 0; i < amountOfPlayers; i++) {
+            tournament.register(newPlayer(i));
+        }
+
+        return tournament;
+    }
+
+    private static Player newPlayer(int i) {
+        return new Player("id" + i, "name" + i, new Chips(), false, null, 0);
+    }
+}
@@ -0,0 +1,105 @@
+package org.hit.android.haim.texasholdem.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test scheduling, cancelling and metrics of {@link HashedWheelTimer}
+ *
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    public void setup() {
+        // A small wheel, so the deadlines below take several rounds of the wheel
+        timer = new HashedWheelTimer("TestTimer", 10, 8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        timer.stop();
+        timer = null;
+    }
+
+    @Test
+    public void testNewTimeout_severalRounds_firesOnTimeAndInOrder() throws InterruptedException {
+        // Arrange
+        List<Integer> fired = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        long startTime = System.nanoTime();
+
+        // Act
+        timer.newTimeout(() -> { fired.add(300); latch.countDown(); }, 300, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> { fired.add(100); latch.countDown(); }, 100, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> { fired.add(200); latch.countDown(); }, 200, TimeUnit.MILLISECONDS);
+
+        // Assert
+        Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS), "All timeouts supposed to fire");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        Assertions.assertTrue(elapsedMillis >= 300, "Timeouts are not allowed to fire before their deadline. Elapsed: " + elapsedMillis);
+        Assertions.assertEquals(Arrays.asList(100, 200, 300), fired, "Timeouts supposed to fire by deadline order");
+        Assertions.assertEquals(3, timer.getExpiredTimeouts(), "Expected 3 expired timeouts");
+        Assertions.assertEquals(0, timer.getPendingTimeouts(), "No timeout supposed to be pending");
+        Assertions.assertTrue(timer.getMaxLatenessMillis() < 100, "Timeouts supposed to fire within tens of milliseconds. Was: " + timer.getMaxLatenessMillis());
+    }
+
+    @Test
+    public void testCancel_manyTimeouts_noneFires() throws InterruptedException {
+        // Arrange
+        AtomicInteger fired = new AtomicInteger();
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+        // Deadlines far enough, so scheduling all of them ends before the first deadline, even on a slow machine
+        for (int i = 0; i < 10000; i++) {
+            timeouts.add(timer.newTimeout(fired::incrementAndGet, 300 + (i % 100), TimeUnit.MILLISECONDS));
+        }
+
+        // Act
+        timeouts.forEach(HashedWheelTimer.Timeout::cancel);
+        Thread.sleep(600);
+
+        // Assert
+        Assertions.assertEquals(0, fired.get(), "Cancelled timeouts are not allowed to fire");
+        Assertions.assertEquals(10000, timer.getCancelledTimeouts(), "Expected all timeouts to be cancelled");
+        Assertions.assertEquals(0, timer.getPendingTimeouts(), "No timeout supposed to be pending");
+        Assertions.assertFalse(timeouts.get(0).cancel(), "Cancelling twice is not allowed");
+    }
+
+    @Test
+    public void testNewTimeout_failingTask_failureReportedAndTimerKeepsRunning() throws InterruptedException {
+        // Arrange
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> reportedBy = new AtomicReference<>();
+        AtomicReference<Throwable> reportedFailure = new AtomicReference<>();
+        timer.setFailureHandler((executorName, failure) -> {
+            reportedBy.set(executorName);
+            reportedFailure.set(failure);
+        });
+        IllegalStateException expectedFailure = new IllegalStateException("Expected failure");
+
+        // Act
+        timer.newTimeout(() -> { throw expectedFailure; }, 10, TimeUnit.MILLISECONDS);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        // Assert
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS), "Timer supposed to keep running after a failing task");
+        Assertions.assertTrue(timeout.isExpired(), "Timeout supposed to be expired");
+        Assertions.assertFalse(timeout.cancel(), "Cannot cancel an expired timeout");
+        Assertions.assertSame(expectedFailure, reportedFailure.get(), "The failure of the task supposed to be reported as is");
+        Assertions.assertEquals("TestTimer", reportedBy.get(), "The failure supposed to be reported with the name of the timer");
+        Assertions.assertEquals(1, timer.getFailedTimeouts(), "Expected one failed timeout");
+        Assertions.assertEquals(2, timer.getExpiredTimeouts(), "A failed timeout has fired as well");
+    }
+}
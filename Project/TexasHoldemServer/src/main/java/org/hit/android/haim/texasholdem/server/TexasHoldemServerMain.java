@@ -2,6 +2,11 @@ package org.hit.android.haim.texasholdem.server;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+import org.hit.android.haim.texasholdem.common.model.game.equity.PreflopStrengthTable;
+import org.hit.android.haim.texasholdem.common.model.game.rank.HandRankLookupTable;
+import org.hit.android.haim.texasholdem.common.util.HashedWheelTimer;
+import org.hit.android.haim.texasholdem.common.util.TaskFailureHandler;
 import org.hit.android.haim.texasholdem.server.model.service.GameService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -40,6 +45,8 @@ public class TexasHoldemServerMain {
 
     public static void main(String[] args) {
         log.info("Enter Main");
+        loadLookupTables();
+        reportTaskFailures();
         SpringApplicationBuilder builder = new SpringApplicationBuilder(TexasHoldemServerMain.class);
         builder.headless(false); // So we will be able to use AWT (TrayIcon)
         applicationContext = builder.run(args);
@@ -49,6 +56,32 @@ public class TexasHoldemServerMain {
         log.info("Exit Main");
     }
 
+    /**
+     * Load the lookup tables of the game at startup, rather than at the first hand, and report when they had to be
+     * generated in memory, as this is slow and means the shipped resources are missing or corrupt.
+     */
+    private static void loadLookupTables() {
+        String handRankFallback = HandRankLookupTable.getFallbackReason();
+        if (handRankFallback != null) {
+            log.warn("Hand rank tables were generated in memory: " + handRankFallback);
+        }
+
+        String preflopFallback = PreflopStrengthTable.getFallbackReason();
+        if (preflopFallback != null) {
+            log.warn("Preflop strength table was generated in memory: " + preflopFallback);
+        }
+    }
+
+    /**
+     * Nobody waits for the commands the game event loops and the turn timer execute in the background (turn timeouts,
+     * next rounds, bot actions), so log their failures, as a failing command might leave a table stuck.
+     */
+    private static void reportTaskFailures() {
+        TaskFailureHandler failureHandler = (executorName, failure) -> log.error("Task of " + executorName + " has failed", failure);
+        GameEventLoops.getInstance().setFailureHandler(failureHandler);
+        HashedWheelTimer.getInstance().setFailureHandler(failureHandler);
+    }
+
     private static void configureLog4j2() {
         // Use asynchronous loggers by default for better performance
         System.setProperty("log4j2.contextSelector", "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector");
@@ -69,6 +102,15 @@ public class TexasHoldemServerMain {
                 System.setProperty("org.hit.android.haim.texasholdem.logdir", "/home/ec2-user/TexasHoldem/log");
             }
         }
+
+        // Set default data directory, where idle games are hibernated, in case it was not specified outside the application
+        if (System.getProperty("org.hit.android.haim.texasholdem.datadir") == null) {
+            if (System.getProperty("os.name").toLowerCase().contains("win")) {
+                System.setProperty("org.hit.android.haim.texasholdem.datadir", "C:/temp/AndroidProjects/TexasHoldem/data");
+            } else {
+                System.setProperty("org.hit.android.haim.texasholdem.datadir", "/home/ec2-user/TexasHoldem/data");
+            }
+        }
     }
 
     private static void redirectStreamsToLog4j() {
@@ -9,6 +9,8 @@ import org.hit.android.haim.texasholdem.server.model.bean.user.User;
 import org.hit.android.haim.texasholdem.server.model.service.GameService;
 import org.hit.android.haim.texasholdem.server.security.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -133,6 +135,29 @@ public class GameController {
         }
     }
 
+    /**
+     * Seat a bot at the game of the user. Only the creator of a game can seat bots at it.
+     */
+    @PutMapping("/{gameHash}/bot")
+    public ResponseEntity<?> addBot(@RequestHeader(AUTHORIZATION_HEADER) String jwtToken, @PathVariable String gameHash) {
+        try {
+            User user = jwtUtils.parseToken(jwtToken);
+            Optional<GameEngine> game = gameService.findByCreatorId(user.getId());
+            if (game.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            if (!game.get().getGameHash().equals(gameHash)) {
+                return ResponseEntity.badRequest().body("Game " + gameHash + " differs from user's game");
+            }
+
+            // In case the game is active or full, an illegal argument exception will be thrown and return to client as BAD_REQUEST
+            return ResponseEntity.ok(gameService.addBot(gameHash));
+        } catch (Throwable t) {
+            return ControllerErrorHandler.handleServerError(t);
+        }
+    }
+
     @PutMapping("/{gameHash}/leave")
     public ResponseEntity<?> leaveGame(@RequestHeader(AUTHORIZATION_HEADER) String jwtToken, @PathVariable String gameHash) {
         try {
@@ -163,8 +188,15 @@ public class GameController {
         }
     }
 
+    /**
+     * Get the info of a game, to draw it. Players poll this every second.<br/>
+     * Clients that send the state version of the game they have get the parts that have changed since that version only,
+     * or {@link HttpStatus#NOT_MODIFIED} when nothing has changed. Without a version, clients get all of the game.<br/>
+     * The json is encoded once per version for all players of a game, and each player gets its own hand spliced in.
+     * See {@link org.hit.android.haim.texasholdem.common.model.game.TableView#getJsonDelta(String, long)}
+     */
     @GetMapping("/{gameHash}/info")
-    public ResponseEntity<?> getGameInfo(@RequestHeader(AUTHORIZATION_HEADER) String jwtToken, @PathVariable String gameHash) {
+    public ResponseEntity<?> getGameInfo(@RequestHeader(AUTHORIZATION_HEADER) String jwtToken, @PathVariable String gameHash, @RequestParam(required = false) Long version) {
         try {
             Optional<GameEngine> game = gameService.findById(gameHash);
             if (game.isEmpty()) {
@@ -179,7 +211,12 @@ public class GameController {
             }
 
             // Return game engine which contains all of the info, except sensitive data like player/deck cards.
-            return ResponseEntity.ok(game.get());
+            byte[] json = version == null ? game.get().getTableView().getJson(player.getId()) : game.get().getTableView().getJsonDelta(player.getId(), version);
+            if (json == null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
         } catch (Throwable t) {
             return ControllerErrorHandler.handleServerError(t);
         }
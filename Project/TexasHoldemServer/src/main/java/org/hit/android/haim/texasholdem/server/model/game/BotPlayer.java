@@ -0,0 +1,57 @@
+package org.hit.android.haim.texasholdem.server.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A player that the server seats at a game, so a table can start without a second human, and keeps going when it gets quiet.<br/>
+ * A bot is not a registered user, so it has no coins to update. Its decisions are made by {@link BotWorkers}, whenever
+ * the turn moves to it. See {@link ServerGameEngine#onTurn(Player)}
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class BotPlayer extends Player {
+    private static final AtomicInteger botCounter = new AtomicInteger(1);
+
+    /**
+     * Counts the turns of this bot, so a decision is executed at the turn it was made for only
+     */
+    private final AtomicLong turnCounter = new AtomicLong();
+
+    /**
+     * Constructs a new {@link BotPlayer}, with a unique identifier and name
+     * @param chips The chips the bot brings to the table
+     */
+    public BotPlayer(long chips) {
+        this(botCounter.getAndIncrement(), chips);
+    }
+
+    private BotPlayer(int botNumber, long chips) {
+        super("bot-" + botNumber, "Bot " + botNumber, new Chips(chips), false, null, 0);
+    }
+
+    /**
+     * Constructs a {@link BotPlayer} that was seated at a hibernated game. See {@link HibernatedGame}
+     */
+    BotPlayer(String id, String name, long chips, int position) {
+        super(id, name, new Chips(chips), false, null, position);
+    }
+
+    /**
+     * Start the next turn of this bot. Called by the thread that mutates the game, when the turn moves to the bot
+     * @return The number of the turn that has started
+     */
+    long nextTurn() {
+        return turnCounter.incrementAndGet();
+    }
+
+    /**
+     * @return The number of the current, or last, turn of this bot. See {@link #nextTurn()}
+     */
+    long getTurnNumber() {
+        return turnCounter.get();
+    }
+}
@@ -0,0 +1,266 @@
+package org.hit.android.haim.texasholdem.server.model.game;
+
+import lombok.extern.log4j.Log4j2;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Hand;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.BettingRound;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.Pot;
+import org.hit.android.haim.texasholdem.common.model.game.equity.EquityCalculator;
+import org.hit.android.haim.texasholdem.common.model.game.equity.EquitySettings;
+import org.hit.android.haim.texasholdem.common.util.CustomThreadFactory;
+
+import java.util.concurrent.*;
+
+/**
+ * The workers that make the decisions of all {@link BotPlayer bots}, of all games.<br/>
+ * When the turn moves to a bot, the loop of its game takes a snapshot of what the bot can see (its hand, the board, the pot
+ * and the bet to call) and hands it over to the workers, so the loop never waits for a decision. A worker estimates the
+ * equity of the hand against random hands of the players left, and the decision is executed by the loop of the game.
+ * A decision made for a turn that is over is dropped, and when the game has changed since the snapshot while the turn
+ * goes on, the bot decides again, within what is left of the budget of that turn.<br/>
+ * The workers are a bounded pool with a bounded queue, shared by all games, so many bots at many tables cannot take more
+ * threads than that. Each decision has a time budget, starting when its turn starts. A decision that waited in the queue
+ * beyond its budget, or that the queue could not accept, checks when it can and folds otherwise.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Log4j2
+public class BotWorkers {
+    /**
+     * How much time a bot has to decide, from the moment the turn moves to it. In millis
+     */
+    static final long DECISION_BUDGET_MILLIS = 300;
+
+    /**
+     * Maximum amount of random hands and runouts to estimate the equity of a hand with
+     */
+    private static final int EQUITY_SAMPLES = 20_000;
+
+    /**
+     * Maximum amount of decisions waiting for a worker
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * How many times better than an even share of the pot a hand must be, in order to raise with it
+     */
+    private static final double RAISE_STRENGTH = 1.6;
+
+    /**
+     * The workers. Their threads go away when there are no bots to decide for
+     */
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * See {@link #DECISION_BUDGET_MILLIS}
+     */
+    private final long decisionBudgetNanos;
+
+    /**
+     * Constructs a new {@link BotWorkers}
+     * @param amountOfWorkers Maximum amount of threads making decisions
+     * @param queueCapacity Maximum amount of decisions waiting for a worker
+     * @param decisionBudgetMillis How much time a bot has to decide, from the moment the turn moves to it
+     */
+    public BotWorkers(int amountOfWorkers, int queueCapacity, long decisionBudgetMillis) {
+        this(new ThreadPoolExecutor(amountOfWorkers, amountOfWorkers, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueCapacity),
+            new CustomThreadFactory("BotWorker"), new ThreadPoolExecutor.AbortPolicy()), decisionBudgetMillis);
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Constructs a new {@link BotWorkers} over the specified workers
+     * @param workers The workers. Decisions they reject are given up
+     * @param decisionBudgetMillis How much time a bot has to decide, from the moment the turn moves to it
+     */
+    BotWorkers(ThreadPoolExecutor workers, long decisionBudgetMillis) {
+        this.workers = workers;
+        decisionBudgetNanos = TimeUnit.MILLISECONDS.toNanos(decisionBudgetMillis);
+    }
+
+    /**
+     * @return The workers all games share. Half of the processors at most, so the loops of the games keep running
+     */
+    public static BotWorkers getInstance() {
+        return SingletonRef.instance;
+    }
+
+    /**
+     * The turn has moved to a bot. Called by the thread that mutates the game, so we only take a snapshot here.
+     * @param game The game the bot plays at
+     * @param bot The bot whose turn it is
+     */
+    public void onTurn(GameEngine game, BotPlayer bot) {
+        decideLater(game, bot, bot.nextTurn(), System.nanoTime() + decisionBudgetNanos);
+    }
+
+    /**
+     * Take a snapshot of what a bot sees, and hand it over to the workers. Called by the thread that mutates the game
+     * @param game The game the bot plays at
+     * @param bot The bot whose turn it is
+     * @param turnNumber The turn of the bot to decide for. See {@link BotPlayer#nextTurn()}
+     * @param deadline When the budget of the turn is over, in {@link System#nanoTime()} terms
+     */
+    private void decideLater(GameEngine game, BotPlayer bot, long turnNumber, long deadline) {
+        Hand hand = bot.getHand();
+        if ((hand == null) || (hand.size() != 2)) {
+            return;
+        }
+
+        Pot pot = game.getPot();
+        BettingRound bettingRound = game.getBettingRound();
+        long betOfBot = pot.getPotOfPlayer(bot);
+        Turn turn = new Turn(game, bot, turnNumber, game.getStateVersion().get(), deadline,
+            hand.getCardsMask(),
+            game.getBoard().getCardsMask(),
+            Integer.bitCount(game.getPlayers().getPlayingSeats()) - 1,
+            pot.sum(),
+            Math.max(0, bettingRound.getBetToMatch() - betOfBot),
+            bettingRound.getMinRaiseTo() - betOfBot,
+            bot.getChips().get());
+
+        try {
+            workers.execute(() -> decide(turn));
+        } catch (RejectedExecutionException e) {
+            log.warn(game.getId() + " - Bot workers are busy. " + bot.getName() + " gives up its turn");
+            executorOf(game).execute(() -> act(turn, giveUp(turn)));
+        }
+    }
+
+    /**
+     * Decide what a bot does. Executed by a worker
+     * @param turn What the bot saw when its turn started
+     */
+    private void decide(Turn turn) {
+        PlayerAction action;
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(turn.deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+            action = giveUp(turn);
+        } else {
+            try {
+                double equity = EquityCalculator.estimateAgainstRandomHands(turn.handMask, turn.boardMask, turn.amountOfOpponents,
+                    EquitySettings.builder().samples(EQUITY_SAMPLES).timeBudget(remainingMillis).build());
+                action = actionOf(turn, equity);
+            } catch (RuntimeException e) {
+                log.error(turn.game.getId() + " - Bot " + turn.bot.getName() + " failed to decide: " + e.getMessage(), e);
+                action = giveUp(turn);
+            }
+        }
+
+        PlayerAction decision = action;
+        executorOf(turn.game).execute(() -> act(turn, decision));
+    }
+
+    /**
+     * Raise with strong hands, call when the equity pays for the bet to call, and check or fold otherwise
+     * @param turn What the bot saw when its turn started
+     * @param equity The share of the pot the hand of the bot is expected to get
+     * @return The action to execute
+     */
+    private static PlayerAction actionOf(Turn turn, double equity) {
+        PlayerAction.PlayerActionBuilder action = PlayerAction.builder().name(turn.bot.getName());
+        double strength = equity * (turn.amountOfOpponents + 1);
+        if ((strength >= RAISE_STRENGTH) && (turn.chips > turn.toCall)) {
+            long raise = Math.max(turn.minRaise, turn.toCall + (turn.pot / 2));
+            return action.actionKind(PlayerActionKind.RAISE).chips(new Chips(Math.min(raise, turn.chips))).build();
+        }
+
+        if (turn.toCall == 0) {
+            return action.actionKind(PlayerActionKind.CHECK).build();
+        }
+
+        double potOdds = (double) turn.toCall / (turn.pot + turn.toCall);
+        return action.actionKind(equity >= potOdds ? PlayerActionKind.CALL : PlayerActionKind.FOLD).build();
+    }
+
+    /**
+     * @param turn What the bot saw when its turn started
+     * @return CHECK when there is nothing to call, or FOLD otherwise
+     */
+    private static PlayerAction giveUp(Turn turn) {
+        PlayerActionKind actionKind = turn.toCall == 0 ? PlayerActionKind.CHECK : PlayerActionKind.FOLD;
+        return PlayerAction.builder().name(turn.bot.getName()).actionKind(actionKind).build();
+    }
+
+    /**
+     * Execute the decision of a bot. Executed by the loop of the game
+     * @param turn What the bot saw when its turn started
+     * @param action The decision of the bot
+     */
+    private void act(Turn turn, PlayerAction action) {
+        GameEngine game = turn.game;
+
+        // The turn this decision was made for is over. In case the bot has another turn already, it has its own decision
+        if ((turn.number != turn.bot.getTurnNumber()) || (game.getGameState() != GameEngine.GameState.STARTED) ||
+            (game.getPlayerToEarnings() != null) || !turn.bot.equals(game.getPlayers().getCurrentPlayer())) {
+            return;
+        }
+
+        // Someone has left since the bot saw the game, so decide again on what it looks like now, by the same deadline
+        if (game.getStateVersion().get() != turn.version) {
+            decideLater(game, turn.bot, turn.number, turn.deadline);
+            return;
+        }
+
+        try {
+            game.executePlayerAction(turn.bot, action);
+        } catch (IllegalArgumentException e) {
+            log.warn(game.getId() + " - Bot action was rejected: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The loop of the game, or the calling thread when the game runs with dedicated threads
+     */
+    private static Executor executorOf(GameEngine game) {
+        return game.getEventLoop() != null ? game.getEventLoop() : Runnable::run;
+    }
+
+    /**
+     * Stop the workers. Pending decisions are discarded, so the turn timer of their games folds them
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * What a bot sees when its turn starts
+     */
+    private static final class Turn {
+        private final GameEngine game;
+        private final BotPlayer bot;
+        private final long number;
+        private final long version;
+        private final long deadline;
+        private final long handMask;
+        private final long boardMask;
+        private final int amountOfOpponents;
+        private final long pot;
+        private final long toCall;
+        private final long minRaise;
+        private final long chips;
+
+        private Turn(GameEngine game, BotPlayer bot, long number, long version, long deadline, long handMask, long boardMask,
+                     int amountOfOpponents, long pot, long toCall, long minRaise, long chips) {
+            this.game = game;
+            this.bot = bot;
+            this.number = number;
+            this.version = version;
+            this.deadline = deadline;
+            this.handMask = handMask;
+            this.boardMask = boardMask;
+            this.amountOfOpponents = amountOfOpponents;
+            this.pot = pot;
+            this.toCall = toCall;
+            this.minRaise = minRaise;
+            this.chips = chips;
+        }
+    }
+
+    private static class SingletonRef {
+        static final BotWorkers instance = new BotWorkers(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), QUEUE_CAPACITY, DECISION_BUDGET_MILLIS);
+    }
+}
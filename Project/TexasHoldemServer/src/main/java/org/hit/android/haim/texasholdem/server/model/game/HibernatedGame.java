@@ -0,0 +1,247 @@
+package org.hit.android.haim.texasholdem.server.model.game;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.hit.android.haim.texasholdem.common.model.bean.chat.Message;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+import org.hit.android.haim.texasholdem.common.model.game.GameStateVersion;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What is left of a game that waits for players, once it is hibernated: its identity, preferences, seated players and chat.<br/>
+ * A game is hibernated only when it is {@link GameEngine.GameState#READY ready}, so there is no round, pot or timer to keep.
+ * It is written to a compact binary file, and {@link #restore(GameEngine.PlayerUpdateListener, GameEventLoops) restored}
+ * as a new {@link ServerGameEngine} with the same identifier, so its game hash does not change.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Getter
+public class HibernatedGame {
+    /**
+     * Version of the binary format, written first. See {@link #writeTo(OutputStream)}
+     */
+    private static final int VERSION = 2;
+
+    private final int id;
+    private final String creatorId;
+    private final long smallBet;
+    private final long bigBet;
+    private final long turnTime;
+    private final long timeCreated;
+    private final long stateVersion;
+    private final List<Seat> seats;
+    private final List<ChatMessage> messages;
+
+    private HibernatedGame(int id, String creatorId, long smallBet, long bigBet, long turnTime, long timeCreated, long stateVersion,
+                           List<Seat> seats, List<ChatMessage> messages) {
+        this.id = id;
+        this.creatorId = creatorId;
+        this.smallBet = smallBet;
+        this.bigBet = bigBet;
+        this.turnTime = turnTime;
+        this.timeCreated = timeCreated;
+        this.stateVersion = stateVersion;
+        this.seats = Collections.unmodifiableList(seats);
+        this.messages = Collections.unmodifiableList(messages);
+    }
+
+    /**
+     * Take what is left of a game. Executed by the loop of the game, when it is {@link GameEngine.GameState#READY ready}
+     * @param game The game to hibernate
+     * @return The hibernated game
+     */
+    public static HibernatedGame of(@NonNull ServerGameEngine game) {
+        List<Seat> seats = new ArrayList<>(game.getPlayers().size());
+        game.getPlayers().getPlayers().forEach(player ->
+            seats.add(new Seat(player.getId(), player.getName(), player.getChips().get(), player.getPosition(), player instanceof BotPlayer)));
+
+        List<ChatMessage> messages = new ArrayList<>(game.getChat().getMessages().size());
+        for (Message message : game.getChat().getMessages()) {
+            Player user = message.getUser();
+            messages.add(new ChatMessage(user == null ? "" : user.getId(), user == null ? "" : user.getName(),
+                message.getDateTimeSent() == null ? LocalDateTime.now() : message.getDateTimeSent(), message.getMessage() == null ? "" : message.getMessage()));
+        }
+
+        GameSettings settings = game.getGameSettings();
+        return new HibernatedGame(game.getId(), settings.getCreatorId(), settings.getSmallBet(), settings.getBigBet(), settings.getTurnTime(),
+            game.getTimeCreated(), game.getStateVersion().get(), seats, messages);
+    }
+
+    /**
+     * Restore the game, with its identifier, players and chat. All parts of the game are marked as changed, so clients
+     * that kept polling get the whole game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param eventLoops The loops to pin the game to
+     * @return The restored game, ready to be started
+     */
+    public ServerGameEngine restore(@NonNull GameEngine.PlayerUpdateListener listener, @NonNull GameEventLoops eventLoops) {
+        ServerGameEngine game = new ServerGameEngine(new GameSettings(smallBet, bigBet, turnTime, creatorId, true), listener, eventLoops,
+            id, timeCreated, stateVersion);
+
+        for (Seat seat : seats) {
+            game.addPlayer(seat.isBot ?
+                new BotPlayer(seat.playerId, seat.name, seat.chips, seat.position) :
+                new Player(seat.playerId, seat.name, new Chips(seat.chips), false, null, seat.position));
+        }
+
+        for (ChatMessage message : messages) {
+            Player user = game.getPlayers().getPlayerById(message.userId);
+            if (user == null) {
+                user = Player.builder().id(message.userId).name(message.userName).chips(new Chips()).build();
+            }
+
+            game.getChat().getMessages().add(new Message(message.message, message.dateTimeSent, game.getGameHash(), user));
+        }
+
+        game.getStateVersion().markChanged(GameStateVersion.ALL_PARTS);
+        return game;
+    }
+
+    /**
+     * Write this game to a binary stream
+     * @param out The stream to write to. It is not closed
+     * @throws IOException In case of an IO failure
+     */
+    public void writeTo(@NonNull OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeByte(VERSION);
+        data.writeInt(id);
+        data.writeUTF(creatorId == null ? "" : creatorId);
+        data.writeLong(smallBet);
+        data.writeLong(bigBet);
+        data.writeLong(turnTime);
+        data.writeLong(timeCreated);
+        data.writeLong(stateVersion);
+
+        data.writeByte(seats.size());
+        for (Seat seat : seats) {
+            data.writeUTF(seat.playerId);
+            data.writeUTF(seat.name);
+            data.writeLong(seat.chips);
+            data.writeByte(seat.position);
+            data.writeBoolean(seat.isBot);
+        }
+
+        data.writeInt(messages.size());
+        for (ChatMessage message : messages) {
+            data.writeUTF(message.userId);
+            data.writeUTF(message.userName);
+            data.writeUTF(message.dateTimeSent.toString());
+            writeText(data, message.message);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Read a game that was written with {@link #writeTo(OutputStream)}
+     * @param in The stream to read from. It is not closed
+     * @return The hibernated game
+     * @throws IOException In case of an IO failure, or an unknown version
+     */
+    public static HibernatedGame readFrom(@NonNull InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version: " + version + ". Expected: " + VERSION);
+        }
+
+        int id = data.readInt();
+        String creatorId = data.readUTF();
+        long smallBet = data.readLong();
+        long bigBet = data.readLong();
+        long turnTime = data.readLong();
+        long timeCreated = data.readLong();
+        long stateVersion = data.readLong();
+
+        List<Seat> seats = new ArrayList<>();
+        int amountOfSeats = data.readUnsignedByte();
+        for (int i = 0; i < amountOfSeats; i++) {
+            seats.add(new Seat(data.readUTF(), data.readUTF(), data.readLong(), data.readUnsignedByte(), data.readBoolean()));
+        }
+
+        List<ChatMessage> messages = new ArrayList<>();
+        int amountOfMessages = data.readInt();
+        for (int i = 0; i < amountOfMessages; i++) {
+            messages.add(new ChatMessage(data.readUTF(), data.readUTF(), LocalDateTime.parse(data.readUTF()), readText(data)));
+        }
+
+        return new HibernatedGame(id, creatorId.isEmpty() ? null : creatorId, smallBet, bigBet, turnTime, timeCreated, stateVersion, seats, messages);
+    }
+
+    /**
+     * Write a text that has no length limit, such as a chat message, as its length followed by its UTF-8 bytes.
+     * ({@link DataOutputStream#writeUTF(String)} is limited to 64KB)
+     * @param data The stream to write to
+     * @param text The text to write
+     * @throws IOException In case of an IO failure
+     */
+    private static void writeText(DataOutputStream data, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Read a text that was written with {@link #writeText(DataOutputStream, String)}
+     * @param data The stream to read from
+     * @return The text
+     * @throws IOException In case of an IO failure
+     */
+    private static String readText(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            throw new IOException("Illegal text length: " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A player seated at a hibernated game
+     */
+    private static final class Seat {
+        private final String playerId;
+        private final String name;
+        private final long chips;
+        private final int position;
+        private final boolean isBot;
+
+        private Seat(String playerId, String name, long chips, int position, boolean isBot) {
+            this.playerId = playerId;
+            this.name = name;
+            this.chips = chips;
+            this.position = position;
+            this.isBot = isBot;
+        }
+    }
+
+    /**
+     * A message at the chat of a hibernated game
+     */
+    private static final class ChatMessage {
+        private final String userId;
+        private final String userName;
+        private final LocalDateTime dateTimeSent;
+        private final String message;
+
+        private ChatMessage(String userId, String userName, LocalDateTime dateTimeSent, String message) {
+            this.userId = userId;
+            this.userName = userName;
+            this.dateTimeSent = dateTimeSent;
+            this.message = message;
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package org.hit.android.haim.texasholdem.server.model.game;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.game.DeckRandomSource;
+import org.hit.android.haim.texasholdem.common.model.game.GameClock;
 import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+import org.hit.android.haim.texasholdem.common.model.game.GameStateVersion;
 import org.hit.android.haim.texasholdem.server.controller.common.Base64;
 
 /**
  * An implementation of {@link GameEngine}, for the server side.<br/>
- * Here we define the game hash and redirect logs to log4j2.
+ * Here we define the game hash, redirect logs to log4j2, let {@link BotWorkers} play for the {@link BotPlayer bots}, and
+ * report the activity of the game, so it does not expire while it is played.
  * @author Haim Adrian
  * @since 27-Jun-21
  */
 @Log4j2
 @NoArgsConstructor
 public class ServerGameEngine extends GameEngine {
+    /**
+     * When a request has last reached this game. A game that nobody reaches can be hibernated. See {@link HibernatedGame}
+     */
+    private volatile long lastAccessTime;
+
+    /**
+     * Notified whenever an action is executed at this game, whoever has acted. (Humans, bots, or timeouts)
+     */
+    private volatile Runnable activityListener;
+
     /**
      * Constructs a new {@link ServerGameEngine}
      * @param gameSettings Preferences of a game.
@@ -23,6 +41,57 @@ public class ServerGameEngine extends GameEngine {
      */
     public ServerGameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener) {
         super(gameSettings, listener);
+        touch();
+    }
+
+    /**
+     * Constructs a new {@link ServerGameEngine}, running in event loop mode
+     * @param gameSettings Preferences of a game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param eventLoops The loops to pin this game to
+     */
+    public ServerGameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener, @NonNull GameEventLoops eventLoops) {
+        super(gameSettings, listener, DeckRandomSource.secure(), eventLoops);
+        touch();
+    }
+
+    /**
+     * Constructs a {@link ServerGameEngine} with the identity of a game that was hibernated, so it is pinned to the loop
+     * of its identifier, and its players find it by the same game hash. See {@link HibernatedGame}
+     * @param gameSettings Preferences of a game.
+     * @param listener A listener to get notified upon player updates, so we can persist changes in chips amount.
+     * @param eventLoops The loops to pin this game to
+     * @param id The identifier of the hibernated game
+     * @param timeCreated When the hibernated game was created
+     * @param stateVersion The version of the hibernated game. See {@link GameStateVersion}
+     */
+    ServerGameEngine(@NonNull GameSettings gameSettings, @NonNull PlayerUpdateListener listener, @NonNull GameEventLoops eventLoops,
+                     int id, long timeCreated, long stateVersion) {
+        super(gameSettings, listener, DeckRandomSource.secure(), eventLoops, GameClock.real(), id, timeCreated, stateVersion);
+        touch();
+    }
+
+    /**
+     * Mark that a request has reached this game, so it is not idle
+     */
+    public void touch() {
+        lastAccessTime = getClock().currentTimeMillis();
+    }
+
+    /**
+     * @return When a request has last reached this game, in milliseconds since epoch. See {@link #touch()}
+     */
+    @JsonIgnore
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    /**
+     * Set a listener to notify whenever an action is executed at this game
+     * @param activityListener The listener, or {@code null} to stop notifying
+     */
+    public void setActivityListener(Runnable activityListener) {
+        this.activityListener = activityListener;
     }
 
     @Override
@@ -34,5 +103,25 @@ public class ServerGameEngine extends GameEngine {
     protected void info(String message) {
         log.info(message);
     }
+
+    @Override
+    protected boolean isInfoEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    @Override
+    protected void onTurn(Player player) {
+        if (player instanceof BotPlayer) {
+            BotWorkers.getInstance().onTurn(this, (BotPlayer) player);
+        }
+    }
+
+    @Override
+    protected void onPlayerAction(Player player, PlayerAction action) {
+        Runnable listener = activityListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
 }
 
@@ -1,40 +1,102 @@
 package org.hit.android.haim.texasholdem.server.model.repository;
 
+import lombok.extern.log4j.Log4j2;
 import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.GameClock;
 import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+import org.hit.android.haim.texasholdem.server.model.game.BotPlayer;
+import org.hit.android.haim.texasholdem.server.model.game.HibernatedGame;
 import org.hit.android.haim.texasholdem.server.model.game.ServerGameEngine;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A repository holding all active games.<br/>
+ * Games that wait for players and that nobody has reached for a while are hibernated, so they do not hold memory.
+ * See {@link #hibernateIdleGames(long)}. A hibernated game is rehydrated when a request reaches it, so this is
+ * transparent to its players.<br/>
+ * Games expire when they have no activity for {@link #EXPIRY_MILLIS}. The expiry of each game is kept in an index ordered
+ * by deadline, so finding expired games does not walk over all games. See {@link #stopExpiredGames()}<br/>
+ * Each action executed at a game is activity, whether it came from a request, a bot or a turn timeout. See
+ * {@link ServerGameEngine#setActivityListener(Runnable)}<br/>
  * Do not use this class directly. Instead, use {@link org.hit.android.haim.texasholdem.server.model.service.GameService}
  *
  * @author Haim Adrian
  * @since 08-May-21
  */
+@Log4j2
 public class GameRepository {
-    private final Map<Integer, GameEngine> games = new ConcurrentHashMap<>();
+    /**
+     * How much time a game can stay with no player joining, leaving or acting, before it expires
+     */
+    public static final long EXPIRY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<Integer, ServerGameEngine> games = new ConcurrentHashMap<>();
+
+    /**
+     * Games that were hibernated, by their identifiers. See {@link HibernatedGame}
+     */
+    private final Map<Integer, Hibernation> hibernatedGames = new ConcurrentHashMap<>();
 
     /**
-     * A map between user identifier to a game he created.<br/>
+     * A map between user identifier to the identifier of a game he created.<br/>
      * We hold this map to retrieve game hashes by game creator in O(1)
      */
-    private final Map<String, GameEngine> ownerToGame = new ConcurrentHashMap<>();
+    private final Map<String, Integer> ownerToGame = new ConcurrentHashMap<>();
 
     /**
-     * A map between user identifier to a game he is part of.<br/>
+     * A map between user identifier to the identifier of a game he is part of.<br/>
      * We hold this map to retrieve games by players in O(1)
      */
-    private final Map<String, GameEngine> playerToGame = new ConcurrentHashMap<>();
+    private final Map<String, Integer> playerToGame = new ConcurrentHashMap<>();
+
+    /**
+     * All games run on the same loops, so the amount of threads does not grow with the amount of games.
+     * See {@link GameEventLoops}
+     */
+    private final GameEventLoops eventLoops = GameEventLoops.getInstance();
+
+    /**
+     * Where hibernated games are written to
+     */
+    private final HibernatedGameStore hibernatedGameStore;
+
+    /**
+     * The expiry of all games, running and hibernated, ordered by deadline
+     */
+    private final ConcurrentSkipListSet<Expiry> expiries = new ConcurrentSkipListSet<>();
+
+    /**
+     * The current expiry of each game, so we can find it in {@link #expiries} when the game is active again
+     */
+    private final Map<Integer, Expiry> expiryOfGame = new ConcurrentHashMap<>();
+
+    /**
+     * The clock that games expire by
+     */
+    private final GameClock clock;
 
     private GameRepository() {
+        this(new HibernatedGameStore(), GameClock.real());
+    }
 
+    /**
+     * Constructs a new {@link GameRepository}
+     * @param hibernatedGameStore Where hibernated games are written to
+     * @param clock The clock that games expire by
+     */
+    GameRepository(HibernatedGameStore hibernatedGameStore, GameClock clock) {
+        this.hibernatedGameStore = hibernatedGameStore;
+        this.clock = clock;
     }
 
     public static GameRepository getInstance() {
@@ -61,28 +123,35 @@ public class GameRepository {
         }
 
         // If there is another game a user created, close it. A user cannot create several games simultaneously.
-        GameEngine existingGame = ownerToGame.get(settings.getCreatorId());
-        if (existingGame != null) {
-            stopGame(existingGame.getId());
+        Integer existingGameId = ownerToGame.get(settings.getCreatorId());
+        if (existingGameId != null) {
+            stopGame(existingGameId);
         }
 
-        GameEngine game = new ServerGameEngine(settings, listener);
+        ServerGameEngine game = new ServerGameEngine(settings, listener, eventLoops);
+        followActivity(game);
         games.put(game.getId(), game);
-        ownerToGame.put(settings.getCreatorId(), game);
+        ownerToGame.put(settings.getCreatorId(), game.getId());
+        markActive(game.getId());
         return game;
     }
 
     /**
-     * Get a game by its identifier
+     * Get a game by its identifier. A hibernated game is rehydrated first
      * @param gameId The identifier of a game
      * @return An optional reference to the game. (Empty when there is no game with the given identifier)
      */
     public Optional<GameEngine> findGameById(int gameId) {
-        if (!games.containsKey(gameId)) {
-            return Optional.empty();
+        ServerGameEngine game = touch(gameId);
+        if (game == null) {
+            Hibernation hibernation = hibernatedGames.get(gameId);
+            if (hibernation != null) {
+                rehydrate(gameId, hibernation);
+                game = touch(gameId);
+            }
         }
 
-        return Optional.of(games.get(gameId));
+        return Optional.ofNullable(game);
     }
 
     /**
@@ -91,11 +160,17 @@ public class GameRepository {
      * @return An optional reference to the game. (Empty when there is no game with the given identifier)
      */
     public Optional<GameEngine> findGameByCreator(String creatorId) {
-        if (!ownerToGame.containsKey(creatorId)) {
+        Integer gameId = ownerToGame.get(creatorId);
+        if (gameId == null) {
             return Optional.empty();
         }
 
-        return Optional.of(ownerToGame.get(creatorId));
+        Optional<GameEngine> game = findGameById(gameId);
+        if (game.isEmpty()) {
+            ownerToGame.remove(creatorId, gameId);
+        }
+
+        return game;
     }
 
     /**
@@ -104,23 +179,24 @@ public class GameRepository {
      * @return An optional reference to the game. (Empty when there is no game with the given identifier)
      */
     public Optional<GameEngine> findGameByPlayer(String playerId) {
-        if (!playerToGame.containsKey(playerId)) {
+        Integer gameId = playerToGame.get(playerId);
+        if (gameId == null) {
             return Optional.empty();
         }
 
-        GameEngine game = playerToGame.get(playerId);
+        Optional<GameEngine> game = findGameById(gameId);
 
         // In case the map is out of sync, sync now.
-        if (game.getPlayers().getPlayerById(playerId) == null) {
-            leaveGame(game.getId(), playerId);
+        if (game.isEmpty() || (game.get().getPlayers().getPlayerById(playerId) == null)) {
+            leaveGame(gameId, playerId);
             return Optional.empty();
         }
 
-        return Optional.of(game);
+        return game;
     }
 
     /**
-     * @return All game engines
+     * @return All game engines that are not hibernated
      */
     public Iterable<GameEngine> findAll() {
         // Return a new arraylist to let outside world to iterate over game engines and modify game repository,
@@ -133,10 +209,10 @@ public class GameRepository {
      * @param gameId The identifier of a game
      */
     public void startGame(int gameId) {
-        GameEngine existingGame = games.get(gameId);
-        if (existingGame != null) {
-            existingGame.start();
-        }
+        findGameById(gameId).ifPresent(game -> {
+            markActive(gameId);
+            game.start();
+        });
     }
 
     /**
@@ -145,11 +221,187 @@ public class GameRepository {
      * @param gameId The identifier of a game
      */
     public void stopGame(int gameId) {
+        // A hibernated game has no round to end, so we only forget it. Unless it is being rehydrated right now,
+        // in which case it is stopped as a running game, below.
+        Hibernation hibernation = hibernatedGames.get(gameId);
+        if (hibernation != null) {
+            synchronized (hibernation) {
+                if (!hibernation.isReleased) {
+                    hibernation.release();
+                    hibernatedGames.remove(gameId, hibernation);
+                    hibernatedGameStore.delete(gameId);
+                    ownerToGame.remove(hibernation.creatorId, gameId);
+                }
+            }
+        }
+
         GameEngine existingGame = games.remove(gameId);
         if (existingGame != null) {
-            ownerToGame.remove(existingGame.getGameSettings().getCreatorId());
+            ownerToGame.remove(existingGame.getGameSettings().getCreatorId(), gameId);
             existingGame.stop();
         }
+
+        Expiry expiry = expiryOfGame.remove(gameId);
+        if (expiry != null) {
+            expiries.remove(expiry);
+        }
+    }
+
+    /**
+     * Mark a game as active whenever an action is executed at it, as long as it is one of the running games
+     * @param game The game to follow
+     */
+    private void followActivity(ServerGameEngine game) {
+        int gameId = game.getId();
+        game.setActivityListener(() -> {
+            if (games.get(gameId) == game) {
+                markActive(gameId);
+            }
+        });
+    }
+
+    /**
+     * Push the expiry of a game {@link #EXPIRY_MILLIS} forward, cause a player has joined, left or acted.
+     * @param gameId The identifier of a game
+     */
+    public void markActive(int gameId) {
+        long deadline = clock.currentTimeMillis() + EXPIRY_MILLIS;
+        expiryOfGame.compute(gameId, (id, expiry) -> {
+            if (expiry != null) {
+                expiries.remove(expiry);
+            }
+
+            Expiry nextExpiry = new Expiry(deadline, gameId);
+            expiries.add(nextExpiry);
+            return nextExpiry;
+        });
+    }
+
+    /**
+     * Stop games, running or hibernated, that had no activity for {@link #EXPIRY_MILLIS}.<br/>
+     * We look at the earliest deadlines only, so this is cheap enough to run every few seconds.
+     * @return How many games were stopped
+     */
+    public int stopExpiredGames() {
+        long now = clock.currentTimeMillis();
+        int amountOfStoppedGames = 0;
+
+        Expiry expiry;
+        while (((expiry = firstExpiry()) != null) && (expiry.deadline <= now)) {
+            // A game that was marked active meanwhile has a new expiry already, so its old one is only removed
+            if (expiryOfGame.remove(expiry.gameId, expiry)) {
+                log.info(expiry.gameId + " - Game has expired.");
+                stopGame(expiry.gameId);
+                amountOfStoppedGames++;
+            }
+
+            expiries.remove(expiry);
+        }
+
+        return amountOfStoppedGames;
+    }
+
+    private Expiry firstExpiry() {
+        try {
+            return expiries.isEmpty() ? null : expiries.first();
+        } catch (NoSuchElementException e) {
+            // The last expiry was removed since we have checked
+            return null;
+        }
+    }
+
+    /**
+     * Hibernate games that wait for players, and that no request has reached for a while.<br/>
+     * The game is taken by its own loop, so nothing changes it while it is taken, and written to disk afterwards. Until it
+     * is written, and in case writing fails, the hibernated game is kept in memory.
+     * @param idleMillis How much time a game has to be idle in order to hibernate it
+     */
+    public void hibernateIdleGames(long idleMillis) {
+        games.values().forEach(game -> {
+            if (isIdle(game, idleMillis)) {
+                hibernate(game, idleMillis);
+            }
+        });
+    }
+
+    private void hibernate(ServerGameEngine game, long idleMillis) {
+        int gameId = game.getId();
+
+        // Check again at the loop of the game, atomically with requests that reach it. See touch(int)
+        game.getEventLoop().call(() -> games.computeIfPresent(gameId, (id, current) -> {
+            if ((current != game) || !isIdle(game, idleMillis)) {
+                return current;
+            }
+
+            hibernatedGames.put(gameId, new Hibernation(HibernatedGame.of(game), game.getListener()));
+            return null;
+        }));
+
+        Hibernation hibernation = hibernatedGames.get(gameId);
+        if (hibernation == null) {
+            return;
+        }
+
+        synchronized (hibernation) {
+            if (hibernation.isReleased || (hibernation.game == null)) {
+                return;
+            }
+
+            try {
+                hibernatedGameStore.write(hibernation.game);
+                hibernation.game = null;
+                log.info(gameId + " - Game was hibernated.");
+            } catch (IOException e) {
+                log.warn(gameId + " - Failed to write hibernated game. Keeping it in memory: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Restore a hibernated game, and put it back with the running games. In case several requests reach a hibernated
+     * game together, the first one rehydrates it and the others wait for it.
+     * @param gameId The identifier of the game
+     * @param hibernation The hibernated game
+     */
+    private void rehydrate(int gameId, Hibernation hibernation) {
+        synchronized (hibernation) {
+            if (hibernation.isReleased) {
+                return;
+            }
+
+            try {
+                HibernatedGame hibernatedGame = hibernation.game != null ? hibernation.game : hibernatedGameStore.read(gameId);
+                ServerGameEngine game = hibernatedGame.restore(hibernation.listener, eventLoops);
+                followActivity(game);
+                games.put(gameId, game);
+                log.info(gameId + " - Game was rehydrated.");
+            } catch (IOException | RuntimeException e) {
+                log.error(gameId + " - Failed to rehydrate game: " + e.getMessage(), e);
+                ownerToGame.remove(hibernation.creatorId, gameId);
+            } finally {
+                hibernation.release();
+                hibernatedGames.remove(gameId, hibernation);
+                hibernatedGameStore.delete(gameId);
+            }
+        }
+    }
+
+    /**
+     * Mark that a request has reached a running game. This is atomic with the decision to hibernate it, so a game
+     * that a request has just reached is not hibernated.
+     * @param gameId The identifier of the game
+     * @return The game, or {@code null} when it is not running
+     */
+    private ServerGameEngine touch(int gameId) {
+        return games.computeIfPresent(gameId, (id, game) -> {
+            game.touch();
+            return game;
+        });
+    }
+
+    private static boolean isIdle(ServerGameEngine game, long idleMillis) {
+        return (game.getGameState() == GameEngine.GameState.READY) &&
+            ((game.getClock().currentTimeMillis() - game.getLastAccessTime()) >= idleMillis);
     }
 
     /**
@@ -158,16 +410,17 @@ public class GameRepository {
      * @param player The player that joins
      */
     public void joinGame(int gameId, Player player) {
-        GameEngine existingGame = games.get(gameId);
-        if (existingGame != null) {
+        Optional<GameEngine> existingGame = findGameById(gameId);
+        if (existingGame.isPresent()) {
             // Check if user joins another game while he is part of a game already
-            GameEngine gameEngine = playerToGame.get(player.getId());
-            if ((gameEngine != null) && (gameId != gameEngine.getId())) {
-                leaveGame(gameEngine.getId(), player.getId());
+            Integer playersGameId = playerToGame.get(player.getId());
+            if ((playersGameId != null) && (gameId != playersGameId)) {
+                leaveGame(playersGameId, player.getId());
             }
 
-            existingGame.addPlayer(player);
-            playerToGame.put(player.getId(), existingGame);
+            markActive(gameId);
+            existingGame.get().addPlayer(player);
+            playerToGame.put(player.getId(), gameId);
         }
     }
 
@@ -177,21 +430,23 @@ public class GameRepository {
      * @param userId The player that leaves
      */
     public void leaveGame(int gameId, String userId) {
-        GameEngine existingGame = games.get(gameId);
-        if (existingGame != null) {
-            GameEngine playersGame = playerToGame.remove(userId);
-            if ((existingGame.getPlayers().getPlayerById(userId) == null) && (playersGame != null)) {
-                existingGame = playersGame;
+        Optional<GameEngine> game = findGameById(gameId);
+        if (game.isPresent()) {
+            GameEngine existingGame = game.get();
+            Integer playersGameId = playerToGame.remove(userId);
+            if ((existingGame.getPlayers().getPlayerById(userId) == null) && (playersGameId != null)) {
+                existingGame = findGameById(playersGameId).orElse(existingGame);
             }
 
             Player player = existingGame.getPlayers().getPlayerById(userId);
             if (player != null) {
+                markActive(existingGame.getId());
                 existingGame.removePlayer(player);
             }
 
-            // If no players left, discard that game.
-            if (existingGame.getPlayers().size() == 0) {
-                stopGame(gameId);
+            // If no players left, discard that game. Bots do not keep a game alive on their own
+            if (existingGame.getPlayers().getPlayers().stream().allMatch(p -> p instanceof BotPlayer)) {
+                stopGame(existingGame.getId());
             }
         } else {
             // It might be that game was stopped, though we have not cleared references.
@@ -201,8 +456,66 @@ public class GameRepository {
         }
     }
 
+    /**
+     * A hibernated game. Kept in memory until it is written to disk, and afterwards we keep only what we need in order
+     * to restore it, without reading it.
+     */
+    private static class Hibernation {
+        private final String creatorId;
+        private final GameEngine.PlayerUpdateListener listener;
+
+        /**
+         * The hibernated game, until it is written to disk
+         */
+        private volatile HibernatedGame game;
+
+        /**
+         * Whether the game was rehydrated or stopped. Guarded by this hibernation
+         */
+        private boolean isReleased;
+
+        private Hibernation(HibernatedGame game, GameEngine.PlayerUpdateListener listener) {
+            this.game = game;
+            this.listener = listener;
+            creatorId = game.getCreatorId();
+        }
+
+        private void release() {
+            isReleased = true;
+            game = null;
+        }
+    }
+
+    /**
+     * The deadline of a game, ordered by deadline, and by game identifier for games with the same deadline
+     */
+    private static final class Expiry implements Comparable<Expiry> {
+        private final long deadline;
+        private final int gameId;
+
+        private Expiry(long deadline, int gameId) {
+            this.deadline = deadline;
+            this.gameId = gameId;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            int result = Long.compare(deadline, other.deadline);
+            return result != 0 ? result : Integer.compare(gameId, other.gameId);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return (other instanceof Expiry) && (compareTo((Expiry) other) == 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(deadline) * 31 + gameId;
+        }
+    }
+
     private static class SingletonRef {
         static final GameRepository instance = new GameRepository();
     }
 }
-
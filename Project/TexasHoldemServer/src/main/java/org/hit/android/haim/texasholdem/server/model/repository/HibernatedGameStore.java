@@ -0,0 +1,121 @@
+package org.hit.android.haim.texasholdem.server.model.repository;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.hit.android.haim.texasholdem.server.model.game.HibernatedGame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+
+/**
+ * Where {@link HibernatedGame hibernated games} are kept, a file per game, under the data directory of the server.<br/>
+ * Game identifiers start over when the server starts, so files of a previous run are deleted rather than restored. This is
+ * why the directory must belong to this server only.
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+@Log4j2
+public class HibernatedGameStore {
+    /**
+     * The system property holding the data directory of the server. See {@link org.hit.android.haim.texasholdem.server.TexasHoldemServerMain}
+     */
+    public static final String DATA_DIR_PROPERTY = "org.hit.android.haim.texasholdem.datadir";
+
+    private static final String FILE_EXTENSION = ".game";
+
+    private final Path directory;
+
+    /**
+     * Constructs a new {@link HibernatedGameStore}, at the "games" directory under the data directory of the server.<br/>
+     * When the server has no data directory configured (e.g. in tests), the games are kept at a new temporary directory
+     * of their own, so files of other processes are never deleted.
+     */
+    public HibernatedGameStore() {
+        this(defaultDirectory());
+    }
+
+    /**
+     * Constructs a new {@link HibernatedGameStore}
+     * @param directory The directory to keep the games at. Games left there by a previous run are deleted
+     */
+    public HibernatedGameStore(@NonNull Path directory) {
+        this.directory = directory;
+
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+                for (Path leftover : leftovers) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to prepare directory of hibernated games: " + directory, e);
+        }
+    }
+
+    /**
+     * Write a game to its file. The game is written to a temporary file first, and moved to its place once complete,
+     * so a game is never read half written.
+     * @param game The game to write
+     * @throws IOException In case of an IO failure
+     */
+    public void write(@NonNull HibernatedGame game) throws IOException {
+        Path file = fileOf(game.getId());
+        Path tempFile = directory.resolve(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            game.writeTo(out);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read a game from its file
+     * @param gameId The identifier of the game
+     * @return The hibernated game
+     * @throws IOException In case of an IO failure, or when there is no such game
+     */
+    public HibernatedGame read(int gameId) throws IOException {
+        try (InputStream in = Files.newInputStream(fileOf(gameId))) {
+            return HibernatedGame.readFrom(in);
+        }
+    }
+
+    /**
+     * Delete the file of a game, if there is such
+     * @param gameId The identifier of the game
+     */
+    public void delete(int gameId) {
+        try {
+            Files.deleteIfExists(fileOf(gameId));
+        } catch (IOException e) {
+            log.warn(gameId + " - Failed to delete hibernated game: " + e.getMessage());
+        }
+    }
+
+    private static Path defaultDirectory() {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        if ((dataDir != null) && !dataDir.isBlank()) {
+            return Paths.get(dataDir, "games");
+        }
+
+        try {
+            Path directory = Files.createTempDirectory("texasholdem-games");
+            log.warn(DATA_DIR_PROPERTY + " is not configured. Hibernated games are kept at: " + directory);
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create directory of hibernated games", e);
+        }
+    }
+
+    private Path fileOf(int gameId) {
+        return directory.resolve(gameId + FILE_EXTENSION);
+    }
+}
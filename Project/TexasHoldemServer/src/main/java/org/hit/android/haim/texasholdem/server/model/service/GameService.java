@@ -1,5 +1,6 @@
 package org.hit.android.haim.texasholdem.server.model.service;
 
+import lombok.extern.log4j.Log4j2;
 import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
 import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
 import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
@@ -7,6 +8,8 @@ import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
 import org.hit.android.haim.texasholdem.common.util.CustomThreadFactory;
 import org.hit.android.haim.texasholdem.server.controller.common.Base64;
 import org.hit.android.haim.texasholdem.server.model.bean.user.User;
+import org.hit.android.haim.texasholdem.server.model.game.BotPlayer;
+import org.hit.android.haim.texasholdem.server.model.game.BotWorkers;
 import org.hit.android.haim.texasholdem.server.model.repository.GameRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,17 +25,29 @@ import java.util.concurrent.TimeUnit;
  * @author Haim Adrian
  * @since 21-Mar-21
  */
+@Log4j2
 @Service
 public class GameService {
+    /**
+     * How many big bets a bot brings to the table
+     */
+    private static final long BOT_BUY_IN_BIG_BETS = 100;
+
     private final GameRepository gameRepository = GameRepository.getInstance();
 
     @Autowired
     private UserService userService;
 
     /**
-     * We keep a single thread pool scheduler that runs every 15 minutes and takes care of
-     * clearing up inactive games.<br/>
-     * A game is considered inactive when it is opened for more than a hour, and there are no players or 1 player only.
+     * How much time a game that waits for players can stay untouched, before we hibernate it. See {@link GameRepository#hibernateIdleGames(long)}
+     */
+    private static final long HIBERNATE_AFTER_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * We keep a single thread pool scheduler that runs every second and takes care of clearing up expired games.<br/>
+     * A game expires when no player has joined, left or acted for {@link GameRepository#EXPIRY_MILLIS}.
+     * See {@link GameRepository#stopExpiredGames()}<br/>
+     * The same scheduler hibernates idle games, every minute.
      */
     private final ScheduledExecutorService cleanupExecutor;
 
@@ -41,13 +56,20 @@ public class GameService {
      */
     public GameService() {
         cleanupExecutor = Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("GamesCleanupScheduler"));
-        cleanupExecutor.scheduleAtFixedRate(() -> gameRepository.findAll().forEach(game -> {
-            // If game was opened more than a hour ago, and there is 1 player at most, close it.
-            if (((System.currentTimeMillis() - game.getTimeCreated()) > TimeUnit.HOURS.toMillis(1)) &&
-                (game.getPlayers().size() <= 1)) {
-                gameRepository.stopGame(game.getId());
+        cleanupExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                gameRepository.stopExpiredGames();
+            } catch (RuntimeException e) {
+                log.error("Failed to stop expired games: " + e.getMessage(), e);
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+        cleanupExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                gameRepository.hibernateIdleGames(HIBERNATE_AFTER_IDLE_MILLIS);
+            } catch (RuntimeException e) {
+                log.error("Failed to hibernate idle games: " + e.getMessage(), e);
             }
-        }), 0, 15, TimeUnit.MINUTES);
+        }, 1, 1, TimeUnit.MINUTES);
     }
 
     /**
@@ -115,6 +137,32 @@ public class GameService {
         gameRepository.joinGame(game.get().getId(), player);
     }
 
+    /**
+     * Seat a bot at a game, so the game can start without another human, or keep going when it gets quiet.<br/>
+     * The bot brings {@link #BOT_BUY_IN_BIG_BETS} big bets to the table. See {@link BotPlayer}
+     * @param gameHash Hash of the game to seat the bot at
+     * @return The bot, with its position
+     * @throws IllegalArgumentException In case there is no game with the specified game hash, or it is full or active
+     */
+    public BotPlayer addBot(String gameHash) {
+        int gameId = gameIdFromGameHash(gameHash);
+        Optional<GameEngine> game = gameRepository.findGameById(gameId);
+        if (game.isEmpty()) {
+            throw new IllegalArgumentException("Game not found: " + gameHash);
+        }
+
+        BotPlayer bot = new BotPlayer(game.get().getGameSettings().getBigBet() * BOT_BUY_IN_BIG_BETS);
+
+        // addPlayer throws exception in case the game is active, and ignores the bot in case the game is full
+        gameRepository.joinGame(gameId, bot);
+        if (game.get().getPlayers().getPlayerById(bot.getId()) == null) {
+            gameRepository.leaveGame(gameId, bot.getId());
+            throw new IllegalArgumentException("Game is full");
+        }
+
+        return bot;
+    }
+
     /**
      * Remove a player from a game.<br/>
      * If there is no game with the specified game hash an exception will be thrown.
@@ -181,10 +229,11 @@ public class GameService {
     }
 
     /**
-     * Shut down the cleanup executor.
+     * Shut down the cleanup executor, and the workers of the bots.
      */
     public void shutdown() {
         cleanupExecutor.shutdownNow();
+        BotWorkers.getInstance().shutdown();
     }
 
     /**
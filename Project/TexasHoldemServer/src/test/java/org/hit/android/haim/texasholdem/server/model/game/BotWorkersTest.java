@@ -0,0 +1,167 @@
+package org.hit.android.haim.texasholdem.server.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class BotWorkersTest {
+   private final List<PlayerAction> executedActions = new CopyOnWriteArrayList<>();
+   private final CountDownLatch releaseWorkers = new CountDownLatch(1);
+   private GameEngine game;
+
+   @BeforeEach
+   void setUp() {
+      // The bots are driven by the tests, so the game does not hand its turns to the workers by itself
+      game = new GameEngine(new GameSettings(1, 2, 60000, "id", false), (player, chips) -> {}) {
+         @Override
+         public void executePlayerAction(Player player, PlayerAction action) {
+            super.executePlayerAction(player, action);
+            executedActions.add(action);
+         }
+      };
+   }
+
+   @AfterEach
+   void tearDown() {
+      releaseWorkers.countDown();
+      game.stop();
+   }
+
+   @Test
+   void testOnTurn_botHasBudget_botActsWithinBudget() throws InterruptedException {
+      // Arrange
+      long decisionBudgetMillis = 200;
+      BotWorkers botWorkers = new BotWorkers(1, 16, decisionBudgetMillis);
+      BotPlayer bot = startGameOfBots(3);
+
+      try {
+         // Act
+         long startTime = System.nanoTime();
+         botWorkers.onTurn(game, bot);
+         awaitExecutedActions(1, TimeUnit.SECONDS.toMillis(5));
+         long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+         // Assert
+         Assertions.assertEquals(1, executedActions.size(), "Bot supposed to act once");
+         Assertions.assertEquals(bot.getName(), executedActions.get(0).getName(), "The action supposed to be of the bot");
+         Assertions.assertNotEquals(bot, game.getPlayers().getCurrentPlayer(), "Turn supposed to move forward once the bot has acted");
+         Assertions.assertTrue(elapsedMillis < decisionBudgetMillis + 150, "Bot supposed to act within its budget. Was: " + elapsedMillis + "ms");
+      } finally {
+         botWorkers.shutdown();
+      }
+   }
+
+   @Test
+   void testOnTurn_queueIsFull_botGivesUpTurn() {
+      // Arrange
+      ThreadPoolExecutor workers = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(1));
+      workers.execute(this::awaitRelease);
+      workers.execute(() -> {});
+      BotWorkers botWorkers = new BotWorkers(workers, BotWorkers.DECISION_BUDGET_MILLIS);
+      BotPlayer bot = startGameOfBots(3);
+      long toCall = game.getBettingRound().getBetToMatch() - game.getPot().getPotOfPlayer(bot);
+
+      try {
+         // Act
+         botWorkers.onTurn(game, bot);
+
+         // Assert
+         Assertions.assertEquals(1, executedActions.size(), "Bot supposed to give up its turn right away, without waiting for a worker");
+         Assertions.assertEquals(toCall == 0 ? PlayerActionKind.CHECK : PlayerActionKind.FOLD, executedActions.get(0).getActionKind(),
+            "Bot supposed to check when there is nothing to call, and fold otherwise");
+         Assertions.assertEquals(1, workers.getQueue().size(), "Decision supposed to be rejected by the full queue");
+      } finally {
+         botWorkers.shutdown();
+      }
+   }
+
+   @Test
+   void testOnTurn_decisionOfPreviousTurn_decisionIsDiscarded() throws InterruptedException {
+      // Arrange
+      ThreadPoolExecutor workers = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(16));
+      workers.execute(this::awaitRelease);
+      BotWorkers botWorkers = new BotWorkers(workers, TimeUnit.SECONDS.toMillis(10));
+      BotPlayer bot = startGameOfBots(2);
+
+      // The decision of the first turn waits for a worker, while the players act until it is the turn of the bot again
+      botWorkers.onTurn(game, bot);
+      do {
+         Player player = game.getPlayers().getCurrentPlayer();
+         boolean hasToCall = game.getBettingRound().getBetToMatch() > game.getPot().getPotOfPlayer(player);
+         game.executePlayerAction(player, PlayerAction.builder().name(player.getName()).actionKind(hasToCall ? PlayerActionKind.CALL : PlayerActionKind.CHECK).build());
+      } while (!bot.equals(game.getPlayers().getCurrentPlayer()));
+      executedActions.clear();
+
+      // Act
+      botWorkers.onTurn(game, bot);
+      releaseWorkers.countDown();
+      workers.shutdown();
+      boolean isTerminated = workers.awaitTermination(10, TimeUnit.SECONDS);
+
+      // Assert
+      Assertions.assertTrue(isTerminated, "Decisions supposed to complete");
+      Assertions.assertEquals(1, executedActions.size(), "Bot supposed to act once, at its current turn");
+      Assertions.assertEquals(3, workers.getCompletedTaskCount(), "Decision of the previous turn supposed to be discarded, not decided again");
+      Assertions.assertNotEquals(bot, game.getPlayers().getCurrentPlayer(), "Turn supposed to move forward once the bot has acted");
+   }
+
+   @Test
+   void testNextTurn_turnsOfBot_eachTurnHasItsOwnNumber() {
+      // Arrange
+      BotPlayer bot = new BotPlayer(1000);
+      BotPlayer otherBot = new BotPlayer(1000);
+
+      // Act
+      long firstTurn = bot.nextTurn();
+      long secondTurn = bot.nextTurn();
+
+      // Assert
+      Assertions.assertNotEquals(bot.getId(), otherBot.getId(), "Each bot supposed to have its own identifier");
+      Assertions.assertNotEquals(bot.getName(), otherBot.getName(), "Each bot supposed to have its own name");
+      Assertions.assertTrue(secondTurn > firstTurn, "Each turn supposed to have its own number");
+      Assertions.assertEquals(secondTurn, bot.getTurnNumber(), "Turn number supposed to be the one of the last turn");
+      Assertions.assertEquals(0, otherBot.getTurnNumber(), "Turns of a bot supposed to be counted separately");
+   }
+
+   /**
+    * Seat bots at the game and start it
+    * @param amountOfBots How many bots to seat
+    * @return The bot whose turn it is
+    */
+   private BotPlayer startGameOfBots(int amountOfBots) {
+      for (int i = 0; i < amountOfBots; i++) {
+         game.addPlayer(new BotPlayer(1000));
+      }
+
+      game.start();
+      return (BotPlayer) game.getPlayers().getCurrentPlayer();
+   }
+
+   private void awaitExecutedActions(int amountOfActions, long timeoutMillis) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + timeoutMillis;
+      while ((executedActions.size() < amountOfActions) && (System.currentTimeMillis() < deadline)) {
+         Thread.sleep(10);
+      }
+   }
+
+   private void awaitRelease() {
+      try {
+         releaseWorkers.await();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}
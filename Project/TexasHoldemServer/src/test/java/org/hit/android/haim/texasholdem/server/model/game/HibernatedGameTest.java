@@ -0,0 +1,115 @@
+package org.hit.android.haim.texasholdem.server.model.game;
+
+import org.hit.android.haim.texasholdem.common.model.bean.chat.Message;
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.common.model.game.GameEventLoops;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class HibernatedGameTest {
+   private static final GameEngine.PlayerUpdateListener LISTENER = (player, chips) -> {};
+
+   private ServerGameEngine game;
+   private ServerGameEngine restoredGame;
+
+   @BeforeEach
+   void setUp() {
+      game = new ServerGameEngine(new GameSettings(5, 10, 30000, "charmander@pokemon.com", true), LISTENER, GameEventLoops.getInstance());
+   }
+
+   @AfterEach
+   void tearDown() {
+      game.stop();
+      if (restoredGame != null) {
+         restoredGame.stop();
+      }
+   }
+
+   @Test
+   void testWriteToReadFrom_gameWithPlayersAndChat_gameIsRestored() throws IOException {
+      // Arrange
+      Player player = new Player("charmander@pokemon.com", "Charmander", new Chips(500), false, null, 2);
+      BotPlayer bot = new BotPlayer(1000);
+      game.addPlayer(player);
+      game.addPlayer(bot);
+      LocalDateTime dateTimeSent = LocalDateTime.of(2026, 10, 18, 12, 30);
+      game.getChat().getMessages().add(new Message("Hi there ♠", dateTimeSent, game.getGameHash(), player));
+
+      // Act
+      restoredGame = writeAndRead(HibernatedGame.of(game)).restore(LISTENER, GameEventLoops.getInstance());
+
+      // Assert
+      Assertions.assertEquals(game.getId(), restoredGame.getId(), "Restored game supposed to keep its identifier");
+      Assertions.assertEquals(game.getGameHash(), restoredGame.getGameHash(), "Players supposed to find the restored game by the same hash");
+      Assertions.assertEquals(game.getTimeCreated(), restoredGame.getTimeCreated());
+      Assertions.assertEquals("charmander@pokemon.com", restoredGame.getGameSettings().getCreatorId());
+      Assertions.assertEquals(5, restoredGame.getGameSettings().getSmallBet());
+      Assertions.assertEquals(10, restoredGame.getGameSettings().getBigBet());
+      Assertions.assertEquals(30000, restoredGame.getGameSettings().getTurnTime());
+      Assertions.assertTrue(restoredGame.getStateVersion().get() > game.getStateVersion().get(), "Clients supposed to see the restored game as changed");
+
+      Player restoredPlayer = restoredGame.getPlayers().getPlayerById(player.getId());
+      Assertions.assertNotNull(restoredPlayer, "Player supposed to be seated at the restored game");
+      Assertions.assertEquals("Charmander", restoredPlayer.getName());
+      Assertions.assertEquals(500, restoredPlayer.getChips().get());
+      Assertions.assertEquals(player.getPosition(), restoredPlayer.getPosition(), "Player supposed to keep his seat");
+
+      Player restoredBot = restoredGame.getPlayers().getPlayerById(bot.getId());
+      Assertions.assertTrue(restoredBot instanceof BotPlayer, "Bot supposed to be restored as a bot");
+      Assertions.assertEquals(1000, restoredBot.getChips().get());
+      Assertions.assertEquals(bot.getPosition(), restoredBot.getPosition(), "Bot supposed to keep its seat");
+
+      List<Message> messages = restoredGame.getChat().getMessages();
+      Assertions.assertEquals(1, messages.size(), "Chat supposed to be restored");
+      Assertions.assertEquals("Hi there ♠", messages.get(0).getMessage());
+      Assertions.assertEquals(dateTimeSent, messages.get(0).getDateTimeSent());
+      Assertions.assertSame(restoredPlayer, messages.get(0).getUser(), "Message supposed to be of the seated player");
+   }
+
+   @Test
+   void testWriteToReadFrom_chatMessageLongerThan64KB_messageIsRestored() throws IOException {
+      // Arrange
+      Player player = new Player("charmander@pokemon.com", "Charmander", new Chips(500), false, null, 0);
+      game.addPlayer(player);
+      String longMessage = "♠".repeat(40_000);
+      game.getChat().getMessages().add(new Message(longMessage, LocalDateTime.now(), game.getGameHash(), player));
+
+      // Act
+      HibernatedGame hibernatedGame = writeAndRead(HibernatedGame.of(game));
+
+      // Assert
+      restoredGame = hibernatedGame.restore(LISTENER, GameEventLoops.getInstance());
+      Assertions.assertEquals(longMessage, restoredGame.getChat().getMessages().get(0).getMessage(), "Long message supposed to be restored as is");
+   }
+
+   @Test
+   void testReadFrom_unknownVersion_failure() {
+      // Arrange
+      byte[] bytes = { Byte.MAX_VALUE };
+
+      // Act & Assert
+      Assertions.assertThrows(IOException.class, () -> HibernatedGame.readFrom(new ByteArrayInputStream(bytes)),
+         "A game of an unknown version supposed to be rejected");
+   }
+
+   private static HibernatedGame writeAndRead(HibernatedGame hibernatedGame) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      hibernatedGame.writeTo(out);
+      return HibernatedGame.readFrom(new ByteArrayInputStream(out.toByteArray()));
+   }
+}
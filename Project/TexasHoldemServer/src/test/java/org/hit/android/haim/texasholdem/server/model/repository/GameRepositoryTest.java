@@ -0,0 +1,184 @@
+package org.hit.android.haim.texasholdem.server.model.repository;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerAction;
+import org.hit.android.haim.texasholdem.common.model.bean.game.PlayerActionKind;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+import org.hit.android.haim.texasholdem.common.model.game.GameClock;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameRepositoryTest {
+   private static final String CREATOR_ID = "charmander@pokemon.com";
+
+   @TempDir
+   Path directory;
+
+   private final GameClock.ManualClock clock = GameClock.manual(0);
+   private GameRepository gameRepository;
+   private GameEngine game;
+
+   @BeforeEach
+   void setUp() {
+      gameRepository = new GameRepository(new HibernatedGameStore(directory), clock);
+      game = gameRepository.createNewGame(new GameSettings(1, 2, 60000, CREATOR_ID, true), (player, chips) -> {});
+      gameRepository.joinGame(game.getId(), new Player(CREATOR_ID, "Charmander", new Chips(500), false, null, 0));
+   }
+
+   @AfterEach
+   void tearDown() {
+      gameRepository.stopGame(game.getId());
+   }
+
+   @Test
+   void testHibernateIdleGames_gameWaitsForPlayers_gameIsWrittenToDisk() {
+      // Act
+      gameRepository.hibernateIdleGames(0);
+
+      // Assert
+      Assertions.assertFalse(gameRepository.findAll().iterator().hasNext(), "Hibernated game supposed to leave the running games");
+      Assertions.assertTrue(Files.exists(fileOf(game)), "Hibernated game supposed to be written to disk");
+   }
+
+   @Test
+   void testHibernateIdleGames_gameIsStarted_gameIsNotHibernated() {
+      // Arrange
+      gameRepository.joinGame(game.getId(), new Player("charizard@pokemon.com", "Charizard", new Chips(500), false, null, 1));
+      gameRepository.startGame(game.getId());
+
+      // Act
+      gameRepository.hibernateIdleGames(0);
+
+      // Assert
+      Assertions.assertTrue(gameRepository.findAll().iterator().hasNext(), "Running game supposed to keep running");
+      Assertions.assertFalse(Files.exists(fileOf(game)), "Running game is not supposed to be written to disk");
+   }
+
+   @Test
+   void testFindGameById_gameIsHibernated_gameIsRehydrated() {
+      // Arrange
+      gameRepository.hibernateIdleGames(0);
+
+      // Act
+      Optional<GameEngine> rehydratedGame = gameRepository.findGameById(game.getId());
+
+      // Assert
+      Assertions.assertTrue(rehydratedGame.isPresent(), "Hibernated game supposed to be rehydrated");
+      Assertions.assertNotSame(game, rehydratedGame.get(), "Rehydrated game supposed to be restored from disk");
+      Assertions.assertEquals(game.getGameHash(), rehydratedGame.get().getGameHash(), "Rehydrated game supposed to keep its game hash");
+      Assertions.assertNotNull(rehydratedGame.get().getPlayers().getPlayerById(CREATOR_ID), "Player supposed to be seated at the rehydrated game");
+      Assertions.assertSame(rehydratedGame.get(), gameRepository.findGameByPlayer(CREATOR_ID).orElse(null), "Player supposed to find his game");
+      Assertions.assertSame(rehydratedGame.get(), gameRepository.findGameByCreator(CREATOR_ID).orElse(null), "Creator supposed to find his game");
+      Assertions.assertFalse(Files.exists(fileOf(game)), "File of a rehydrated game supposed to be deleted");
+   }
+
+   @Test
+   void testStopGame_gameIsHibernated_gameIsForgotten() {
+      // Arrange
+      gameRepository.hibernateIdleGames(0);
+
+      // Act
+      gameRepository.stopGame(game.getId());
+
+      // Assert
+      Assertions.assertTrue(gameRepository.findGameById(game.getId()).isEmpty(), "Stopped game is not supposed to be rehydrated");
+      Assertions.assertTrue(gameRepository.findGameByCreator(CREATOR_ID).isEmpty(), "Creator is not supposed to find a stopped game");
+      Assertions.assertFalse(Files.exists(fileOf(game)), "File of a stopped game supposed to be deleted");
+   }
+
+   @Test
+   void testStopExpiredGames_noActivityForExpiry_gameIsStopped() {
+      // Arrange
+      clock.advance(GameRepository.EXPIRY_MILLIS - 1);
+      int amountOfGamesStoppedBeforeExpiry = gameRepository.stopExpiredGames();
+      clock.advance(1);
+
+      // Act
+      int amountOfStoppedGames = gameRepository.stopExpiredGames();
+
+      // Assert
+      Assertions.assertEquals(0, amountOfGamesStoppedBeforeExpiry, "Game is not supposed to expire before its deadline");
+      Assertions.assertEquals(1, amountOfStoppedGames, "Game supposed to expire at its deadline");
+      Assertions.assertTrue(gameRepository.findGameById(game.getId()).isEmpty(), "Expired game supposed to be stopped");
+      Assertions.assertEquals(0, gameRepository.stopExpiredGames(), "Expired game supposed to be stopped once");
+   }
+
+   @Test
+   void testStopExpiredGames_gameMarkedActive_expiryIsPushedForward() {
+      // Arrange
+      clock.advance(GameRepository.EXPIRY_MILLIS / 2);
+      gameRepository.markActive(game.getId());
+      clock.advance(GameRepository.EXPIRY_MILLIS / 2);
+
+      // Act
+      int amountOfStoppedGames = gameRepository.stopExpiredGames();
+
+      // Assert
+      Assertions.assertEquals(0, amountOfStoppedGames, "Game that was marked active is not supposed to expire at its old deadline");
+      Assertions.assertTrue(gameRepository.findGameById(game.getId()).isPresent(), "Game supposed to keep running");
+
+      clock.advance(GameRepository.EXPIRY_MILLIS / 2);
+      Assertions.assertEquals(1, gameRepository.stopExpiredGames(), "Game supposed to expire at its new deadline");
+   }
+
+   @Test
+   void testStopExpiredGames_playerActsAtGameDirectly_expiryIsPushedForward() {
+      // Arrange
+      gameRepository.joinGame(game.getId(), new Player("charizard@pokemon.com", "Charizard", new Chips(500), false, null, 1));
+      gameRepository.startGame(game.getId());
+      clock.advance(GameRepository.EXPIRY_MILLIS - 1);
+
+      // Acting at the game itself, as bots and turn timeouts do, rather than through a request
+      Player currentPlayer = game.getPlayers().getCurrentPlayer();
+      game.executePlayerAction(currentPlayer, PlayerAction.builder().name(currentPlayer.getName()).actionKind(PlayerActionKind.FOLD).build());
+      clock.advance(1);
+
+      // Act
+      int amountOfStoppedGames = gameRepository.stopExpiredGames();
+
+      // Assert
+      Assertions.assertEquals(0, amountOfStoppedGames, "Action executed at the game supposed to mark it as active");
+      Assertions.assertTrue(gameRepository.findGameById(game.getId()).isPresent(), "Game supposed to keep running");
+   }
+
+   @Test
+   void testStopExpiredGames_noGames_nothingIsStopped() {
+      // Arrange
+      gameRepository.stopGame(game.getId());
+      clock.advance(GameRepository.EXPIRY_MILLIS);
+
+      // Act & Assert
+      Assertions.assertEquals(0, gameRepository.stopExpiredGames(), "There is no game to stop");
+   }
+
+   @Test
+   void testNewHibernatedGameStore_filesOfPreviousRun_filesAreDeleted() throws Exception {
+      // Arrange
+      Path leftover = Files.createFile(directory.resolve("1000.game"));
+      Path otherFile = Files.createFile(directory.resolve("notes.txt"));
+
+      // Act
+      new HibernatedGameStore(directory);
+
+      // Assert
+      Assertions.assertFalse(Files.exists(leftover), "Games of a previous run supposed to be deleted");
+      Assertions.assertTrue(Files.exists(otherFile), "Files that are not games are not supposed to be deleted");
+   }
+
+   private Path fileOf(GameEngine game) {
+      return directory.resolve(game.getId() + ".game");
+   }
+}
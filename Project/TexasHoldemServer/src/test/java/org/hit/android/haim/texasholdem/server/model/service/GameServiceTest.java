@@ -0,0 +1,71 @@
+package org.hit.android.haim.texasholdem.server.model.service;
+
+import org.hit.android.haim.texasholdem.common.model.bean.game.GameSettings;
+import org.hit.android.haim.texasholdem.common.model.bean.game.Player;
+import org.hit.android.haim.texasholdem.common.model.game.Chips;
+import org.hit.android.haim.texasholdem.common.model.game.GameEngine;
+import org.hit.android.haim.texasholdem.server.model.game.BotPlayer;
+import org.hit.android.haim.texasholdem.server.model.repository.GameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Haim Adrian
+ * @since 18-Oct-26
+ */
+public class GameServiceTest {
+   private final GameService gameService = new GameService();
+   private GameEngine game;
+
+   @BeforeEach
+   void setUp() {
+      game = gameService.createNewGame(new GameSettings(1, 2, 60000, "creator@pokemon.com", true));
+
+      // Bots do not keep a game alive on their own, so there is a human at the table
+      GameRepository.getInstance().joinGame(game.getId(), new Player("creator@pokemon.com", "Creator", new Chips(500), false, null, 0));
+   }
+
+   @AfterEach
+   void tearDown() {
+      gameService.stopGame(game.getGameHash());
+   }
+
+   @Test
+   void testAddBot_gameWaitsForPlayers_botIsSeatedWithBuyIn() {
+      // Act
+      BotPlayer bot = gameService.addBot(game.getGameHash());
+
+      // Assert
+      Assertions.assertSame(bot, game.getPlayers().getPlayerById(bot.getId()), "Bot supposed to be seated at the game");
+      Assertions.assertEquals(200, bot.getChips().get(), "Bot supposed to bring 100 big bets to the table");
+   }
+
+   @Test
+   void testAddBot_gameIsFull_botIsNotSeated() {
+      // Arrange
+      for (int i = 1; i < GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS; i++) {
+         gameService.addBot(game.getGameHash());
+      }
+
+      // Act
+      IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, () -> gameService.addBot(game.getGameHash()),
+         "Adding a bot to a full game supposed to fail");
+
+      // Assert
+      Assertions.assertEquals("Game is full", e.getMessage());
+      Assertions.assertEquals(GameEngine.MAXIMUM_AMOUNT_OF_PLAYERS, game.getPlayers().size(), "Game supposed to keep its players");
+      Assertions.assertTrue(gameService.findById(game.getGameHash()).isPresent(), "Game supposed to keep running");
+   }
+
+   @Test
+   void testAddBot_gameDoesNotExist_failure() {
+      // Arrange
+      String gameHash = game.getGameHash();
+      gameService.stopGame(gameHash);
+
+      // Act & Assert
+      Assertions.assertThrows(IllegalArgumentException.class, () -> gameService.addBot(gameHash), "There is no game to seat the bot at");
+   }
+}